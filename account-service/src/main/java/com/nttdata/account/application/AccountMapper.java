@@ -2,17 +2,27 @@ package com.nttdata.account.application;
 
 import com.nttdata.account.api.model.*;
 import com.nttdata.account.application.create_account.CreateAccountCommand;
-import com.nttdata.account.application.get_client_report.AccountMovementReport;
+import com.nttdata.account.application.get_client_report.AccountReport;
+import com.nttdata.account.application.get_client_report.ClientReport;
 import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import com.nttdata.account.application.register_movement_stream.MovementStreamItemResult;
+import com.nttdata.account.application.stream_client_statement.StatementEvent;
 import com.nttdata.account.application.update_account.UpdateAccountCommand;
 import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountBalance;
 import com.nttdata.account.domain.AccountType;
 import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.CustomerEventDeadLetter;
+import com.nttdata.account.domain.InsufficientBalanceException;
+import com.nttdata.account.domain.InvalidAmountException;
 import com.nttdata.account.domain.Movement;
 import com.nttdata.account.domain.MovementType;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.stream.Collectors;
 
 @Component
 public class AccountMapper {
@@ -46,6 +56,15 @@ public class AccountMapper {
                 .build();
     }
 
+    public RegisterMovementCommand toMovementCommand(Long accountId, MovementStreamRequest request) {
+        return RegisterMovementCommand.builder()
+                .accountId(accountId)
+                .movementType(mapMovementType(request.getMovementType()))
+                .amount(toBigDecimal(request.getAmount()))
+                .description(request.getDescription())
+                .build();
+    }
+
     public AccountResponse toResponse(Account account) {
         AccountResponse response = new AccountResponse();
         response.setAccountId(account.getAccountId());
@@ -60,6 +79,14 @@ public class AccountMapper {
         return response;
     }
 
+    public AccountBalanceResponse toBalanceResponse(AccountBalance balance) {
+        AccountBalanceResponse response = new AccountBalanceResponse();
+        response.setAccountId(balance.getAccountId());
+        response.setAsOf(balance.getAsOf());
+        response.setBalance(toDouble(balance.getBalance()));
+        return response;
+    }
+
     public MovementResponse toMovementResponse(Movement movement) {
         MovementResponse response = new MovementResponse();
         response.setMovementId(movement.getMovementId());
@@ -72,6 +99,30 @@ public class AccountMapper {
         return response;
     }
 
+    public MovementStreamResult toMovementStreamResult(MovementStreamItemResult result) {
+        MovementStreamResult response = new MovementStreamResult();
+        response.setIndex(result.getIndex());
+        if (result.isAccepted()) {
+            response.setStatus(MovementStreamResult.StatusEnum.CREATED);
+            response.setMovement(toMovementResponse(result.getMovement()));
+        } else {
+            response.setStatus(MovementStreamResult.StatusEnum.REJECTED);
+            response.setError(mapErrorCode(result.getError()));
+            response.setMessage(result.getError().getMessage());
+        }
+        return response;
+    }
+
+    private String mapErrorCode(RuntimeException error) {
+        if (error instanceof InsufficientBalanceException) {
+            return "INSUFFICIENT_BALANCE";
+        }
+        if (error instanceof InvalidAmountException) {
+            return "INVALID_AMOUNT";
+        }
+        return "INVALID_REQUEST";
+    }
+
     private AccountType mapAccountType(AccountRequest.AccountTypeEnum type) {
         if (type == null) {
             return null;
@@ -102,6 +153,16 @@ public class AccountMapper {
         };
     }
 
+    private MovementType mapMovementType(MovementStreamRequest.MovementTypeEnum type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case CREDIT -> MovementType.CREDIT;
+            case DEBIT -> MovementType.DEBIT;
+        };
+    }
+
     private MovementResponse.MovementTypeEnum mapMovementTypeResponse(MovementType type) {
         if (type == null) {
             return null;
@@ -130,15 +191,88 @@ public class AccountMapper {
         return info;
     }
 
-    public MovementDetail toMovementDetail(AccountMovementReport report) {
+    public AccountStatementReport toStatementReport(ClientReport report, LocalDate startDate, LocalDate endDate) {
+        AccountStatementReport response = new AccountStatementReport();
+        response.setCustomer(toCustomerInfo(report.getCustomer()));
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setGeneratedAt(OffsetDateTime.now());
+        response.setAccounts(report.getAccounts().stream()
+                .map(this::toAccountWithMovements)
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    private AccountWithMovements toAccountWithMovements(AccountReport report) {
+        Account account = report.getAccount();
+        AccountWithMovements response = new AccountWithMovements();
+        response.setAccountId(account.getAccountId());
+        response.setAccountNumber(account.getAccountNumber());
+        response.setAccountType(mapAccountTypeWithMovements(account.getAccountType()));
+        response.setInitialBalance(toDouble(account.getInitialBalance()));
+        response.setStatus(account.getStatus());
+        // Movements are newest first, so the first one carries the balance at the end of the period
+        if (!report.getMovements().isEmpty()) {
+            response.setCurrentBalance(toDouble(report.getMovements().get(0).getBalance()));
+        }
+        response.setMovements(report.getMovements().stream()
+                .map(this::toMovementDetail)
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    public MovementDetail toMovementDetail(Movement movement) {
         MovementDetail detail = new MovementDetail();
-        detail.setDate(report.getDate());
-        detail.setMovementType(mapMovementTypeDetail(report.getMovementType()));
-        detail.setAmount(toDouble(report.getMovementAmount()));
-        detail.setBalance(toDouble(report.getAvailableBalance()));
+        detail.setDate(movement.getDate());
+        detail.setMovementType(mapMovementTypeDetail(movement.getMovementType()));
+        detail.setAmount(toDouble(movement.getAmount()));
+        detail.setBalance(toDouble(movement.getBalance()));
+        detail.setDescription(movement.getDescription());
         return detail;
     }
 
+    public AccountStatementEvent toStatementEvent(StatementEvent event) {
+        AccountStatementEvent response = new AccountStatementEvent();
+        switch (event.getType()) {
+            case CUSTOMER -> {
+                response.setType(AccountStatementEvent.TypeEnum.CUSTOMER);
+                response.setCustomer(toCustomerInfo(event.getCustomer()));
+            }
+            case ACCOUNT -> {
+                response.setType(AccountStatementEvent.TypeEnum.ACCOUNT);
+                response.setAccount(toStatementSection(event));
+            }
+            case MOVEMENT -> {
+                response.setType(AccountStatementEvent.TypeEnum.MOVEMENT);
+                response.setAccountId(event.getMovement().getAccountId());
+                response.setMovement(toMovementDetail(event.getMovement()));
+            }
+        }
+        return response;
+    }
+
+    private AccountStatementSection toStatementSection(StatementEvent event) {
+        Account account = event.getAccount();
+        AccountStatementSection section = new AccountStatementSection();
+        section.setAccountId(account.getAccountId());
+        section.setAccountNumber(account.getAccountNumber());
+        section.setAccountType(mapAccountTypeSection(account.getAccountType()));
+        section.setInitialBalance(toDouble(event.getOpeningBalance()));
+        section.setCurrentBalance(toDouble(event.getClosingBalance()));
+        section.setStatus(account.getStatus());
+        return section;
+    }
+
+    private AccountStatementSection.AccountTypeEnum mapAccountTypeSection(AccountType type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case SAVINGS -> AccountStatementSection.AccountTypeEnum.SAVINGS;
+            case CHECKING -> AccountStatementSection.AccountTypeEnum.CHECKING;
+        };
+    }
+
     private MovementDetail.MovementTypeEnum mapMovementTypeDetail(MovementType type) {
         if (type == null) {
             return null;
@@ -158,4 +292,20 @@ public class AccountMapper {
             case CHECKING -> AccountWithMovements.AccountTypeEnum.CHECKING;
         };
     }
+
+    public CustomerEventDeadLetterResponse toDeadLetterResponse(CustomerEventDeadLetter deadLetter) {
+        CustomerEventDeadLetterResponse response = new CustomerEventDeadLetterResponse();
+        response.setDeadLetterId(deadLetter.getDeadLetterId());
+        response.setCustomerId(deadLetter.getCustomerId());
+        response.setSourceTopic(deadLetter.getSourceTopic());
+        response.setSourcePartition(deadLetter.getSourcePartition());
+        response.setSourceOffset(deadLetter.getSourceOffset());
+        response.setError(deadLetter.getError());
+        response.setFailedAt(deadLetter.getFailedAt());
+        response.setPayload(deadLetter.getPayload());
+        response.setRawKey(deadLetter.getRawKey());
+        response.setRawValue(deadLetter.getRawValue());
+        response.setRawHeaders(deadLetter.getRawHeaders());
+        return response;
+    }
 }
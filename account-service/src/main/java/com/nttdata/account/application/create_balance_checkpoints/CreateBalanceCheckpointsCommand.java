@@ -0,0 +1,13 @@
+package com.nttdata.account.application.create_balance_checkpoints;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Builder
+public class CreateBalanceCheckpointsCommand {
+
+    private final OffsetDateTime asOf;
+}
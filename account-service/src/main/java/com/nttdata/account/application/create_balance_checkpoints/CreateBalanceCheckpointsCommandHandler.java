@@ -0,0 +1,8 @@
+package com.nttdata.account.application.create_balance_checkpoints;
+
+import reactor.core.publisher.Mono;
+
+public interface CreateBalanceCheckpointsCommandHandler {
+
+    Mono<Long> handle(CreateBalanceCheckpointsCommand command);
+}
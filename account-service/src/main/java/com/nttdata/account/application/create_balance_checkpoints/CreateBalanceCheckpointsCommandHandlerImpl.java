@@ -0,0 +1,18 @@
+package com.nttdata.account.application.create_balance_checkpoints;
+
+import com.nttdata.account.domain.BalanceCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class CreateBalanceCheckpointsCommandHandlerImpl implements CreateBalanceCheckpointsCommandHandler {
+
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Override
+    public Mono<Long> handle(CreateBalanceCheckpointsCommand command) {
+        return balanceCheckpointRepository.createCheckpoints(command.getAsOf());
+    }
+}
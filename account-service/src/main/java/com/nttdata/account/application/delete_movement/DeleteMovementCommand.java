@@ -0,0 +1,11 @@
+package com.nttdata.account.application.delete_movement;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class DeleteMovementCommand {
+
+    private final Long movementId;
+}
@@ -0,0 +1,8 @@
+package com.nttdata.account.application.delete_movement;
+
+import reactor.core.publisher.Mono;
+
+public interface DeleteMovementCommandHandler {
+
+    Mono<Void> handle(DeleteMovementCommand command);
+}
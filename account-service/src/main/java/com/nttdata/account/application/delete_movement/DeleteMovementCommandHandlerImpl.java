@@ -0,0 +1,33 @@
+package com.nttdata.account.application.delete_movement;
+
+import com.nttdata.account.domain.BalanceCheckpointRepository;
+import com.nttdata.account.domain.ClientReportCache;
+import com.nttdata.account.domain.MovementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class DeleteMovementCommandHandlerImpl implements DeleteMovementCommandHandler {
+
+    private final MovementRepository movementRepository;
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final ClientReportCache clientReportCache;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Read first so that the balance checkpoints and cached statements covering the movement's
+     * date can be dropped; the checkpoints go in the same transaction as the movement.
+     */
+    @Override
+    public Mono<Void> handle(DeleteMovementCommand command) {
+        return movementRepository.findById(command.getMovementId())
+                .flatMap(movement -> movementRepository.deleteById(movement.getMovementId())
+                        .then(balanceCheckpointRepository.deleteFrom(movement.getAccountId(), movement.getDate()))
+                        .as(transactionalOperator::transactional)
+                        .doOnSuccess(deleted -> clientReportCache.evict(movement.getAccountId(), movement.getDate())))
+                .then();
+    }
+}
@@ -0,0 +1,12 @@
+package com.nttdata.account.application.deregister_customer;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class DeregisterCustomerCommand {
+
+    private final Long customerId;
+    private final Long version;
+}
@@ -0,0 +1,8 @@
+package com.nttdata.account.application.deregister_customer;
+
+import reactor.core.publisher.Mono;
+
+public interface DeregisterCustomerCommandHandler {
+
+    Mono<Void> handle(DeregisterCustomerCommand command);
+}
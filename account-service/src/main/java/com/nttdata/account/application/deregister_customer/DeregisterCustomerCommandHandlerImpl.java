@@ -0,0 +1,34 @@
+package com.nttdata.account.application.deregister_customer;
+
+import com.nttdata.account.domain.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeregisterCustomerCommandHandlerImpl implements DeregisterCustomerCommandHandler {
+
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Removes the customer from the replica, keeping a tombstone with the deletion's version.
+     * A deletion that is not newer than the stored version is ignored, like any other event.
+     */
+    @Override
+    public Mono<Void> handle(DeregisterCustomerCommand command) {
+        long version = command.getVersion() != null ? command.getVersion() : 0L;
+        return customerRepository.markDeleted(command.getCustomerId(), version)
+                .doOnNext(marked -> {
+                    if (Boolean.TRUE.equals(marked)) {
+                        log.info("Customer deregistered: {}", command.getCustomerId());
+                    } else {
+                        log.info("Customer deletion ignored, stored version is not older: customerId={}, version={}",
+                                command.getCustomerId(), version);
+                    }
+                })
+                .then();
+    }
+}
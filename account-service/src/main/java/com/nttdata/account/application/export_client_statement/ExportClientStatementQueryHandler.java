@@ -0,0 +1,9 @@
+package com.nttdata.account.application.export_client_statement;
+
+import com.nttdata.account.domain.StatementLine;
+import reactor.core.publisher.Flux;
+
+public interface ExportClientStatementQueryHandler {
+
+    Flux<StatementLine> handle(ExportClientStatementQuery query);
+}
@@ -0,0 +1,22 @@
+package com.nttdata.account.application.export_client_statement;
+
+import com.nttdata.account.domain.ClientStatementRepository;
+import com.nttdata.account.domain.CustomerNotFoundException;
+import com.nttdata.account.domain.StatementLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@RequiredArgsConstructor
+public class ExportClientStatementQueryHandlerImpl implements ExportClientStatementQueryHandler {
+
+    private final ClientStatementRepository clientStatementRepository;
+
+    // Lines are passed through as they come off the database so exports never hold the whole statement
+    @Override
+    public Flux<StatementLine> handle(ExportClientStatementQuery query) {
+        return clientStatementRepository.findStatementLines(query.getClientId(), query.getStartDate(), query.getEndDate())
+                .switchIfEmpty(Flux.error(new CustomerNotFoundException(query.getClientId())));
+    }
+}
@@ -0,0 +1,14 @@
+package com.nttdata.account.application.get_account_balance;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Builder
+public class GetAccountBalanceQuery {
+
+    private final Long accountId;
+    private final OffsetDateTime asOf;
+}
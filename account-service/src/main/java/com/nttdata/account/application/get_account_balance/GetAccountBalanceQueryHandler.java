@@ -0,0 +1,9 @@
+package com.nttdata.account.application.get_account_balance;
+
+import com.nttdata.account.domain.AccountBalance;
+import reactor.core.publisher.Mono;
+
+public interface GetAccountBalanceQueryHandler {
+
+    Mono<AccountBalance> handle(GetAccountBalanceQuery query);
+}
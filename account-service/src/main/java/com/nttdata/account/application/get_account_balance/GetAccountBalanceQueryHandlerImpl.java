@@ -0,0 +1,35 @@
+package com.nttdata.account.application.get_account_balance;
+
+import com.nttdata.account.domain.AccountBalance;
+import com.nttdata.account.domain.AccountNotFoundException;
+import com.nttdata.account.domain.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class GetAccountBalanceQueryHandlerImpl implements GetAccountBalanceQueryHandler {
+
+    private final AccountRepository accountRepository;
+
+    @Override
+    public Mono<AccountBalance> handle(GetAccountBalanceQuery query) {
+        Mono<AccountBalance> balance = query.getAsOf() == null
+                ? currentBalance(query.getAccountId())
+                : accountRepository.findBalanceAsOf(query.getAccountId(), query.getAsOf());
+        return balance.switchIfEmpty(Mono.error(new AccountNotFoundException(query.getAccountId())));
+    }
+
+    // The account row already holds the current balance, no need to replay movements
+    private Mono<AccountBalance> currentBalance(Long accountId) {
+        return accountRepository.findById(accountId)
+                .map(account -> AccountBalance.builder()
+                        .accountId(accountId)
+                        .asOf(OffsetDateTime.now())
+                        .balance(account.getCurrentBalance())
+                        .build());
+    }
+}
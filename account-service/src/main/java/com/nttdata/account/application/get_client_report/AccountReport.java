@@ -0,0 +1,17 @@
+package com.nttdata.account.application.get_client_report;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.Movement;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class AccountReport {
+
+    private final Account account;
+    // Newest first
+    private final List<Movement> movements;
+}
@@ -0,0 +1,15 @@
+package com.nttdata.account.application.get_client_report;
+
+import com.nttdata.account.domain.Customer;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ClientReport {
+
+    private final Customer customer;
+    private final List<AccountReport> accounts;
+}
@@ -1,8 +1,8 @@
 package com.nttdata.account.application.get_client_report;
 
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface GetClientReportQueryHandler {
 
-    Flux<AccountMovementReport> handle(GetClientReportQuery query);
+    Mono<ClientReport> handle(GetClientReportQuery query);
 }
@@ -1,54 +1,68 @@
 package com.nttdata.account.application.get_client_report;
 
 import com.nttdata.account.domain.Account;
-import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.ClientStatementRepository;
 import com.nttdata.account.domain.Customer;
 import com.nttdata.account.domain.CustomerNotFoundException;
-import com.nttdata.account.domain.CustomerRepository;
 import com.nttdata.account.domain.Movement;
-import com.nttdata.account.domain.MovementRepository;
+import com.nttdata.account.domain.StatementLine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class GetClientReportQueryHandlerImpl implements GetClientReportQueryHandler {
 
-    private final CustomerRepository customerRepository;
-    private final AccountRepository accountRepository;
-    private final MovementRepository movementRepository;
+    private final ClientStatementRepository clientStatementRepository;
 
     @Override
-    public Flux<AccountMovementReport> handle(GetClientReportQuery query) {
-        return customerRepository.findById(query.getClientId())
-                .switchIfEmpty(Mono.error(new CustomerNotFoundException(query.getClientId())))
-                .flatMapMany(customer -> 
-                        accountRepository.findByCustomerId(customer.getCustomerId())
-                                .flatMap(account -> getMovementsForAccount(account, query, customer)));
+    public Mono<ClientReport> handle(GetClientReportQuery query) {
+        return clientStatementRepository.findStatementLines(query.getClientId(), query.getStartDate(), query.getEndDate())
+                .collect(ReportAssembler::new, ReportAssembler::add)
+                .filter(assembler -> assembler.customer != null)
+                .map(ReportAssembler::build)
+                .switchIfEmpty(Mono.error(new CustomerNotFoundException(query.getClientId())));
     }
 
-    private Flux<AccountMovementReport> getMovementsForAccount(Account account, GetClientReportQuery query, Customer customer) {
-        return movementRepository.findByAccountIdAndDateBetween(
-                        account.getAccountId(),
-                        query.getStartDate(),
-                        query.getEndDate())
-                .map(movement -> buildReport(customer, account, movement));
-    }
+    // Lines arrive grouped by account, so each account section is closed when the next one starts
+    private static final class ReportAssembler {
+
+        private Customer customer;
+        private final List<AccountReport> accounts = new ArrayList<>();
+        private Account account;
+        private List<Movement> movements;
+
+        void add(StatementLine line) {
+            if (line.getCustomer() != null) {
+                customer = line.getCustomer();
+            }
+            if (line.getAccount() != null) {
+                closeAccount();
+                account = line.getAccount();
+                movements = new ArrayList<>();
+            }
+            if (line.getMovement() != null) {
+                movements.add(line.getMovement());
+            }
+        }
+
+        ClientReport build() {
+            closeAccount();
+            return ClientReport.builder()
+                    .customer(customer)
+                    .accounts(accounts)
+                    .build();
+        }
 
-    private AccountMovementReport buildReport(Customer customer, Account account, Movement movement) {
-        return AccountMovementReport.builder()
-                .accountId(account.getAccountId())
-                .date(movement.getDate())
-                .customerName(customer.getName())
-                .accountNumber(account.getAccountNumber())
-                .accountType(account.getAccountType())
-                .initialBalance(account.getInitialBalance())
-                .accountStatus(account.getStatus())
-                .movementType(movement.getMovementType())
-                .movementAmount(movement.getAmount())
-                .availableBalance(movement.getBalance())
-                .build();
+        private void closeAccount() {
+            if (account != null) {
+                accounts.add(AccountReport.builder().account(account).movements(movements).build());
+                account = null;
+            }
+        }
     }
 }
@@ -14,4 +14,7 @@ public class GetMovementsByAccountQuery {
     
     @Builder.Default
     private final int size = 10;
+
+    // Opaque keyset cursor; takes precedence over page when present
+    private final String cursor;
 }
@@ -3,6 +3,7 @@ package com.nttdata.account.application.get_movements_by_account;
 import com.nttdata.account.domain.AccountNotFoundException;
 import com.nttdata.account.domain.AccountRepository;
 import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementCursor;
 import com.nttdata.account.domain.MovementRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,12 @@ public class GetMovementsByAccountQueryHandlerImpl implements GetMovementsByAcco
                     if (Boolean.FALSE.equals(exists)) {
                         return Flux.error(new AccountNotFoundException(query.getAccountId()));
                     }
+                    if (query.getCursor() != null) {
+                        return movementRepository.findByAccountIdAfter(
+                                query.getAccountId(),
+                                MovementCursor.decode(query.getCursor()),
+                                query.getSize());
+                    }
                     return movementRepository.findByAccountId(
                             query.getAccountId(),
                             query.getPage(),
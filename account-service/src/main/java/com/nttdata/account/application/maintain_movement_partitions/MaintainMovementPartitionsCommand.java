@@ -0,0 +1,16 @@
+package com.nttdata.account.application.maintain_movement_partitions;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.YearMonth;
+
+@Getter
+@Builder
+public class MaintainMovementPartitionsCommand {
+
+    private final YearMonth currentMonth;
+    private final int monthsAhead;
+    // Number of past months kept besides the current one; 0 keeps every partition
+    private final int retentionMonths;
+}
@@ -0,0 +1,8 @@
+package com.nttdata.account.application.maintain_movement_partitions;
+
+import reactor.core.publisher.Mono;
+
+public interface MaintainMovementPartitionsCommandHandler {
+
+    Mono<Void> handle(MaintainMovementPartitionsCommand command);
+}
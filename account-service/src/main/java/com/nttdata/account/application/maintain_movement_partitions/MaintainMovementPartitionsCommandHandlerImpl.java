@@ -0,0 +1,49 @@
+package com.nttdata.account.application.maintain_movement_partitions;
+
+import com.nttdata.account.domain.MovementPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MaintainMovementPartitionsCommandHandlerImpl implements MaintainMovementPartitionsCommandHandler {
+
+    private final MovementPartitionRepository movementPartitionRepository;
+
+    @Override
+    public Mono<Void> handle(MaintainMovementPartitionsCommand command) {
+        return movementPartitionRepository.findPartitions()
+                .collect(Collectors.toSet())
+                .flatMap(existing -> createMissing(command, existing).then(dropExpired(command, existing)));
+    }
+
+    private Mono<Void> createMissing(MaintainMovementPartitionsCommand command, Set<YearMonth> existing) {
+        return Flux.range(0, command.getMonthsAhead() + 1)
+                .map(offset -> command.getCurrentMonth().plusMonths(offset))
+                .filter(month -> !existing.contains(month))
+                .concatMap(month -> movementPartitionRepository.createPartition(month)
+                        .doOnSuccess(v -> log.info("Created movements partition for {}", month)))
+                .then();
+    }
+
+    private Mono<Void> dropExpired(MaintainMovementPartitionsCommand command, Set<YearMonth> existing) {
+        if (command.getRetentionMonths() <= 0) {
+            return Mono.empty();
+        }
+        YearMonth oldestKept = command.getCurrentMonth().minusMonths(command.getRetentionMonths());
+        return Flux.fromIterable(existing)
+                .filter(month -> month.isBefore(oldestKept))
+                .sort()
+                .concatMap(month -> movementPartitionRepository.dropPartition(month)
+                        .doOnSuccess(v -> log.info("Dropped expired movements partition for {}", month)))
+                .then();
+    }
+}
@@ -13,4 +13,5 @@ public class RegisterCustomerCommand {
     private final String address;
     private final String phone;
     private final Boolean status;
+    private final Long version;
 }
@@ -14,35 +14,30 @@ public class RegisterCustomerCommandHandlerImpl implements RegisterCustomerComma
 
     private final CustomerRepository customerRepository;
 
+    /**
+     * Replicates the customer with a single upsert. Events replayed or received out of order
+     * carry a version that is not newer than the stored one, and are ignored.
+     */
     @Override
     public Mono<Customer> handle(RegisterCustomerCommand command) {
-        return customerRepository.findById(command.getCustomerId())
-                .flatMap(existingCustomer -> updateCustomer(existingCustomer, command))
-                .switchIfEmpty(Mono.defer(() -> createCustomer(command)))
-                .doOnSuccess(customer -> log.info("Customer registered/updated: {}", customer.getCustomerId()));
-    }
-
-    private Mono<Customer> updateCustomer(Customer existingCustomer, RegisterCustomerCommand command) {
-        Customer updatedCustomer = Customer.builder()
-                .customerId(existingCustomer.getCustomerId())
-                .name(command.getName())
-                .identification(command.getIdentification())
-                .address(command.getAddress())
-                .phone(command.getPhone())
-                .status(command.getStatus())
-                .build();
-        return customerRepository.save(updatedCustomer);
-    }
-
-    private Mono<Customer> createCustomer(RegisterCustomerCommand command) {
-        Customer newCustomer = Customer.builder()
+        Customer customer = Customer.builder()
                 .customerId(command.getCustomerId())
                 .name(command.getName())
                 .identification(command.getIdentification())
                 .address(command.getAddress())
                 .phone(command.getPhone())
                 .status(command.getStatus())
+                .version(command.getVersion() != null ? command.getVersion() : 0L)
                 .build();
-        return customerRepository.save(newCustomer);
+        return customerRepository.upsert(customer)
+                .doOnNext(written -> {
+                    if (Boolean.TRUE.equals(written)) {
+                        log.info("Customer registered/updated: {}", customer.getCustomerId());
+                    } else {
+                        log.info("Customer event ignored, stored version is not older: customerId={}, version={}",
+                                customer.getCustomerId(), customer.getVersion());
+                    }
+                })
+                .thenReturn(customer);
     }
 }
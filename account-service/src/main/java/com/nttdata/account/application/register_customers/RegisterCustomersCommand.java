@@ -0,0 +1,14 @@
+package com.nttdata.account.application.register_customers;
+
+import com.nttdata.account.application.register_customer.RegisterCustomerCommand;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class RegisterCustomersCommand {
+
+    private final List<RegisterCustomerCommand> customers;
+}
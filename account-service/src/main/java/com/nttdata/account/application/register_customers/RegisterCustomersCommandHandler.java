@@ -0,0 +1,11 @@
+package com.nttdata.account.application.register_customers;
+
+import reactor.core.publisher.Mono;
+
+public interface RegisterCustomersCommandHandler {
+
+    /**
+     * Emits the number of customers written; the others were already at a newer version.
+     */
+    Mono<Long> handle(RegisterCustomersCommand command);
+}
@@ -0,0 +1,44 @@
+package com.nttdata.account.application.register_customers;
+
+import com.nttdata.account.application.register_customer.RegisterCustomerCommand;
+import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegisterCustomersCommandHandlerImpl implements RegisterCustomersCommandHandler {
+
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Replicates a batch of customers with a single multi-row upsert, under the same version
+     * rule as one customer at a time.
+     */
+    @Override
+    public Mono<Long> handle(RegisterCustomersCommand command) {
+        List<Customer> customers = command.getCustomers().stream()
+                .map(this::toCustomer)
+                .toList();
+        return customerRepository.upsertAll(customers)
+                .doOnNext(written -> log.info("Customers registered/updated: {} of {}", written, customers.size()));
+    }
+
+    private Customer toCustomer(RegisterCustomerCommand command) {
+        return Customer.builder()
+                .customerId(command.getCustomerId())
+                .name(command.getName())
+                .identification(command.getIdentification())
+                .address(command.getAddress())
+                .phone(command.getPhone())
+                .status(command.getStatus())
+                .version(command.getVersion() != null ? command.getVersion() : 0L)
+                .build();
+    }
+}
@@ -1,15 +1,14 @@
 package com.nttdata.account.application.register_movement;
 
-import com.nttdata.account.domain.Account;
 import com.nttdata.account.domain.AccountNotFoundException;
 import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.ClientReportCache;
+import com.nttdata.account.domain.InsufficientBalanceException;
 import com.nttdata.account.domain.InvalidAmountException;
 import com.nttdata.account.domain.Movement;
 import com.nttdata.account.domain.MovementRepository;
-import com.nttdata.account.domain.MovementType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
@@ -20,14 +19,14 @@ public class RegisterMovementCommandHandlerImpl implements RegisterMovementComma
 
     private final AccountRepository accountRepository;
     private final MovementRepository movementRepository;
+    private final ClientReportCache clientReportCache;
 
     @Override
-    @Transactional
     public Mono<Movement> handle(RegisterMovementCommand command) {
         return validateAmount(command.getAmount())
-                .then(Mono.defer(() -> accountRepository.findById(command.getAccountId())))
-                .switchIfEmpty(Mono.error(new AccountNotFoundException(command.getAccountId())))
-                .flatMap(account -> processMovement(account, command));
+                .then(Mono.defer(() -> movementRepository.applyToAccount(createMovement(command))))
+                .doOnNext(movement -> clientReportCache.evict(movement.getAccountId(), movement.getDate()))
+                .switchIfEmpty(Mono.defer(() -> rejectMovement(command)));
     }
 
     private Mono<Void> validateAmount(BigDecimal amount) {
@@ -37,41 +36,22 @@ public class RegisterMovementCommandHandlerImpl implements RegisterMovementComma
         return Mono.empty();
     }
 
-    private Mono<Movement> processMovement(Account account, RegisterMovementCommand command) {
-        if (command.getMovementType() == MovementType.DEBIT) {
-            return processDebit(account, command);
-        }
-        return processCredit(account, command);
-    }
-
-    private Mono<Movement> processDebit(Account account, RegisterMovementCommand command) {
-        account.debit(command.getAmount());
-        return saveAccountAndMovement(account, command);
-    }
-
-    private Mono<Movement> processCredit(Account account, RegisterMovementCommand command) {
-        account.credit(command.getAmount());
-        return saveAccountAndMovement(account, command);
-    }
-
-    private Mono<Movement> saveAccountAndMovement(Account account, RegisterMovementCommand command) {
-        Movement movement = createMovement(account, command);
-        return accountRepository.save(account)
-                .then(movementRepository.save(movement));
-    }
-
-    private Movement createMovement(Account account, RegisterMovementCommand command) {
-        if (command.getMovementType() == MovementType.DEBIT) {
-            return Movement.createDebit(
-                    account.getAccountId(),
-                    command.getAmount(),
-                    account.getCurrentBalance(),
-                    command.getDescription());
-        }
-        return Movement.createCredit(
-                account.getAccountId(),
+    private Movement createMovement(RegisterMovementCommand command) {
+        return Movement.create(
+                command.getAccountId(),
+                command.getMovementType(),
                 command.getAmount(),
-                account.getCurrentBalance(),
                 command.getDescription());
     }
+
+    /**
+     * The guarded balance update touched no row: either the account is missing or the debit
+     * exceeds its balance. Only this failure path pays for the extra lookup.
+     */
+    private Mono<Movement> rejectMovement(RegisterMovementCommand command) {
+        return accountRepository.findById(command.getAccountId())
+                .switchIfEmpty(Mono.error(new AccountNotFoundException(command.getAccountId())))
+                .flatMap(account -> Mono.error(new InsufficientBalanceException(
+                        account.getAccountId(), account.getCurrentBalance(), command.getAmount())));
+    }
 }
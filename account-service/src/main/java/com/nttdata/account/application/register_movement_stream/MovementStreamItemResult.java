@@ -0,0 +1,26 @@
+package com.nttdata.account.application.register_movement_stream;
+
+import com.nttdata.account.domain.Movement;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class MovementStreamItemResult {
+
+    private final long index;
+    private final Movement movement;
+    private final RuntimeException error;
+
+    public static MovementStreamItemResult accepted(long index, Movement movement) {
+        return MovementStreamItemResult.builder().index(index).movement(movement).build();
+    }
+
+    public static MovementStreamItemResult rejected(long index, RuntimeException error) {
+        return MovementStreamItemResult.builder().index(index).error(error).build();
+    }
+
+    public boolean isAccepted() {
+        return error == null;
+    }
+}
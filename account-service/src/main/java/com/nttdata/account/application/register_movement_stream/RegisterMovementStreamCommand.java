@@ -0,0 +1,14 @@
+package com.nttdata.account.application.register_movement_stream;
+
+import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import lombok.Builder;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+
+@Getter
+@Builder
+public class RegisterMovementStreamCommand {
+
+    private final Long accountId;
+    private final Flux<RegisterMovementCommand> movements;
+}
@@ -0,0 +1,8 @@
+package com.nttdata.account.application.register_movement_stream;
+
+import reactor.core.publisher.Flux;
+
+public interface RegisterMovementStreamCommandHandler {
+
+    Flux<MovementStreamItemResult> handle(RegisterMovementStreamCommand command);
+}
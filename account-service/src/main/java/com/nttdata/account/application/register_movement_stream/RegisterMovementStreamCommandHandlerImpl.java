@@ -0,0 +1,130 @@
+package com.nttdata.account.application.register_movement_stream;
+
+import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountNotFoundException;
+import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.ClientReportCache;
+import com.nttdata.account.domain.InsufficientBalanceException;
+import com.nttdata.account.domain.InvalidAmountException;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementRepository;
+import com.nttdata.account.domain.MovementType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies a stream of movements to one account chunk by chunk. Each chunk runs in its own
+ * transaction: the account row is locked once, items are applied in order in memory, accepted
+ * movements are stored with one multi-row insert and the balance is written once.
+ */
+@Service
+public class RegisterMovementStreamCommandHandlerImpl implements RegisterMovementStreamCommandHandler {
+
+    // Six bind parameters per row must stay below the PostgreSQL limit of 65535
+    private static final int MAX_CHUNK_SIZE = 5000;
+
+    private final AccountRepository accountRepository;
+    private final MovementRepository movementRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ClientReportCache clientReportCache;
+    private final int chunkSize;
+
+    public RegisterMovementStreamCommandHandlerImpl(AccountRepository accountRepository,
+                                                    MovementRepository movementRepository,
+                                                    TransactionalOperator transactionalOperator,
+                                                    ClientReportCache clientReportCache,
+                                                    @Value("${account.movement-stream.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("account.movement-stream.chunk-size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        this.accountRepository = accountRepository;
+        this.movementRepository = movementRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.clientReportCache = clientReportCache;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Flux<MovementStreamItemResult> handle(RegisterMovementStreamCommand command) {
+        Long accountId = command.getAccountId();
+        return accountRepository.existsById(accountId)
+                .flatMapMany(exists -> {
+                    if (Boolean.FALSE.equals(exists)) {
+                        return Flux.error(new AccountNotFoundException(accountId));
+                    }
+                    return command.getMovements()
+                            .index()
+                            .buffer(chunkSize)
+                            .concatMap(chunk -> applyChunk(accountId, chunk), 1);
+                });
+    }
+
+    private Flux<MovementStreamItemResult> applyChunk(Long accountId, List<Tuple2<Long, RegisterMovementCommand>> chunk) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .switchIfEmpty(Mono.error(new AccountNotFoundException(accountId)))
+                .flatMapMany(account -> applyToLockedAccount(account, chunk))
+                .as(transactionalOperator::transactional)
+                .doOnNext(result -> {
+                    if (result.isAccepted()) {
+                        clientReportCache.evict(accountId, result.getMovement().getDate());
+                    }
+                });
+    }
+
+    private Flux<MovementStreamItemResult> applyToLockedAccount(Account account,
+                                                                List<Tuple2<Long, RegisterMovementCommand>> chunk) {
+        MovementStreamItemResult[] results = new MovementStreamItemResult[chunk.size()];
+        List<Integer> acceptedPositions = new ArrayList<>();
+        List<Movement> accepted = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            long index = chunk.get(i).getT1();
+            RegisterMovementCommand item = chunk.get(i).getT2();
+            try {
+                accepted.add(apply(account, item));
+                acceptedPositions.add(i);
+            } catch (IllegalArgumentException | InvalidAmountException | InsufficientBalanceException e) {
+                results[i] = MovementStreamItemResult.rejected(index, e);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+        return movementRepository.saveAll(accepted)
+                .collectList()
+                .flatMap(saved -> accountRepository.save(account).thenReturn(saved))
+                .flatMapMany(saved -> {
+                    for (int i = 0; i < saved.size(); i++) {
+                        int position = acceptedPositions.get(i);
+                        results[position] = MovementStreamItemResult.accepted(chunk.get(position).getT1(), saved.get(i));
+                    }
+                    return Flux.fromArray(results);
+                });
+    }
+
+    private Movement apply(Account account, RegisterMovementCommand item) {
+        BigDecimal amount = item.getAmount();
+        if (item.getMovementType() == null) {
+            throw new IllegalArgumentException("The movement type is required");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidAmountException(amount);
+        }
+        if (item.getMovementType() == MovementType.DEBIT) {
+            account.debit(amount);
+            return Movement.createDebit(account.getAccountId(), amount, account.getCurrentBalance(), item.getDescription());
+        }
+        account.credit(amount);
+        return Movement.createCredit(account.getAccountId(), amount, account.getCurrentBalance(), item.getDescription());
+    }
+}
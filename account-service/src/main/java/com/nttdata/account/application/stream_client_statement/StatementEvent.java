@@ -0,0 +1,48 @@
+package com.nttdata.account.application.stream_client_statement;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.Movement;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * One element of a streamed account statement: the customer header, an account section
+ * with its period balances, or a movement of the last announced account.
+ */
+@Getter
+@Builder
+public class StatementEvent {
+
+    public enum Type {
+        CUSTOMER,
+        ACCOUNT,
+        MOVEMENT
+    }
+
+    private final Type type;
+    private final Customer customer;
+    private final Account account;
+    private final BigDecimal openingBalance;
+    private final BigDecimal closingBalance;
+    private final Movement movement;
+
+    public static StatementEvent customer(Customer customer) {
+        return StatementEvent.builder().type(Type.CUSTOMER).customer(customer).build();
+    }
+
+    public static StatementEvent account(Account account, BigDecimal openingBalance, BigDecimal closingBalance) {
+        return StatementEvent.builder()
+                .type(Type.ACCOUNT)
+                .account(account)
+                .openingBalance(openingBalance)
+                .closingBalance(closingBalance)
+                .build();
+    }
+
+    public static StatementEvent movement(Movement movement) {
+        return StatementEvent.builder().type(Type.MOVEMENT).movement(movement).build();
+    }
+}
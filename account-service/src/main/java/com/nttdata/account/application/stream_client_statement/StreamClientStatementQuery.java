@@ -0,0 +1,15 @@
+package com.nttdata.account.application.stream_client_statement;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Builder
+public class StreamClientStatementQuery {
+
+    private final Long clientId;
+    private final OffsetDateTime startDate;
+    private final OffsetDateTime endDate;
+}
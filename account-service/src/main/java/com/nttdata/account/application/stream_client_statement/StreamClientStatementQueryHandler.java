@@ -0,0 +1,8 @@
+package com.nttdata.account.application.stream_client_statement;
+
+import reactor.core.publisher.Flux;
+
+public interface StreamClientStatementQueryHandler {
+
+    Flux<StatementEvent> handle(StreamClientStatementQuery query);
+}
@@ -0,0 +1,53 @@
+package com.nttdata.account.application.stream_client_statement;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountBalance;
+import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.CustomerNotFoundException;
+import com.nttdata.account.domain.CustomerRepository;
+import com.nttdata.account.domain.MovementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Service
+@RequiredArgsConstructor
+public class StreamClientStatementQueryHandlerImpl implements StreamClientStatementQueryHandler {
+
+    private final CustomerRepository customerRepository;
+    private final AccountRepository accountRepository;
+    private final MovementRepository movementRepository;
+
+    // Accounts are streamed one after another so each section is followed by its own movements
+    @Override
+    public Flux<StatementEvent> handle(StreamClientStatementQuery query) {
+        return customerRepository.findById(query.getClientId())
+                .switchIfEmpty(Mono.error(new CustomerNotFoundException(query.getClientId())))
+                .flatMapMany(customer -> Flux.concat(
+                        Mono.just(StatementEvent.customer(customer)),
+                        accountRepository.findByCustomerId(customer.getCustomerId())
+                                .concatMap(account -> accountSection(account, query))));
+    }
+
+    private Flux<StatementEvent> accountSection(Account account, StreamClientStatementQuery query) {
+        // The opening balance excludes movements dated exactly at the start of the period
+        Mono<BigDecimal> opening = balanceAsOf(account, query.getStartDate().minus(1, ChronoUnit.MICROS));
+        Mono<BigDecimal> closing = balanceAsOf(account, query.getEndDate());
+        return Mono.zip(opening, closing)
+                .map(balances -> StatementEvent.account(account, balances.getT1(), balances.getT2()))
+                .concatWith(movementRepository.streamByAccountIdAndDateBetween(
+                                account.getAccountId(), query.getStartDate(), query.getEndDate())
+                        .map(StatementEvent::movement));
+    }
+
+    private Mono<BigDecimal> balanceAsOf(Account account, OffsetDateTime asOf) {
+        return accountRepository.findBalanceAsOf(account.getAccountId(), asOf)
+                .map(AccountBalance::getBalance)
+                .defaultIfEmpty(account.getCurrentBalance());
+    }
+}
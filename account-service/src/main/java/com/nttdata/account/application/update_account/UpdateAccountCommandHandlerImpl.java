@@ -4,27 +4,50 @@ import com.nttdata.account.domain.Account;
 import com.nttdata.account.domain.AccountAlreadyExistsException;
 import com.nttdata.account.domain.AccountNotFoundException;
 import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.BalanceCheckpointRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 public class UpdateAccountCommandHandlerImpl implements UpdateAccountCommandHandler {
 
     private final AccountRepository accountRepository;
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final TransactionalOperator transactionalOperator;
 
     @Override
     public Mono<Account> handle(UpdateAccountCommand command) {
-        return accountRepository.findById(command.getAccountId())
+        // Locked and read past the near-cache, so the update is based on the current row
+        return accountRepository.findByIdForUpdate(command.getAccountId())
                 .switchIfEmpty(Mono.error(new AccountNotFoundException(command.getAccountId())))
                 .flatMap(existingAccount -> validateAccountNumberNotTaken(command, existingAccount))
-                .map(existingAccount -> existingAccount.update(
-                        command.getAccountNumber(),
-                        command.getAccountType(),
-                        command.getInitialBalance(),
-                        command.getStatus()))
-                .flatMap(accountRepository::save);
+                .flatMap(existingAccount -> {
+                    boolean initialBalanceChanged = initialBalanceChanges(command, existingAccount);
+                    return accountRepository.updateDetails(existingAccount.update(
+                                    command.getAccountNumber(),
+                                    command.getAccountType(),
+                                    command.getInitialBalance(),
+                                    command.getStatus()))
+                            .flatMap(account -> initialBalanceChanged
+                                    ? balanceCheckpointRepository.deleteByAccountId(account.getAccountId()).thenReturn(account)
+                                    : Mono.just(account));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    // Every balance checkpoint builds on the initial balance, so a new one invalidates them all
+    private boolean initialBalanceChanges(UpdateAccountCommand command, Account existingAccount) {
+        BigDecimal requested = command.getInitialBalance();
+        BigDecimal current = existingAccount.getInitialBalance();
+        return requested == null || current == null
+                ? !Objects.equals(requested, current)
+                : requested.compareTo(current) != 0;
     }
 
     private Mono<Account> validateAccountNumberNotTaken(UpdateAccountCommand command, Account existingAccount) {
@@ -0,0 +1,19 @@
+package com.nttdata.account.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class StatementExportConfig {
+
+    /**
+     * Bounded pool for spreadsheet encoding, kept off the Netty event loops.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler statementExportScheduler(@Value("${account.statement-export.threads:4}") int threads) {
+        return Schedulers.newParallel("statement-export", threads);
+    }
+}
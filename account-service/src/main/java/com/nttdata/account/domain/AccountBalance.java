@@ -0,0 +1,20 @@
+package com.nttdata.account.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalance {
+
+    private Long accountId;
+    private OffsetDateTime asOf;
+    private BigDecimal balance;
+}
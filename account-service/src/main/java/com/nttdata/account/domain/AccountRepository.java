@@ -3,14 +3,33 @@ package com.nttdata.account.domain;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
+
 public interface AccountRepository {
 
     Mono<Account> save(Account account);
 
+    /**
+     * Stores the account's number, type, initial balance and status, but not its current balance,
+     * which only movements change. Emits the stored account.
+     */
+    Mono<Account> updateDetails(Account account);
+
     Mono<Account> findById(Long accountId);
 
+    /**
+     * Loads the account and locks its row until the surrounding transaction ends.
+     */
+    Mono<Account> findByIdForUpdate(Long accountId);
+
     Mono<Account> findByAccountNumber(String accountNumber);
 
+    /**
+     * Balance of the account after every movement dated up to {@code asOf}, answered from the
+     * nearest balance checkpoint plus the movements after it. Completes empty if the account does not exist.
+     */
+    Mono<AccountBalance> findBalanceAsOf(Long accountId, OffsetDateTime asOf);
+
     Flux<Account> findAll(int page, int size);
 
     Flux<Account> findByCustomerId(Long customerId);
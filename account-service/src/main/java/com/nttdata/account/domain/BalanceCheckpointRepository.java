@@ -0,0 +1,28 @@
+package com.nttdata.account.domain;
+
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Port for account balance checkpoints.
+ */
+public interface BalanceCheckpointRepository {
+
+    /**
+     * Writes a checkpoint at {@code asOf} for every account that has movements since its previous
+     * checkpoint, or has none yet. Emits the number of checkpoints written.
+     */
+    Mono<Long> createCheckpoints(OffsetDateTime asOf);
+
+    /**
+     * Deletes the account's checkpoints taken at or after {@code from}, which no longer hold once
+     * a movement dated {@code from} is removed.
+     */
+    Mono<Long> deleteFrom(Long accountId, OffsetDateTime from);
+
+    /**
+     * Deletes all the account's checkpoints, which all build on its initial balance.
+     */
+    Mono<Long> deleteByAccountId(Long accountId);
+}
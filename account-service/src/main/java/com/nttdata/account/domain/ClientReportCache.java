@@ -0,0 +1,15 @@
+package com.nttdata.account.domain;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Port for the cache of generated client statements. Movement writers report what they
+ * change so that no statement covering it is served stale.
+ */
+public interface ClientReportCache {
+
+    /**
+     * Drops the cached statements that include the account and whose range contains {@code date}.
+     */
+    void evict(Long accountId, OffsetDateTime date);
+}
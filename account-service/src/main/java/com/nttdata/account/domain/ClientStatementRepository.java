@@ -0,0 +1,17 @@
+package com.nttdata.account.domain;
+
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Read model port for client statements.
+ */
+public interface ClientStatementRepository {
+
+    /**
+     * Customer, accounts and movements dated within the range, read with a single query.
+     * Completes empty when the customer does not exist.
+     */
+    Flux<StatementLine> findStatementLines(Long customerId, OffsetDateTime startDate, OffsetDateTime endDate);
+}
@@ -17,4 +17,6 @@ public class Customer {
     private String address;
     private String phone;
     private Boolean status;
+    // Version of the replicated customer; newer versions replace older ones, never the reverse
+    private Long version;
 }
@@ -0,0 +1,34 @@
+package com.nttdata.account.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A customer event that could not be applied to the replica after every retry tier, kept until it
+ * is re-driven. The source is where the event was first read from.
+ * <p>
+ * A record that could not be read as an event has no payload; it is kept as received, in the raw
+ * key, value and headers, and is not re-driven.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerEventDeadLetter {
+
+    private Long deadLetterId;
+    private Long customerId;
+    private String payload;
+    private String sourceTopic;
+    private Integer sourcePartition;
+    private Long sourceOffset;
+    private String error;
+    private OffsetDateTime failedAt;
+    private String rawKey;
+    private byte[] rawValue;
+    private String rawHeaders;
+}
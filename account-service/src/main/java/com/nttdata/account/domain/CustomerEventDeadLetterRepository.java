@@ -0,0 +1,26 @@
+package com.nttdata.account.domain;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Port for customer events that exhausted their retries.
+ */
+public interface CustomerEventDeadLetterRepository {
+
+    /**
+     * Stores the dead letter. Emits false when the same source event was already stored.
+     */
+    Mono<Boolean> saveIfAbsent(CustomerEventDeadLetter deadLetter);
+
+    Flux<CustomerEventDeadLetter> findOldest(int limit);
+
+    /**
+     * Oldest dead letters that hold a payload, leaving out the records kept as received.
+     */
+    Flux<CustomerEventDeadLetter> findOldestWithPayload(int limit);
+
+    Mono<Long> deleteByIds(List<Long> deadLetterIds);
+}
@@ -2,6 +2,8 @@ package com.nttdata.account.domain;
 
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Port for customer persistence operations.
  */
@@ -9,6 +11,26 @@ public interface CustomerRepository {
 
     Mono<Customer> save(Customer customer);
 
+    /**
+     * Inserts the customer, or updates it if the stored version is older, in a single statement.
+     * Replaying the same or an older version changes nothing. Emits whether the customer was written.
+     */
+    Mono<Boolean> upsert(Customer customer);
+
+    /**
+     * Upserts a batch of customers in a single statement, with the same version rule as
+     * {@link #upsert(Customer)}. Emits the number of customers written.
+     */
+    Mono<Long> upsertAll(List<Customer> customers);
+
+    /**
+     * Marks the customer deleted if the stored version is older, or records it as deleted if it
+     * is not known yet. The row is kept as a tombstone carrying the version, so events older than
+     * the deletion change nothing, and deleted customers are no longer found. Emits whether the
+     * customer was marked.
+     */
+    Mono<Boolean> markDeleted(Long customerId, long version);
+
     Mono<Customer> findById(Long customerId);
 
     Mono<Customer> findByIdentification(String identification);
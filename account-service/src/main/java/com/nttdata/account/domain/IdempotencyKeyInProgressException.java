@@ -0,0 +1,15 @@
+package com.nttdata.account.domain;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super(String.format("A request with Idempotency-Key %s is still being processed", idempotencyKey));
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nttdata.account.domain;
+
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Port for idempotency keys of movement creation, scoped per account.
+ */
+public interface IdempotencyKeyRepository {
+
+    /**
+     * Records the key as in progress for the request with the given hash. Emits false when the
+     * key was already claimed.
+     */
+    Mono<Boolean> claim(Long accountId, String key, String requestHash);
+
+    Mono<Void> complete(Long accountId, String key, Long movementId);
+
+    /**
+     * Emits the movement created under the key, or completes empty while it is still in progress.
+     */
+    Mono<Long> findMovementId(Long accountId, String key);
+
+    /**
+     * Emits the hash of the request that claimed the key, or completes empty for keys claimed
+     * without one.
+     */
+    Mono<String> findRequestHash(Long accountId, String key);
+
+    Mono<Long> deleteCreatedBefore(OffsetDateTime cutoff);
+}
@@ -0,0 +1,15 @@
+package com.nttdata.account.domain;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(String.format("Idempotency-Key %s was already used for a different request", idempotencyKey));
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
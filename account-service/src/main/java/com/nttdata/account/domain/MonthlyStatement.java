@@ -0,0 +1,26 @@
+package com.nttdata.account.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+
+/**
+ * A customer statement rendered once for a closed month and stored as an immutable file.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyStatement {
+
+    private Long customerId;
+    private YearMonth month;
+    private String fileName;
+    private long sizeBytes;
+    private String etag;
+    private OffsetDateTime generatedAt;
+}
@@ -0,0 +1,23 @@
+package com.nttdata.account.domain;
+
+import java.time.YearMonth;
+
+public class MonthlyStatementNotFoundException extends RuntimeException {
+
+    private final Long customerId;
+    private final YearMonth month;
+
+    public MonthlyStatementNotFoundException(Long customerId, YearMonth month) {
+        super(String.format("No statement for %s has been generated for customer %d", month, customerId));
+        this.customerId = customerId;
+        this.month = month;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nttdata.account.domain;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+
+/**
+ * Port for the index of pre-generated monthly statements.
+ */
+public interface MonthlyStatementRepository {
+
+    Mono<MonthlyStatement> find(Long customerId, YearMonth month);
+
+    /**
+     * Customers that have no statement for the month yet, in ascending order.
+     */
+    Flux<Long> findCustomersWithoutStatement(YearMonth month);
+
+    /**
+     * Indexes the statement unless one already exists for the customer and month.
+     * Emits whether it was stored.
+     */
+    Mono<Boolean> saveIfAbsent(MonthlyStatement statement);
+}
@@ -22,6 +22,16 @@ public class Movement {
     private Long accountId;
     private String description;
 
+    public static Movement create(Long accountId, MovementType movementType, BigDecimal amount, String description) {
+        return Movement.builder()
+                .accountId(accountId)
+                .movementType(movementType)
+                .amount(amount)
+                .date(OffsetDateTime.now())
+                .description(description)
+                .build();
+    }
+
     public static Movement createCredit(Long accountId, BigDecimal amount, BigDecimal balanceAfter, String description) {
         return Movement.builder()
                 .accountId(accountId)
@@ -0,0 +1,52 @@
+package com.nttdata.account.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position in an account's movement history, ordered newest first by (date, movementId).
+ * Travels to clients as an opaque string.
+ */
+public class MovementCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final OffsetDateTime date;
+    private final Long movementId;
+
+    public MovementCursor(OffsetDateTime date, Long movementId) {
+        this.date = date;
+        this.movementId = movementId;
+    }
+
+    public static MovementCursor of(Movement movement) {
+        return new MovementCursor(movement.getDate(), movement.getMovementId());
+    }
+
+    public static MovementCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            OffsetDateTime date = OffsetDateTime.ofInstant(Instant.parse(decoded.substring(0, separator)), ZoneOffset.UTC);
+            return new MovementCursor(date, Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid movements cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = date.toInstant() + SEPARATOR + movementId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public OffsetDateTime getDate() {
+        return date;
+    }
+
+    public Long getMovementId() {
+        return movementId;
+    }
+}
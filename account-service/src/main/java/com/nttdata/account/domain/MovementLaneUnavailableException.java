@@ -0,0 +1,8 @@
+package com.nttdata.account.domain;
+
+public class MovementLaneUnavailableException extends RuntimeException {
+
+    public MovementLaneUnavailableException(String message) {
+        super(message);
+    }
+}
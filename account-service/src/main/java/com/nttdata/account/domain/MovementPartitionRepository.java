@@ -0,0 +1,25 @@
+package com.nttdata.account.domain;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+
+/**
+ * Port for the monthly range partitions of the movements table.
+ */
+public interface MovementPartitionRepository {
+
+    Flux<YearMonth> findPartitions();
+
+    /**
+     * Creates the partition for the movements of {@code month}, moving into it those of them that
+     * the default partition already holds.
+     */
+    Mono<Void> createPartition(YearMonth month);
+
+    /**
+     * Detaches the partition holding the movements of {@code month} and drops it.
+     */
+    Mono<Void> dropPartition(YearMonth month);
+}
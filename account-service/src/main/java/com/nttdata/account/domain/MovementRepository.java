@@ -4,19 +4,42 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 public interface MovementRepository {
 
     Mono<Movement> save(Movement movement);
 
+    /**
+     * Applies the movement to its account balance and stores it in a single statement.
+     * Completes empty when the account does not exist or a debit exceeds the current balance.
+     */
+    Mono<Movement> applyToAccount(Movement movement);
+
+    /**
+     * Stores the movements with a single multi-row insert, returning them in the given order.
+     */
+    Flux<Movement> saveAll(List<Movement> movements);
+
     Mono<Movement> findById(Long movementId);
 
     Mono<Movement> findByIdAndAccountId(Long movementId, Long accountId);
 
     Flux<Movement> findByAccountId(Long accountId, int page, int size);
 
+    /**
+     * Keyset page of the account's movements, newest first, strictly after {@code cursor}.
+     */
+    Flux<Movement> findByAccountIdAfter(Long accountId, MovementCursor cursor, int size);
+
     Flux<Movement> findByAccountIdAndDateBetween(Long accountId, OffsetDateTime startDate, OffsetDateTime endDate);
 
+    /**
+     * Same rows as {@link #findByAccountIdAndDateBetween}, read through a database cursor in
+     * fixed-size fetches as the subscriber requests them, so memory does not grow with the range.
+     */
+    Flux<Movement> streamByAccountIdAndDateBetween(Long accountId, OffsetDateTime startDate, OffsetDateTime endDate);
+
     Mono<Void> deleteById(Long movementId);
 
     Mono<Boolean> existsById(Long movementId);
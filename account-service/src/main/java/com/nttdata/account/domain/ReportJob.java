@@ -0,0 +1,40 @@
+package com.nttdata.account.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A statement generated in the background and spooled to a file, as last recorded by the
+ * instance running it.
+ */
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+
+    private UUID jobId;
+    private Long clientId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String format;
+    private String mediaType;
+    // Name offered to the client when downloading the result
+    private String fileName;
+    private ReportJobStatus status;
+    private long processedMovements;
+    // Path of the spooled result, relative to the spool directory
+    private String resultFile;
+    private Long sizeBytes;
+    private String error;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime completedAt;
+    private OffsetDateTime expiresAt;
+}
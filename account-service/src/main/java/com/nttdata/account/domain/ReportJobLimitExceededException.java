@@ -0,0 +1,8 @@
+package com.nttdata.account.domain;
+
+public class ReportJobLimitExceededException extends RuntimeException {
+
+    public ReportJobLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.nttdata.account.domain;
+
+import java.util.UUID;
+
+public class ReportJobNotFoundException extends RuntimeException {
+
+    private final UUID jobId;
+
+    public ReportJobNotFoundException(UUID jobId) {
+        super(String.format("Report job not found with id: %s", jobId));
+        this.jobId = jobId;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nttdata.account.domain;
+
+import java.util.UUID;
+
+public class ReportJobNotReadyException extends RuntimeException {
+
+    private final UUID jobId;
+
+    public ReportJobNotReadyException(UUID jobId, String status) {
+        super(String.format("Report job %s has no result, its status is %s", jobId, status));
+        this.jobId = jobId;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nttdata.account.domain;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Port for the state of statement jobs, shared by all instances.
+ */
+public interface ReportJobRepository {
+
+    /**
+     * Inserts the job or replaces its recorded state.
+     */
+    Mono<ReportJob> save(ReportJob job);
+
+    Mono<ReportJob> findById(UUID jobId);
+
+    /**
+     * Records the progress of a job that is still queued or running, which also shows that its
+     * instance is alive. Finished jobs are left untouched.
+     */
+    Mono<Void> updateProgress(UUID jobId, long processedMovements);
+
+    /**
+     * Finished jobs whose TTL has passed, and unfinished ones not refreshed since {@code abandonedBefore}.
+     */
+    Flux<ReportJob> findExpired(OffsetDateTime now, OffsetDateTime abandonedBefore);
+
+    Mono<Void> delete(UUID jobId);
+}
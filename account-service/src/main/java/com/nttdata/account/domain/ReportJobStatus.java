@@ -0,0 +1,8 @@
+package com.nttdata.account.domain;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.nttdata.account.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One row of a client statement read model, ordered by account and newest movement first.
+ * The customer is only carried by the first line and each account only by its first line,
+ * so headers are materialized once per statement instead of once per movement.
+ */
+@Getter
+@Builder
+public class StatementLine {
+
+    private final Customer customer;
+    private final Account account;
+    private final Long accountId;
+    // Null for an account without movements in the requested range
+    private final Movement movement;
+}
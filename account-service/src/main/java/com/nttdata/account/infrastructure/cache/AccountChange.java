@@ -0,0 +1,8 @@
+package com.nttdata.account.infrastructure.cache;
+
+/**
+ * Payload of an {@code account_changes} notification: the keys under which the changed account
+ * may be cached.
+ */
+public record AccountChange(Long accountId, Long customerId, String accountNumber) {
+}
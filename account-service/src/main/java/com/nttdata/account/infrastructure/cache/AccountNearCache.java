@@ -0,0 +1,155 @@
+package com.nttdata.account.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nttdata.account.domain.Account;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Per-instance cache of accounts by id, by account number and by customer.
+ * <p>
+ * Entries are evicted when {@link AccountChangeListener} receives a change of the account from
+ * Postgres, and expire after a short TTL in case a notification is lost. While the listener is
+ * not connected the cache is bypassed, since changes would go unnoticed. Accounts are mutable,
+ * so callers always get copies.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.account-cache.enabled", havingValue = "true")
+public class AccountNearCache {
+
+    private final Region<Long, Account> byId;
+    private final Region<String, Account> byAccountNumber;
+    private final Region<Long, List<Account>> byCustomer;
+    private volatile boolean active;
+
+    public AccountNearCache(@Value("${account.account-cache.max-size:10000}") long maxSize,
+                            @Value("${account.account-cache.ttl:PT1M}") Duration ttl) {
+        this.byId = new Region<>(maxSize, ttl);
+        this.byAccountNumber = new Region<>(maxSize, ttl);
+        this.byCustomer = new Region<>(maxSize, ttl);
+    }
+
+    public Mono<Account> findById(Long accountId, Supplier<Mono<Account>> loader) {
+        return find(byId, accountId, loader).map(this::copy);
+    }
+
+    public Mono<Account> findByAccountNumber(String accountNumber, Supplier<Mono<Account>> loader) {
+        return find(byAccountNumber, accountNumber, loader).map(this::copy);
+    }
+
+    public Mono<List<Account>> findByCustomerId(Long customerId, Supplier<Mono<List<Account>>> loader) {
+        return find(byCustomer, customerId, loader)
+                .map(accounts -> accounts.stream().map(this::copy).toList());
+    }
+
+    /**
+     * Whether the account is cached, which proves it existed a moment ago.
+     */
+    public boolean contains(Long accountId) {
+        return active && byId.cache.getIfPresent(accountId) != null;
+    }
+
+    public void evict(AccountChange change) {
+        if (change.accountId() != null) {
+            byId.invalidate(change.accountId());
+        }
+        if (change.accountNumber() != null) {
+            byAccountNumber.invalidate(change.accountNumber());
+        }
+        if (change.customerId() != null) {
+            byCustomer.invalidate(change.customerId());
+        }
+    }
+
+    /**
+     * Starts serving from the cache once changes are being received. Anything cached before
+     * may have missed a change, so the cache starts empty.
+     */
+    void activate() {
+        clear();
+        active = true;
+    }
+
+    void deactivate() {
+        active = false;
+        clear();
+    }
+
+    void clear() {
+        byId.invalidateAll();
+        byAccountNumber.invalidateAll();
+        byCustomer.invalidateAll();
+    }
+
+    private <K, V> Mono<V> find(Region<K, V> region, K key, Supplier<Mono<V>> loader) {
+        if (!active) {
+            return loader.get();
+        }
+        return Mono.defer(() -> {
+            V cached = region.cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long stamp = region.stamp(key);
+            return loader.get().doOnNext(value -> region.store(key, value, stamp));
+        });
+    }
+
+    private Account copy(Account account) {
+        return account.toBuilder().build();
+    }
+
+    /**
+     * One cache with a striped eviction counter, so that a value read before an eviction of its
+     * key is not stored after it.
+     */
+    private static final class Region<K, V> {
+
+        private static final int STRIPES = 64;
+
+        private final Cache<K, V> cache;
+        private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+        private Region(long maxSize, Duration ttl) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .build();
+        }
+
+        private long stamp(K key) {
+            return stamps.get(stripe(key));
+        }
+
+        private void store(K key, V value, long stamp) {
+            // Evictions bump the stamp before removing the key, which waits for this compute
+            cache.asMap().compute(key, (k, existing) -> stamps.get(stripe(key)) == stamp ? value : existing);
+        }
+
+        private void invalidate(K key) {
+            stamps.incrementAndGet(stripe(key));
+            cache.invalidate(key);
+        }
+
+        private void invalidateAll() {
+            for (int i = 0; i < STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+            cache.invalidateAll();
+        }
+
+        private int stripe(K key) {
+            return Math.floorMod(key.hashCode(), STRIPES);
+        }
+    }
+}
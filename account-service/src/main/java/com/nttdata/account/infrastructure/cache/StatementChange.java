@@ -0,0 +1,10 @@
+package com.nttdata.account.infrastructure.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Payload of a {@code statement_changes} notification: either the account and UTC day of a
+ * changed movement, or the customer whose accounts or details changed.
+ */
+public record StatementChange(Long accountId, LocalDate date, Long customerId) {
+}
@@ -0,0 +1,104 @@
+package com.nttdata.account.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Listens on the {@code statement_changes} channel, filled by triggers on {@code movements},
+ * {@code accounts} and {@code customer}, and evicts the affected statements from the
+ * {@link StatementReportCache} of this instance.
+ * <p>
+ * The listener holds its own connection outside the pool, since it stays busy for as long as the
+ * application runs. When it is lost the cache is switched off until listening again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.report-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementChangeListener {
+
+    static final String CHANNEL = "statement_changes";
+
+    private final StatementReportCache statementReportCache;
+    private final ObjectMapper objectMapper;
+    private final ConnectionFactory connectionFactory;
+    private final Disposable subscription;
+
+    public StatementChangeListener(StatementReportCache statementReportCache,
+                                   ObjectMapper objectMapper,
+                                   @Value("${spring.r2dbc.url}") String url,
+                                   @Value("${spring.r2dbc.username:}") String username,
+                                   @Value("${spring.r2dbc.password:}") String password,
+                                   @Value("${account.report-cache.reconnect-delay:PT1S}") Duration reconnectDelay) {
+        this.statementReportCache = statementReportCache;
+        this.objectMapper = objectMapper;
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.connectionFactory = ConnectionFactories.get(options.build());
+        this.subscription = listen()
+                .doOnError(error -> {
+                    statementReportCache.deactivate();
+                    log.warn("Statement change listener disconnected, statement cache bypassed: {}", error.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectDelay).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscription.dispose();
+    }
+
+    private Mono<Void> listen() {
+        return Flux.usingWhen(
+                        Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                        // Subscribed before LISTEN, so that no notification is missed once the cache is active
+                        connection -> connection.getNotifications()
+                                .doOnNext(this::evict)
+                                .mergeWith(connection.createStatement("LISTEN " + CHANNEL).execute()
+                                        .flatMap(PostgresqlResult::getRowsUpdated)
+                                        .then(Mono.<Notification>fromRunnable(() -> {
+                                            statementReportCache.activate();
+                                            log.info("Listening for statement changes, statement cache active");
+                                        }))),
+                        Connection::close)
+                .then(Mono.error(() -> new IllegalStateException("The listener connection was closed")));
+    }
+
+    private void evict(Notification notification) {
+        try {
+            StatementChange change = objectMapper.readValue(notification.getParameter(), StatementChange.class);
+            if (change.customerId() != null) {
+                statementReportCache.evictClient(change.customerId());
+            } else if (change.accountId() != null && change.date() != null) {
+                statementReportCache.evict(change.accountId(), change.date());
+            }
+        } catch (JsonProcessingException e) {
+            // Without the keys of the change, nothing cached can be trusted
+            log.error("Unreadable statement change {}: {}", notification.getParameter(), e.getMessage());
+            statementReportCache.clear();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.nttdata.account.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.nttdata.account.domain.ClientReportCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generated statements for closed periods, kept as the encoded response body.
+ * <p>
+ * Only ranges that end before today (UTC) are cached: new movements are always dated now, so
+ * those statements only change when a movement inside them is deleted, or when a registration
+ * started before midnight commits after it. Writers report both through {@link ClientReportCache},
+ * and an index from account to cached keys keeps that check O(1) for accounts with nothing cached.
+ * The cache is bounded by the total size of the stored bodies; bodies above the per-entry limit
+ * are simply not cached.
+ * <p>
+ * Writers on other instances, and changes of accounts or customers, reach this instance through
+ * {@link StatementChangeListener}. The cache is only used while that listener is connected, and
+ * entries also expire after a TTL as a bound on anything a notification could not cover.
+ */
+@Slf4j
+@Component
+public class StatementReportCache implements ClientReportCache {
+
+    private final Cache<StatementReportKey, CachedStatement> cache;
+    private final ConcurrentMap<Long, Set<StatementReportKey>> keysByAccount = new ConcurrentHashMap<>();
+    // Bumped on every eviction so that statements read before it are not stored afterwards
+    private final AtomicLong evictions = new AtomicLong();
+    private final boolean enabled;
+    private final long maxEntryBytes;
+    private volatile boolean active;
+
+    public StatementReportCache(@Value("${account.report-cache.enabled:true}") boolean enabled,
+                                @Value("${account.report-cache.max-weight:64MB}") DataSize maxWeight,
+                                @Value("${account.report-cache.max-entry-size:4MB}") DataSize maxEntrySize,
+                                @Value("${account.report-cache.ttl:PT10M}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .expireAfterWrite(ttl)
+                .weigher((StatementReportKey key, CachedStatement statement) -> statement.body().length)
+                .evictionListener((StatementReportKey key, CachedStatement statement, RemovalCause cause) -> {
+                    if (key != null && statement != null) {
+                        unindex(key, statement.accountIds());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Whether statements ending on {@code endDate} are served from the cache.
+     */
+    public boolean isCacheable(LocalDate endDate) {
+        return enabled && active && endDate.isBefore(today());
+    }
+
+    public byte[] get(StatementReportKey key) {
+        CachedStatement statement = cache.getIfPresent(key);
+        return statement != null ? statement.body() : null;
+    }
+
+    /**
+     * Starts capturing a statement while it is generated. Must be called before reading it, so
+     * that evictions happening meanwhile prevent it from being stored.
+     */
+    public Recording record(StatementReportKey key) {
+        return new Recording(key, evictions.get());
+    }
+
+    @Override
+    public void evict(Long accountId, OffsetDateTime date) {
+        evict(accountId, date.atZoneSameInstant(ZoneOffset.UTC).toLocalDate());
+    }
+
+    /**
+     * Drops the cached statements that include the account and whose range contains the UTC day.
+     */
+    public void evict(Long accountId, LocalDate day) {
+        if (!enabled || !day.isBefore(today())) {
+            return;
+        }
+        evictions.incrementAndGet();
+        Set<StatementReportKey> keys = keysByAccount.get(accountId);
+        if (keys == null) {
+            return;
+        }
+        List<StatementReportKey> stale = keys.stream()
+                .filter(key -> key.covers(day))
+                .toList();
+        stale.forEach(this::remove);
+        if (!stale.isEmpty()) {
+            log.debug("Evicted {} cached statements for accountId={}", stale.size(), accountId);
+        }
+    }
+
+    /**
+     * Drops every cached statement of the customer, whose details or accounts changed.
+     */
+    public void evictClient(Long clientId) {
+        if (!enabled) {
+            return;
+        }
+        evictions.incrementAndGet();
+        List<StatementReportKey> stale = cache.asMap().keySet().stream()
+                .filter(key -> key.clientId().equals(clientId))
+                .toList();
+        stale.forEach(this::remove);
+        if (!stale.isEmpty()) {
+            log.debug("Evicted {} cached statements for clientId={}", stale.size(), clientId);
+        }
+    }
+
+    /**
+     * Starts serving from the cache once changes are being received. Anything cached before
+     * may have missed a change, so the cache starts empty.
+     */
+    void activate() {
+        clear();
+        active = true;
+    }
+
+    void deactivate() {
+        active = false;
+        clear();
+    }
+
+    void clear() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+        keysByAccount.clear();
+    }
+
+    private void store(StatementReportKey key, byte[] body, Set<Long> accountIds, long stamp) {
+        // Indexed before it becomes visible, so a concurrent eviction either finds it or bumps the stamp
+        index(key, accountIds);
+        cache.put(key, new CachedStatement(body, accountIds));
+        if (evictions.get() != stamp) {
+            remove(key);
+        }
+    }
+
+    private void remove(StatementReportKey key) {
+        CachedStatement removed = cache.asMap().remove(key);
+        if (removed != null) {
+            unindex(key, removed.accountIds());
+        }
+    }
+
+    private void index(StatementReportKey key, Set<Long> accountIds) {
+        accountIds.forEach(accountId -> keysByAccount.compute(accountId, (id, keys) -> {
+            Set<StatementReportKey> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            return indexed;
+        }));
+    }
+
+    private void unindex(StatementReportKey key, Set<Long> accountIds) {
+        accountIds.forEach(accountId -> keysByAccount.computeIfPresent(accountId, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        }));
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private record CachedStatement(byte[] body, Set<Long> accountIds) {
+    }
+
+    /**
+     * Copy of a statement body as it is written to the response, stored once it completes.
+     * Stops copying as soon as the body outgrows the per-entry limit.
+     */
+    public final class Recording {
+
+        private final StatementReportKey key;
+        private final long stamp;
+        private final Set<Long> accountIds = ConcurrentHashMap.newKeySet();
+        private ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private Recording(StatementReportKey key, long stamp) {
+            this.key = key;
+            this.stamp = stamp;
+        }
+
+        public void account(Long accountId) {
+            accountIds.add(accountId);
+        }
+
+        public void write(byte[] bytes) {
+            if (body == null) {
+                return;
+            }
+            if (body.size() + (long) bytes.length > maxEntryBytes) {
+                body = null;
+                return;
+            }
+            body.writeBytes(bytes);
+        }
+
+        // Copies the readable bytes without consuming them, the buffer is still to be written
+        public void write(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, bytes.length);
+            write(bytes);
+        }
+
+        public void commit() {
+            if (body != null) {
+                store(key, body.toByteArray(), Set.copyOf(accountIds), stamp);
+                body = null;
+            }
+        }
+    }
+}
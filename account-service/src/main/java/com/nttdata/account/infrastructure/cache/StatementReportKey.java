@@ -0,0 +1,14 @@
+package com.nttdata.account.infrastructure.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies a generated statement. Dates are inclusive and interpreted in UTC, like the
+ * report endpoint does.
+ */
+public record StatementReportKey(Long clientId, LocalDate startDate, LocalDate endDate, String format) {
+
+    boolean covers(LocalDate day) {
+        return !day.isBefore(startDate) && !day.isAfter(endDate);
+    }
+}
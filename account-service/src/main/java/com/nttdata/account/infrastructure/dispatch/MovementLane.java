@@ -0,0 +1,50 @@
+package com.nttdata.account.infrastructure.dispatch;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer lane: tasks submitted from any thread run strictly one after another,
+ * in submission order. Backed by a unicast sink over an MPSC queue, which holds at most
+ * {@code capacity} waiting tasks.
+ */
+class MovementLane {
+
+    private final Sinks.Many<Supplier<Mono<Void>>> sink = Sinks.many().unicast()
+            .onBackpressureBuffer(Queues.<Supplier<Mono<Void>>>unboundedMultiproducer().get());
+    private final AtomicInteger depth = new AtomicInteger();
+    private final int capacity;
+
+    MovementLane(int capacity) {
+        this.capacity = capacity;
+        sink.asFlux()
+                .concatMap(task -> Mono.defer(task).onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    /**
+     * Enqueues the task, unless the lane already holds {@code capacity} waiting tasks. The bound
+     * is kept by the depth counter rather than by the queue: an overflowing queue would
+     * terminate the sink, and with it the lane.
+     */
+    boolean submit(Supplier<Mono<Void>> task) {
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            return false;
+        }
+        // Concurrent producers only collide on the sink's serialization guard; retry until enqueued
+        sink.emitNext(() -> {
+            depth.decrementAndGet();
+            return task.get();
+        }, (signalType, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+        return true;
+    }
+
+    int depth() {
+        return depth.get();
+    }
+}
@@ -0,0 +1,124 @@
+package com.nttdata.account.infrastructure.dispatch;
+
+import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import com.nttdata.account.application.register_movement.RegisterMovementCommandHandler;
+import com.nttdata.account.application.register_movement.RegisterMovementCommandHandlerImpl;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementLaneUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes movement registration through per-account lanes: an account id always hashes to the
+ * same lane, so movements of one account are applied in order and never race on its row lock,
+ * while different accounts proceed in parallel on other lanes.
+ * <p>
+ * A lane that is full rejects new movements, and a caller stops waiting for its movement after
+ * the task timeout; both are answered with 503. A movement that has not started by then is
+ * dropped from the lane and never applied. One that has started is left to finish, since its
+ * update may already be committed, so the 503 does not tell whether it was applied: clients
+ * retry with an Idempotency-Key to learn the outcome without registering the movement twice.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "account.movement-lanes.enabled", havingValue = "true", matchIfMissing = true)
+public class MovementLaneDispatcher implements RegisterMovementCommandHandler {
+
+    private static final int WAITING = 0;
+    private static final int STARTED = 1;
+    private static final int ABANDONED = 2;
+
+    private final RegisterMovementCommandHandlerImpl delegate;
+    private final List<MovementLane> lanes;
+    private final Duration taskTimeout;
+    private final Timer waitTimer;
+
+    public MovementLaneDispatcher(RegisterMovementCommandHandlerImpl delegate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${account.movement-lanes.count:16}") int laneCount,
+                                  @Value("${account.movement-lanes.queue-capacity:1024}") int queueCapacity,
+                                  @Value("${account.movement-lanes.task-timeout:PT10S}") Duration taskTimeout) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("account.movement-lanes.count must be greater than zero");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("account.movement-lanes.queue-capacity must be greater than zero");
+        }
+        if (taskTimeout.isNegative() || taskTimeout.isZero()) {
+            throw new IllegalArgumentException("account.movement-lanes.task-timeout must be positive");
+        }
+        this.delegate = delegate;
+        this.taskTimeout = taskTimeout;
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            MovementLane lane = new MovementLane(queueCapacity);
+            Gauge.builder("account.movement.lane.depth", lane, MovementLane::depth)
+                    .description("Movements waiting in the lane")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+            lanes.add(lane);
+        }
+        this.waitTimer = Timer.builder("account.movement.lane.wait")
+                .description("Time a movement waits in its lane before being applied")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        log.info("Movement lane dispatcher started with {} lanes of {} movements, task timeout {}",
+                laneCount, queueCapacity, taskTimeout);
+    }
+
+    @Override
+    public Mono<Movement> handle(RegisterMovementCommand command) {
+        return Mono.defer(() -> {
+            // Whichever of the lane and the timed-out caller moves it first decides whether the movement runs
+            AtomicInteger state = new AtomicInteger(WAITING);
+            return Mono.<Movement>create(sink -> {
+                        long enqueuedAt = System.nanoTime();
+                        boolean enqueued = laneFor(command.getAccountId()).submit(() -> {
+                            if (!state.compareAndSet(WAITING, STARTED)) {
+                                return Mono.empty();
+                            }
+                            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                            // Deferred so that a handler throwing instead of signalling still reaches the caller.
+                            // The caller's context carries its transaction, if any, for the movement to join
+                            return Mono.defer(() -> delegate.handle(command))
+                                    .contextWrite(sink.contextView())
+                                    .doOnSuccess(sink::success)
+                                    .doOnError(sink::error)
+                                    .then();
+                        });
+                        if (!enqueued) {
+                            sink.error(new MovementLaneUnavailableException(
+                                    String.format("Too many movements waiting for account %d", command.getAccountId())));
+                        }
+                    })
+                    // Only stops waiting: a started movement keeps its lane until it finishes
+                    .timeout(taskTimeout)
+                    .onErrorMap(TimeoutException.class, error -> new MovementLaneUnavailableException(
+                            state.compareAndSet(WAITING, ABANDONED)
+                                    ? String.format("Movement for account %d was not applied: it waited more than %s for its lane",
+                                            command.getAccountId(), taskTimeout)
+                                    : String.format("Movement for account %d is still being applied after %s; "
+                                                    + "retry with the same Idempotency-Key to get its outcome",
+                                            command.getAccountId(), taskTimeout)));
+        });
+    }
+
+    private MovementLane laneFor(Long accountId) {
+        return lanes.get(Math.floorMod(Long.hashCode(accountId), lanes.size()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.nttdata.account.domain.StatementLine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Component
+public class CsvStatementExporter implements StatementExporter {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final Scheduler statementExportScheduler;
+    private final int rowsPerChunk;
+
+    public CsvStatementExporter(@Qualifier("statementExportScheduler") Scheduler statementExportScheduler,
+                                @Value("${account.statement-export.rows-per-chunk:256}") int rowsPerChunk) {
+        this.statementExportScheduler = statementExportScheduler;
+        this.rowsPerChunk = rowsPerChunk;
+    }
+
+    @Override
+    public String getFormat() {
+        return "csv";
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return TEXT_CSV;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public Flux<DataBuffer> export(Flux<StatementLine> lines, DataBufferFactory bufferFactory) {
+        Mono<DataBuffer> header = Mono.fromSupplier(() -> {
+            StringBuilder csv = new StringBuilder();
+            appendRow(csv, StatementRows.HEADER.toArray());
+            return bufferFactory.wrap(csv.toString().getBytes(StandardCharsets.UTF_8));
+        });
+        Flux<DataBuffer> rows = StatementRows.rows(lines)
+                .publishOn(statementExportScheduler)
+                .buffer(rowsPerChunk)
+                .map(chunk -> encode(chunk, bufferFactory));
+        return Flux.concat(header, rows)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private DataBuffer encode(List<Object[]> chunk, DataBufferFactory bufferFactory) {
+        StringBuilder csv = new StringBuilder(chunk.size() * 128);
+        chunk.forEach(row -> appendRow(csv, row));
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = bufferFactory.allocateBuffer(bytes.length);
+        return buffer.write(bytes);
+    }
+
+    private void appendRow(StringBuilder csv, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            appendCell(csv, row[i]);
+        }
+        csv.append("\r\n");
+    }
+
+    private void appendCell(StringBuilder csv, Object cell) {
+        if (cell == null) {
+            return;
+        }
+        if (cell instanceof BigDecimal number) {
+            csv.append(number.toPlainString());
+            return;
+        }
+        String text = cell.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else {
+            csv.append(text);
+        }
+    }
+}
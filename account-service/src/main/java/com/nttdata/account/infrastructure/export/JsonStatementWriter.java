@@ -0,0 +1,141 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.account.application.AccountMapper;
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.StatementLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Writes a statement to a file as the JSON document of the synchronous report, line by line as
+ * the lines are produced, so that the statement is never held whole in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStatementWriter {
+
+    private final AccountMapper accountMapper;
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> write(Flux<StatementLine> lines, LocalDate startDate, LocalDate endDate, Path target) {
+        return Mono.using(
+                        () -> new Document(objectMapper.createGenerator(
+                                new BufferedOutputStream(Files.newOutputStream(target)), JsonEncoding.UTF8),
+                                startDate, endDate),
+                        document -> lines
+                                .publishOn(Schedulers.boundedElastic())
+                                .doOnNext(document::write)
+                                .then(Mono.fromRunnable(document::finish)),
+                        Document::close)
+                // The file is opened and closed on a thread that may block
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * The document being written. Lines arrive ordered by account, each account on its first line
+     * together with its newest movement, which carries the balance at the end of the period.
+     */
+    private final class Document {
+
+        private final JsonGenerator generator;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private boolean started;
+        private boolean accountOpen;
+
+        private Document(JsonGenerator generator, LocalDate startDate, LocalDate endDate) {
+            this.generator = generator;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        void write(StatementLine line) {
+            try {
+                if (line.getCustomer() != null) {
+                    start(line.getCustomer());
+                }
+                if (line.getAccount() != null) {
+                    openAccount(line.getAccount(), line.getMovement());
+                }
+                if (line.getMovement() != null) {
+                    generator.writeObject(accountMapper.toMovementDetail(line.getMovement()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() {
+            if (!started) {
+                throw new IllegalStateException("The statement has no customer");
+            }
+            try {
+                closeAccount();
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            try {
+                generator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void start(Customer customer) throws IOException {
+            generator.writeStartObject();
+            generator.writeObjectField("customer", accountMapper.toCustomerInfo(customer));
+            generator.writeObjectField("startDate", startDate);
+            generator.writeObjectField("endDate", endDate);
+            generator.writeObjectField("generatedAt", OffsetDateTime.now());
+            generator.writeArrayFieldStart("accounts");
+            started = true;
+        }
+
+        private void openAccount(Account account, Movement newest) throws IOException {
+            closeAccount();
+            generator.writeStartObject();
+            generator.writeObjectField("accountId", account.getAccountId());
+            generator.writeObjectField("accountNumber", account.getAccountNumber());
+            generator.writeObjectField("accountType", accountMapper.mapAccountTypeWithMovements(account.getAccountType()));
+            generator.writeObjectField("initialBalance", toDouble(account.getInitialBalance()));
+            generator.writeObjectField("currentBalance", newest != null ? toDouble(newest.getBalance()) : null);
+            generator.writeObjectField("status", account.getStatus());
+            generator.writeArrayFieldStart("movements");
+            accountOpen = true;
+        }
+
+        private void closeAccount() throws IOException {
+            if (accountOpen) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                accountOpen = false;
+            }
+        }
+
+        private Double toDouble(BigDecimal value) {
+            return value != null ? value.doubleValue() : null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.nttdata.account.domain.StatementLine;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+/**
+ * Encodes a statement into a file format chunk by chunk, as the lines are produced.
+ */
+public interface StatementExporter {
+
+    /**
+     * Value of the report {@code format} parameter served by this exporter.
+     */
+    String getFormat();
+
+    MediaType getMediaType();
+
+    String getFileExtension();
+
+    Flux<DataBuffer> export(Flux<StatementLine> lines, DataBufferFactory bufferFactory);
+}
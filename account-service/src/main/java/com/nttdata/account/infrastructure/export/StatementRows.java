@@ -0,0 +1,54 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.StatementLine;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Flattens statement lines into spreadsheet rows. Cells are either {@link String} or
+ * {@link java.math.BigDecimal}, so each format can tell text from numbers.
+ */
+final class StatementRows {
+
+    static final List<String> HEADER = List.of(
+            "Date", "Customer", "Account Number", "Account Type", "Initial Balance",
+            "Status", "Movement Type", "Amount", "Available Balance", "Description");
+
+    private StatementRows() {
+    }
+
+    static Flux<Object[]> rows(Flux<StatementLine> lines) {
+        return Flux.defer(() -> {
+            State state = new State();
+            return lines.handle((line, sink) -> {
+                if (line.getCustomer() != null) {
+                    state.customerName = line.getCustomer().getName();
+                }
+                if (line.getAccount() != null) {
+                    state.account = line.getAccount();
+                }
+                if (line.getMovement() != null) {
+                    sink.next(new Object[]{
+                            line.getMovement().getDate().toString(),
+                            state.customerName,
+                            state.account.getAccountNumber(),
+                            state.account.getAccountType().name(),
+                            state.account.getInitialBalance(),
+                            Boolean.TRUE.equals(state.account.getStatus()) ? "Active" : "Inactive",
+                            line.getMovement().getMovementType().name(),
+                            line.getMovement().getAmount(),
+                            line.getMovement().getBalance(),
+                            line.getMovement().getDescription()
+                    });
+                }
+            });
+        });
+    }
+
+    private static final class State {
+        private String customerName;
+        private Account account;
+    }
+}
@@ -0,0 +1,250 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.nttdata.account.domain.StatementLine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a single-sheet XLSX package as a stream: the static package parts first, then the
+ * worksheet rows with inline strings, compressed into the zip entry as they arrive. Only the
+ * deflater window is held in memory, never the workbook.
+ */
+@Component
+public class XlsxStatementExporter implements StatementExporter {
+
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+
+    private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Statement" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+    private static final String WORKBOOK_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+    private static final String SHEET_START = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""";
+
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    private final Scheduler statementExportScheduler;
+    private final int rowsPerChunk;
+
+    public XlsxStatementExporter(@Qualifier("statementExportScheduler") Scheduler statementExportScheduler,
+                                 @Value("${account.statement-export.rows-per-chunk:256}") int rowsPerChunk) {
+        this.statementExportScheduler = statementExportScheduler;
+        this.rowsPerChunk = rowsPerChunk;
+    }
+
+    @Override
+    public String getFormat() {
+        return "excel";
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return XLSX;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "xlsx";
+    }
+
+    @Override
+    public Flux<DataBuffer> export(Flux<StatementLine> lines, DataBufferFactory bufferFactory) {
+        return Flux.defer(() -> {
+            XlsxWriter writer = new XlsxWriter(bufferFactory);
+            Mono<DataBuffer> open = Mono.fromCallable(writer::open).subscribeOn(statementExportScheduler);
+            Flux<DataBuffer> rows = StatementRows.rows(lines)
+                    .publishOn(statementExportScheduler)
+                    .buffer(rowsPerChunk)
+                    .map(writer::writeRows);
+            Mono<DataBuffer> close = Mono.fromCallable(writer::close).subscribeOn(statementExportScheduler);
+            return Flux.concat(open, rows, close)
+                    .filter(buffer -> {
+                        if (buffer.readableByteCount() == 0) {
+                            DataBufferUtils.release(buffer);
+                            return false;
+                        }
+                        return true;
+                    })
+                    .doFinally(signal -> writer.abandon());
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Zip stream whose output is redirected into a fresh buffer for every chunk. Called
+     * sequentially by the export pipeline, never concurrently.
+     */
+    private static final class XlsxWriter {
+
+        private final DataBufferFactory bufferFactory;
+        private final ChunkOutputStream target = new ChunkOutputStream();
+        private final ZipOutputStream zip = new ZipOutputStream(target, StandardCharsets.UTF_8);
+        private boolean finished;
+
+        XlsxWriter(DataBufferFactory bufferFactory) {
+            this.bufferFactory = bufferFactory;
+        }
+
+        DataBuffer open() {
+            return write(() -> {
+                writeEntry("[Content_Types].xml", CONTENT_TYPES);
+                writeEntry("_rels/.rels", ROOT_RELS);
+                writeEntry("xl/workbook.xml", WORKBOOK);
+                writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+                zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+                StringBuilder xml = new StringBuilder(SHEET_START);
+                appendRow(xml, StatementRows.HEADER.toArray());
+                zip.write(xml.toString().getBytes(StandardCharsets.UTF_8));
+            });
+        }
+
+        DataBuffer writeRows(List<Object[]> rows) {
+            return write(() -> {
+                StringBuilder xml = new StringBuilder(rows.size() * 256);
+                rows.forEach(row -> appendRow(xml, row));
+                zip.write(xml.toString().getBytes(StandardCharsets.UTF_8));
+            });
+        }
+
+        DataBuffer close() {
+            return write(() -> {
+                zip.write(SHEET_END.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+                zip.finish();
+                finished = true;
+            });
+        }
+
+        // Frees the deflater when the export is cancelled or fails half-way
+        void abandon() {
+            if (!finished) {
+                finished = true;
+                try {
+                    zip.close();
+                } catch (IOException ignored) {
+                    // nothing was going to be sent anyway
+                }
+            }
+        }
+
+        private DataBuffer write(IoAction action) {
+            DataBuffer buffer = bufferFactory.allocateBuffer(8192);
+            target.redirect(buffer.asOutputStream());
+            try {
+                action.run();
+                return buffer;
+            } catch (IOException e) {
+                DataBufferUtils.release(buffer);
+                throw new UncheckedIOException(e);
+            } finally {
+                target.redirect(OutputStream.nullOutputStream());
+            }
+        }
+
+        private void writeEntry(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        private void appendRow(StringBuilder xml, Object[] row) {
+            xml.append("<row>");
+            for (Object cell : row) {
+                if (cell == null) {
+                    xml.append("<c/>");
+                } else if (cell instanceof BigDecimal number) {
+                    xml.append("<c><v>").append(number.toPlainString()).append("</v></c>");
+                } else {
+                    xml.append("<c t=\"inlineStr\"><is><t>");
+                    appendEscaped(xml, cell.toString());
+                    xml.append("</t></is></c>");
+                }
+            }
+            xml.append("</row>");
+        }
+
+        private void appendEscaped(StringBuilder xml, String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '&' -> xml.append("&amp;");
+                    case '<' -> xml.append("&lt;");
+                    case '>' -> xml.append("&gt;");
+                    case '"' -> xml.append("&quot;");
+                    default -> {
+                        // Control characters are not allowed in XML 1.0
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            xml.append(c);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static final class ChunkOutputStream extends OutputStream {
+
+        private OutputStream delegate = OutputStream.nullOutputStream();
+
+        void redirect(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+    }
+}
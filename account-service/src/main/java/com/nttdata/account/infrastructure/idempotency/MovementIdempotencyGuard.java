@@ -0,0 +1,135 @@
+package com.nttdata.account.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import com.nttdata.account.domain.IdempotencyKeyInProgressException;
+import com.nttdata.account.domain.IdempotencyKeyRepository;
+import com.nttdata.account.domain.IdempotencyKeyReusedException;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Makes movement creation safe to retry under an Idempotency-Key.
+ * <p>
+ * Recent keys live in a bounded TTL cache holding either the created movement or the in-flight
+ * future, so hot retries and concurrent duplicates resolve in memory onto a single execution.
+ * Misses fall back to the {@code idempotency_keys} table, which also protects against
+ * duplicates arriving at other instances.
+ * <p>
+ * The key is claimed, the movement applied and the key completed in one transaction, so a
+ * movement is never committed without its key nor a key without its movement. A failure at any
+ * step rolls all three back and leaves the key free for the client's retry; a duplicate arriving
+ * meanwhile waits on the claimed row and then replays the committed movement.
+ * <p>
+ * A key is bound to a hash of the request that first claimed it. Reusing it for a different
+ * account, type, amount or description is rejected rather than replaying the original movement.
+ */
+@Slf4j
+@Component
+public class MovementIdempotencyGuard {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final MovementRepository movementRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final AsyncCache<String, Movement> cache;
+    private final Duration ttl;
+
+    public MovementIdempotencyGuard(IdempotencyKeyRepository idempotencyKeyRepository,
+                                    MovementRepository movementRepository,
+                                    TransactionalOperator transactionalOperator,
+                                    @Value("${account.idempotency.cache-size:10000}") long cacheSize,
+                                    @Value("${account.idempotency.ttl:PT24H}") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.movementRepository = movementRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public Mono<Movement> execute(RegisterMovementCommand command, String idempotencyKey,
+                                  Supplier<Mono<Movement>> registration) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return registration.get();
+        }
+        Long accountId = command.getAccountId();
+        return Mono.defer(() -> {
+            String requestHash = requestHash(command);
+            // The hash is part of the cache key, so a different request under the same key always
+            // reaches the table and is rejected there. Failed futures are evicted by the cache, so
+            // only successful registrations are replayed
+            CompletableFuture<Movement> result = cache.get(accountId + ":" + idempotencyKey + ":" + requestHash,
+                    (key, executor) -> resolve(accountId, idempotencyKey, requestHash, registration).toFuture());
+            // Cancelling one caller must not cancel the execution shared with the others
+            return Mono.fromFuture(result.copy());
+        });
+    }
+
+    private Mono<Movement> resolve(Long accountId, String idempotencyKey, String requestHash,
+                                   Supplier<Mono<Movement>> registration) {
+        return idempotencyKeyRepository.claim(accountId, idempotencyKey, requestHash)
+                .flatMap(claimed -> claimed
+                        ? register(accountId, idempotencyKey, registration)
+                        : replay(accountId, idempotencyKey, requestHash))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Movement> register(Long accountId, String idempotencyKey, Supplier<Mono<Movement>> registration) {
+        return registration.get()
+                .flatMap(movement -> idempotencyKeyRepository.complete(accountId, idempotencyKey, movement.getMovementId())
+                        .thenReturn(movement));
+    }
+
+    private Mono<Movement> replay(Long accountId, String idempotencyKey, String requestHash) {
+        return idempotencyKeyRepository.findRequestHash(accountId, idempotencyKey)
+                .filter(claimedHash -> !claimedHash.equals(requestHash))
+                .flatMap(claimedHash -> Mono.<Movement>error(new IdempotencyKeyReusedException(idempotencyKey)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.info("Replaying movement for Idempotency-Key={}, accountId={}", idempotencyKey, accountId);
+                    return idempotencyKeyRepository.findMovementId(accountId, idempotencyKey)
+                            .flatMap(movementRepository::findById)
+                            .switchIfEmpty(Mono.error(new IdempotencyKeyInProgressException(idempotencyKey)));
+                }));
+    }
+
+    // Amounts are compared by value, so 250 and 250.00 are the same request
+    static String requestHash(RegisterMovementCommand command) {
+        String canonical = String.join("|",
+                String.valueOf(command.getAccountId()),
+                String.valueOf(command.getMovementType()),
+                command.getAmount() == null ? "" : command.getAmount().stripTrailingZeros().toPlainString(),
+                Objects.toString(command.getDescription(), ""));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${account.idempotency.purge-interval:PT1H}")
+    public Mono<Void> purgeExpiredKeys() {
+        return idempotencyKeyRepository.deleteCreatedBefore(OffsetDateTime.now().minus(ttl))
+                .doOnNext(deleted -> log.info("Purged {} expired idempotency keys", deleted))
+                .then();
+    }
+}
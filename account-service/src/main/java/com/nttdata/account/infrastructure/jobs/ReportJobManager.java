@@ -0,0 +1,329 @@
+package com.nttdata.account.infrastructure.jobs;
+
+import com.nttdata.account.application.export_client_statement.ExportClientStatementQuery;
+import com.nttdata.account.application.export_client_statement.ExportClientStatementQueryHandler;
+import com.nttdata.account.domain.CustomerNotFoundException;
+import com.nttdata.account.domain.ReportJob;
+import com.nttdata.account.domain.ReportJobLimitExceededException;
+import com.nttdata.account.domain.ReportJobNotFoundException;
+import com.nttdata.account.domain.ReportJobNotReadyException;
+import com.nttdata.account.domain.ReportJobRepository;
+import com.nttdata.account.domain.ReportJobStatus;
+import com.nttdata.account.domain.StatementLine;
+import com.nttdata.account.infrastructure.export.JsonStatementWriter;
+import com.nttdata.account.infrastructure.export.StatementExporter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs statement jobs in the background and spools their result to disk.
+ * <p>
+ * Jobs are queued and taken by a fixed number of workers, so a burst of heavy statements waits
+ * here instead of holding R2DBC connections that movement writes need. Each customer may only
+ * have a few jobs queued or running at once on an instance, and the queue itself is bounded.
+ * <p>
+ * Job state is kept in {@code report_jobs} and results in a spool directory shared by all
+ * instances, so a job can be polled and downloaded through any of them. The instance holding a
+ * job refreshes its progress while it is queued or running; jobs left unfinished by an instance
+ * that went away are discarded after the TTL, like finished jobs and their files.
+ */
+@Slf4j
+@Component
+public class ReportJobManager {
+
+    private static final String JSON_FORMAT = "json";
+
+    private final ExportClientStatementQueryHandler exportClientStatementQueryHandler;
+    private final List<StatementExporter> statementExporters;
+    private final JsonStatementWriter jsonStatementWriter;
+    private final ReportJobRepository reportJobRepository;
+    private final Path spoolDirectory;
+    private final int maxJobsPerClient;
+    private final int queueCapacity;
+    private final Duration ttl;
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    // Jobs queued or running on this instance, with the movements processed so far
+    private final Map<UUID, AtomicLong> heldJobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> activeJobsByClient = new ConcurrentHashMap<>();
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    private final Sinks.Many<ReportJob> queue = Sinks.many().unicast()
+            .onBackpressureBuffer(Queues.<ReportJob>unboundedMultiproducer().get());
+    private final Disposable workers;
+
+    public ReportJobManager(ExportClientStatementQueryHandler exportClientStatementQueryHandler,
+                            List<StatementExporter> statementExporters,
+                            JsonStatementWriter jsonStatementWriter,
+                            ReportJobRepository reportJobRepository,
+                            @Value("${account.report-jobs.spool-dir:${java.io.tmpdir}/account-report-jobs}") String spoolDirectory,
+                            @Value("${account.report-jobs.workers:2}") int workers,
+                            @Value("${account.report-jobs.max-per-client:2}") int maxJobsPerClient,
+                            @Value("${account.report-jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${account.report-jobs.ttl:PT1H}") Duration ttl) {
+        this.exportClientStatementQueryHandler = exportClientStatementQueryHandler;
+        this.statementExporters = statementExporters;
+        this.jsonStatementWriter = jsonStatementWriter;
+        this.reportJobRepository = reportJobRepository;
+        this.spoolDirectory = Path.of(spoolDirectory);
+        this.maxJobsPerClient = maxJobsPerClient;
+        this.queueCapacity = queueCapacity;
+        this.ttl = ttl;
+        prepareSpoolDirectory();
+        this.workers = queue.asFlux()
+                .flatMap(this::run, workers)
+                .subscribe();
+    }
+
+    public Mono<ReportJob> submit(Long clientId, LocalDate startDate, LocalDate endDate, String format) {
+        return Mono.fromCallable(() -> {
+                    if (endDate.isBefore(startDate)) {
+                        throw new IllegalArgumentException("The end date must not be before the start date");
+                    }
+                    StatementExporter exporter = findExporter(format);
+                    String extension = exporter != null ? exporter.getFileExtension() : JSON_FORMAT;
+                    ReportJob job = ReportJob.builder()
+                            .jobId(UUID.randomUUID())
+                            .clientId(clientId)
+                            .startDate(startDate)
+                            .endDate(endDate)
+                            .format(exporter != null ? exporter.getFormat() : JSON_FORMAT)
+                            .mediaType((exporter != null ? exporter.getMediaType() : MediaType.APPLICATION_JSON).toString())
+                            .fileName("statement-%d-%s-%s.%s".formatted(clientId, startDate, endDate, extension))
+                            .status(ReportJobStatus.QUEUED)
+                            .createdAt(OffsetDateTime.now())
+                            .build();
+
+                    reserveSlot(clientId);
+                    if (queuedJobs.incrementAndGet() > queueCapacity) {
+                        queuedJobs.decrementAndGet();
+                        releaseSlot(clientId);
+                        throw new ReportJobLimitExceededException("The report job queue is full, try again later");
+                    }
+                    return job;
+                })
+                .flatMap(job -> reportJobRepository.save(job)
+                        .doOnError(error -> {
+                            queuedJobs.decrementAndGet();
+                            releaseSlot(clientId);
+                        }))
+                .doOnNext(job -> {
+                    heldJobs.put(job.getJobId(), new AtomicLong());
+                    queue.emitNext(job, (signalType, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+                    log.info("Report job queued: jobId={}, clientId={}, format={}", job.getJobId(), clientId, job.getFormat());
+                });
+    }
+
+    public Mono<ReportJob> find(Long clientId, UUID jobId) {
+        return reportJobRepository.findById(jobId)
+                .filter(job -> job.getClientId().equals(clientId))
+                .switchIfEmpty(Mono.error(new ReportJobNotFoundException(jobId)));
+    }
+
+    /**
+     * Emits the completed job whose result can be read from {@link #resolve(ReportJob)}.
+     */
+    public Mono<ReportJob> findCompleted(Long clientId, UUID jobId) {
+        return find(clientId, jobId)
+                .flatMap(job -> job.getStatus() == ReportJobStatus.COMPLETED
+                        ? Mono.just(job)
+                        : Mono.error(new ReportJobNotReadyException(jobId, job.getStatus().name())))
+                .filterWhen(job -> Mono.fromCallable(() -> Files.exists(resolve(job)))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                // Only when the spool directory is not shared with the instance that ran the job
+                .switchIfEmpty(Mono.error(() -> new ReportJobNotFoundException(jobId)));
+    }
+
+    public Path resolve(ReportJob job) {
+        return spoolDirectory.resolve(job.getResultFile());
+    }
+
+    @Scheduled(fixedDelayString = "${account.report-jobs.progress-interval:PT5S}")
+    public Mono<Void> refreshProgress() {
+        return Flux.fromIterable(heldJobs.entrySet())
+                .concatMap(held -> reportJobRepository.updateProgress(held.getKey(), held.getValue().get()))
+                .onErrorResume(error -> {
+                    log.warn("Could not refresh the progress of report jobs: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${account.report-jobs.cleanup-interval:PT5M}")
+    public Mono<Void> purgeExpiredJobs() {
+        OffsetDateTime now = OffsetDateTime.now();
+        return reportJobRepository.findExpired(now, now.minus(ttl))
+                .filter(job -> !heldJobs.containsKey(job.getJobId()))
+                .concatMap(job -> Mono.fromRunnable(() -> {
+                                    deleteQuietly(partOf(job.getJobId()));
+                                    if (job.getResultFile() != null) {
+                                        deleteQuietly(resolve(job));
+                                    }
+                                })
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .then(reportJobRepository.delete(job.getJobId()))
+                                .doOnSuccess(deleted -> log.info("Report job expired: jobId={}, clientId={}, status={}",
+                                        job.getJobId(), job.getClientId(), job.getStatus())))
+                .onErrorResume(error -> {
+                    log.warn("Could not purge expired report jobs: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.dispose();
+    }
+
+    private Mono<Void> run(ReportJob job) {
+        queuedJobs.decrementAndGet();
+        AtomicLong processed = heldJobs.computeIfAbsent(job.getJobId(), id -> new AtomicLong());
+        Path part = partOf(job.getJobId());
+        String resultFile = job.getJobId() + "." + extensionOf(job.getFileName());
+        ReportJob running = job.toBuilder()
+                .status(ReportJobStatus.RUNNING)
+                .startedAt(OffsetDateTime.now())
+                .build();
+        return reportJobRepository.save(running)
+                .doOnNext(started -> log.info("Report job started: jobId={}, clientId={}", job.getJobId(), job.getClientId()))
+                .then(Mono.defer(() -> write(job, part, processed)))
+                .then(Mono.fromCallable(() -> {
+                            Path file = Files.move(part, spoolDirectory.resolve(resultFile), StandardCopyOption.REPLACE_EXISTING);
+                            return Files.size(file);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(sizeBytes -> {
+                    OffsetDateTime completedAt = OffsetDateTime.now();
+                    return reportJobRepository.save(running.toBuilder()
+                            .status(ReportJobStatus.COMPLETED)
+                            .processedMovements(processed.get())
+                            .resultFile(resultFile)
+                            .sizeBytes(sizeBytes)
+                            .completedAt(completedAt)
+                            .expiresAt(completedAt.plus(ttl))
+                            .build());
+                })
+                .doOnNext(completed -> log.info("Report job completed: jobId={}, clientId={}, movements={}, bytes={}",
+                        completed.getJobId(), completed.getClientId(), completed.getProcessedMovements(), completed.getSizeBytes()))
+                .onErrorResume(error -> {
+                    log.error("Report job failed: jobId={}, clientId={}: {}", job.getJobId(), job.getClientId(), error.getMessage());
+                    OffsetDateTime completedAt = OffsetDateTime.now();
+                    return Mono.fromRunnable(() -> deleteQuietly(part))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(reportJobRepository.save(running.toBuilder()
+                                    .status(ReportJobStatus.FAILED)
+                                    .processedMovements(processed.get())
+                                    .error(error instanceof CustomerNotFoundException
+                                            ? error.getMessage()
+                                            : "The statement could not be generated")
+                                    .completedAt(completedAt)
+                                    .expiresAt(completedAt.plus(ttl))
+                                    .build()));
+                })
+                // Left to the purge of abandoned jobs when even the outcome cannot be recorded
+                .onErrorResume(error -> {
+                    log.error("Could not record the outcome of report job {}: {}", job.getJobId(), error.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    heldJobs.remove(job.getJobId());
+                    releaseSlot(job.getClientId());
+                })
+                .then();
+    }
+
+    private Mono<Void> write(ReportJob job, Path target, AtomicLong processed) {
+        ExportClientStatementQuery query = ExportClientStatementQuery.builder()
+                .clientId(job.getClientId())
+                .startDate(job.getStartDate().atStartOfDay().atOffset(ZoneOffset.UTC))
+                .endDate(job.getEndDate().plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+                .build();
+        Flux<StatementLine> lines = exportClientStatementQueryHandler.handle(query)
+                .doOnNext(line -> {
+                    if (line.getMovement() != null) {
+                        processed.incrementAndGet();
+                    }
+                });
+
+        StatementExporter exporter = findExporter(job.getFormat());
+        if (exporter == null) {
+            // Same document as the synchronous report, written as the lines come off the database
+            return jsonStatementWriter.write(lines, job.getStartDate(), job.getEndDate(), target);
+        }
+        return DataBufferUtils.write(exporter.export(lines, bufferFactory), target);
+    }
+
+    private void reserveSlot(Long clientId) {
+        activeJobsByClient.compute(clientId, (id, active) -> {
+            int count = active != null ? active : 0;
+            if (count >= maxJobsPerClient) {
+                throw new ReportJobLimitExceededException(String.format(
+                        "Customer %d already has %d report jobs in progress", clientId, count));
+            }
+            return count + 1;
+        });
+    }
+
+    private void releaseSlot(Long clientId) {
+        activeJobsByClient.computeIfPresent(clientId, (id, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private StatementExporter findExporter(String format) {
+        return statementExporters.stream()
+                .filter(exporter -> exporter.getFormat().equalsIgnoreCase(format))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Path partOf(UUID jobId) {
+        return spoolDirectory.resolve(jobId + ".part");
+    }
+
+    private String extensionOf(String fileName) {
+        return fileName.substring(fileName.lastIndexOf('.') + 1);
+    }
+
+    private void prepareSpoolDirectory() {
+        try {
+            Files.createDirectories(spoolDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare the report job spool directory " + spoolDirectory, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report job file {}: {}", file, e.getMessage());
+        }
+    }
+}
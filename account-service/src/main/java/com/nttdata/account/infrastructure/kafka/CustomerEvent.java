@@ -0,0 +1,57 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CustomerEvent {
+
+    public static final String CREATED = "CustomerCreated";
+    public static final String UPDATED = "CustomerUpdated";
+    public static final String DELETED = "CustomerDeleted";
+
+    private String eventId;
+    private String eventType;
+    private String occurredOn;
+    private String aggregateId;  // customerId as String
+    private String name;
+    private String identification;
+    private String gender;
+    private String address;
+    private String phone;
+    private Boolean status;
+    private Long version;
+
+    public Long getCustomerId() {
+        return aggregateId != null ? Long.parseLong(aggregateId) : null;
+    }
+
+    /**
+     * Version the replica is written with: the customer version when the producer sends one,
+     * otherwise the time the event occurred, in microseconds since the epoch.
+     */
+    public long resolveVersion() {
+        if (version != null) {
+            return version;
+        }
+        if (occurredOn == null || occurredOn.isBlank()) {
+            return 0L;
+        }
+        // Instants are written either as ISO-8601 text or as decimal seconds
+        Instant instant = occurredOn.contains("T")
+                ? Instant.parse(occurredOn)
+                : Instant.ofEpochSecond(0, new BigDecimal(occurredOn).movePointRight(9).longValue());
+        return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + instant.getNano() / 1_000;
+    }
+}
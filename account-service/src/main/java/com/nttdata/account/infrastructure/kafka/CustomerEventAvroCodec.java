@@ -0,0 +1,136 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro binary encoding of customer events. Events are mapped field by field between their JSON
+ * form and the schema, so the same event classes serve both encodings; records are written with
+ * the latest schema and read with the schema version they were written with.
+ */
+@Component
+public class CustomerEventAvroCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String SCHEMA_VERSION_HEADER = "customer-event-schema-version";
+    public static final String AVRO = "application/avro";
+    public static final String JSON = "application/json";
+
+    private final CustomerEventSchemaRegistry schemaRegistry;
+    private final ObjectMapper objectMapper;
+    private final GenericDatumWriter<GenericRecord> writer;
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    public CustomerEventAvroCodec(CustomerEventSchemaRegistry schemaRegistry, ObjectMapper objectMapper) {
+        this.schemaRegistry = schemaRegistry;
+        this.objectMapper = objectMapper;
+        this.writer = new GenericDatumWriter<>(schemaRegistry.latest());
+    }
+
+    public int schemaVersion() {
+        return schemaRegistry.latestVersion();
+    }
+
+    public byte[] encode(Object event) {
+        JsonNode fields = event instanceof JsonNode node ? node : objectMapper.valueToTree(event);
+        Schema schema = schemaRegistry.latest();
+        GenericRecord record = new GenericData.Record(schema);
+        for (Schema.Field field : schema.getFields()) {
+            record.put(field.pos(), toAvro(field, field.schema(), fields.get(field.name())));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        try {
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode customer event", e);
+        }
+        return out.toByteArray();
+    }
+
+    public <T> T decode(byte[] data, int schemaVersion, Class<T> type) {
+        GenericRecord record;
+        try {
+            record = readers.computeIfAbsent(schemaVersion,
+                            version -> new GenericDatumReader<>(schemaRegistry.schema(version), schemaRegistry.latest()))
+                    .read(null, DecoderFactory.get().binaryDecoder(data, null));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode customer event", e);
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Schema.Field field : record.getSchema().getFields()) {
+            fields.put(field.name(), fromAvro(field.schema(), record.get(field.pos())));
+        }
+        return objectMapper.convertValue(fields, type);
+    }
+
+    private static Object toAvro(Schema.Field field, Schema schema, JsonNode value) {
+        if (value == null || value.isNull()) {
+            if (schema.isNullable()) {
+                return null;
+            }
+            throw new IllegalArgumentException("Customer event field " + field.name() + " is required");
+        }
+        return switch (schema.getType()) {
+            case UNION -> toAvro(field, nonNull(schema), value);
+            case STRING -> value.asText();
+            case BOOLEAN -> value.asBoolean();
+            case INT -> value.asInt();
+            case LONG -> schema.getLogicalType() instanceof LogicalTypes.TimestampMicros
+                    ? toMicros(value)
+                    : value.isTextual() ? Long.parseLong(value.asText()) : value.asLong();
+            case ENUM -> new GenericData.EnumSymbol(schema, value.asText());
+            default -> throw new IllegalArgumentException("Unsupported type " + schema.getType()
+                    + " of customer event field " + field.name());
+        };
+    }
+
+    private static Object fromAvro(Schema schema, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (schema.getType()) {
+            case UNION -> fromAvro(nonNull(schema), value);
+            case STRING, ENUM -> value.toString();
+            case LONG -> schema.getLogicalType() instanceof LogicalTypes.TimestampMicros
+                    ? Instant.EPOCH.plus((Long) value, ChronoUnit.MICROS).toString()
+                    : value;
+            default -> value;
+        };
+    }
+
+    private static long toMicros(JsonNode value) {
+        // Instants are written either as ISO-8601 text or as decimal seconds
+        if (value.isNumber()) {
+            return value.decimalValue().movePointRight(6).longValue();
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse(value.asText()));
+    }
+
+    private static Schema nonNull(Schema union) {
+        return union.getTypes().stream()
+                .filter(type -> type.getType() != Schema.Type.NULL)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Union without a non-null branch: " + union));
+    }
+}
@@ -0,0 +1,154 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.nttdata.account.application.register_customer.RegisterCustomerCommand;
+import com.nttdata.account.application.register_customers.RegisterCustomersCommand;
+import com.nttdata.account.application.register_customers.RegisterCustomersCommandHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch mode of the customer replica: the creations and updates of each poll are applied as one
+ * multi-row upsert and its deletions one by one, and its offsets are only committed after all of
+ * them have finished.
+ * <p>
+ * A failure is reported with the index of the record that caused it, so the error handler commits
+ * the records before it, retries from it and, once retries are exhausted, hands only that record
+ * to the dead-letter topic, which the {@link CustomerEventDeadLetterConsumer} reads in this mode too.
+ * An unreadable record stops the batch at its index without retries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.customer-events.consumer", havingValue = "batch")
+public class CustomerEventBatchConsumer {
+
+    private final RegisterCustomersCommandHandler registerCustomersCommandHandler;
+    private final CustomerEventDispatcher customerEventDispatcher;
+
+    @KafkaListener(topics = "${kafka.topics.customer-events:customer-events}",
+                   groupId = "${spring.kafka.consumer.group-id:account-service-group}",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeCustomerEvents(List<ConsumerRecord<String, CustomerEvent>> records) {
+        int unreadable = firstUnreadable(records);
+        List<ConsumerRecord<String, CustomerEvent>> readable = records.subList(0, unreadable);
+        log.info("Received {} customer events", records.size());
+
+        try {
+            apply(readable);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} customer events at once, applying them one by one: {}",
+                    readable.size(), e.getMessage());
+            applyOneByOne(readable);
+        }
+
+        if (unreadable < records.size()) {
+            ConsumerRecord<String, CustomerEvent> record = records.get(unreadable);
+            // A deserialization failure is not retried by the error handler, it goes straight to the recoverer
+            throw new BatchListenerFailedException("Unreadable customer event",
+                    new DeserializationException("Unreadable customer event at offset " + record.offset(),
+                            null, false, null),
+                    unreadable);
+        }
+    }
+
+    /**
+     * Applies the records coalesced to the latest event of each customer, in one upsert followed
+     * by the deletions.
+     */
+    private void apply(List<ConsumerRecord<String, CustomerEvent>> records) {
+        Map<Long, CustomerEvent> latest = latestByCustomer(records);
+        if (latest.isEmpty()) {
+            return;
+        }
+        List<RegisterCustomerCommand> customers = latest.values().stream()
+                .filter(event -> !CustomerEvent.DELETED.equals(event.getEventType()))
+                .map(CustomerEventDispatcher::toRegisterCommand)
+                .toList();
+        List<CustomerEvent> deletions = latest.values().stream()
+                .filter(event -> CustomerEvent.DELETED.equals(event.getEventType()))
+                .toList();
+
+        Mono<Void> upsert = customers.isEmpty()
+                ? Mono.empty()
+                : registerCustomersCommandHandler.handle(RegisterCustomersCommand.builder()
+                        .customers(customers)
+                        .build()).then();
+        // Blocking on the consumer thread is what holds the offset commit back until the writes are done
+        upsert.thenMany(Flux.fromIterable(deletions).concatMap(customerEventDispatcher::dispatch))
+                .then()
+                .block();
+    }
+
+    /**
+     * Applies the records in order, to find the one the batch fails on. Events are version-gated,
+     * so those the failed attempt already applied change nothing.
+     */
+    private void applyOneByOne(List<ConsumerRecord<String, CustomerEvent>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            CustomerEvent event = records.get(i).value();
+            if (!applicable(event)) {
+                continue;
+            }
+            try {
+                customerEventDispatcher.dispatch(event).block();
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Failed to apply customer event of customer "
+                        + event.getCustomerId(), e, i);
+            }
+        }
+    }
+
+    /**
+     * Keeps one event per customer: the highest version, or the last one received on a tie.
+     */
+    private Map<Long, CustomerEvent> latestByCustomer(List<ConsumerRecord<String, CustomerEvent>> records) {
+        Map<Long, CustomerEvent> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, CustomerEvent> record : records) {
+            CustomerEvent event = record.value();
+            if (!applicable(event)) {
+                continue;
+            }
+            latest.merge(event.getCustomerId(), event,
+                    (kept, received) -> received.resolveVersion() >= kept.resolveVersion() ? received : kept);
+        }
+        return latest;
+    }
+
+    /**
+     * Events without customer id or of a type without handler are skipped, since replaying the
+     * poll cannot apply them.
+     */
+    private boolean applicable(CustomerEvent event) {
+        if (event.getCustomerId() == null) {
+            log.warn("Skipping customer event without customer id: {}", event);
+            return false;
+        }
+        if (!customerEventDispatcher.supports(event.getEventType())) {
+            log.warn("Skipping customer event of unsupported type: type={}, customerId={}",
+                    event.getEventType(), event.getCustomerId());
+            return false;
+        }
+        return true;
+    }
+
+    private int firstUnreadable(List<ConsumerRecord<String, CustomerEvent>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i).value() == null) {
+                return i;
+            }
+        }
+        return records.size();
+    }
+}
@@ -0,0 +1,182 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ERROR_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_OFFSET_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_PARTITION_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_TOPIC_HEADER;
+
+/**
+ * Reactive consumer of the customer replica, built on {@link KafkaReceiver}.
+ * <p>
+ * Records are spread over a fixed number of lanes by partition: a partition always lands on the
+ * same lane and each lane applies one record at a time, so records of a partition stay in order
+ * while other partitions proceed in parallel, and at most {@code max-in-flight} writes use the
+ * R2DBC pool at once. A record's offset is only acknowledged, and later committed, once the
+ * {@link CustomerEventDispatcher} has applied it or the record has been handed to the next retry
+ * tier.
+ * <p>
+ * The main topic and every retry tier are read by their own receiver. A tier only applies a
+ * record once the tier's delay has passed since the record was written, and records that still
+ * fail after the last tier go to the dead-letter topic, read by the
+ * {@link CustomerEventDeadLetterConsumer}. Records of any stage that cannot be read as an event are
+ * kept by the {@link CustomerEventDeadLetterQueue} right away.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kafka.customer-events.consumer", havingValue = "reactive", matchIfMissing = true)
+public class CustomerEventConsumer {
+
+    private final CustomerEventDispatcher customerEventDispatcher;
+    private final KafkaSender<String, CustomerEvent> customerEventsSender;
+    private final CustomerEventDeadLetterQueue customerEventDeadLetterQueue;
+    private final CustomerEventTopics customerEventTopics;
+    private final ReceiverOptions<String, CustomerEvent> receiverOptions;
+    private final MeterRegistry meterRegistry;
+    private final int maxInFlight;
+    private final Map<String, Counter> forwarded = new ConcurrentHashMap<>();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public CustomerEventConsumer(CustomerEventDispatcher customerEventDispatcher,
+                                 KafkaSender<String, CustomerEvent> customerEventsSender,
+                                 CustomerEventDeadLetterQueue customerEventDeadLetterQueue,
+                                 CustomerEventTopics customerEventTopics,
+                                 ReceiverOptions<String, CustomerEvent> customerEventsReceiverOptions,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${kafka.customer-events.receiver.max-in-flight:4}") int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("kafka.customer-events.receiver.max-in-flight must be greater than zero");
+        }
+        this.customerEventDispatcher = customerEventDispatcher;
+        this.customerEventsSender = customerEventsSender;
+        this.customerEventDeadLetterQueue = customerEventDeadLetterQueue;
+        this.customerEventTopics = customerEventTopics;
+        this.receiverOptions = customerEventsReceiverOptions;
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Stage stage : stages()) {
+            KafkaReceiver<String, CustomerEvent> receiver =
+                    KafkaReceiver.create(receiverOptions.subscription(List.of(stage.topic())));
+            subscriptions.add(consume(receiver, stage).subscribe());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.dispose();
+    }
+
+    List<Stage> stages() {
+        List<Stage> stages = new ArrayList<>();
+        stages.add(new Stage(customerEventTopics.main(), Duration.ZERO));
+        customerEventTopics.retryTiers()
+                .forEach(tier -> stages.add(new Stage(tier.topic(), tier.delay())));
+        return stages;
+    }
+
+    Flux<Void> consume(KafkaReceiver<String, CustomerEvent> receiver, Stage stage) {
+        // Exactly maxInFlight groups, all consumed at once, so groupBy can never stall on an unserved group
+        return receiver.receive()
+                .groupBy(record -> Math.floorMod(record.partition(), maxInFlight))
+                .flatMap(lane -> lane.concatMap(record -> process(record, stage)), maxInFlight)
+                .doOnError(error -> log.error("Customer events consumer of {} failed, resubscribing: {}",
+                        stage.topic(), error.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+
+    private Mono<Void> process(ReceiverRecord<String, CustomerEvent> record, Stage stage) {
+        CustomerEvent event = record.value();
+        if (event == null || event.getCustomerId() == null) {
+            // Retrying cannot make an unreadable record readable; it is kept as received, and a failed write is read again
+            log.warn("Dead-lettering unreadable customer event: topic={}, partition={}, offset={}",
+                    record.topic(), record.partition(), record.offset());
+            return customerEventDeadLetterQueue.recordUnreadable(record)
+                    .doOnSuccess(done -> record.receiverOffset().acknowledge());
+        }
+        log.info("Received customer event: type={}, customerId={}, version={}, topic={}",
+                event.getEventType(), event.getCustomerId(), event.getVersion(), record.topic());
+
+        return dueAt(record, stage)
+                .then(Mono.defer(() -> customerEventDispatcher.dispatch(event)))
+                .onErrorResume(error -> forward(record, error))
+                // A failed hand-over is not acknowledged: it fails the pipeline and the record is read again
+                .doOnSuccess(done -> record.receiverOffset().acknowledge());
+    }
+
+    /**
+     * Waits until the stage's delay has passed since the record was written. Records of a
+     * partition are written in order, so the lane holds the rest of the partition back meanwhile.
+     */
+    private Mono<Void> dueAt(ReceiverRecord<String, CustomerEvent> record, Stage stage) {
+        long wait = record.timestamp() + stage.delay().toMillis() - System.currentTimeMillis();
+        return wait > 0 ? Mono.delay(Duration.ofMillis(wait)).then() : Mono.empty();
+    }
+
+    private Mono<Void> forward(ReceiverRecord<String, CustomerEvent> record, Throwable error) {
+        String next = customerEventTopics.nextAfter(record.topic());
+        log.warn("Failed to process customer event, moving it to {}: customerId={}, topic={}, offset={}: {}",
+                next, record.value().getCustomerId(), record.topic(), record.offset(), error.getMessage());
+
+        Headers headers = new RecordHeaders(record.headers().toArray());
+        if (headers.lastHeader(ORIGINAL_TOPIC_HEADER) == null) {
+            headers.add(ORIGINAL_TOPIC_HEADER, bytes(record.topic()));
+            headers.add(ORIGINAL_PARTITION_HEADER, bytes(String.valueOf(record.partition())));
+            headers.add(ORIGINAL_OFFSET_HEADER, bytes(String.valueOf(record.offset())));
+        }
+        headers.remove(ERROR_HEADER);
+        headers.add(ERROR_HEADER, bytes(String.valueOf(error.getMessage())));
+
+        ProducerRecord<String, CustomerEvent> retry =
+                new ProducerRecord<>(next, null, record.key(), record.value(), headers);
+        return customerEventsSender.send(Mono.just(SenderRecord.create(retry, null)))
+                .doOnNext(result -> forwardedTo(next).increment())
+                .then();
+    }
+
+    private Counter forwardedTo(String topic) {
+        return forwarded.computeIfAbsent(topic, name -> Counter.builder("account.customer.events.forwarded")
+                .description("Customer events moved to a retry tier or to the dead-letter topic")
+                .tag("topic", name)
+                .register(meterRegistry));
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    record Stage(String topic, Duration delay) {
+    }
+}
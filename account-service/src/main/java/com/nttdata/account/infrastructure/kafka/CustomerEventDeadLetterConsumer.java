@@ -0,0 +1,71 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reads the dead-letter topic into the {@link CustomerEventDeadLetterQueue}, whichever consumer
+ * mode fills it: the last retry tier of the reactive consumer, or the error handler of the batch
+ * consumer. Records are kept one at a time and only acknowledged once stored; a failed write
+ * fails the pipeline and the record is read again.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${kafka.customer-events.consumer:reactive}' matches 'reactive|batch'")
+public class CustomerEventDeadLetterConsumer {
+
+    private final CustomerEventDeadLetterQueue customerEventDeadLetterQueue;
+    private final CustomerEventTopics customerEventTopics;
+    private final ReceiverOptions<String, CustomerEvent> receiverOptions;
+    private final Disposable.Swap subscription = Disposables.swap();
+
+    public CustomerEventDeadLetterConsumer(CustomerEventDeadLetterQueue customerEventDeadLetterQueue,
+                                           CustomerEventTopics customerEventTopics,
+                                           ReceiverOptions<String, CustomerEvent> customerEventsReceiverOptions) {
+        this.customerEventDeadLetterQueue = customerEventDeadLetterQueue;
+        this.customerEventTopics = customerEventTopics;
+        this.receiverOptions = customerEventsReceiverOptions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription.update(consume(KafkaReceiver.create(
+                receiverOptions.subscription(List.of(customerEventTopics.deadLetter())))).subscribe());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscription.dispose();
+    }
+
+    Flux<Void> consume(KafkaReceiver<String, CustomerEvent> receiver) {
+        return receiver.receive()
+                .concatMap(this::process)
+                .doOnError(error -> log.error("Customer events consumer of {} failed, resubscribing: {}",
+                        customerEventTopics.deadLetter(), error.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+
+    private Mono<Void> process(ReceiverRecord<String, CustomerEvent> record) {
+        CustomerEvent event = record.value();
+        Mono<Void> kept = event == null || event.getCustomerId() == null
+                ? customerEventDeadLetterQueue.recordUnreadable(record)
+                : customerEventDeadLetterQueue.record(record);
+        return kept.doOnSuccess(done -> record.receiverOffset().acknowledge());
+    }
+}
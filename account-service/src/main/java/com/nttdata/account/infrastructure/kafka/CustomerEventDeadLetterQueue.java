@@ -0,0 +1,158 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.account.domain.CustomerEventDeadLetter;
+import com.nttdata.account.domain.CustomerEventDeadLetterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ERROR_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_OFFSET_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_PARTITION_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_TOPIC_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.header;
+
+/**
+ * Keeps the events read from the dead-letter topic in the database, where they can be listed,
+ * and publishes them again on the main topic when they are re-driven. Records that cannot be
+ * read as an event are kept as received instead, and are not re-driven.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerEventDeadLetterQueue {
+
+    private static final LogAccessor LOGGER = new LogAccessor(CustomerEventDeadLetterQueue.class);
+
+    private final CustomerEventDeadLetterRepository customerEventDeadLetterRepository;
+    private final KafkaSender<String, CustomerEvent> customerEventsSender;
+    private final CustomerEventTopics customerEventTopics;
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> record(ConsumerRecord<String, CustomerEvent> record) {
+        return Mono.fromCallable(() -> toDeadLetter(record))
+                .flatMap(customerEventDeadLetterRepository::saveIfAbsent)
+                .doOnNext(saved -> {
+                    if (saved) {
+                        log.warn("Customer event dead-lettered: customerId={}, error={}",
+                                record.value().getCustomerId(), header(record, ERROR_HEADER));
+                    }
+                })
+                .then();
+    }
+
+    /**
+     * Keeps a record that could not be read as an applicable event: its key, the value bytes the
+     * deserializer failed on and its headers.
+     */
+    public Mono<Void> recordUnreadable(ConsumerRecord<String, CustomerEvent> record) {
+        return Mono.fromCallable(() -> toUnreadableDeadLetter(record))
+                .flatMap(customerEventDeadLetterRepository::saveIfAbsent)
+                .doOnNext(saved -> {
+                    if (saved) {
+                        log.warn("Unreadable customer event dead-lettered: topic={}, partition={}, offset={}",
+                                record.topic(), record.partition(), record.offset());
+                    }
+                })
+                .then();
+    }
+
+    public Flux<CustomerEventDeadLetter> list(int limit) {
+        return customerEventDeadLetterRepository.findOldest(limit);
+    }
+
+    /**
+     * Publishes the oldest dead letters on the main topic and removes those the broker accepted.
+     * Emits how many were re-driven.
+     */
+    public Mono<Long> redrive(int limit) {
+        Flux<SenderRecord<String, CustomerEvent, Long>> records = customerEventDeadLetterRepository
+                .findOldestWithPayload(limit)
+                .map(deadLetter -> SenderRecord.create(new ProducerRecord<>(customerEventTopics.main(),
+                                keyOf(deadLetter), toEvent(deadLetter.getPayload())),
+                        deadLetter.getDeadLetterId()));
+        return customerEventsSender.send(records)
+                .map(SenderResult::correlationMetadata)
+                .collectList()
+                .flatMap(customerEventDeadLetterRepository::deleteByIds)
+                .doOnNext(redriven -> log.info("Re-drove {} customer events from the dead-letter queue", redriven));
+    }
+
+    private CustomerEventDeadLetter toDeadLetter(ConsumerRecord<String, CustomerEvent> record)
+            throws JsonProcessingException {
+        String sourceTopic = header(record, ORIGINAL_TOPIC_HEADER);
+        String sourcePartition = header(record, ORIGINAL_PARTITION_HEADER);
+        String sourceOffset = header(record, ORIGINAL_OFFSET_HEADER);
+        return CustomerEventDeadLetter.builder()
+                .customerId(record.value().getCustomerId())
+                .payload(objectMapper.writeValueAsString(record.value()))
+                .sourceTopic(sourceTopic != null ? sourceTopic : record.topic())
+                .sourcePartition(sourcePartition != null ? Integer.parseInt(sourcePartition) : record.partition())
+                .sourceOffset(sourceOffset != null ? Long.parseLong(sourceOffset) : record.offset())
+                .error(header(record, ERROR_HEADER))
+                .failedAt(OffsetDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneOffset.UTC))
+                .build();
+    }
+
+    private CustomerEventDeadLetter toUnreadableDeadLetter(ConsumerRecord<String, CustomerEvent> record)
+            throws JsonProcessingException {
+        DeserializationException failure = SerializationUtils.getExceptionFromHeader(record,
+                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOGGER);
+        List<Map<String, String>> headers = new ArrayList<>();
+        for (Header header : record.headers()) {
+            if (!SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER.equals(header.key())) {
+                headers.add(Map.of("key", header.key(),
+                        "value", header.value() != null ? Base64.getEncoder().encodeToString(header.value()) : ""));
+            }
+        }
+        String sourceTopic = header(record, ORIGINAL_TOPIC_HEADER);
+        String sourcePartition = header(record, ORIGINAL_PARTITION_HEADER);
+        String sourceOffset = header(record, ORIGINAL_OFFSET_HEADER);
+        return CustomerEventDeadLetter.builder()
+                .payload(record.value() != null ? objectMapper.writeValueAsString(record.value()) : null)
+                .sourceTopic(sourceTopic != null ? sourceTopic : record.topic())
+                .sourcePartition(sourcePartition != null ? Integer.parseInt(sourcePartition) : record.partition())
+                .sourceOffset(sourceOffset != null ? Long.parseLong(sourceOffset) : record.offset())
+                .error(failure != null ? NestedExceptionUtils.getMostSpecificCause(failure).getMessage()
+                        : "Customer event without customer id")
+                .failedAt(OffsetDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneOffset.UTC))
+                .rawKey(record.key())
+                .rawValue(failure != null ? failure.getData() : null)
+                .rawHeaders(objectMapper.writeValueAsString(headers))
+                .build();
+    }
+
+    private CustomerEvent toEvent(String payload) {
+        try {
+            return objectMapper.readValue(payload, CustomerEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable dead-lettered customer event", e);
+        }
+    }
+
+    private String keyOf(CustomerEventDeadLetter deadLetter) {
+        return deadLetter.getCustomerId() != null ? String.valueOf(deadLetter.getCustomerId()) : null;
+    }
+}
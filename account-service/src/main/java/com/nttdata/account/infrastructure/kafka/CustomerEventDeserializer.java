@@ -0,0 +1,63 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.nttdata.account.infrastructure.kafka.CustomerEventAvroCodec.AVRO;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventAvroCodec.CONTENT_TYPE_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventAvroCodec.SCHEMA_VERSION_HEADER;
+
+/**
+ * Reads customer events in the encoding named by their content-type header: Avro, resolved from
+ * the schema version the record was written with, or JSON when the header says so or is missing,
+ * as on records of producers that predate it.
+ */
+public class CustomerEventDeserializer implements Deserializer<CustomerEvent> {
+
+    private final CustomerEventAvroCodec avroCodec;
+    private final ObjectMapper objectMapper;
+
+    public CustomerEventDeserializer(CustomerEventAvroCodec avroCodec, ObjectMapper objectMapper) {
+        this.avroCodec = avroCodec;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public CustomerEvent deserialize(String topic, byte[] data) {
+        return readJson(data);
+    }
+
+    @Override
+    public CustomerEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || !AVRO.equals(header(headers, CONTENT_TYPE_HEADER))) {
+            return readJson(data);
+        }
+        String schemaVersion = header(headers, SCHEMA_VERSION_HEADER);
+        if (schemaVersion == null) {
+            throw new SerializationException("Avro customer event without " + SCHEMA_VERSION_HEADER + " header");
+        }
+        return avroCodec.decode(data, Integer.parseInt(schemaVersion), CustomerEvent.class);
+    }
+
+    private CustomerEvent readJson(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(data, CustomerEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to read customer event as JSON", e);
+        }
+    }
+
+    private static String header(Headers headers, String name) {
+        Header header = headers != null ? headers.lastHeader(name) : null;
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
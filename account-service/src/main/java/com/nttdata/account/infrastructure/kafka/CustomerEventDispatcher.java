@@ -0,0 +1,66 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.nttdata.account.application.deregister_customer.DeregisterCustomerCommand;
+import com.nttdata.account.application.deregister_customer.DeregisterCustomerCommandHandler;
+import com.nttdata.account.application.register_customer.RegisterCustomerCommand;
+import com.nttdata.account.application.register_customer.RegisterCustomerCommandHandler;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Applies customer events to the replica through the handler registered for their type.
+ * Creations and updates both upsert the customer, deletions leave a tombstone; every handler
+ * is version-gated, so events replayed or received out of order change nothing.
+ */
+@Component
+public class CustomerEventDispatcher {
+
+    private final Map<String, Function<CustomerEvent, Mono<Void>>> handlers;
+
+    public CustomerEventDispatcher(RegisterCustomerCommandHandler registerCustomerCommandHandler,
+                                   DeregisterCustomerCommandHandler deregisterCustomerCommandHandler) {
+        Function<CustomerEvent, Mono<Void>> register =
+                event -> registerCustomerCommandHandler.handle(toRegisterCommand(event)).then();
+        this.handlers = Map.of(
+                CustomerEvent.CREATED, register,
+                CustomerEvent.UPDATED, register,
+                CustomerEvent.DELETED, event -> deregisterCustomerCommandHandler.handle(toDeregisterCommand(event)));
+    }
+
+    public boolean supports(String eventType) {
+        return eventType != null && handlers.containsKey(eventType);
+    }
+
+    /**
+     * Applies the event, or fails for a type without handler, which takes the event through the
+     * retry tiers to the dead-letter topic, to be re-driven once it is supported.
+     */
+    public Mono<Void> dispatch(CustomerEvent event) {
+        if (!supports(event.getEventType())) {
+            return Mono.error(new IllegalArgumentException("Unsupported customer event type: " + event.getEventType()));
+        }
+        return handlers.get(event.getEventType()).apply(event);
+    }
+
+    static RegisterCustomerCommand toRegisterCommand(CustomerEvent event) {
+        return RegisterCustomerCommand.builder()
+                .customerId(event.getCustomerId())
+                .name(event.getName())
+                .identification(event.getIdentification())
+                .address(event.getAddress())
+                .phone(event.getPhone())
+                .status(event.getStatus())
+                .version(event.resolveVersion())
+                .build();
+    }
+
+    private static DeregisterCustomerCommand toDeregisterCommand(CustomerEvent event) {
+        return DeregisterCustomerCommand.builder()
+                .customerId(event.getCustomerId())
+                .version(event.resolveVersion())
+                .build();
+    }
+}
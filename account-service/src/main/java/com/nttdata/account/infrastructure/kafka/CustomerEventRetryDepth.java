@@ -0,0 +1,103 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes how many records wait in each retry tier and in the dead-letter topic, as the lag of
+ * the consumer group on those topics. A growing tier means the replica keeps failing to apply
+ * events, long before they reach the dead-letter queue.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kafka.customer-events.consumer", havingValue = "reactive", matchIfMissing = true)
+public class CustomerEventRetryDepth {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final Admin admin;
+    private final String groupId;
+    private final List<String> topics = new ArrayList<>();
+    private final Map<String, AtomicLong> depths = new HashMap<>();
+
+    public CustomerEventRetryDepth(CustomerEventTopics customerEventTopics,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                                   @Value("${spring.kafka.consumer.group-id:account-service-group}") String groupId) {
+        this.admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+        this.groupId = groupId;
+        customerEventTopics.retryTiers().forEach(tier -> topics.add(tier.topic()));
+        topics.add(customerEventTopics.deadLetter());
+        for (String topic : topics) {
+            AtomicLong depth = new AtomicLong();
+            Gauge.builder("account.customer.events.retry.depth", depth, AtomicLong::get)
+                    .description("Customer events waiting in a retry tier or in the dead-letter topic")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+            depths.put(topic, depth);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kafka.customer-events.retry.depth-interval:PT30S}")
+    public void refresh() {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata()
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+            for (KafkaFuture<TopicDescription> description : admin.describeTopics(topics).topicNameValues().values()) {
+                TopicDescription topic;
+                try {
+                    topic = description.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    // Retry topics only exist once a first event has failed
+                    continue;
+                }
+                topic.partitions().forEach(partition ->
+                        request.put(new TopicPartition(topic.name(), partition.partition()), OffsetSpec.latest()));
+            }
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest = admin.listOffsets(request).all()
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            Map<String, Long> lag = new HashMap<>();
+            latest.forEach((partition, end) -> {
+                OffsetAndMetadata position = committed.get(partition);
+                long behind = end.offset() - (position != null ? position.offset() : 0L);
+                lag.merge(partition.topic(), Math.max(behind, 0L), Long::sum);
+            });
+            depths.forEach((topic, depth) -> depth.set(lag.getOrDefault(topic, 0L)));
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Could not refresh customer event retry depth: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        admin.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * File-based stand-in for a schema registry: the Avro schemas of customer events are read from
+ * {@code avro/customer-event-v<n>.avsc} on the classpath, numbered from 1 without gaps. The
+ * version travels in a header next to every record, so a reader can resolve any record written
+ * with an earlier schema against the latest one. Startup fails if an earlier schema cannot be
+ * read with the latest.
+ * <p>
+ * This class and the schemas are the same in customer-service and account-service;
+ * {@code CustomerEventSchemaSyncTest} fails in either service when they differ.
+ */
+@Component
+public class CustomerEventSchemaRegistry {
+
+    private static final String SCHEMA_LOCATION = "avro/customer-event-v%d.avsc";
+
+    private final Map<Integer, Schema> schemas = new HashMap<>();
+    private final int latestVersion;
+
+    public CustomerEventSchemaRegistry() {
+        int version = 1;
+        ClassPathResource resource;
+        while ((resource = new ClassPathResource(SCHEMA_LOCATION.formatted(version))).exists()) {
+            schemas.put(version, parse(resource));
+            version++;
+        }
+        if (schemas.isEmpty()) {
+            throw new IllegalStateException("No customer event schema found at " + SCHEMA_LOCATION.formatted(1));
+        }
+        latestVersion = version - 1;
+        schemas.forEach((writerVersion, writer) -> {
+            if (SchemaCompatibility.checkReaderWriterCompatibility(latest(), writer).getType()
+                    != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+                throw new IllegalStateException("Customer event schema v" + writerVersion
+                        + " cannot be read with v" + latestVersion);
+            }
+        });
+    }
+
+    public int latestVersion() {
+        return latestVersion;
+    }
+
+    public Schema latest() {
+        return schemas.get(latestVersion);
+    }
+
+    public Schema schema(int version) {
+        Schema schema = schemas.get(version);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown customer event schema version: " + version);
+        }
+        return schema;
+    }
+
+    private static Schema parse(ClassPathResource resource) {
+        // A parser per file, since every version defines the same record name
+        try (InputStream in = resource.getInputStream()) {
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read customer event schema " + resource.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.nttdata.account.infrastructure.kafka.CustomerEventAvroCodec.AVRO;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventAvroCodec.CONTENT_TYPE_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventAvroCodec.JSON;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventAvroCodec.SCHEMA_VERSION_HEADER;
+
+/**
+ * Writes customer events sent to the retry tiers, the dead-letter topic and back to the main
+ * topic. The content-type and schema version headers copied from the source record are replaced
+ * with the ones of the encoding actually written.
+ */
+public class CustomerEventSerializer implements Serializer<CustomerEvent> {
+
+    private final CustomerEventAvroCodec avroCodec;
+    private final ObjectMapper objectMapper;
+    private final boolean avro;
+
+    public CustomerEventSerializer(CustomerEventAvroCodec avroCodec, ObjectMapper objectMapper, boolean avro) {
+        this.avroCodec = avroCodec;
+        this.objectMapper = objectMapper;
+        this.avro = avro;
+    }
+
+    @Override
+    public byte[] serialize(String topic, CustomerEvent data) {
+        return data == null ? null : writeJson(data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, CustomerEvent data) {
+        headers.remove(CONTENT_TYPE_HEADER);
+        headers.remove(SCHEMA_VERSION_HEADER);
+        if (data == null) {
+            return null;
+        }
+        if (!avro) {
+            headers.add(CONTENT_TYPE_HEADER, JSON.getBytes(StandardCharsets.UTF_8));
+            return writeJson(data);
+        }
+        headers.add(CONTENT_TYPE_HEADER, AVRO.getBytes(StandardCharsets.UTF_8));
+        headers.add(SCHEMA_VERSION_HEADER, String.valueOf(avroCodec.schemaVersion()).getBytes(StandardCharsets.UTF_8));
+        return avroCodec.encode(data);
+    }
+
+    private byte[] writeJson(CustomerEvent data) {
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Failed to write customer event as JSON", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Topics a customer event goes through. An event whose upsert fails is moved to the first retry
+ * tier, then to the next one on every further failure, and finally to the dead-letter topic; each
+ * tier holds its events back for its delay, so failures wait off the main topic.
+ */
+@Component
+public class CustomerEventTopics {
+
+    public static final String ORIGINAL_TOPIC_HEADER = "customer-event-original-topic";
+    public static final String ORIGINAL_PARTITION_HEADER = "customer-event-original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = "customer-event-original-offset";
+    public static final String ERROR_HEADER = "customer-event-error";
+
+    private final String main;
+    private final List<RetryTier> retryTiers;
+    private final String deadLetter;
+
+    public CustomerEventTopics(@Value("${kafka.topics.customer-events:customer-events}") String main,
+                               @Value("${kafka.customer-events.retry.delays:PT1S,PT10S,PT60S}") List<Duration> retryDelays) {
+        this.main = main;
+        // customer-events-retry-1s, customer-events-retry-10s, ...
+        this.retryTiers = retryDelays.stream()
+                .map(delay -> new RetryTier(main + "-retry-" + delay.toSeconds() + "s", delay))
+                .toList();
+        this.deadLetter = main + "-dlt";
+    }
+
+    public String main() {
+        return main;
+    }
+
+    public List<RetryTier> retryTiers() {
+        return retryTiers;
+    }
+
+    public String deadLetter() {
+        return deadLetter;
+    }
+
+    /**
+     * Topic an event read from {@code topic} goes to when it fails again.
+     */
+    public String nextAfter(String topic) {
+        if (topic.equals(main)) {
+            return retryTiers.isEmpty() ? deadLetter : retryTiers.get(0).topic();
+        }
+        for (int i = 0; i < retryTiers.size() - 1; i++) {
+            if (retryTiers.get(i).topic().equals(topic)) {
+                return retryTiers.get(i + 1).topic();
+            }
+        }
+        return deadLetter;
+    }
+
+    public static String header(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    public record RetryTier(String topic, Duration delay) {
+    }
+}
@@ -1,18 +1,36 @@
 package com.nttdata.account.infrastructure.kafka;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
-import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
+import reactor.kafka.receiver.ReceiverOptions;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ERROR_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_OFFSET_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_PARTITION_HEADER;
+import static com.nttdata.account.infrastructure.kafka.CustomerEventTopics.ORIGINAL_TOPIC_HEADER;
+
 @Configuration
 public class KafkaConsumerConfig {
 
@@ -22,28 +40,93 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:account-service-group}")
     private String groupId;
 
-    @Bean
-    public ConsumerFactory<String, CustomerCreatedEvent> consumerFactory() {
-        Map<String, Object> props = new HashMap<>();
-        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.nttdata.*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, CustomerCreatedEvent.class.getName());
+    @Value("${kafka.customer-events.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
 
-        return new DefaultKafkaConsumerFactory<>(props,
-                new StringDeserializer(),
-                new JsonDeserializer<>(CustomerCreatedEvent.class, false));
+    @Value("${kafka.customer-events.batch.fetch-min-bytes:65536}")
+    private int batchFetchMinBytes;
+
+    @Value("${kafka.customer-events.batch.fetch-max-wait:PT0.2S}")
+    private Duration batchFetchMaxWait;
+
+    @Value("${kafka.customer-events.batch.retry-interval:PT1S}")
+    private Duration batchRetryInterval;
+
+    @Value("${kafka.customer-events.batch.retry-attempts:9}")
+    private long batchRetryAttempts;
+
+    @Value("${kafka.customer-events.receiver.commit-interval:PT1S}")
+    private Duration receiverCommitInterval;
+
+    @Value("${kafka.customer-events.receiver.commit-batch-size:100}")
+    private int receiverCommitBatchSize;
+
+    /**
+     * Options of the reactive consumer, subscribed to one topic per receiver. Only acknowledged
+     * offsets are committed, every second or every few records, whichever comes first.
+     */
+    @Bean
+    public ReceiverOptions<String, CustomerEvent> customerEventsReceiverOptions(CustomerEventAvroCodec avroCodec,
+                                                                                ObjectMapper objectMapper) {
+        Map<String, Object> props = consumerProperties();
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return ReceiverOptions.<String, CustomerEvent>create(props)
+                .withKeyDeserializer(new StringDeserializer())
+                // An unreadable record comes through as a null value and is skipped, instead of failing the receiver
+                .withValueDeserializer(new ErrorHandlingDeserializer<>(new CustomerEventDeserializer(avroCodec, objectMapper)))
+                .commitInterval(receiverCommitInterval)
+                .commitBatchSize(receiverCommitBatchSize);
     }
 
+    /**
+     * Hands whole polls to the listener. Polls are larger and wait a little for data, so that
+     * catching up is done in few big upserts; offsets are committed once the listener returns.
+     * The record a batch fails on is retried, then published to the dead-letter topic with the
+     * same headers the reactive consumer adds, and the rest of the batch is read again after it.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, CustomerCreatedEvent> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, CustomerCreatedEvent> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, CustomerEvent> batchKafkaListenerContainerFactory(
+            CustomerEventAvroCodec avroCodec, ObjectMapper objectMapper,
+            KafkaTemplate<String, Object> customerEventsDeadLetterTemplate, CustomerEventTopics customerEventTopics) {
+        Map<String, Object> props = consumerProperties();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchFetchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) batchFetchMaxWait.toMillis());
+
+        ConcurrentKafkaListenerContainerFactory<String, CustomerEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new CustomerEventDeserializer(avroCodec, objectMapper))));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(customerEventsDeadLetterTemplate,
+                (record, error) -> new TopicPartition(customerEventTopics.deadLetter(), -1));
+        recoverer.setHeadersFunction(KafkaConsumerConfig::deadLetterHeaders);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer,
+                new FixedBackOff(batchRetryInterval.toMillis(), batchRetryAttempts)));
         return factory;
     }
+
+    private static Headers deadLetterHeaders(ConsumerRecord<?, ?> record, Exception error) {
+        Headers headers = new RecordHeaders();
+        headers.add(ORIGINAL_TOPIC_HEADER, bytes(record.topic()));
+        headers.add(ORIGINAL_PARTITION_HEADER, bytes(String.valueOf(record.partition())));
+        headers.add(ORIGINAL_OFFSET_HEADER, bytes(String.valueOf(record.offset())));
+        headers.add(ERROR_HEADER, bytes(String.valueOf(NestedExceptionUtils.getMostSpecificCause(error).getMessage())));
+        return headers;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> consumerProperties() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return props;
+    }
 }
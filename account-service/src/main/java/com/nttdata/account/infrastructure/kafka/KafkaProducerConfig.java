@@ -0,0 +1,72 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+public class KafkaProducerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${kafka.customer-events.encoding:json}")
+    private String encoding;
+
+    /**
+     * Sender of customer events to the retry tiers, the dead-letter topic and, when they are
+     * re-driven, back to the main topic, in the encoding customer-service publishes. The producer
+     * is only created on the first send.
+     */
+    @Bean
+    public KafkaSender<String, CustomerEvent> customerEventsSender(CustomerEventAvroCodec avroCodec,
+                                                                   ObjectMapper objectMapper) {
+        return KafkaSender.create(SenderOptions.<String, CustomerEvent>create(producerProperties())
+                .withKeySerializer(new StringSerializer())
+                .withValueSerializer(customerEventSerializer(avroCodec, objectMapper)));
+    }
+
+    /**
+     * Template the batch consumer hands failed records to the dead-letter topic with: events in the
+     * configured encoding, and unreadable records as the bytes they were received with.
+     */
+    @Bean
+    public KafkaTemplate<String, Object> customerEventsDeadLetterTemplate(CustomerEventAvroCodec avroCodec,
+                                                                          ObjectMapper objectMapper) {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProperties(),
+                new StringSerializer(),
+                new DelegatingByTypeSerializer(Map.of(
+                        byte[].class, new ByteArraySerializer(),
+                        CustomerEvent.class, customerEventSerializer(avroCodec, objectMapper)))));
+    }
+
+    private CustomerEventSerializer customerEventSerializer(CustomerEventAvroCodec avroCodec, ObjectMapper objectMapper) {
+        boolean avro = switch (encoding.toLowerCase(Locale.ROOT)) {
+            case "avro" -> true;
+            case "json" -> false;
+            default -> throw new IllegalArgumentException("kafka.customer-events.encoding must be avro or json");
+        };
+        return new CustomerEventSerializer(avroCodec, objectMapper, avro);
+    }
+
+    private Map<String, Object> producerProperties() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return props;
+    }
+}
@@ -1,18 +1,55 @@
 package com.nttdata.account.infrastructure.persistence;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
 @Repository
 public interface AccountR2dbcRepository extends ReactiveCrudRepository<AccountEntity, Long> {
 
     Mono<AccountEntity> findByAccountNumber(String accountNumber);
 
+    @Query("SELECT * FROM accounts WHERE account_id = :accountId FOR UPDATE")
+    Mono<AccountEntity> findByIdForUpdate(Long accountId);
+
+    // current_balance is left out: only movements change it, with guarded updates of their own
+    @Query("""
+            UPDATE accounts
+            SET account_number = :accountNumber, account_type = :accountType, initial_balance = :initialBalance,
+                status = :status, updated_at = :updatedAt
+            WHERE account_id = :accountId
+            RETURNING *
+            """)
+    Mono<AccountEntity> updateDetails(Long accountId, String accountNumber, String accountType,
+                                      BigDecimal initialBalance, Boolean status, OffsetDateTime updatedAt);
+
     Mono<Boolean> existsByAccountNumber(String accountNumber);
 
+    @Query("""
+            SELECT COALESCE(cp.balance, a.initial_balance) + COALESCE((
+                       SELECT SUM(CASE WHEN m.movement_type = 'DEBIT' THEN -m.amount ELSE m.amount END)
+                       FROM movements m
+                       WHERE m.account_id = a.account_id
+                         AND m.date > COALESCE(cp.as_of, CAST('-infinity' AS TIMESTAMPTZ))
+                         AND m.date <= :asOf), 0) AS balance
+            FROM accounts a
+            LEFT JOIN LATERAL (
+                SELECT c.as_of, c.balance
+                FROM account_balance_checkpoints c
+                WHERE c.account_id = a.account_id AND c.as_of <= :asOf
+                ORDER BY c.as_of DESC
+                LIMIT 1
+            ) cp ON TRUE
+            WHERE a.account_id = :accountId
+            """)
+    Mono<BigDecimal> findBalanceAsOf(Long accountId, OffsetDateTime asOf);
+
     Flux<AccountEntity> findAllBy(Pageable pageable);
 
     Flux<AccountEntity> findByCustomerId(Long customerId);
@@ -1,6 +1,7 @@
 package com.nttdata.account.infrastructure.persistence;
 
 import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountBalance;
 import com.nttdata.account.domain.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -8,6 +9,8 @@ import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
+
 @Component
 @RequiredArgsConstructor
 public class AccountRepositoryAdapter implements AccountRepository {
@@ -21,18 +24,42 @@ public class AccountRepositoryAdapter implements AccountRepository {
                 .map(entityMapper::toDomain);
     }
 
+    @Override
+    public Mono<Account> updateDetails(Account account) {
+        AccountEntity entity = entityMapper.toEntity(account);
+        return r2dbcRepository.updateDetails(entity.getAccountId(), entity.getAccountNumber(), entity.getAccountType(),
+                        entity.getInitialBalance(), entity.getStatus(), entity.getUpdatedAt())
+                .map(entityMapper::toDomain);
+    }
+
     @Override
     public Mono<Account> findById(Long accountId) {
         return r2dbcRepository.findById(accountId)
                 .map(entityMapper::toDomain);
     }
 
+    @Override
+    public Mono<Account> findByIdForUpdate(Long accountId) {
+        return r2dbcRepository.findByIdForUpdate(accountId)
+                .map(entityMapper::toDomain);
+    }
+
     @Override
     public Mono<Account> findByAccountNumber(String accountNumber) {
         return r2dbcRepository.findByAccountNumber(accountNumber)
                 .map(entityMapper::toDomain);
     }
 
+    @Override
+    public Mono<AccountBalance> findBalanceAsOf(Long accountId, OffsetDateTime asOf) {
+        return r2dbcRepository.findBalanceAsOf(accountId, asOf)
+                .map(balance -> AccountBalance.builder()
+                        .accountId(accountId)
+                        .asOf(asOf)
+                        .balance(balance)
+                        .build());
+    }
+
     @Override
     public Flux<Account> findAll(int page, int size) {
         return r2dbcRepository.findAllBy(PageRequest.of(page, size))
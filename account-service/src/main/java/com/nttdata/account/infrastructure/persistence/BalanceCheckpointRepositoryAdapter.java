@@ -0,0 +1,66 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.BalanceCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class BalanceCheckpointRepositoryAdapter implements BalanceCheckpointRepository {
+
+    // Rolls each account's latest checkpoint forward with the movements dated after it, in one statement
+    private static final String CREATE_CHECKPOINTS = """
+            INSERT INTO account_balance_checkpoints (account_id, as_of, balance, movement_seq)
+            SELECT a.account_id,
+                   CAST(:asOf AS TIMESTAMPTZ),
+                   COALESCE(cp.balance, a.initial_balance)
+                       + COALESCE(SUM(CASE WHEN m.movement_type = 'DEBIT' THEN -m.amount ELSE m.amount END), 0),
+                   GREATEST(COALESCE(MAX(m.movement_id), 0), COALESCE(cp.movement_seq, 0))
+            FROM accounts a
+            LEFT JOIN LATERAL (
+                SELECT c.as_of, c.balance, c.movement_seq
+                FROM account_balance_checkpoints c
+                WHERE c.account_id = a.account_id AND c.as_of < :asOf
+                ORDER BY c.as_of DESC
+                LIMIT 1
+            ) cp ON TRUE
+            LEFT JOIN movements m
+                ON m.account_id = a.account_id
+                AND m.date > COALESCE(cp.as_of, CAST('-infinity' AS TIMESTAMPTZ))
+                AND m.date <= :asOf
+            GROUP BY a.account_id, a.initial_balance, cp.as_of, cp.balance, cp.movement_seq
+            HAVING cp.as_of IS NULL OR COUNT(m.movement_id) > 0
+            ON CONFLICT (account_id, as_of) DO NOTHING
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> createCheckpoints(OffsetDateTime asOf) {
+        return databaseClient.sql(CREATE_CHECKPOINTS)
+                .bind("asOf", asOf)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> deleteFrom(Long accountId, OffsetDateTime from) {
+        return databaseClient.sql("DELETE FROM account_balance_checkpoints WHERE account_id = :accountId AND as_of >= :from")
+                .bind("accountId", accountId)
+                .bind("from", from)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> deleteByAccountId(Long accountId) {
+        return databaseClient.sql("DELETE FROM account_balance_checkpoints WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,94 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountBalance;
+import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.infrastructure.cache.AccountChange;
+import com.nttdata.account.infrastructure.cache.AccountNearCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Serves account lookups from the {@link AccountNearCache}. Every other instance learns about
+ * writes through Postgres notifications; this one also evicts right after its own writes, so it
+ * reads them back without waiting for the notification. Locking reads are never cached.
+ * <p>
+ * A cached account may lag its row by the notification latency, so it is only fit for display:
+ * read-modify-write paths load the account with {@link #findByIdForUpdate}.
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.account-cache.enabled", havingValue = "true")
+public class CachingAccountRepository implements AccountRepository {
+
+    private final AccountRepositoryAdapter delegate;
+    private final AccountNearCache accountNearCache;
+
+    @Override
+    public Mono<Account> save(Account account) {
+        return delegate.save(account)
+                .doOnNext(saved -> accountNearCache.evict(
+                        new AccountChange(saved.getAccountId(), saved.getCustomerId(), saved.getAccountNumber())));
+    }
+
+    @Override
+    public Mono<Account> updateDetails(Account account) {
+        return delegate.updateDetails(account)
+                .doOnNext(updated -> accountNearCache.evict(
+                        new AccountChange(updated.getAccountId(), updated.getCustomerId(), updated.getAccountNumber())));
+    }
+
+    @Override
+    public Mono<Account> findById(Long accountId) {
+        return accountNearCache.findById(accountId, () -> delegate.findById(accountId));
+    }
+
+    @Override
+    public Mono<Account> findByIdForUpdate(Long accountId) {
+        return delegate.findByIdForUpdate(accountId);
+    }
+
+    @Override
+    public Mono<Account> findByAccountNumber(String accountNumber) {
+        return accountNearCache.findByAccountNumber(accountNumber, () -> delegate.findByAccountNumber(accountNumber));
+    }
+
+    @Override
+    public Mono<AccountBalance> findBalanceAsOf(Long accountId, OffsetDateTime asOf) {
+        return delegate.findBalanceAsOf(accountId, asOf);
+    }
+
+    @Override
+    public Flux<Account> findAll(int page, int size) {
+        return delegate.findAll(page, size);
+    }
+
+    @Override
+    public Flux<Account> findByCustomerId(Long customerId) {
+        return accountNearCache.findByCustomerId(customerId, () -> delegate.findByCustomerId(customerId).collectList())
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long accountId) {
+        return delegate.deleteById(accountId)
+                .doOnSuccess(ignored -> accountNearCache.evict(new AccountChange(accountId, null, null)));
+    }
+
+    @Override
+    public Mono<Boolean> existsByAccountNumber(String accountNumber) {
+        return delegate.existsByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long accountId) {
+        return Mono.defer(() -> accountNearCache.contains(accountId) ? Mono.just(true) : delegate.existsById(accountId));
+    }
+}
@@ -0,0 +1,115 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountType;
+import com.nttdata.account.domain.ClientStatementRepository;
+import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementType;
+import com.nttdata.account.domain.StatementLine;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+@Component
+public class ClientStatementRepositoryAdapter implements ClientStatementRepository {
+
+    private static final String FIND_STATEMENT_LINES = """
+            SELECT c.customer_id, c.name, c.identification, c.address, c.phone, c.status AS customer_status,
+                   a.account_id, a.account_number, a.account_type, a.initial_balance, a.current_balance,
+                   a.status AS account_status,
+                   m.movement_id, m.date, m.movement_type, m.amount, m.balance, m.description
+            FROM customer c
+            LEFT JOIN accounts a ON a.customer_id = c.customer_id
+            LEFT JOIN movements m ON m.account_id = a.account_id AND m.date >= :startDate AND m.date <= :endDate
+            WHERE c.customer_id = :customerId AND NOT c.deleted
+            ORDER BY a.account_id, m.date DESC, m.movement_id DESC
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ClientStatementRepositoryAdapter(DatabaseClient databaseClient,
+                                            @Value("${account.statement-stream.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Flux<StatementLine> findStatementLines(Long customerId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return Flux.defer(() -> {
+            HeaderState state = new HeaderState();
+            return databaseClient.sql(FIND_STATEMENT_LINES)
+                    .filter(statement -> statement.fetchSize(fetchSize))
+                    .bind("customerId", customerId)
+                    .bind("startDate", startDate)
+                    .bind("endDate", endDate)
+                    .map(row -> toLine(row, state))
+                    .all();
+        });
+    }
+
+    private StatementLine toLine(Readable row, HeaderState state) {
+        StatementLine.StatementLineBuilder line = StatementLine.builder();
+        if (!state.customerRead) {
+            state.customerRead = true;
+            line.customer(toCustomer(row));
+        }
+        Long accountId = row.get("account_id", Long.class);
+        if (accountId != null && !Objects.equals(accountId, state.accountId)) {
+            state.accountId = accountId;
+            line.account(toAccount(row, accountId));
+        }
+        Long movementId = row.get("movement_id", Long.class);
+        return line.accountId(accountId)
+                .movement(movementId != null ? toMovement(row, movementId, accountId) : null)
+                .build();
+    }
+
+    private Customer toCustomer(Readable row) {
+        return Customer.builder()
+                .customerId(row.get("customer_id", Long.class))
+                .name(row.get("name", String.class))
+                .identification(row.get("identification", String.class))
+                .address(row.get("address", String.class))
+                .phone(row.get("phone", String.class))
+                .status(row.get("customer_status", Boolean.class))
+                .build();
+    }
+
+    private Account toAccount(Readable row, Long accountId) {
+        return Account.builder()
+                .accountId(accountId)
+                .accountNumber(row.get("account_number", String.class))
+                .accountType(AccountType.valueOf(row.get("account_type", String.class)))
+                .initialBalance(row.get("initial_balance", BigDecimal.class))
+                .currentBalance(row.get("current_balance", BigDecimal.class))
+                .status(row.get("account_status", Boolean.class))
+                .customerId(row.get("customer_id", Long.class))
+                .build();
+    }
+
+    private Movement toMovement(Readable row, Long movementId, Long accountId) {
+        return Movement.builder()
+                .movementId(movementId)
+                .date(row.get("date", OffsetDateTime.class))
+                .movementType(MovementType.valueOf(row.get("movement_type", String.class)))
+                .amount(row.get("amount", BigDecimal.class))
+                .balance(row.get("balance", BigDecimal.class))
+                .description(row.get("description", String.class))
+                .accountId(accountId)
+                .build();
+    }
+
+    // Rows are mapped one at a time in query order, so plain fields are enough
+    private static final class HeaderState {
+        private boolean customerRead;
+        private Long accountId;
+    }
+}
@@ -0,0 +1,109 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Listens on the {@code customer_changes} channel, filled by a trigger on {@code customer}, and
+ * removes the changed customers from the {@link CustomerReplicaIndex} of this instance, so that
+ * customers updated or deleted through another instance are read again from the table.
+ * <p>
+ * The listener holds its own connection outside the pool, since it stays busy for as long as the
+ * application runs. The index is only active while listening; it is emptied when the connection
+ * is lost and warmed up again once listening.
+ */
+@Slf4j
+@Component
+public class CustomerChangeListener {
+
+    static final String CHANNEL = "customer_changes";
+
+    private final CustomerReplicaIndex customerReplicaIndex;
+    private final CustomerRepositoryAdapter customerRepositoryAdapter;
+    private final ConnectionFactory connectionFactory;
+    private final Duration reconnectDelay;
+    private final Disposable.Swap subscription = Disposables.swap();
+
+    public CustomerChangeListener(CustomerReplicaIndex customerReplicaIndex,
+                                  CustomerRepositoryAdapter customerRepositoryAdapter,
+                                  @Value("${spring.r2dbc.url}") String url,
+                                  @Value("${spring.r2dbc.username:}") String username,
+                                  @Value("${spring.r2dbc.password:}") String password,
+                                  @Value("${account.customer-index.reconnect-delay:PT1S}") Duration reconnectDelay) {
+        this.customerReplicaIndex = customerReplicaIndex;
+        this.customerRepositoryAdapter = customerRepositoryAdapter;
+        this.reconnectDelay = reconnectDelay;
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.connectionFactory = ConnectionFactories.get(options.build());
+    }
+
+    /**
+     * Starts once the application is ready, so that the warm-up reads a migrated table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription.update(listen()
+                .doOnError(error -> {
+                    customerReplicaIndex.deactivate();
+                    log.warn("Customer change listener disconnected, customer index bypassed: {}", error.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectDelay).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscription.dispose();
+    }
+
+    private Mono<Void> listen() {
+        return Flux.usingWhen(
+                        Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                        // Subscribed before LISTEN, so that no notification is missed once the index is active
+                        connection -> connection.getNotifications()
+                                .doOnNext(this::evict)
+                                .mergeWith(connection.createStatement("LISTEN " + CHANNEL).execute()
+                                        .flatMap(PostgresqlResult::getRowsUpdated)
+                                        .then(Mono.<Notification>fromRunnable(() -> {
+                                            customerReplicaIndex.activate();
+                                            log.info("Listening for customer changes, customer index active");
+                                            customerRepositoryAdapter.warmUpIndex();
+                                        }))),
+                        Connection::close)
+                .then(Mono.error(() -> new IllegalStateException("The listener connection was closed")));
+    }
+
+    private void evict(Notification notification) {
+        try {
+            customerReplicaIndex.remove(Long.parseLong(notification.getParameter()));
+        } catch (NumberFormatException e) {
+            // Without the id of the change, nothing indexed can be trusted
+            log.error("Unreadable customer change {}: {}", notification.getParameter(), e.getMessage());
+            customerReplicaIndex.clear();
+        }
+    }
+}
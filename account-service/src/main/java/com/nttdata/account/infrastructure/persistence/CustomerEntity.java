@@ -33,4 +33,7 @@ public class CustomerEntity {
 
     @Column("status")
     private Boolean status;
+
+    @Column("deleted")
+    private Boolean deleted;
 }
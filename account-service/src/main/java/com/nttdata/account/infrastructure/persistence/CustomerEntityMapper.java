@@ -14,6 +14,7 @@ public class CustomerEntityMapper {
                 .address(customer.getAddress())
                 .phone(customer.getPhone())
                 .status(customer.getStatus())
+                .deleted(false)
                 .build();
     }
 
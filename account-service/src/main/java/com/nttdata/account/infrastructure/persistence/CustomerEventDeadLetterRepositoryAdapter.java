@@ -0,0 +1,128 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.CustomerEventDeadLetter;
+import com.nttdata.account.domain.CustomerEventDeadLetterRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class CustomerEventDeadLetterRepositoryAdapter implements CustomerEventDeadLetterRepository {
+
+    private static final String INSERT = """
+            INSERT INTO customer_event_dead_letters
+                (customer_id, payload, source_topic, source_partition, source_offset, error, failed_at,
+                 raw_key, raw_value, raw_headers)
+            VALUES (:customerId, :payload, :sourceTopic, :sourcePartition, :sourceOffset, :error, :failedAt,
+                    :rawKey, :rawValue, :rawHeaders)
+            ON CONFLICT (source_topic, source_partition, source_offset) DO NOTHING
+            """;
+
+    private static final String FIND_OLDEST = """
+            SELECT dead_letter_id, customer_id, payload, source_topic, source_partition, source_offset, error, failed_at,
+                   raw_key, raw_value, raw_headers
+            FROM customer_event_dead_letters
+            ORDER BY dead_letter_id
+            LIMIT :limit
+            """;
+
+    private static final String FIND_OLDEST_WITH_PAYLOAD = """
+            SELECT dead_letter_id, customer_id, payload, source_topic, source_partition, source_offset, error, failed_at,
+                   raw_key, raw_value, raw_headers
+            FROM customer_event_dead_letters
+            WHERE payload IS NOT NULL
+            ORDER BY dead_letter_id
+            LIMIT :limit
+            """;
+
+    private static final String DELETE_BY_IDS = """
+            DELETE FROM customer_event_dead_letters
+            WHERE dead_letter_id = ANY(:ids)
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Boolean> saveIfAbsent(CustomerEventDeadLetter deadLetter) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT)
+                .bind("sourceTopic", deadLetter.getSourceTopic())
+                .bind("sourcePartition", deadLetter.getSourcePartition())
+                .bind("sourceOffset", deadLetter.getSourceOffset())
+                .bind("failedAt", deadLetter.getFailedAt());
+        spec = bindNullable(spec, "customerId", deadLetter.getCustomerId(), Long.class);
+        spec = bindNullable(spec, "payload", deadLetter.getPayload(), String.class);
+        spec = bindNullable(spec, "error", deadLetter.getError(), String.class);
+        spec = bindNullable(spec, "rawKey", deadLetter.getRawKey(), String.class);
+        spec = bindNullable(spec, "rawValue",
+                deadLetter.getRawValue() != null ? ByteBuffer.wrap(deadLetter.getRawValue()) : null, ByteBuffer.class);
+        spec = bindNullable(spec, "rawHeaders", deadLetter.getRawHeaders(), String.class);
+        return spec.fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    @Override
+    public Flux<CustomerEventDeadLetter> findOldest(int limit) {
+        return databaseClient.sql(FIND_OLDEST)
+                .bind("limit", limit)
+                .map(this::toDeadLetter)
+                .all();
+    }
+
+    @Override
+    public Flux<CustomerEventDeadLetter> findOldestWithPayload(int limit) {
+        return databaseClient.sql(FIND_OLDEST_WITH_PAYLOAD)
+                .bind("limit", limit)
+                .map(this::toDeadLetter)
+                .all();
+    }
+
+    @Override
+    public Mono<Long> deleteByIds(List<Long> deadLetterIds) {
+        if (deadLetterIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql(DELETE_BY_IDS)
+                .bind("ids", deadLetterIds.toArray(Long[]::new))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private CustomerEventDeadLetter toDeadLetter(Readable row) {
+        return CustomerEventDeadLetter.builder()
+                .deadLetterId(row.get("dead_letter_id", Long.class))
+                .customerId(row.get("customer_id", Long.class))
+                .payload(row.get("payload", String.class))
+                .sourceTopic(row.get("source_topic", String.class))
+                .sourcePartition(row.get("source_partition", Integer.class))
+                .sourceOffset(row.get("source_offset", Long.class))
+                .error(row.get("error", String.class))
+                .failedAt(row.get("failed_at", OffsetDateTime.class))
+                .rawKey(row.get("raw_key", String.class))
+                .rawValue(bytes(row.get("raw_value", ByteBuffer.class)))
+                .rawHeaders(row.get("raw_headers", String.class))
+                .build();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+}
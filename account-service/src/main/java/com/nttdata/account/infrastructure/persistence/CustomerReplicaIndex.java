@@ -0,0 +1,237 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.Customer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory copy of the replicated customers, keyed by primitive customer id.
+ * <p>
+ * An open-addressing table of {@code long} keys, so an entry costs a slot in two arrays and the
+ * customer itself, without boxing or map nodes. Lookups run lock-free as optimistic reads and
+ * are only repeated under the read lock when a write got in between; writes, which only come
+ * from replication, take the write lock.
+ * <p>
+ * Other instances replicate the same customers, so the index is only trusted while the
+ * {@link CustomerChangeListener} hears of their changes: it starts inactive, finds nothing and
+ * stores nothing until activated, and is emptied when deactivated.
+ */
+@Component
+public class CustomerReplicaIndex {
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final long REMOVED = Long.MIN_VALUE + 1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StampedLock lock = new StampedLock();
+    // Keys and values are swapped together on resize, so a reader never mixes two tables
+    private Table table = new Table(INITIAL_CAPACITY);
+    private int size;
+    private int used;
+    private volatile boolean active;
+    // Bumped by every removal, so a row read from the table before it is not stored after it
+    private long generation;
+
+    public Customer get(long customerId) {
+        if (!active) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        Customer customer = table.find(customerId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                customer = table.find(customerId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return customer;
+    }
+
+    /**
+     * Stores the customer unless the indexed one has a newer version, since writes of different
+     * versions may finish in any order.
+     */
+    public void put(Customer customer) {
+        store(customer, true, -1);
+    }
+
+    /**
+     * Stores the customer unless it is already indexed, or anything was removed since
+     * {@code generation} was read. Used for rows read from the table, which must not overwrite a
+     * newer replicated version nor bring back a customer changed meanwhile.
+     */
+    public void putIfAbsent(Customer customer, long generation) {
+        store(customer, false, generation);
+    }
+
+    /**
+     * Read before reading rows from the table, to be handed to {@link #putIfAbsent}.
+     */
+    public long generation() {
+        long stamp = lock.readLock();
+        try {
+            return generation;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void remove(long customerId) {
+        long stamp = lock.writeLock();
+        try {
+            generation++;
+            int slot = table.slotOf(customerId);
+            if (slot >= 0) {
+                table.keys[slot] = REMOVED;
+                table.values[slot] = null;
+                size--;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            empty();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void activate() {
+        active = true;
+    }
+
+    /**
+     * Stops trusting the index, since changes of other instances may be missed from now on.
+     */
+    public void deactivate() {
+        long stamp = lock.writeLock();
+        try {
+            active = false;
+            empty();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void store(Customer customer, boolean replace, long expectedGeneration) {
+        long customerId = customer.getCustomerId();
+        if (customerId == FREE || customerId == REMOVED) {
+            throw new IllegalArgumentException("Unsupported customer id " + customerId);
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (!active || (expectedGeneration >= 0 && expectedGeneration != generation)) {
+                return;
+            }
+            int slot = table.slotOf(customerId);
+            if (slot >= 0) {
+                if (replace && versionOf(customer) >= versionOf(table.values[slot])) {
+                    table.values[slot] = customer;
+                }
+                return;
+            }
+            slot = table.insertionSlot(customerId);
+            if (table.keys[slot] == FREE) {
+                used++;
+            }
+            table.values[slot] = customer;
+            table.keys[slot] = customerId;
+            size++;
+            // At most half full, tombstones included, so probes stay short
+            if (used * 2 > table.keys.length) {
+                table = table.rehash(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(size * 4)));
+                used = size;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void empty() {
+        generation++;
+        table = new Table(INITIAL_CAPACITY);
+        size = 0;
+        used = 0;
+    }
+
+    private static long versionOf(Customer customer) {
+        return customer.getVersion() != null ? customer.getVersion() : 0L;
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+        private final Customer[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Customer[capacity];
+            Arrays.fill(keys, FREE);
+        }
+
+        private Customer find(long customerId) {
+            int slot = slotOf(customerId);
+            return slot >= 0 ? values[slot] : null;
+        }
+
+        private int slotOf(long customerId) {
+            int mask = keys.length - 1;
+            int slot = hash(customerId) & mask;
+            // Bounded, since an optimistic reader may see the table while it is being written
+            for (int probes = 0; probes < keys.length; probes++) {
+                long key = keys[slot];
+                if (key == customerId) {
+                    return slot;
+                }
+                if (key == FREE) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int insertionSlot(long customerId) {
+            int mask = keys.length - 1;
+            int slot = hash(customerId) & mask;
+            while (keys[slot] != FREE && keys[slot] != REMOVED) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private Table rehash(int capacity) {
+            Table resized = new Table(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != FREE && keys[i] != REMOVED) {
+                    int slot = resized.insertionSlot(keys[i]);
+                    resized.keys[slot] = keys[i];
+                    resized.values[slot] = values[i];
+                }
+            }
+            return resized;
+        }
+
+        private static int hash(long customerId) {
+            long h = customerId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
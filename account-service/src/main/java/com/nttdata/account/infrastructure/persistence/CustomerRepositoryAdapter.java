@@ -3,15 +3,75 @@ package com.nttdata.account.infrastructure.persistence;
 import com.nttdata.account.domain.Customer;
 import com.nttdata.account.domain.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Customers are a replica of customer-service. Lookups by id are answered from the
+ * {@link CustomerReplicaIndex}, warmed from the table at startup and updated on every save;
+ * customers missing from it are still looked up in the table, so rows written behind the
+ * application's back are found too. Rows changed by other instances are dropped from the index
+ * by the {@link CustomerChangeListener}.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CustomerRepositoryAdapter implements CustomerRepository {
 
+    private static final String UPSERT_CUSTOMERS =
+            "INSERT INTO customer (customer_id, name, identification, address, phone, status, version) VALUES ";
+    // Equal versions are left alone, so replaying an event is a no-op
+    private static final String ON_CONFLICT = """
+             ON CONFLICT (customer_id) DO UPDATE SET
+                name = excluded.name,
+                identification = excluded.identification,
+                address = excluded.address,
+                phone = excluded.phone,
+                status = excluded.status,
+                version = excluded.version,
+                deleted = FALSE
+            WHERE excluded.version > customer.version
+            RETURNING customer_id
+            """;
+    // A deletion received before the customer itself leaves an empty tombstone
+    private static final String MARK_DELETED = """
+            INSERT INTO customer (customer_id, name, identification, version, deleted)
+            VALUES (:customerId, '', '', :version, TRUE)
+            ON CONFLICT (customer_id) DO UPDATE SET
+                version = excluded.version,
+                deleted = TRUE
+            WHERE excluded.version > customer.version
+            RETURNING customer_id
+            """;
+
     private final CustomerR2dbcRepository r2dbcRepository;
     private final CustomerEntityMapper entityMapper;
+    private final DatabaseClient databaseClient;
+    private final CustomerReplicaIndex customerReplicaIndex;
+
+    /**
+     * Fills the index from the table, once the {@link CustomerChangeListener} has activated it.
+     */
+    public void warmUpIndex() {
+        long generation = customerReplicaIndex.generation();
+        r2dbcRepository.findAll()
+                .filter(CustomerRepositoryAdapter::isLive)
+                .map(entityMapper::toDomain)
+                .doOnNext(customer -> customerReplicaIndex.putIfAbsent(customer, generation))
+                .count()
+                .subscribe(
+                        count -> log.info("Customer replica index warmed up with {} customers", count),
+                        error -> log.error("Error warming up the customer replica index: {}", error.getMessage()));
+    }
 
     @Override
     public Mono<Customer> save(Customer customer) {
@@ -26,30 +86,129 @@ public class CustomerRepositoryAdapter implements CustomerRepository {
                             return r2dbcRepository.insertCustomer(entity)
                                     .then(Mono.just(customer));
                         }
-                    });
+                    })
+                    .doOnNext(customerReplicaIndex::put);
         }
-        return r2dbcRepository.save(entity).map(entityMapper::toDomain);
+        return r2dbcRepository.save(entity).map(entityMapper::toDomain)
+                .doOnNext(customerReplicaIndex::put);
+    }
+
+    @Override
+    public Mono<Boolean> upsert(Customer customer) {
+        return upsertAll(List.of(customer)).map(written -> written > 0);
+    }
+
+    @Override
+    public Mono<Long> upsertAll(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return Mono.just(0L);
+        }
+        // A statement may not touch the same row twice, so only the newest version of each customer is sent
+        Collection<Customer> newest = customers.stream()
+                .collect(Collectors.toMap(Customer::getCustomerId, customer -> customer,
+                        (first, second) -> versionOf(second) > versionOf(first) ? second : first,
+                        LinkedHashMap::new))
+                .values();
+        List<Customer> batch = new ArrayList<>(newest);
+
+        StringBuilder sql = new StringBuilder(UPSERT_CUSTOMERS);
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:customerId").append(i)
+                    .append(", :name").append(i)
+                    .append(", :identification").append(i)
+                    .append(", :address").append(i)
+                    .append(", :phone").append(i)
+                    .append(", :status").append(i)
+                    .append(", :version").append(i)
+                    .append(')');
+        }
+        sql.append(ON_CONFLICT);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            Customer customer = batch.get(i);
+            spec = spec.bind("customerId" + i, customer.getCustomerId())
+                    .bind("name" + i, customer.getName())
+                    .bind("identification" + i, customer.getIdentification())
+                    .bind("version" + i, versionOf(customer));
+            spec = bindNullable(spec, "address" + i, customer.getAddress(), String.class);
+            spec = bindNullable(spec, "phone" + i, customer.getPhone(), String.class);
+            spec = bindNullable(spec, "status" + i, customer.getStatus(), Boolean.class);
+        }
+        return spec.map(row -> row.get("customer_id", Long.class))
+                .all()
+                .collect(Collectors.toSet())
+                .map(written -> {
+                    index(batch, written);
+                    return (long) written.size();
+                });
+    }
+
+    @Override
+    public Mono<Boolean> markDeleted(Long customerId, long version) {
+        return databaseClient.sql(MARK_DELETED)
+                .bind("customerId", customerId)
+                .bind("version", version)
+                .map(row -> row.get("customer_id", Long.class))
+                .all()
+                .hasElements()
+                .doOnNext(marked -> {
+                    if (marked) {
+                        customerReplicaIndex.remove(customerId);
+                    }
+                });
     }
 
     @Override
     public Mono<Customer> findById(Long customerId) {
-        return r2dbcRepository.findById(customerId)
-                .map(entityMapper::toDomain);
+        return Mono.defer(() -> {
+            Customer indexed = customerReplicaIndex.get(customerId);
+            if (indexed != null) {
+                return Mono.just(indexed);
+            }
+            long generation = customerReplicaIndex.generation();
+            return r2dbcRepository.findById(customerId)
+                    .filter(CustomerRepositoryAdapter::isLive)
+                    .map(entityMapper::toDomain)
+                    .doOnNext(customer -> customerReplicaIndex.putIfAbsent(customer, generation));
+        });
     }
 
     @Override
     public Mono<Customer> findByIdentification(String identification) {
         return r2dbcRepository.findByIdentification(identification)
+                .filter(CustomerRepositoryAdapter::isLive)
                 .map(entityMapper::toDomain);
     }
 
     @Override
     public Mono<Void> deleteById(Long customerId) {
-        return r2dbcRepository.deleteById(customerId);
+        return r2dbcRepository.deleteById(customerId)
+                .doOnSuccess(ignored -> customerReplicaIndex.remove(customerId));
     }
 
     @Override
     public Mono<Boolean> existsById(Long customerId) {
-        return r2dbcRepository.existsById(customerId);
+        return findById(customerId).hasElement();
+    }
+
+    private void index(List<Customer> batch, Set<Long> written) {
+        batch.stream()
+                .filter(customer -> written.contains(customer.getCustomerId()))
+                .forEach(customerReplicaIndex::put);
+    }
+
+    private static boolean isLive(CustomerEntity entity) {
+        return !Boolean.TRUE.equals(entity.getDeleted());
+    }
+
+    private static long versionOf(Customer customer) {
+        return customer.getVersion() != null ? customer.getVersion() : 0L;
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
     }
 }
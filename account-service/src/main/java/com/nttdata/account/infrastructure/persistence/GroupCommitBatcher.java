@@ -0,0 +1,85 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects items submitted by concurrent callers for up to a short window (or until the batch is
+ * full) and writes each batch with one flush, completing every caller when its batch commits.
+ * If a batch fails as a whole, its items are retried one by one so that a single bad item only
+ * fails its own caller.
+ */
+@Slf4j
+class GroupCommitBatcher<T, R> {
+
+    private record Pending<T, R>(T item, MonoSink<R> sink) {
+    }
+
+    private final Sinks.Many<Pending<T, R>> sink = Sinks.many().unicast()
+            .onBackpressureBuffer(Queues.<Pending<T, R>>unboundedMultiproducer().get());
+    private final Function<List<T>, Mono<List<R>>> batchFlush;
+    private final Function<T, Mono<R>> singleFlush;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    GroupCommitBatcher(Function<List<T>, Mono<List<R>>> batchFlush,
+                       Function<T, Mono<R>> singleFlush,
+                       int maxBatchSize,
+                       Duration window,
+                       int maxInFlight,
+                       DistributionSummary batchSizeSummary,
+                       Timer flushTimer) {
+        this.batchFlush = batchFlush;
+        this.singleFlush = singleFlush;
+        this.batchSizeSummary = batchSizeSummary;
+        this.flushTimer = flushTimer;
+        sink.asFlux()
+                .bufferTimeout(maxBatchSize, window, true)
+                .flatMap(this::flush, maxInFlight)
+                .subscribe();
+    }
+
+    Mono<R> submit(T item) {
+        return Mono.create(caller -> sink.emitNext(new Pending<>(item, caller),
+                (signalType, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED));
+    }
+
+    private Mono<Void> flush(List<Pending<T, R>> batch) {
+        long start = System.nanoTime();
+        batchSizeSummary.record(batch.size());
+        List<T> items = batch.stream().map(Pending::item).toList();
+        return Mono.defer(() -> batchFlush.apply(items))
+                .doOnNext(results -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).sink().success(results.get(i));
+                    }
+                })
+                .doFinally(signal -> flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("Group commit of {} items failed, retrying individually: {}", batch.size(), error.getMessage());
+                    return Flux.fromIterable(batch)
+                            .concatMap(this::flushSingle)
+                            .then();
+                });
+    }
+
+    private Mono<Void> flushSingle(Pending<T, R> pending) {
+        return Mono.defer(() -> singleFlush.apply(pending.item()))
+                .doOnSuccess(result -> pending.sink().success(result))
+                .doOnError(error -> pending.sink().error(error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+}
@@ -0,0 +1,159 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementCursor;
+import com.nttdata.account.domain.MovementRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Group-commit write mode for movements: writes from concurrent requests are buffered for a few
+ * milliseconds and committed together, trading a small latency for one commit per batch instead
+ * of one per movement. Reads are delegated unchanged.
+ * <p>
+ * A movement applied inside a caller's transaction, as one registered under an Idempotency-Key,
+ * bypasses the batch: it must commit or roll back with the caller's other writes.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "account.movement-journal.group-commit.enabled", havingValue = "true")
+public class GroupCommitMovementRepository implements MovementRepository {
+
+    private final MovementRepositoryAdapter delegate;
+    private final TransactionalOperator transactionalOperator;
+    private final GroupCommitBatcher<Movement, Movement> saveBatcher;
+    private final GroupCommitBatcher<Movement, Optional<Movement>> applyBatcher;
+
+    public GroupCommitMovementRepository(MovementRepositoryAdapter delegate,
+                                         TransactionalOperator transactionalOperator,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${account.movement-journal.group-commit.window:PT0.005S}") Duration window,
+                                         @Value("${account.movement-journal.group-commit.max-batch-size:200}") int maxBatchSize,
+                                         @Value("${account.movement-journal.group-commit.max-in-flight:4}") int maxInFlight) {
+        this.delegate = delegate;
+        this.transactionalOperator = transactionalOperator;
+        DistributionSummary batchSize = DistributionSummary.builder("account.movement.journal.batch.size")
+                .description("Movements committed per group-commit flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer flushLatency = Timer.builder("account.movement.journal.flush")
+                .description("Latency of a group-commit flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.saveBatcher = new GroupCommitBatcher<>(this::saveBatch, delegate::save,
+                maxBatchSize, window, maxInFlight, batchSize, flushLatency);
+        this.applyBatcher = new GroupCommitBatcher<>(this::applyBatch,
+                movement -> delegate.applyToAccount(movement).map(Optional::of).defaultIfEmpty(Optional.empty()),
+                maxBatchSize, window, maxInFlight, batchSize, flushLatency);
+        log.info("Movement group commit enabled: window={}, maxBatchSize={}, maxInFlight={}",
+                window, maxBatchSize, maxInFlight);
+    }
+
+    @Override
+    public Mono<Movement> save(Movement movement) {
+        return saveBatcher.submit(movement);
+    }
+
+    @Override
+    public Mono<Movement> applyToAccount(Movement movement) {
+        return inTransaction()
+                .flatMap(inTransaction -> inTransaction
+                        ? delegate.applyToAccount(movement)
+                        : applyBatcher.submit(movement).flatMap(Mono::justOrEmpty));
+    }
+
+    private Mono<Boolean> inTransaction() {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .map(TransactionSynchronizationManager::isActualTransactionActive)
+                .onErrorResume(NoTransactionException.class, error -> Mono.just(false));
+    }
+
+    private Mono<List<Movement>> saveBatch(List<Movement> movements) {
+        return delegate.saveAll(movements)
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Each movement depends on the balance left by the previous one, so they run as separate
+     * statements inside one transaction. Rows are locked in account order to keep concurrent
+     * batches from deadlocking; the sort is stable, so per-account order is preserved.
+     */
+    private Mono<List<Optional<Movement>>> applyBatch(List<Movement> movements) {
+        List<Integer> lockOrder = IntStream.range(0, movements.size()).boxed()
+                .sorted(Comparator.comparing(i -> movements.get(i).getAccountId()))
+                .toList();
+        List<Optional<Movement>> results = new ArrayList<>(Collections.nCopies(movements.size(), Optional.empty()));
+        return Flux.fromIterable(lockOrder)
+                .concatMap(i -> delegate.applyToAccount(movements.get(i))
+                        .doOnNext(applied -> results.set(i, Optional.of(applied))))
+                .then(Mono.fromSupplier(() -> results))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Flux<Movement> saveAll(List<Movement> movements) {
+        return delegate.saveAll(movements);
+    }
+
+    @Override
+    public Mono<Movement> findById(Long movementId) {
+        return delegate.findById(movementId);
+    }
+
+    @Override
+    public Mono<Movement> findByIdAndAccountId(Long movementId, Long accountId) {
+        return delegate.findByIdAndAccountId(movementId, accountId);
+    }
+
+    @Override
+    public Flux<Movement> findByAccountId(Long accountId, int page, int size) {
+        return delegate.findByAccountId(accountId, page, size);
+    }
+
+    @Override
+    public Flux<Movement> findByAccountIdAfter(Long accountId, MovementCursor cursor, int size) {
+        return delegate.findByAccountIdAfter(accountId, cursor, size);
+    }
+
+    @Override
+    public Flux<Movement> findByAccountIdAndDateBetween(Long accountId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return delegate.findByAccountIdAndDateBetween(accountId, startDate, endDate);
+    }
+
+    @Override
+    public Flux<Movement> streamByAccountIdAndDateBetween(Long accountId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return delegate.streamByAccountIdAndDateBetween(accountId, startDate, endDate);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long movementId) {
+        return delegate.deleteById(movementId);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long movementId) {
+        return delegate.existsById(movementId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryAdapter implements IdempotencyKeyRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Boolean> claim(Long accountId, String key, String requestHash) {
+        return databaseClient.sql("INSERT INTO idempotency_keys (account_id, idempotency_key, request_hash) VALUES (:accountId, :key, :requestHash) ON CONFLICT DO NOTHING")
+                .bind("accountId", accountId)
+                .bind("key", key)
+                .bind("requestHash", requestHash)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    @Override
+    public Mono<Void> complete(Long accountId, String key, Long movementId) {
+        return databaseClient.sql("UPDATE idempotency_keys SET movement_id = :movementId WHERE account_id = :accountId AND idempotency_key = :key")
+                .bind("movementId", movementId)
+                .bind("accountId", accountId)
+                .bind("key", key)
+                .then();
+    }
+
+    @Override
+    public Mono<Long> findMovementId(Long accountId, String key) {
+        return databaseClient.sql("SELECT movement_id FROM idempotency_keys WHERE account_id = :accountId AND idempotency_key = :key AND movement_id IS NOT NULL")
+                .bind("accountId", accountId)
+                .bind("key", key)
+                .map(row -> row.get("movement_id", Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<String> findRequestHash(Long accountId, String key) {
+        return databaseClient.sql("SELECT request_hash FROM idempotency_keys WHERE account_id = :accountId AND idempotency_key = :key AND request_hash IS NOT NULL")
+                .bind("accountId", accountId)
+                .bind("key", key)
+                .map(row -> row.get("request_hash", String.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> deleteCreatedBefore(OffsetDateTime cutoff) {
+        return databaseClient.sql("DELETE FROM idempotency_keys WHERE created_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,86 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.MonthlyStatement;
+import com.nttdata.account.domain.MonthlyStatementRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+
+@Component
+@RequiredArgsConstructor
+public class MonthlyStatementRepositoryAdapter implements MonthlyStatementRepository {
+
+    private static final String FIND = """
+            SELECT customer_id, month, file_name, size_bytes, etag, generated_at
+            FROM monthly_statements
+            WHERE customer_id = :customerId AND month = :month
+            """;
+
+    private static final String FIND_CUSTOMERS_WITHOUT_STATEMENT = """
+            SELECT c.customer_id
+            FROM customer c
+            WHERE NOT c.deleted
+              AND NOT EXISTS (
+                  SELECT 1 FROM monthly_statements s
+                  WHERE s.customer_id = c.customer_id AND s.month = :month
+              )
+            ORDER BY c.customer_id
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO monthly_statements (customer_id, month, file_name, size_bytes, etag, generated_at)
+            VALUES (:customerId, :month, :fileName, :sizeBytes, :etag, :generatedAt)
+            ON CONFLICT (customer_id, month) DO NOTHING
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<MonthlyStatement> find(Long customerId, YearMonth month) {
+        return databaseClient.sql(FIND)
+                .bind("customerId", customerId)
+                .bind("month", month.atDay(1))
+                .map(this::toStatement)
+                .one();
+    }
+
+    @Override
+    public Flux<Long> findCustomersWithoutStatement(YearMonth month) {
+        return databaseClient.sql(FIND_CUSTOMERS_WITHOUT_STATEMENT)
+                .bind("month", month.atDay(1))
+                .map(row -> row.get("customer_id", Long.class))
+                .all();
+    }
+
+    @Override
+    public Mono<Boolean> saveIfAbsent(MonthlyStatement statement) {
+        return databaseClient.sql(INSERT)
+                .bind("customerId", statement.getCustomerId())
+                .bind("month", statement.getMonth().atDay(1))
+                .bind("fileName", statement.getFileName())
+                .bind("sizeBytes", statement.getSizeBytes())
+                .bind("etag", statement.getEtag())
+                .bind("generatedAt", statement.getGeneratedAt())
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    private MonthlyStatement toStatement(Readable row) {
+        return MonthlyStatement.builder()
+                .customerId(row.get("customer_id", Long.class))
+                .month(YearMonth.from(row.get("month", LocalDate.class)))
+                .fileName(row.get("file_name", String.class))
+                .sizeBytes(row.get("size_bytes", Long.class))
+                .etag(row.get("etag", String.class))
+                .generatedAt(row.get("generated_at", OffsetDateTime.class))
+                .build();
+    }
+}
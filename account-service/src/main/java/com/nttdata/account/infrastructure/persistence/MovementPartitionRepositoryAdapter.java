@@ -0,0 +1,100 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.MovementPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+public class MovementPartitionRepositoryAdapter implements MovementPartitionRepository {
+
+    private static final String FIND_PARTITIONS = """
+            SELECT c.relname AS name
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = CAST('movements' AS REGCLASS)
+            """;
+
+    private static final String DEFAULT_PARTITION = "movements_default";
+
+    // Moves the default partition's rows of a month into the partition just created for it
+    private static final String MOVE_FROM_DEFAULT = """
+            WITH moved AS (
+                DELETE FROM movements_default
+                WHERE date >= :from AND date < :to
+                RETURNING movement_id, date, movement_type, amount, balance, description, account_id, created_at
+            )
+            INSERT INTO movements (movement_id, date, movement_type, amount, balance, description, account_id, created_at)
+            SELECT movement_id, date, movement_type, amount, balance, description, account_id, created_at
+            FROM moved
+            """;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("movements_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    @Override
+    public Flux<YearMonth> findPartitions() {
+        return databaseClient.sql(FIND_PARTITIONS)
+                .map(row -> row.get("name", String.class))
+                .all()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    /**
+     * Postgres refuses to create a month's partition while the default partition holds rows of
+     * that month, which late or back-dated movements, or a job that fell behind, leave there. So
+     * the default partition is detached, the month's partition created, its rows moved out of the
+     * default one and the default re-attached, in one transaction. The detach locks the table
+     * meanwhile, so no movement can miss both partitions.
+     */
+    @Override
+    public Mono<Void> createPartition(YearMonth month) {
+        // DDL does not take bind parameters; names and bounds are built from a YearMonth only
+        String create = "CREATE TABLE IF NOT EXISTS %s PARTITION OF movements FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partitionName(month), lowerBound(month), lowerBound(month.plusMonths(1)));
+        return databaseClient.sql("ALTER TABLE movements DETACH PARTITION " + DEFAULT_PARTITION).then()
+                .then(databaseClient.sql(create).then())
+                .then(databaseClient.sql(MOVE_FROM_DEFAULT)
+                        .bind("from", startOf(month))
+                        .bind("to", startOf(month.plusMonths(1)))
+                        .fetch()
+                        .rowsUpdated())
+                .then(databaseClient.sql("ALTER TABLE movements ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT").then())
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Void> dropPartition(YearMonth month) {
+        String name = partitionName(month);
+        return databaseClient.sql("ALTER TABLE movements DETACH PARTITION " + name).then()
+                .then(databaseClient.sql("DROP TABLE IF EXISTS " + name).then());
+    }
+
+    private String partitionName(YearMonth month) {
+        return "movements_" + month.format(NAME_SUFFIX);
+    }
+
+    private String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+
+    private OffsetDateTime startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
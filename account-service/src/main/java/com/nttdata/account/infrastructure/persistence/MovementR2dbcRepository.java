@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Repository
@@ -14,8 +15,34 @@ public interface MovementR2dbcRepository extends ReactiveCrudRepository<Movement
 
     Flux<MovementEntity> findByAccountId(Long accountId, Pageable pageable);
 
+    // Row comparison on (date, movement_id) seeks straight into idx_movements_account_date
+    @Query("""
+            SELECT * FROM movements
+            WHERE account_id = :accountId AND (date, movement_id) < (:date, :movementId)
+            ORDER BY date DESC, movement_id DESC
+            LIMIT :limit
+            """)
+    Flux<MovementEntity> findByAccountIdAfter(Long accountId, OffsetDateTime date, Long movementId, int limit);
+
     Mono<MovementEntity> findByMovementIdAndAccountId(Long movementId, Long accountId);
 
+    // Plain range predicates on the partition key, so only the partitions of the requested months are scanned
     @Query("SELECT * FROM movements WHERE account_id = :accountId AND date >= :startDate AND date <= :endDate ORDER BY date DESC")
     Flux<MovementEntity> findByAccountIdAndDateBetween(Long accountId, OffsetDateTime startDate, OffsetDateTime endDate);
+
+    @Query("""
+            WITH updated AS (
+                UPDATE accounts
+                SET current_balance = current_balance + :delta, updated_at = CURRENT_TIMESTAMP
+                WHERE account_id = :accountId AND current_balance + :delta >= 0
+                RETURNING account_id, current_balance
+            )
+            INSERT INTO movements (date, movement_type, amount, balance, description, account_id)
+            SELECT CAST(:date AS TIMESTAMPTZ), CAST(:movementType AS VARCHAR), CAST(:amount AS DECIMAL),
+                   updated.current_balance, CAST(:description AS VARCHAR), updated.account_id
+            FROM updated
+            RETURNING *
+            """)
+    Mono<MovementEntity> applyToAccount(Long accountId, BigDecimal delta, OffsetDateTime date,
+                                        String movementType, BigDecimal amount, String description);
 }
@@ -1,22 +1,50 @@
 package com.nttdata.account.infrastructure.persistence;
 
 import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementCursor;
 import com.nttdata.account.domain.MovementRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class MovementRepositoryAdapter implements MovementRepository {
 
+    private static final String INSERT_MOVEMENTS =
+            "INSERT INTO movements (date, movement_type, amount, balance, description, account_id) VALUES ";
+
+    private static final String STREAM_BY_ACCOUNT_AND_DATE = """
+            SELECT * FROM movements
+            WHERE account_id = :accountId AND date >= :startDate AND date <= :endDate
+            ORDER BY date DESC, movement_id DESC
+            """;
+
     private final MovementR2dbcRepository r2dbcRepository;
     private final MovementEntityMapper entityMapper;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final int streamFetchSize;
+
+    public MovementRepositoryAdapter(MovementR2dbcRepository r2dbcRepository,
+                                     MovementEntityMapper entityMapper,
+                                     R2dbcEntityTemplate entityTemplate,
+                                     @Value("${account.statement-stream.fetch-size:500}") int streamFetchSize) {
+        if (streamFetchSize < 1) {
+            throw new IllegalArgumentException("account.statement-stream.fetch-size must be positive");
+        }
+        this.r2dbcRepository = r2dbcRepository;
+        this.entityMapper = entityMapper;
+        this.entityTemplate = entityTemplate;
+        this.streamFetchSize = streamFetchSize;
+    }
 
     @Override
     public Mono<Movement> save(Movement movement) {
@@ -24,6 +52,54 @@ public class MovementRepositoryAdapter implements MovementRepository {
                 .map(entityMapper::toDomain);
     }
 
+    @Override
+    public Mono<Movement> applyToAccount(Movement movement) {
+        BigDecimal delta = movement.isDebit() ? movement.getAmount().negate() : movement.getAmount();
+        return r2dbcRepository.applyToAccount(
+                        movement.getAccountId(),
+                        delta,
+                        movement.getDate(),
+                        movement.getMovementType().name(),
+                        movement.getAmount(),
+                        movement.getDescription())
+                .map(entityMapper::toDomain);
+    }
+
+    @Override
+    public Flux<Movement> saveAll(List<Movement> movements) {
+        if (movements.isEmpty()) {
+            return Flux.empty();
+        }
+        StringBuilder sql = new StringBuilder(INSERT_MOVEMENTS);
+        for (int i = 0; i < movements.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:date").append(i)
+                    .append(", :movementType").append(i)
+                    .append(", :amount").append(i)
+                    .append(", :balance").append(i)
+                    .append(", :description").append(i)
+                    .append(", :accountId").append(i)
+                    .append(')');
+        }
+        sql.append(" RETURNING *");
+
+        DatabaseClient.GenericExecuteSpec spec = entityTemplate.getDatabaseClient().sql(sql.toString());
+        for (int i = 0; i < movements.size(); i++) {
+            MovementEntity entity = entityMapper.toEntity(movements.get(i));
+            spec = spec.bind("date" + i, entity.getDate())
+                    .bind("movementType" + i, entity.getMovementType())
+                    .bind("amount" + i, entity.getAmount())
+                    .bind("balance" + i, entity.getBalance())
+                    .bind("accountId" + i, entity.getAccountId());
+            spec = entity.getDescription() != null
+                    ? spec.bind("description" + i, entity.getDescription())
+                    : spec.bindNull("description" + i, String.class);
+        }
+        return spec.map((row, metadata) -> entityTemplate.getConverter().read(MovementEntity.class, row, metadata))
+                .all()
+                .map(entityMapper::toDomain);
+    }
+
     @Override
     public Mono<Movement> findById(Long movementId) {
         return r2dbcRepository.findById(movementId)
@@ -38,7 +114,13 @@ public class MovementRepositoryAdapter implements MovementRepository {
 
     @Override
     public Flux<Movement> findByAccountId(Long accountId, int page, int size) {
-        return r2dbcRepository.findByAccountId(accountId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "date")))
+        return r2dbcRepository.findByAccountId(accountId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "date", "movementId")))
+                .map(entityMapper::toDomain);
+    }
+
+    @Override
+    public Flux<Movement> findByAccountIdAfter(Long accountId, MovementCursor cursor, int size) {
+        return r2dbcRepository.findByAccountIdAfter(accountId, cursor.getDate(), cursor.getMovementId(), size)
                 .map(entityMapper::toDomain);
     }
 
@@ -48,6 +130,18 @@ public class MovementRepositoryAdapter implements MovementRepository {
                 .map(entityMapper::toDomain);
     }
 
+    @Override
+    public Flux<Movement> streamByAccountIdAndDateBetween(Long accountId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return entityTemplate.getDatabaseClient().sql(STREAM_BY_ACCOUNT_AND_DATE)
+                .filter(statement -> statement.fetchSize(streamFetchSize))
+                .bind("accountId", accountId)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> entityTemplate.getConverter().read(MovementEntity.class, row, metadata))
+                .all()
+                .map(entityMapper::toDomain);
+    }
+
     @Override
     public Mono<Void> deleteById(Long movementId) {
         return r2dbcRepository.deleteById(movementId);
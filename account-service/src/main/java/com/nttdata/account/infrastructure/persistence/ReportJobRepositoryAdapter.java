@@ -0,0 +1,139 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.ReportJob;
+import com.nttdata.account.domain.ReportJobRepository;
+import com.nttdata.account.domain.ReportJobStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ReportJobRepositoryAdapter implements ReportJobRepository {
+
+    private static final String COLUMNS = """
+            job_id, client_id, start_date, end_date, format, media_type, file_name, status,
+            processed_movements, result_file, size_bytes, error, created_at, started_at, completed_at, expires_at
+            """;
+
+    private static final String UPSERT = """
+            INSERT INTO report_jobs (%s, updated_at)
+            VALUES (:jobId, :clientId, :startDate, :endDate, :format, :mediaType, :fileName, :status,
+                    :processedMovements, :resultFile, :sizeBytes, :error, :createdAt, :startedAt, :completedAt, :expiresAt,
+                    CURRENT_TIMESTAMP)
+            ON CONFLICT (job_id) DO UPDATE SET
+                status = EXCLUDED.status,
+                processed_movements = EXCLUDED.processed_movements,
+                result_file = EXCLUDED.result_file,
+                size_bytes = EXCLUDED.size_bytes,
+                error = EXCLUDED.error,
+                started_at = EXCLUDED.started_at,
+                completed_at = EXCLUDED.completed_at,
+                expires_at = EXCLUDED.expires_at,
+                updated_at = EXCLUDED.updated_at
+            """.formatted(COLUMNS);
+
+    private static final String FIND_BY_ID = "SELECT %s FROM report_jobs WHERE job_id = :jobId".formatted(COLUMNS);
+
+    private static final String UPDATE_PROGRESS = """
+            UPDATE report_jobs
+            SET processed_movements = :processedMovements, updated_at = CURRENT_TIMESTAMP
+            WHERE job_id = :jobId AND status IN ('QUEUED', 'RUNNING')
+            """;
+
+    private static final String FIND_EXPIRED = """
+            SELECT %s FROM report_jobs
+            WHERE expires_at < :now
+               OR (status IN ('QUEUED', 'RUNNING') AND updated_at < :abandonedBefore)
+            """.formatted(COLUMNS);
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<ReportJob> save(ReportJob job) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPSERT)
+                .bind("jobId", job.getJobId())
+                .bind("clientId", job.getClientId())
+                .bind("startDate", job.getStartDate())
+                .bind("endDate", job.getEndDate())
+                .bind("format", job.getFormat())
+                .bind("mediaType", job.getMediaType())
+                .bind("fileName", job.getFileName())
+                .bind("status", job.getStatus().name())
+                .bind("processedMovements", job.getProcessedMovements())
+                .bind("createdAt", job.getCreatedAt());
+        spec = bindNullable(spec, "resultFile", job.getResultFile(), String.class);
+        spec = bindNullable(spec, "sizeBytes", job.getSizeBytes(), Long.class);
+        spec = bindNullable(spec, "error", job.getError(), String.class);
+        spec = bindNullable(spec, "startedAt", job.getStartedAt(), OffsetDateTime.class);
+        spec = bindNullable(spec, "completedAt", job.getCompletedAt(), OffsetDateTime.class);
+        spec = bindNullable(spec, "expiresAt", job.getExpiresAt(), OffsetDateTime.class);
+        return spec.then()
+                .thenReturn(job);
+    }
+
+    @Override
+    public Mono<ReportJob> findById(UUID jobId) {
+        return databaseClient.sql(FIND_BY_ID)
+                .bind("jobId", jobId)
+                .map(this::toJob)
+                .one();
+    }
+
+    @Override
+    public Mono<Void> updateProgress(UUID jobId, long processedMovements) {
+        return databaseClient.sql(UPDATE_PROGRESS)
+                .bind("jobId", jobId)
+                .bind("processedMovements", processedMovements)
+                .then();
+    }
+
+    @Override
+    public Flux<ReportJob> findExpired(OffsetDateTime now, OffsetDateTime abandonedBefore) {
+        return databaseClient.sql(FIND_EXPIRED)
+                .bind("now", now)
+                .bind("abandonedBefore", abandonedBefore)
+                .map(this::toJob)
+                .all();
+    }
+
+    @Override
+    public Mono<Void> delete(UUID jobId) {
+        return databaseClient.sql("DELETE FROM report_jobs WHERE job_id = :jobId")
+                .bind("jobId", jobId)
+                .then();
+    }
+
+    private ReportJob toJob(Readable row) {
+        return ReportJob.builder()
+                .jobId(row.get("job_id", UUID.class))
+                .clientId(row.get("client_id", Long.class))
+                .startDate(row.get("start_date", LocalDate.class))
+                .endDate(row.get("end_date", LocalDate.class))
+                .format(row.get("format", String.class))
+                .mediaType(row.get("media_type", String.class))
+                .fileName(row.get("file_name", String.class))
+                .status(ReportJobStatus.valueOf(row.get("status", String.class)))
+                .processedMovements(row.get("processed_movements", Long.class))
+                .resultFile(row.get("result_file", String.class))
+                .sizeBytes(row.get("size_bytes", Long.class))
+                .error(row.get("error", String.class))
+                .createdAt(row.get("created_at", OffsetDateTime.class))
+                .startedAt(row.get("started_at", OffsetDateTime.class))
+                .completedAt(row.get("completed_at", OffsetDateTime.class))
+                .expiresAt(row.get("expires_at", OffsetDateTime.class))
+                .build();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+}
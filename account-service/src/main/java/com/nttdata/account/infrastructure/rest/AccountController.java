@@ -1,6 +1,7 @@
 package com.nttdata.account.infrastructure.rest;
 
 import com.nttdata.account.api.AccountsApi;
+import com.nttdata.account.api.model.AccountBalanceResponse;
 import com.nttdata.account.api.model.AccountRequest;
 import com.nttdata.account.api.model.AccountResponse;
 import com.nttdata.account.application.AccountMapper;
@@ -9,6 +10,8 @@ import com.nttdata.account.application.delete_account.DeleteAccountCommand;
 import com.nttdata.account.application.delete_account.DeleteAccountCommandHandler;
 import com.nttdata.account.application.get_account_by_id.GetAccountByIdQuery;
 import com.nttdata.account.application.get_account_by_id.GetAccountByIdQueryHandler;
+import com.nttdata.account.application.get_account_balance.GetAccountBalanceQuery;
+import com.nttdata.account.application.get_account_balance.GetAccountBalanceQueryHandler;
 import com.nttdata.account.application.get_all_accounts.GetAllAccountsQuery;
 import com.nttdata.account.application.get_all_accounts.GetAllAccountsQueryHandler;
 import com.nttdata.account.application.update_account.UpdateAccountCommandHandler;
@@ -22,6 +25,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
@@ -32,6 +37,7 @@ public class AccountController implements AccountsApi {
     private final DeleteAccountCommandHandler deleteAccountCommandHandler;
     private final GetAccountByIdQueryHandler getAccountByIdQueryHandler;
     private final GetAllAccountsQueryHandler getAllAccountsQueryHandler;
+    private final GetAccountBalanceQueryHandler getAccountBalanceQueryHandler;
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
 
@@ -69,6 +75,21 @@ public class AccountController implements AccountsApi {
                 .map(ResponseEntity::ok);
     }
 
+    @Override
+    public Mono<ResponseEntity<AccountBalanceResponse>> _getAccountBalance(Long accountId,
+                                                                           OffsetDateTime asOf,
+                                                                           ServerWebExchange exchange) {
+        log.info("GET /api/v1/accounts/{}/balance - Fetching balance, asOf={}", accountId, asOf);
+        GetAccountBalanceQuery query = GetAccountBalanceQuery.builder()
+                .accountId(accountId)
+                .asOf(asOf)
+                .build();
+        return getAccountBalanceQueryHandler.handle(query)
+                .map(accountMapper::toBalanceResponse)
+                .doOnError(error -> log.warn("Error fetching balance for account id={}: {}", accountId, error.getMessage()))
+                .map(ResponseEntity::ok);
+    }
+
     @Override
     public Mono<ResponseEntity<Flux<AccountResponse>>> _getAllAccounts(Integer page,
                                                                         Integer size,
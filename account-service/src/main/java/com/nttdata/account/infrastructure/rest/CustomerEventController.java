@@ -0,0 +1,45 @@
+package com.nttdata.account.infrastructure.rest;
+
+import com.nttdata.account.api.CustomerEventsApi;
+import com.nttdata.account.api.model.CustomerEventDeadLetterResponse;
+import com.nttdata.account.api.model.CustomerEventRedriveResponse;
+import com.nttdata.account.application.AccountMapper;
+import com.nttdata.account.infrastructure.kafka.CustomerEventDeadLetterQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class CustomerEventController implements CustomerEventsApi {
+
+    private final CustomerEventDeadLetterQueue customerEventDeadLetterQueue;
+    private final AccountMapper accountMapper;
+
+    @Override
+    public Mono<ResponseEntity<Flux<CustomerEventDeadLetterResponse>>> _listCustomerEventDeadLetters(Integer limit,
+                                                                                                     ServerWebExchange exchange) {
+        log.info("GET /api/v1/admin/customer-events/dead-letters - Listing dead letters, limit={}", limit);
+        Flux<CustomerEventDeadLetterResponse> deadLetters = customerEventDeadLetterQueue
+                .list(limit != null ? limit : 100)
+                .map(accountMapper::toDeadLetterResponse);
+        return Mono.just(ResponseEntity.ok(deadLetters));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CustomerEventRedriveResponse>> _redriveCustomerEventDeadLetters(Integer limit,
+                                                                                               ServerWebExchange exchange) {
+        log.info("POST /api/v1/admin/customer-events/dead-letters/redrive - Re-driving dead letters, limit={}", limit);
+        return customerEventDeadLetterQueue.redrive(limit != null ? limit : 1000)
+                .map(redriven -> {
+                    CustomerEventRedriveResponse response = new CustomerEventRedriveResponse();
+                    response.setRedriven(redriven);
+                    return ResponseEntity.ok(response);
+                });
+    }
+}
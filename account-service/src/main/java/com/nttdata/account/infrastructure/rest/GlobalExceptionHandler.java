@@ -4,8 +4,15 @@ import com.nttdata.account.api.model.ErrorResponse;
 import com.nttdata.account.domain.AccountAlreadyExistsException;
 import com.nttdata.account.domain.AccountNotFoundException;
 import com.nttdata.account.domain.CustomerNotFoundException;
+import com.nttdata.account.domain.IdempotencyKeyInProgressException;
+import com.nttdata.account.domain.IdempotencyKeyReusedException;
 import com.nttdata.account.domain.InsufficientBalanceException;
 import com.nttdata.account.domain.InvalidAmountException;
+import com.nttdata.account.domain.MonthlyStatementNotFoundException;
+import com.nttdata.account.domain.MovementLaneUnavailableException;
+import com.nttdata.account.domain.ReportJobLimitExceededException;
+import com.nttdata.account.domain.ReportJobNotFoundException;
+import com.nttdata.account.domain.ReportJobNotReadyException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -51,6 +58,48 @@ public class GlobalExceptionHandler {
         return Mono.just(buildErrorResponse(HttpStatus.BAD_REQUEST, "INVALID_AMOUNT", ex.getMessage()));
     }
 
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        log.warn("Idempotency key in progress: {}", ex.getMessage());
+        return Mono.just(buildErrorResponse(HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_PROGRESS", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        return Mono.just(buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED", ex.getMessage()));
+    }
+
+    @ExceptionHandler(MovementLaneUnavailableException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleMovementLaneUnavailable(MovementLaneUnavailableException ex) {
+        log.warn("Movement rejected: {}", ex.getMessage());
+        return Mono.just(buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "MOVEMENT_LANE_UNAVAILABLE", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleReportJobNotFound(ReportJobNotFoundException ex) {
+        log.warn("Report job not found: {}", ex.getMessage());
+        return Mono.just(buildErrorResponse(HttpStatus.NOT_FOUND, "REPORT_JOB_NOT_FOUND", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ReportJobNotReadyException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleReportJobNotReady(ReportJobNotReadyException ex) {
+        log.warn("Report job not ready: {}", ex.getMessage());
+        return Mono.just(buildErrorResponse(HttpStatus.CONFLICT, "REPORT_JOB_NOT_READY", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ReportJobLimitExceededException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleReportJobLimitExceeded(ReportJobLimitExceededException ex) {
+        log.warn("Report job rejected: {}", ex.getMessage());
+        return Mono.just(buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REPORT_JOBS", ex.getMessage()));
+    }
+
+    @ExceptionHandler(MonthlyStatementNotFoundException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleMonthlyStatementNotFound(MonthlyStatementNotFoundException ex) {
+        log.warn("Monthly statement not found: {}", ex.getMessage());
+        return Mono.just(buildErrorResponse(HttpStatus.NOT_FOUND, "MONTHLY_STATEMENT_NOT_FOUND", ex.getMessage()));
+    }
+
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleValidationException(WebExchangeBindException ex) {
         String details = ex.getFieldErrors().stream()
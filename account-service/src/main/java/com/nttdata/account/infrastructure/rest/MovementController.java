@@ -3,11 +3,19 @@ package com.nttdata.account.infrastructure.rest;
 import com.nttdata.account.api.MovementsApi;
 import com.nttdata.account.api.model.MovementRequest;
 import com.nttdata.account.api.model.MovementResponse;
+import com.nttdata.account.api.model.MovementStreamRequest;
+import com.nttdata.account.api.model.MovementStreamResult;
 import com.nttdata.account.application.AccountMapper;
+import com.nttdata.account.application.delete_movement.DeleteMovementCommand;
+import com.nttdata.account.application.delete_movement.DeleteMovementCommandHandler;
 import com.nttdata.account.application.get_movements_by_account.GetMovementsByAccountQuery;
 import com.nttdata.account.application.get_movements_by_account.GetMovementsByAccountQueryHandler;
 import com.nttdata.account.application.register_movement.RegisterMovementCommandHandler;
+import com.nttdata.account.application.register_movement_stream.RegisterMovementStreamCommand;
+import com.nttdata.account.application.register_movement_stream.RegisterMovementStreamCommandHandler;
+import com.nttdata.account.domain.MovementCursor;
 import com.nttdata.account.domain.MovementRepository;
+import com.nttdata.account.infrastructure.idempotency.MovementIdempotencyGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -22,19 +30,26 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class MovementController implements MovementsApi {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RegisterMovementCommandHandler registerMovementCommandHandler;
+    private final RegisterMovementStreamCommandHandler registerMovementStreamCommandHandler;
+    private final DeleteMovementCommandHandler deleteMovementCommandHandler;
     private final GetMovementsByAccountQueryHandler getMovementsByAccountQueryHandler;
+    private final MovementIdempotencyGuard movementIdempotencyGuard;
     private final MovementRepository movementRepository;
     private final AccountMapper accountMapper;
 
     @Override
     public Mono<ResponseEntity<MovementResponse>> _createMovement(Long accountId,
                                                                    Mono<MovementRequest> movementRequest,
+                                                                   String idempotencyKey,
                                                                    ServerWebExchange exchange) {
         log.info("POST /api/v1/accounts/{}/movements - Creating new movement", accountId);
         return movementRequest
                 .map(request -> accountMapper.toMovementCommand(accountId, request))
-                .flatMap(registerMovementCommandHandler::handle)
+                .flatMap(command -> movementIdempotencyGuard.execute(command, idempotencyKey,
+                        () -> registerMovementCommandHandler.handle(command)))
                 .map(accountMapper::toMovementResponse)
                 .doOnSuccess(response -> log.info("Movement created successfully: id={}, accountId={}, type={}, amount={}, balance={}", 
                         response.getMovementId(), accountId, response.getMovementType(), response.getAmount(), response.getBalance()))
@@ -42,10 +57,26 @@ public class MovementController implements MovementsApi {
                 .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
+    @Override
+    public Mono<ResponseEntity<Flux<MovementStreamResult>>> _streamMovements(Long accountId,
+                                                                              Flux<MovementStreamRequest> movementStreamRequest,
+                                                                              ServerWebExchange exchange) {
+        log.info("POST /api/v1/accounts/{}/movements:stream - Registering movement stream", accountId);
+        RegisterMovementStreamCommand command = RegisterMovementStreamCommand.builder()
+                .accountId(accountId)
+                .movements(movementStreamRequest.map(request -> accountMapper.toMovementCommand(accountId, request)))
+                .build();
+        Flux<MovementStreamResult> results = registerMovementStreamCommandHandler.handle(command)
+                .map(accountMapper::toMovementStreamResult)
+                .doOnComplete(() -> log.info("Movement stream completed for accountId={}", accountId))
+                .doOnError(error -> log.error("Error registering movement stream for accountId={}: {}", accountId, error.getMessage()));
+        return Mono.just(ResponseEntity.ok(results));
+    }
+
     @Override
     public Mono<ResponseEntity<Void>> _deleteMovement(Long accountId, Long movementId, ServerWebExchange exchange) {
         log.info("DELETE /api/v1/accounts/{}/movements/{} - Deleting movement", accountId, movementId);
-        return movementRepository.deleteById(movementId)
+        return deleteMovementCommandHandler.handle(DeleteMovementCommand.builder().movementId(movementId).build())
                 .doOnSuccess(v -> log.info("Movement deleted successfully: id={}, accountId={}", movementId, accountId))
                 .doOnError(error -> log.error("Error deleting movement id={}: {}", movementId, error.getMessage()))
                 .then(Mono.just(ResponseEntity.noContent().<Void>build()));
@@ -76,15 +107,25 @@ public class MovementController implements MovementsApi {
     public Mono<ResponseEntity<Flux<MovementResponse>>> _getMovementsByAccountId(Long accountId,
                                                                                    Integer page,
                                                                                    Integer size,
+                                                                                   String cursor,
                                                                                    ServerWebExchange exchange) {
-        log.info("GET /api/v1/accounts/{}/movements - Fetching movements, page={}, size={}", accountId, page, size);
+        log.info("GET /api/v1/accounts/{}/movements - Fetching movements, page={}, size={}, cursor={}",
+                accountId, page, size, cursor);
         GetMovementsByAccountQuery query = GetMovementsByAccountQuery.builder()
                 .accountId(accountId)
                 .page(page != null ? page : 0)
                 .size(size != null ? size : 20)
+                .cursor(cursor)
                 .build();
-        Flux<MovementResponse> movements = getMovementsByAccountQueryHandler.handle(query)
-                .map(accountMapper::toMovementResponse);
-        return Mono.just(ResponseEntity.ok(movements));
+        // The page is bounded by size, so it is collected to know the next cursor before the headers go out
+        return getMovementsByAccountQueryHandler.handle(query)
+                .collectList()
+                .map(movements -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (!movements.isEmpty() && movements.size() == query.getSize()) {
+                        response.header(NEXT_CURSOR_HEADER, MovementCursor.of(movements.get(movements.size() - 1)).encode());
+                    }
+                    return response.body(Flux.fromIterable(movements).map(accountMapper::toMovementResponse));
+                });
     }
 }
@@ -1,38 +1,69 @@
 package com.nttdata.account.infrastructure.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nttdata.account.api.ReportsApi;
+import com.nttdata.account.api.model.AccountStatementEvent;
 import com.nttdata.account.api.model.AccountStatementReport;
-import com.nttdata.account.api.model.AccountWithMovements;
-import com.nttdata.account.api.model.CustomerInfo;
-import com.nttdata.account.api.model.MovementDetail;
+import com.nttdata.account.api.model.ReportJobRequest;
+import com.nttdata.account.api.model.ReportJobResponse;
 import com.nttdata.account.application.AccountMapper;
-import com.nttdata.account.application.get_client_report.AccountMovementReport;
+import com.nttdata.account.application.export_client_statement.ExportClientStatementQuery;
+import com.nttdata.account.application.export_client_statement.ExportClientStatementQueryHandler;
 import com.nttdata.account.application.get_client_report.GetClientReportQuery;
 import com.nttdata.account.application.get_client_report.GetClientReportQueryHandler;
-import com.nttdata.account.domain.CustomerRepository;
+import com.nttdata.account.application.stream_client_statement.StreamClientStatementQuery;
+import com.nttdata.account.application.stream_client_statement.StreamClientStatementQueryHandler;
+import com.nttdata.account.domain.MonthlyStatementNotFoundException;
+import com.nttdata.account.domain.MonthlyStatementRepository;
+import com.nttdata.account.domain.ReportJob;
+import com.nttdata.account.domain.ReportJobStatus;
+import com.nttdata.account.domain.StatementLine;
+import com.nttdata.account.infrastructure.cache.StatementReportCache;
+import com.nttdata.account.infrastructure.cache.StatementReportKey;
+import com.nttdata.account.infrastructure.export.StatementExporter;
+import com.nttdata.account.infrastructure.jobs.ReportJobManager;
+import com.nttdata.account.infrastructure.statements.MonthlyStatementGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.time.LocalDate;
-import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class ReportController implements ReportsApi {
 
+    private static final String JSON_FORMAT = "json";
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
     private final GetClientReportQueryHandler getClientReportQueryHandler;
-    private final CustomerRepository customerRepository;
+    private final StreamClientStatementQueryHandler streamClientStatementQueryHandler;
+    private final ExportClientStatementQueryHandler exportClientStatementQueryHandler;
+    private final List<StatementExporter> statementExporters;
+    private final StatementReportCache statementReportCache;
+    private final ReportJobManager reportJobManager;
+    private final MonthlyStatementRepository monthlyStatementRepository;
+    private final MonthlyStatementGenerator monthlyStatementGenerator;
     private final AccountMapper accountMapper;
+    private final ObjectMapper objectMapper;
 
     @Override
     public Mono<ResponseEntity<AccountStatementReport>> _generateAccountStatement(Long clientId,
@@ -42,87 +73,239 @@ public class ReportController implements ReportsApi {
                                                                                     ServerWebExchange exchange) {
         log.info("GET /api/v1/reports - Generating account statement: clientId={}, startDate={}, endDate={}, format={}", 
                 clientId, startDate, endDate, format);
-        
+
+        StatementExporter exporter = findExporter(format);
+        if (!statementReportCache.isCacheable(endDate)) {
+            return exporter != null
+                    ? exportStatement(exporter, clientId, startDate, endDate, exchange, null)
+                    : generateReport(clientId, startDate, endDate).map(ResponseEntity::ok);
+        }
+
+        // Closed periods no longer change, so they are answered from the encoded body when possible
+        StatementReportKey key = new StatementReportKey(clientId, startDate, endDate,
+                exporter != null ? exporter.getFormat() : JSON_FORMAT);
+        byte[] cached = statementReportCache.get(key);
+        if (cached != null) {
+            log.info("Report served from cache: clientId={}, startDate={}, endDate={}, format={}",
+                    clientId, startDate, endDate, key.format());
+            ServerHttpResponse response = exchange.getResponse();
+            if (exporter != null) {
+                setExportHeaders(response, exporter, clientId, startDate, endDate);
+            } else {
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            }
+            return writeBody(response, cached);
+        }
+
+        StatementReportCache.Recording recording = statementReportCache.record(key);
+        if (exporter != null) {
+            return exportStatement(exporter, clientId, startDate, endDate, exchange, recording);
+        }
+        return generateReport(clientId, startDate, endDate)
+                .flatMap(report -> Mono.fromCallable(() -> objectMapper.writeValueAsBytes(report))
+                        .flatMap(body -> {
+                            report.getAccounts().forEach(account -> recording.account(account.getAccountId()));
+                            recording.write(body);
+                            recording.commit();
+                            ServerHttpResponse response = exchange.getResponse();
+                            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                            return writeBody(response, body);
+                        }));
+    }
+
+    private Mono<AccountStatementReport> generateReport(Long clientId, LocalDate startDate, LocalDate endDate) {
         GetClientReportQuery query = GetClientReportQuery.builder()
                 .clientId(clientId)
                 .startDate(startDate.atStartOfDay().atOffset(ZoneOffset.UTC))
                 .endDate(endDate.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC))
                 .build();
 
-        return customerRepository.findById(clientId)
-                .map(accountMapper::toCustomerInfo)
-                .flatMap(customerInfo -> 
-                    getClientReportQueryHandler.handle(query)
-                        .collectList()
-                        .map(reports -> buildReport(customerInfo, reports, startDate, endDate))
-                )
+        return getClientReportQueryHandler.handle(query)
+                .map(report -> accountMapper.toStatementReport(report, startDate, endDate))
                 .doOnSuccess(report -> {
-                    if (report != null) {
-                        int accountCount = report.getAccounts() != null ? report.getAccounts().size() : 0;
-                        int totalMovements = report.getAccounts() != null 
-                                ? report.getAccounts().stream()
-                                    .mapToInt(a -> a.getMovements() != null ? a.getMovements().size() : 0)
-                                    .sum() 
-                                : 0;
-                        log.info("Report generated successfully: clientId={}, accounts={}, totalMovements={}", 
-                                clientId, accountCount, totalMovements);
-                    }
+                    int accountCount = report.getAccounts() != null ? report.getAccounts().size() : 0;
+                    int totalMovements = report.getAccounts() != null
+                            ? report.getAccounts().stream()
+                                .mapToInt(a -> a.getMovements() != null ? a.getMovements().size() : 0)
+                                .sum()
+                            : 0;
+                    log.info("Report generated successfully: clientId={}, accounts={}, totalMovements={}",
+                            clientId, accountCount, totalMovements);
                 })
-                .doOnError(error -> log.error("Error generating report for clientId={}: {}", clientId, error.getMessage()))
-                .map(ResponseEntity::ok)
-                .defaultIfEmpty(ResponseEntity.notFound().build())
-                .doOnSuccess(response -> {
-                    if (response.getStatusCode().value() == 404) {
-                        log.warn("Customer not found for report: clientId={}", clientId);
+                .doOnError(error -> log.error("Error generating report for clientId={}: {}", clientId, error.getMessage()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<AccountStatementEvent>>> _streamAccountStatement(Long clientId,
+                                                                                   LocalDate startDate,
+                                                                                   LocalDate endDate,
+                                                                                   ServerWebExchange exchange) {
+        log.info("GET /api/v1/reports/{}/stream - Streaming account statement: startDate={}, endDate={}",
+                clientId, startDate, endDate);
+
+        StreamClientStatementQuery query = StreamClientStatementQuery.builder()
+                .clientId(clientId)
+                .startDate(startDate.atStartOfDay().atOffset(ZoneOffset.UTC))
+                .endDate(endDate.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+                .build();
+
+        Flux<AccountStatementEvent> events = streamClientStatementQueryHandler.handle(query)
+                .map(accountMapper::toStatementEvent)
+                .doOnComplete(() -> log.info("Account statement streamed: clientId={}", clientId))
+                .doOnError(error -> log.error("Error streaming report for clientId={}: {}", clientId, error.getMessage()));
+        return Mono.just(ResponseEntity.ok(events));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ReportJobResponse>> _submitReportJob(Long clientId,
+                                                                     Mono<ReportJobRequest> reportJobRequest,
+                                                                     ServerWebExchange exchange) {
+        log.info("POST /api/v1/reports/{}/jobs - Submitting report job", clientId);
+        return reportJobRequest
+                .flatMap(request -> reportJobManager.submit(clientId, request.getStartDate(), request.getEndDate(),
+                        request.getFormat() != null ? request.getFormat().getValue() : JSON_FORMAT))
+                .map(this::toJobResponse)
+                .doOnError(error -> log.error("Error submitting report job for clientId={}: {}", clientId, error.getMessage()))
+                .map(response -> ResponseEntity.accepted()
+                        .location(URI.create("/api/v1/reports/%d/jobs/%s".formatted(clientId, response.getJobId())))
+                        .body(response));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ReportJobResponse>> _getReportJob(Long clientId, UUID jobId, ServerWebExchange exchange) {
+        log.info("GET /api/v1/reports/{}/jobs/{} - Fetching report job", clientId, jobId);
+        return reportJobManager.find(clientId, jobId)
+                .map(this::toJobResponse)
+                .map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Resource>> _getReportJobResult(Long clientId, UUID jobId, ServerWebExchange exchange) {
+        log.info("GET /api/v1/reports/{}/jobs/{}/result - Downloading report job result", clientId, jobId);
+        // A file resource is written with zero-copy transfer by the server
+        return reportJobManager.findCompleted(clientId, jobId)
+                .map(job -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(job.getMediaType()))
+                        .contentLength(job.getSizeBytes())
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment().filename(job.getFileName()).build().toString())
+                        .body((Resource) new FileSystemResource(reportJobManager.resolve(job))));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Resource>> _getMonthlyStatement(Long clientId, String month, ServerWebExchange exchange) {
+        log.info("GET /api/v1/reports/{}/statements/{} - Downloading monthly statement", clientId, month);
+        YearMonth statementMonth = parseMonth(month);
+        // The framework answers If-None-Match with 304 and Range with 206, and sends the file with zero-copy transfer
+        return monthlyStatementRepository.find(clientId, statementMonth)
+                .switchIfEmpty(Mono.error(new MonthlyStatementNotFoundException(clientId, statementMonth)))
+                .flatMap(monthlyStatementGenerator::available)
+                .map(statement -> ResponseEntity.ok()
+                        .contentType(GZIP)
+                        .eTag(statement.getEtag())
+                        .lastModified(statement.getGeneratedAt().toInstant())
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename("statement-%d-%s.json.gz".formatted(clientId, statementMonth))
+                                .build().toString())
+                        .body((Resource) new FileSystemResource(monthlyStatementGenerator.resolve(statement))));
+    }
+
+    /**
+     * Writes the statement straight to the response while it is read from the database.
+     * The generated signature is typed to the JSON report, so the body bypasses it and the
+     * returned Mono completes empty once the file has been written. When a recording is given,
+     * the written bytes are also handed to the report cache.
+     */
+    private Mono<ResponseEntity<AccountStatementReport>> exportStatement(StatementExporter exporter,
+                                                                         Long clientId,
+                                                                         LocalDate startDate,
+                                                                         LocalDate endDate,
+                                                                         ServerWebExchange exchange,
+                                                                         StatementReportCache.Recording recording) {
+        ExportClientStatementQuery query = ExportClientStatementQuery.builder()
+                .clientId(clientId)
+                .startDate(startDate.atStartOfDay().atOffset(ZoneOffset.UTC))
+                .endDate(endDate.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+                .build();
+        ServerHttpResponse response = exchange.getResponse();
+
+        Flux<StatementLine> lines = exportClientStatementQueryHandler.handle(query);
+        if (recording != null) {
+            lines = lines.doOnNext(line -> recording.account(line.getAccountId()));
+        }
+
+        // Headers are only set once the customer is known, so a 404 can still be rendered as JSON
+        Flux<DataBuffer> body = lines
+                .switchOnFirst((first, statement) -> {
+                    if (first.isOnError()) {
+                        return Flux.error(first.getThrowable());
                     }
+                    setExportHeaders(response, exporter, clientId, startDate, endDate);
+                    return exporter.export(statement, response.bufferFactory());
                 });
+        if (recording != null) {
+            body = body.doOnNext(recording::write);
+        }
+
+        return response.writeWith(body)
+                .doOnSuccess(v -> {
+                    if (recording != null) {
+                        recording.commit();
+                    }
+                    log.info("Report exported successfully: clientId={}, format={}", clientId, exporter.getFormat());
+                })
+                .doOnError(error -> log.error("Error exporting report for clientId={}: {}", clientId, error.getMessage()))
+                .then(Mono.empty());
     }
 
-    private AccountStatementReport buildReport(CustomerInfo customerInfo,
-                                                List<AccountMovementReport> reports,
-                                                LocalDate startDate,
-                                                LocalDate endDate) {
-        AccountStatementReport report = new AccountStatementReport();
-        report.setCustomer(customerInfo);
-        report.setStartDate(startDate);
-        report.setEndDate(endDate);
-        report.setGeneratedAt(OffsetDateTime.now());
-
-        // Group movements by account
-        Map<String, AccountWithMovements> accountsMap = new LinkedHashMap<>();
-        
-        for (AccountMovementReport movementReport : reports) {
-            String accountNumber = movementReport.getAccountNumber();
-            
-            AccountWithMovements accountWithMovements = accountsMap.computeIfAbsent(
-                accountNumber,
-                key -> {
-                    AccountWithMovements account = new AccountWithMovements();
-                    account.setAccountId(movementReport.getAccountId());
-                    account.setAccountNumber(accountNumber);
-                    account.setAccountType(accountMapper.mapAccountTypeWithMovements(movementReport.getAccountType()));
-                    account.setInitialBalance(movementReport.getInitialBalance() != null 
-                            ? movementReport.getInitialBalance().doubleValue() : null);
-                    account.setStatus(movementReport.getAccountStatus());
-                    account.setMovements(new ArrayList<>());
-                    return account;
-                }
-            );
-
-            // Add movement detail
-            if (movementReport.getMovementType() != null) {
-                MovementDetail detail = accountMapper.toMovementDetail(movementReport);
-                accountWithMovements.getMovements().add(detail);
-            }
+    private void setExportHeaders(ServerHttpResponse response,
+                                  StatementExporter exporter,
+                                  Long clientId,
+                                  LocalDate startDate,
+                                  LocalDate endDate) {
+        response.getHeaders().setContentType(exporter.getMediaType());
+        response.getHeaders().setContentDisposition(ContentDisposition.attachment()
+                .filename("statement-%d-%s-%s.%s".formatted(clientId, startDate, endDate, exporter.getFileExtension()))
+                .build());
+    }
 
-            // Update current balance with the most recent available balance (first in DESC order)
-            // Only set if not already set, since movements are ordered by date DESC
-            if (movementReport.getAvailableBalance() != null && accountWithMovements.getCurrentBalance() == null) {
-                accountWithMovements.setCurrentBalance(movementReport.getAvailableBalance().doubleValue());
-            }
+    private Mono<ResponseEntity<AccountStatementReport>> writeBody(ServerHttpResponse response, byte[] body) {
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)))
+                .then(Mono.empty());
+    }
+
+    private ReportJobResponse toJobResponse(ReportJob job) {
+        ReportJobResponse response = new ReportJobResponse();
+        response.setJobId(job.getJobId());
+        response.setClientId(job.getClientId());
+        response.setStatus(ReportJobResponse.StatusEnum.valueOf(job.getStatus().name()));
+        response.setFormat(job.getFormat());
+        response.setStartDate(job.getStartDate());
+        response.setEndDate(job.getEndDate());
+        response.setProcessedMovements(job.getProcessedMovements());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        response.setExpiresAt(job.getExpiresAt());
+        response.setError(job.getError());
+        if (job.getStatus() == ReportJobStatus.COMPLETED) {
+            response.setSizeBytes(job.getSizeBytes());
         }
+        return response;
+    }
 
-        report.setAccounts(new ArrayList<>(accountsMap.values()));
-        return report;
+    private StatementExporter findExporter(String format) {
+        return statementExporters.stream()
+                .filter(exporter -> exporter.getFormat().equalsIgnoreCase(format))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("The month must have the format YYYY-MM");
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.nttdata.account.infrastructure.scheduling;
+
+import com.nttdata.account.application.create_balance_checkpoints.CreateBalanceCheckpointsCommand;
+import com.nttdata.account.application.create_balance_checkpoints.CreateBalanceCheckpointsCommandHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Periodically checkpoints account balances so historical balance queries only replay the
+ * movements after the nearest checkpoint. Checkpoints are taken a settle delay in the past,
+ * so movements still in flight with an earlier date are not left out of them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance-checkpoints.enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceCheckpointJob {
+
+    private final CreateBalanceCheckpointsCommandHandler createBalanceCheckpointsCommandHandler;
+    private final Duration settleDelay;
+
+    public BalanceCheckpointJob(CreateBalanceCheckpointsCommandHandler createBalanceCheckpointsCommandHandler,
+                                @Value("${account.balance-checkpoints.settle-delay:PT5M}") Duration settleDelay) {
+        this.createBalanceCheckpointsCommandHandler = createBalanceCheckpointsCommandHandler;
+        this.settleDelay = settleDelay;
+    }
+
+    @Scheduled(fixedDelayString = "${account.balance-checkpoints.interval:PT1H}",
+            initialDelayString = "${account.balance-checkpoints.initial-delay:PT1M}")
+    public Mono<Void> createCheckpoints() {
+        OffsetDateTime asOf = OffsetDateTime.now().minus(settleDelay);
+        return createBalanceCheckpointsCommandHandler.handle(CreateBalanceCheckpointsCommand.builder().asOf(asOf).build())
+                .doOnNext(created -> log.info("Created {} balance checkpoints as of {}", created, asOf))
+                .doOnError(error -> log.error("Error creating balance checkpoints: {}", error.getMessage()))
+                .then();
+    }
+}
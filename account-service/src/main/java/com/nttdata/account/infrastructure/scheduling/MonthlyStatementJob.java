@@ -0,0 +1,49 @@
+package com.nttdata.account.infrastructure.scheduling;
+
+import com.nttdata.account.infrastructure.statements.MonthlyStatementGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Generates the statements of the last closed month. Runs repeatedly but only renders customers
+ * that have none yet, so after the first complete run of a month it is a single index query.
+ * Months close in UTC, a settle delay after midnight so that movements dated just before it
+ * have committed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.monthly-statements.enabled", havingValue = "true", matchIfMissing = true)
+public class MonthlyStatementJob {
+
+    private final MonthlyStatementGenerator monthlyStatementGenerator;
+    private final Duration settleDelay;
+
+    public MonthlyStatementJob(MonthlyStatementGenerator monthlyStatementGenerator,
+                               @Value("${account.monthly-statements.settle-delay:PT1H}") Duration settleDelay) {
+        this.monthlyStatementGenerator = monthlyStatementGenerator;
+        this.settleDelay = settleDelay;
+    }
+
+    @Scheduled(fixedDelayString = "${account.monthly-statements.interval:PT1H}",
+            initialDelayString = "${account.monthly-statements.initial-delay:PT2M}")
+    public Mono<Void> generateStatements() {
+        YearMonth month = YearMonth.from(OffsetDateTime.now(ZoneOffset.UTC).minus(settleDelay)).minusMonths(1);
+        return monthlyStatementGenerator.generate(month)
+                .doOnNext(generated -> {
+                    if (generated > 0) {
+                        log.info("Generated {} monthly statements for {}", generated, month);
+                    }
+                })
+                .doOnError(error -> log.error("Error generating monthly statements for {}: {}", month, error.getMessage()))
+                .then();
+    }
+}
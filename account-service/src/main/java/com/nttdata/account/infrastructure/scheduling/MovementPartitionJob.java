@@ -0,0 +1,51 @@
+package com.nttdata.account.infrastructure.scheduling;
+
+import com.nttdata.account.application.maintain_movement_partitions.MaintainMovementPartitionsCommand;
+import com.nttdata.account.application.maintain_movement_partitions.MaintainMovementPartitionsCommandHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps the monthly movements partitions ahead of the clock and drops the ones past the
+ * retention window. Runs at startup too, so a long-stopped service never writes into the
+ * default partition. Historical balances before the retention window are only answered from
+ * balance checkpoints once the partitions are gone.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.movement-partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class MovementPartitionJob {
+
+    private final MaintainMovementPartitionsCommandHandler maintainMovementPartitionsCommandHandler;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public MovementPartitionJob(MaintainMovementPartitionsCommandHandler maintainMovementPartitionsCommandHandler,
+                                @Value("${account.movement-partitions.months-ahead:3}") int monthsAhead,
+                                @Value("${account.movement-partitions.retention-months:0}") int retentionMonths) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("account.movement-partitions.months-ahead must be at least 1");
+        }
+        this.maintainMovementPartitionsCommandHandler = maintainMovementPartitionsCommandHandler;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${account.movement-partitions.interval:PT6H}")
+    public Mono<Void> maintainPartitions() {
+        MaintainMovementPartitionsCommand command = MaintainMovementPartitionsCommand.builder()
+                .currentMonth(YearMonth.now(ZoneOffset.UTC))
+                .monthsAhead(monthsAhead)
+                .retentionMonths(retentionMonths)
+                .build();
+        return maintainMovementPartitionsCommandHandler.handle(command)
+                .doOnError(error -> log.error("Error maintaining movements partitions: {}", error.getMessage()));
+    }
+}
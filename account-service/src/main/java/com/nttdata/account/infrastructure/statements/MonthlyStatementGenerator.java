@@ -0,0 +1,231 @@
+package com.nttdata.account.infrastructure.statements;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.account.api.model.AccountStatementReport;
+import com.nttdata.account.application.AccountMapper;
+import com.nttdata.account.application.get_client_report.GetClientReportQuery;
+import com.nttdata.account.application.get_client_report.GetClientReportQueryHandler;
+import com.nttdata.account.domain.MonthlyStatement;
+import com.nttdata.account.domain.MonthlyStatementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders each customer's statement for a closed month once, as a gzip-compressed JSON file
+ * indexed in {@code monthly_statements}.
+ * <p>
+ * Files are named after their content hash and never rewritten, so they can be served straight
+ * from disk with a stable ETag while another instance may be generating the same month. When two
+ * instances race for a customer, the first index row wins and the other file is discarded.
+ * <p>
+ * The directory is meant to be shared by all instances. Should an instance not find the indexed
+ * file, as when each instance has a disk of its own, it renders the statement again with the
+ * generation time of the index, which yields the same bytes and ETag as long as the month's data
+ * is unchanged. If the data did change, the new rendering is served under its own ETag and kept
+ * for the next requests to this instance, while the index keeps pointing at the original file.
+ */
+@Slf4j
+@Component
+public class MonthlyStatementGenerator {
+
+    private static final String FILE_SUFFIX = ".json.gz";
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d+)-[0-9a-f]{32}\\.json\\.gz");
+
+    private final MonthlyStatementRepository monthlyStatementRepository;
+    private final GetClientReportQueryHandler getClientReportQueryHandler;
+    private final AccountMapper accountMapper;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int concurrency;
+
+    public MonthlyStatementGenerator(MonthlyStatementRepository monthlyStatementRepository,
+                                     GetClientReportQueryHandler getClientReportQueryHandler,
+                                     AccountMapper accountMapper,
+                                     ObjectMapper objectMapper,
+                                     @Value("${account.monthly-statements.dir:${java.io.tmpdir}/account-monthly-statements}") String directory,
+                                     @Value("${account.monthly-statements.concurrency:2}") int concurrency) {
+        this.monthlyStatementRepository = monthlyStatementRepository;
+        this.getClientReportQueryHandler = getClientReportQueryHandler;
+        this.accountMapper = accountMapper;
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Generates the missing statements of the month. A failure only skips that customer, who is
+     * picked up again on the next run. Emits the number of statements generated.
+     */
+    public Mono<Long> generate(YearMonth month) {
+        // Ids are collected first so that no connection stays busy with the cursor during generation
+        return monthlyStatementRepository.findCustomersWithoutStatement(month)
+                .collectList()
+                .flatMapMany(Flux::fromIterable)
+                .flatMap(customerId -> generate(customerId, month)
+                        .onErrorResume(error -> {
+                            log.error("Error generating the {} statement of customerId={}: {}", month, customerId, error.getMessage());
+                            return Mono.empty();
+                        }), concurrency)
+                .count();
+    }
+
+    public Mono<MonthlyStatement> generate(Long customerId, YearMonth month) {
+        return render(customerId, month, OffsetDateTime.now())
+                .flatMap(statement -> monthlyStatementRepository.saveIfAbsent(statement)
+                        .flatMap(saved -> {
+                            if (Boolean.TRUE.equals(saved)) {
+                                return Mono.just(statement);
+                            }
+                            deleteQuietly(resolve(statement));
+                            return Mono.empty();
+                        }));
+    }
+
+    /**
+     * Emits the indexed statement if its file is on this instance's disk or can be rendered again
+     * identically, or else one this instance holds or renders for the same customer and month.
+     */
+    public Mono<MonthlyStatement> available(MonthlyStatement statement) {
+        return Mono.fromCallable(() -> Files.exists(resolve(statement))
+                        ? Optional.of(statement)
+                        : findLocal(statement.getCustomerId(), statement.getMonth()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(local -> local.map(Mono::just).orElseGet(() -> {
+                    log.warn("Monthly statement file {} is not on this instance, rendering it again", statement.getFileName());
+                    return render(statement.getCustomerId(), statement.getMonth(), statement.getGeneratedAt())
+                            .map(rendered -> {
+                                if (rendered.getEtag().equals(statement.getEtag())) {
+                                    return statement;
+                                }
+                                log.warn("Monthly statement of customerId={} for {} changed since it was indexed, serving ETag {} instead of {}",
+                                        statement.getCustomerId(), statement.getMonth(), rendered.getEtag(), statement.getEtag());
+                                return rendered;
+                            });
+                }));
+    }
+
+    // The content only depends on the month's data and generatedAt, so a statement rendered again
+    // with the generation time of its index row has the same hash
+    private Mono<MonthlyStatement> render(Long customerId, YearMonth month, OffsetDateTime generatedAt) {
+        // Kept as the database stores it, so that the time read back from the index renders alike
+        OffsetDateTime generationTime = generatedAt.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        GetClientReportQuery query = GetClientReportQuery.builder()
+                .clientId(customerId)
+                .startDate(month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+                .endDate(month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+                .build();
+        return getClientReportQueryHandler.handle(query)
+                .map(report -> {
+                    AccountStatementReport statement = accountMapper.toStatementReport(report, month.atDay(1), month.atEndOfMonth());
+                    statement.setGeneratedAt(generationTime);
+                    return statement;
+                })
+                .flatMap(report -> Mono.fromCallable(() -> write(customerId, month, report, generationTime))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    public Path resolve(MonthlyStatement statement) {
+        return directory.resolve(statement.getFileName());
+    }
+
+    private MonthlyStatement write(Long customerId, YearMonth month, AccountStatementReport report,
+                                   OffsetDateTime generatedAt) throws IOException {
+        Path monthDirectory = Files.createDirectories(directory.resolve(month.toString()));
+        Path temporary = Files.createTempFile(monthDirectory, customerId + "-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new GZIPOutputStream(new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)), digest))) {
+                objectMapper.writeValue(out, report);
+            }
+            String etag = HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+            String fileName = month + "/" + customerId + "-" + etag + FILE_SUFFIX;
+            Path file = directory.resolve(fileName);
+            // A file already holding this content is replaced by identical bytes
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return MonthlyStatement.builder()
+                    .customerId(customerId)
+                    .month(month)
+                    .fileName(fileName)
+                    .sizeBytes(Files.size(file))
+                    .etag(etag)
+                    .generatedAt(generatedAt)
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temporary);
+            throw e;
+        }
+    }
+
+    // The newest file of the customer and month, as named by write
+    private Optional<MonthlyStatement> findLocal(Long customerId, YearMonth month) throws IOException {
+        Path monthDirectory = directory.resolve(month.toString());
+        if (!Files.isDirectory(monthDirectory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(monthDirectory)) {
+            Optional<Path> newest = files
+                    .filter(file -> isStatementOf(customerId, file))
+                    .max(Comparator.comparingLong(file -> file.toFile().lastModified()));
+            if (newest.isEmpty()) {
+                return Optional.empty();
+            }
+            Path file = newest.get();
+            String name = file.getFileName().toString();
+            return Optional.of(MonthlyStatement.builder()
+                    .customerId(customerId)
+                    .month(month)
+                    .fileName(month + "/" + name)
+                    .sizeBytes(Files.size(file))
+                    .etag(name.substring(name.indexOf('-') + 1, name.length() - FILE_SUFFIX.length()))
+                    .generatedAt(Files.getLastModifiedTime(file).toInstant().atOffset(ZoneOffset.UTC))
+                    .build());
+        }
+    }
+
+    private boolean isStatementOf(Long customerId, Path file) {
+        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() && matcher.group(1).equals(customerId.toString());
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete monthly statement file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- V10__add_customer_deleted.sql
+-- Deleted customers are kept as tombstones, so that older events arriving late cannot bring
+-- them back and their accounts keep their reference
+
+-- deleted: set by a CustomerDeleted event; the row keeps the version of that event
+ALTER TABLE customer ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,11 @@
+-- V11__add_customer_event_dead_letter_raw_record.sql
+-- Records that could not be read as a customer event are dead-lettered as received, so that they
+-- are not lost when their offset is acknowledged
+
+-- payload: absent for such records, which are not re-driven
+-- raw_*: key, value and headers of the record as received; headers as a JSON array of
+-- {"key", "value"} with base64 values
+ALTER TABLE customer_event_dead_letters ALTER COLUMN payload DROP NOT NULL;
+ALTER TABLE customer_event_dead_letters ADD COLUMN IF NOT EXISTS raw_key TEXT;
+ALTER TABLE customer_event_dead_letters ADD COLUMN IF NOT EXISTS raw_value BYTEA;
+ALTER TABLE customer_event_dead_letters ADD COLUMN IF NOT EXISTS raw_headers TEXT;
@@ -0,0 +1,16 @@
+-- V12__notify_customer_changes.sql
+-- Publishes the id of every committed update or deletion of a customer on the customer_changes
+-- channel, so that each instance can drop it from its customer replica index
+
+-- Inserts are left out: an instance that has not indexed a customer reads it from the table
+CREATE OR REPLACE FUNCTION notify_customer_change() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('customer_changes', OLD.customer_id::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS customer_notify_change ON customer;
+CREATE TRIGGER customer_notify_change
+    AFTER UPDATE OR DELETE ON customer
+    FOR EACH ROW EXECUTE FUNCTION notify_customer_change();
@@ -0,0 +1,6 @@
+-- V13__add_idempotency_key_request_hash.sql
+-- Ties each idempotency key to the request that first used it, so that a reuse with a
+-- different payload can be rejected instead of replaying the original movement
+
+-- Keys claimed before this migration have no hash and are replayed as before until they expire
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
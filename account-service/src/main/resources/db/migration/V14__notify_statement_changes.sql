@@ -0,0 +1,61 @@
+-- V14__notify_statement_changes.sql
+-- Publishes every committed change that alters a generated statement on the statement_changes
+-- channel, so that each instance can evict it from its statement cache
+
+-- Movements publish their account and UTC day, which only evicts the statements covering that day
+CREATE OR REPLACE FUNCTION notify_movement_statement_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM pg_notify('statement_changes', json_build_object(
+                'accountId', OLD.account_id,
+                'date', (OLD.date AT TIME ZONE 'UTC')::date)::text);
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM pg_notify('statement_changes', json_build_object(
+                'accountId', NEW.account_id,
+                'date', (NEW.date AT TIME ZONE 'UTC')::date)::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS movements_notify_statement_change ON movements;
+CREATE TRIGGER movements_notify_statement_change
+    AFTER INSERT OR UPDATE OR DELETE ON movements
+    FOR EACH ROW EXECUTE FUNCTION notify_movement_statement_change();
+
+-- Accounts and customers publish the customer, whose statements are all evicted. The balance
+-- kept up to date by every movement is not part of a statement, so those updates are left out
+CREATE OR REPLACE FUNCTION notify_account_statement_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+            AND (OLD.account_number, OLD.account_type, OLD.initial_balance, OLD.status, OLD.customer_id)
+                IS NOT DISTINCT FROM (NEW.account_number, NEW.account_type, NEW.initial_balance, NEW.status, NEW.customer_id) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM pg_notify('statement_changes', json_build_object('customerId', OLD.customer_id)::text);
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM pg_notify('statement_changes', json_build_object('customerId', NEW.customer_id)::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS accounts_notify_statement_change ON accounts;
+CREATE TRIGGER accounts_notify_statement_change
+    AFTER INSERT OR UPDATE OR DELETE ON accounts
+    FOR EACH ROW EXECUTE FUNCTION notify_account_statement_change();
+
+CREATE OR REPLACE FUNCTION notify_customer_statement_change() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('statement_changes', json_build_object('customerId', OLD.customer_id)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS customer_notify_statement_change ON customer;
+CREATE TRIGGER customer_notify_statement_change
+    AFTER UPDATE OR DELETE ON customer
+    FOR EACH ROW EXECUTE FUNCTION notify_customer_statement_change();
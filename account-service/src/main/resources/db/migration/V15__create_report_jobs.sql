@@ -0,0 +1,28 @@
+-- V15__create_report_jobs.sql
+-- State of the asynchronous statement jobs, so that any instance can answer for them
+
+-- result_file: path of the spooled result, relative to the shared spool directory
+-- updated_at: refreshed by the instance holding a queued or running job; an unfinished job
+--             that stops being refreshed was left behind by an instance that went away
+CREATE TABLE IF NOT EXISTS report_jobs (
+    job_id UUID PRIMARY KEY,
+    client_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    format VARCHAR(20) NOT NULL,
+    media_type VARCHAR(255) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    processed_movements BIGINT NOT NULL DEFAULT 0,
+    result_file VARCHAR(255),
+    size_bytes BIGINT,
+    error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    expires_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_jobs_expires_at ON report_jobs(expires_at);
+CREATE INDEX IF NOT EXISTS idx_report_jobs_unfinished ON report_jobs(updated_at) WHERE status IN ('QUEUED', 'RUNNING');
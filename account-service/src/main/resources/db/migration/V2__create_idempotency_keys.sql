@@ -0,0 +1,13 @@
+-- V2__create_idempotency_keys.sql
+-- Idempotency keys for movement creation
+
+-- A row with a NULL movement_id is a claim whose request is still in progress
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    account_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    movement_id BIGINT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys(created_at);
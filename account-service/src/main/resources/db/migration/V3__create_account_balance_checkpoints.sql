@@ -0,0 +1,13 @@
+-- V3__create_account_balance_checkpoints.sql
+-- Periodic balance checkpoints for historical balance queries
+
+-- balance: account balance after every movement dated up to and including as_of
+-- movement_seq: highest movement_id included in the checkpoint
+CREATE TABLE IF NOT EXISTS account_balance_checkpoints (
+    account_id BIGINT NOT NULL REFERENCES accounts(account_id) ON DELETE CASCADE,
+    as_of TIMESTAMP WITH TIME ZONE NOT NULL,
+    balance DECIMAL(19, 4) NOT NULL,
+    movement_seq BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, as_of)
+);
@@ -0,0 +1,55 @@
+-- V4__partition_movements.sql
+-- Converts movements into native monthly range partitions on date
+
+-- Keep the id sequence alive when the legacy table is dropped
+ALTER SEQUENCE movements_movement_id_seq OWNED BY NONE;
+
+ALTER TABLE movements RENAME TO movements_legacy;
+ALTER INDEX movements_pkey RENAME TO movements_legacy_pkey;
+DROP INDEX IF EXISTS idx_movements_account_id;
+DROP INDEX IF EXISTS idx_movements_date;
+DROP INDEX IF EXISTS idx_movements_account_date;
+
+-- The partition key must be part of the primary key
+CREATE TABLE movements (
+    movement_id BIGINT NOT NULL DEFAULT nextval('movements_movement_id_seq'),
+    date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    movement_type VARCHAR(20) NOT NULL CHECK (movement_type IN ('CREDIT', 'DEBIT')),
+    amount DECIMAL(19, 4) NOT NULL,
+    balance DECIMAL(19, 4) NOT NULL,
+    description VARCHAR(500),
+    account_id BIGINT NOT NULL REFERENCES accounts(account_id),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (movement_id, date)
+) PARTITION BY RANGE (date);
+
+-- Safety net for rows outside the managed months, normally empty
+CREATE TABLE IF NOT EXISTS movements_default PARTITION OF movements DEFAULT;
+
+-- One partition per UTC month, from the oldest movement up to three months ahead
+-- (MovementPartitionJob keeps creating them from here on)
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month',
+            COALESCE((SELECT MIN(date) FROM movements_legacy), CURRENT_TIMESTAMP) AT TIME ZONE 'UTC')::date;
+    last_month DATE := (date_trunc('month', CURRENT_TIMESTAMP AT TIME ZONE 'UTC') + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF movements FOR VALUES FROM (%L) TO (%L)',
+                'movements_' || to_char(month_start, 'YYYY_MM'),
+                month_start || ' 00:00:00+00',
+                (month_start + INTERVAL '1 month')::date || ' 00:00:00+00');
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Created on the parent, propagated to every partition
+CREATE INDEX IF NOT EXISTS idx_movements_account_date ON movements(account_id, date);
+
+INSERT INTO movements (movement_id, date, movement_type, amount, balance, description, account_id, created_at)
+SELECT movement_id, date, movement_type, amount, balance, description, account_id, created_at
+FROM movements_legacy;
+
+DROP TABLE movements_legacy;
+
+ALTER SEQUENCE movements_movement_id_seq OWNED BY movements.movement_id;
@@ -0,0 +1,5 @@
+-- V5__extend_movements_account_date_index.sql
+-- Adds movement_id to idx_movements_account_date so keyset pages on (date, movement_id) are a pure index seek
+
+DROP INDEX IF EXISTS idx_movements_account_date;
+CREATE INDEX IF NOT EXISTS idx_movements_account_date ON movements(account_id, date, movement_id);
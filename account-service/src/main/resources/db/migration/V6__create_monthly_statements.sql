@@ -0,0 +1,15 @@
+-- V6__create_monthly_statements.sql
+-- Index of the statements pre-generated for closed months
+
+-- month: first day of the statement month (UTC)
+-- file_name: path of the compressed statement, relative to the statements directory
+-- etag: content hash of the file, which never changes once written
+CREATE TABLE IF NOT EXISTS monthly_statements (
+    customer_id BIGINT NOT NULL REFERENCES customer(customer_id) ON DELETE CASCADE,
+    month DATE NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    etag VARCHAR(64) NOT NULL,
+    generated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (customer_id, month)
+);
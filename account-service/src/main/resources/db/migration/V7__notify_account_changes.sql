@@ -0,0 +1,28 @@
+-- V7__notify_account_changes.sql
+-- Publishes every committed change of an account on the account_changes channel,
+-- so that each instance can evict it from its near-cache
+
+-- The trigger covers every writer (saves, deletes and the balance updates of movements);
+-- notifications are only delivered on commit and repeated ones are folded within a transaction
+CREATE OR REPLACE FUNCTION notify_account_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM pg_notify('account_changes', json_build_object(
+                'accountId', OLD.account_id,
+                'customerId', OLD.customer_id,
+                'accountNumber', OLD.account_number)::text);
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM pg_notify('account_changes', json_build_object(
+                'accountId', NEW.account_id,
+                'customerId', NEW.customer_id,
+                'accountNumber', NEW.account_number)::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS accounts_notify_change ON accounts;
+CREATE TRIGGER accounts_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON accounts
+    FOR EACH ROW EXECUTE FUNCTION notify_account_change();
@@ -0,0 +1,5 @@
+-- V8__add_customer_version.sql
+-- Version of the replicated customer, so that upserts only apply newer events
+
+-- version: version of the customer in customer-service (or the time of its event), 0 for rows written before
+ALTER TABLE customer ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- V9__create_customer_event_dead_letters.sql
+-- Customer events that could not be applied after every retry tier, kept until they are re-driven
+
+-- source_*: where the event was first read from, which identifies it across retry tiers
+-- payload: the event as JSON, published again as is when re-driven
+CREATE TABLE IF NOT EXISTS customer_event_dead_letters (
+    dead_letter_id BIGSERIAL PRIMARY KEY,
+    customer_id BIGINT,
+    payload TEXT NOT NULL,
+    source_topic VARCHAR(255) NOT NULL,
+    source_partition INTEGER NOT NULL,
+    source_offset BIGINT NOT NULL,
+    error TEXT,
+    failed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (source_topic, source_partition, source_offset)
+);
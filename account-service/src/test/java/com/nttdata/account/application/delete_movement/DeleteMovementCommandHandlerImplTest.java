@@ -0,0 +1,73 @@
+package com.nttdata.account.application.delete_movement;
+
+import com.nttdata.account.domain.BalanceCheckpointRepository;
+import com.nttdata.account.domain.ClientReportCache;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementMother;
+import com.nttdata.account.domain.MovementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeleteMovementCommandHandlerImplTest {
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    @Mock
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Mock
+    private ClientReportCache clientReportCache;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @InjectMocks
+    private DeleteMovementCommandHandlerImpl deleteMovementCommandHandler;
+
+    private DeleteMovementCommand command;
+
+    @BeforeEach
+    void setUp() {
+        command = DeleteMovementCommandMother.createDefault();
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldDeleteMovementAndCheckpointsFromItsDate() {
+        Movement movement = MovementMother.createWithId(10L);
+        when(movementRepository.findById(10L)).thenReturn(Mono.just(movement));
+        when(movementRepository.deleteById(10L)).thenReturn(Mono.empty());
+        when(balanceCheckpointRepository.deleteFrom(movement.getAccountId(), movement.getDate())).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(deleteMovementCommandHandler.handle(command))
+                .verifyComplete();
+
+        verify(balanceCheckpointRepository).deleteFrom(movement.getAccountId(), movement.getDate());
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(clientReportCache).evict(movement.getAccountId(), movement.getDate());
+    }
+
+    @Test
+    void shouldDoNothingWhenMovementDoesNotExist() {
+        when(movementRepository.findById(10L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(deleteMovementCommandHandler.handle(command))
+                .verifyComplete();
+
+        verify(movementRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(balanceCheckpointRepository, clientReportCache);
+    }
+}
@@ -0,0 +1,13 @@
+package com.nttdata.account.application.delete_movement;
+
+public class DeleteMovementCommandMother {
+
+    public static DeleteMovementCommand.DeleteMovementCommandBuilder validCommand() {
+        return DeleteMovementCommand.builder()
+                .movementId(10L);
+    }
+
+    public static DeleteMovementCommand createDefault() {
+        return validCommand().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.nttdata.account.application.deregister_customer;
+
+import com.nttdata.account.domain.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeregisterCustomerCommandHandlerImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private DeregisterCustomerCommandHandlerImpl deregisterCustomerCommandHandler;
+
+    @Test
+    void shouldMarkCustomerDeletedWithTheDeletionVersion() {
+        when(customerRepository.markDeleted(1L, 42L)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(deregisterCustomerCommandHandler.handle(DeregisterCustomerCommand.builder()
+                        .customerId(1L)
+                        .version(42L)
+                        .build()))
+                .verifyComplete();
+
+        verify(customerRepository).markDeleted(1L, 42L);
+        verifyNoMoreInteractions(customerRepository);
+    }
+
+    @Test
+    void shouldCompleteWhenStoredVersionIsNewer() {
+        when(customerRepository.markDeleted(1L, 7L)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(deregisterCustomerCommandHandler.handle(DeregisterCustomerCommand.builder()
+                        .customerId(1L)
+                        .version(7L)
+                        .build()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,65 @@
+package com.nttdata.account.application.export_client_statement;
+
+import com.nttdata.account.domain.AccountMother;
+import com.nttdata.account.domain.ClientStatementRepository;
+import com.nttdata.account.domain.CustomerMother;
+import com.nttdata.account.domain.CustomerNotFoundException;
+import com.nttdata.account.domain.MovementMother;
+import com.nttdata.account.domain.StatementLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportClientStatementQueryHandlerImplTest {
+
+    @Mock
+    private ClientStatementRepository clientStatementRepository;
+
+    @InjectMocks
+    private ExportClientStatementQueryHandlerImpl exportClientStatementQueryHandler;
+
+    private ExportClientStatementQuery query;
+
+    @BeforeEach
+    void setUp() {
+        query = ExportClientStatementQueryMother.createDefault();
+    }
+
+    @Test
+    void shouldPassStatementLinesThrough() {
+        StatementLine first = StatementLine.builder()
+                .customer(CustomerMother.createDefault())
+                .account(AccountMother.createDefault())
+                .accountId(1L)
+                .movement(MovementMother.createDefault())
+                .build();
+        StatementLine second = StatementLine.builder()
+                .accountId(1L)
+                .movement(MovementMother.createWithId(2L))
+                .build();
+        when(clientStatementRepository.findStatementLines(1L, query.getStartDate(), query.getEndDate()))
+                .thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(exportClientStatementQueryHandler.handle(query))
+                .expectNext(first, second)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnErrorWhenCustomerNotFound() {
+        when(clientStatementRepository.findStatementLines(1L, query.getStartDate(), query.getEndDate()))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(exportClientStatementQueryHandler.handle(query))
+                .expectError(CustomerNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,20 @@
+package com.nttdata.account.application.export_client_statement;
+
+import java.time.OffsetDateTime;
+
+public class ExportClientStatementQueryMother {
+
+    private static final OffsetDateTime DEFAULT_START = OffsetDateTime.parse("2025-11-01T00:00:00Z");
+    private static final OffsetDateTime DEFAULT_END = OffsetDateTime.parse("2025-11-30T23:59:59Z");
+
+    public static ExportClientStatementQuery.ExportClientStatementQueryBuilder validQuery() {
+        return ExportClientStatementQuery.builder()
+                .clientId(1L)
+                .startDate(DEFAULT_START)
+                .endDate(DEFAULT_END);
+    }
+
+    public static ExportClientStatementQuery createDefault() {
+        return validQuery().build();
+    }
+}
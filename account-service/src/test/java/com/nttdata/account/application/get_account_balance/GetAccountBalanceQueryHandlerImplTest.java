@@ -0,0 +1,81 @@
+package com.nttdata.account.application.get_account_balance;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountBalance;
+import com.nttdata.account.domain.AccountMother;
+import com.nttdata.account.domain.AccountNotFoundException;
+import com.nttdata.account.domain.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetAccountBalanceQueryHandlerImplTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private GetAccountBalanceQueryHandlerImpl getAccountBalanceQueryHandler;
+
+    @Test
+    void shouldReturnBalanceAsOfRequestedDate() {
+        AccountBalance balance = AccountBalance.builder()
+                .accountId(1L)
+                .asOf(GetAccountBalanceQueryMother.AS_OF)
+                .balance(BigDecimal.valueOf(1250))
+                .build();
+        when(accountRepository.findBalanceAsOf(1L, GetAccountBalanceQueryMother.AS_OF)).thenReturn(Mono.just(balance));
+
+        StepVerifier.create(getAccountBalanceQueryHandler.handle(GetAccountBalanceQueryMother.createDefault()))
+                .expectNextMatches(result ->
+                        result.getAccountId().equals(1L) &&
+                        result.getAsOf().equals(GetAccountBalanceQueryMother.AS_OF) &&
+                        result.getBalance().compareTo(BigDecimal.valueOf(1250)) == 0)
+                .verifyComplete();
+
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldReturnCurrentBalanceWhenAsOfIsMissing() {
+        Account account = AccountMother.createDefault();
+        when(accountRepository.findById(1L)).thenReturn(Mono.just(account));
+
+        StepVerifier.create(getAccountBalanceQueryHandler.handle(GetAccountBalanceQueryMother.createCurrent()))
+                .expectNextMatches(result ->
+                        result.getAccountId().equals(1L) &&
+                        result.getAsOf() != null &&
+                        result.getBalance().compareTo(account.getCurrentBalance()) == 0)
+                .verifyComplete();
+
+        verify(accountRepository, never()).findBalanceAsOf(any(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenAccountNotFound() {
+        when(accountRepository.findBalanceAsOf(any(), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(getAccountBalanceQueryHandler.handle(GetAccountBalanceQueryMother.createDefault()))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldThrowExceptionWhenAccountNotFoundForCurrentBalance() {
+        when(accountRepository.findById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(getAccountBalanceQueryHandler.handle(GetAccountBalanceQueryMother.createCurrent()))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,23 @@
+package com.nttdata.account.application.get_account_balance;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+public class GetAccountBalanceQueryMother {
+
+    public static final OffsetDateTime AS_OF = OffsetDateTime.of(2025, 11, 30, 23, 59, 59, 0, ZoneOffset.UTC);
+
+    public static GetAccountBalanceQuery.GetAccountBalanceQueryBuilder validQuery() {
+        return GetAccountBalanceQuery.builder()
+                .accountId(1L)
+                .asOf(AS_OF);
+    }
+
+    public static GetAccountBalanceQuery createDefault() {
+        return validQuery().build();
+    }
+
+    public static GetAccountBalanceQuery createCurrent() {
+        return validQuery().asOf(null).build();
+    }
+}
@@ -2,15 +2,14 @@ package com.nttdata.account.application.get_client_report;
 
 import com.nttdata.account.domain.Account;
 import com.nttdata.account.domain.AccountMother;
-import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.ClientStatementRepository;
 import com.nttdata.account.domain.Customer;
 import com.nttdata.account.domain.CustomerMother;
 import com.nttdata.account.domain.CustomerNotFoundException;
-import com.nttdata.account.domain.CustomerRepository;
 import com.nttdata.account.domain.Movement;
 import com.nttdata.account.domain.MovementMother;
-import com.nttdata.account.domain.MovementRepository;
 import com.nttdata.account.domain.MovementType;
+import com.nttdata.account.domain.StatementLine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +17,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
@@ -26,19 +24,14 @@ import java.time.OffsetDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class GetClientReportQueryHandlerImplTest {
 
     @Mock
-    private CustomerRepository customerRepository;
-
-    @Mock
-    private AccountRepository accountRepository;
-
-    @Mock
-    private MovementRepository movementRepository;
+    private ClientStatementRepository clientStatementRepository;
 
     @InjectMocks
     private GetClientReportQueryHandlerImpl getClientReportQueryHandler;
@@ -58,59 +51,49 @@ class GetClientReportQueryHandlerImplTest {
 
     @Test
     void shouldReturnReportForClient() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(customer));
-        when(accountRepository.findByCustomerId(anyLong())).thenReturn(Flux.just(account));
-        when(movementRepository.findByAccountIdAndDateBetween(anyLong(), any(), any()))
-                .thenReturn(Flux.just(movement));
+        when(clientStatementRepository.findStatementLines(anyLong(), any(), any()))
+                .thenReturn(Flux.just(firstLine(account, movement)));
 
         StepVerifier.create(getClientReportQueryHandler.handle(query))
                 .expectNextMatches(report ->
-                        report.getCustomerName().equals("John Doe") &&
-                        report.getAccountNumber().equals("1234567890") &&
-                        report.getMovementType() == MovementType.CREDIT)
+                        report.getCustomer().getName().equals("John Doe") &&
+                        report.getAccounts().size() == 1 &&
+                        report.getAccounts().get(0).getAccount().getAccountNumber().equals("1234567890") &&
+                        report.getAccounts().get(0).getMovements().get(0).getMovementType() == MovementType.CREDIT)
                 .verifyComplete();
 
-        verify(customerRepository).findById(1L);
-        verify(accountRepository).findByCustomerId(1L);
-        verify(movementRepository).findByAccountIdAndDateBetween(eq(1L), any(), any());
+        verify(clientStatementRepository).findStatementLines(eq(1L), any(), any());
     }
 
     @Test
     void shouldThrowCustomerNotFoundExceptionWhenCustomerDoesNotExist() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.empty());
+        when(clientStatementRepository.findStatementLines(anyLong(), any(), any())).thenReturn(Flux.empty());
 
         StepVerifier.create(getClientReportQueryHandler.handle(query))
                 .expectError(CustomerNotFoundException.class)
                 .verify();
-
-        verify(customerRepository).findById(1L);
-        verify(accountRepository, never()).findByCustomerId(anyLong());
-        verify(movementRepository, never()).findByAccountIdAndDateBetween(anyLong(), any(), any());
     }
 
     @Test
-    void shouldReturnEmptyWhenNoAccountsFound() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(customer));
-        when(accountRepository.findByCustomerId(anyLong())).thenReturn(Flux.empty());
+    void shouldReturnNoAccountsWhenCustomerHasNone() {
+        when(clientStatementRepository.findStatementLines(anyLong(), any(), any()))
+                .thenReturn(Flux.just(StatementLine.builder().customer(customer).build()));
 
         StepVerifier.create(getClientReportQueryHandler.handle(query))
+                .expectNextMatches(report -> report.getCustomer() != null && report.getAccounts().isEmpty())
                 .verifyComplete();
-
-        verify(customerRepository).findById(1L);
-        verify(accountRepository).findByCustomerId(1L);
     }
 
     @Test
-    void shouldReturnEmptyWhenNoMovementsInDateRange() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(customer));
-        when(accountRepository.findByCustomerId(anyLong())).thenReturn(Flux.just(account));
-        when(movementRepository.findByAccountIdAndDateBetween(anyLong(), any(), any()))
-                .thenReturn(Flux.empty());
+    void shouldKeepAccountWithoutMovementsInDateRange() {
+        when(clientStatementRepository.findStatementLines(anyLong(), any(), any()))
+                .thenReturn(Flux.just(firstLine(account, null)));
 
         StepVerifier.create(getClientReportQueryHandler.handle(query))
+                .expectNextMatches(report ->
+                        report.getAccounts().size() == 1 &&
+                        report.getAccounts().get(0).getMovements().isEmpty())
                 .verifyComplete();
-
-        verify(movementRepository).findByAccountIdAndDateBetween(eq(1L), any(), any());
     }
 
     @Test
@@ -118,30 +101,35 @@ class GetClientReportQueryHandlerImplTest {
         Movement movement1 = MovementMother.createCredit(BigDecimal.valueOf(100), BigDecimal.valueOf(1100));
         Movement movement2 = MovementMother.createDebit(BigDecimal.valueOf(50), BigDecimal.valueOf(1050));
 
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(customer));
-        when(accountRepository.findByCustomerId(anyLong())).thenReturn(Flux.just(account));
-        when(movementRepository.findByAccountIdAndDateBetween(anyLong(), any(), any()))
-                .thenReturn(Flux.just(movement1, movement2));
+        when(clientStatementRepository.findStatementLines(anyLong(), any(), any()))
+                .thenReturn(Flux.just(firstLine(account, movement1), movementLine(account.getAccountId(), movement2)));
 
         StepVerifier.create(getClientReportQueryHandler.handle(query))
-                .expectNextCount(2)
+                .expectNextMatches(report ->
+                        report.getAccounts().size() == 1 &&
+                        report.getAccounts().get(0).getMovements().size() == 2)
                 .verifyComplete();
     }
 
     @Test
-    void shouldReturnMovementsFromMultipleAccounts() {
+    void shouldGroupMovementsFromMultipleAccounts() {
         Account account1 = AccountMother.createWithId(1L);
         Account account2 = AccountMother.createWithId(2L);
 
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(customer));
-        when(accountRepository.findByCustomerId(anyLong())).thenReturn(Flux.just(account1, account2));
-        when(movementRepository.findByAccountIdAndDateBetween(eq(1L), any(), any()))
-                .thenReturn(Flux.just(MovementMother.createWithAccountId(1L)));
-        when(movementRepository.findByAccountIdAndDateBetween(eq(2L), any(), any()))
-                .thenReturn(Flux.just(MovementMother.createWithAccountId(2L)));
+        when(clientStatementRepository.findStatementLines(anyLong(), any(), any()))
+                .thenReturn(Flux.just(
+                        firstLine(account1, MovementMother.createWithAccountId(1L)),
+                        movementLine(1L, MovementMother.createWithAccountId(1L)),
+                        StatementLine.builder().account(account2).accountId(2L)
+                                .movement(MovementMother.createWithAccountId(2L)).build()));
 
         StepVerifier.create(getClientReportQueryHandler.handle(query))
-                .expectNextCount(2)
+                .expectNextMatches(report ->
+                        report.getAccounts().size() == 2 &&
+                        report.getAccounts().get(0).getAccount().getAccountId().equals(1L) &&
+                        report.getAccounts().get(0).getMovements().size() == 2 &&
+                        report.getAccounts().get(1).getAccount().getAccountId().equals(2L) &&
+                        report.getAccounts().get(1).getMovements().size() == 1)
                 .verifyComplete();
     }
 
@@ -149,21 +137,22 @@ class GetClientReportQueryHandlerImplTest {
     void shouldIncludeCorrectDataInReport() {
         Movement creditMovement = MovementMother.createCredit(BigDecimal.valueOf(500), BigDecimal.valueOf(1500));
 
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(customer));
-        when(accountRepository.findByCustomerId(anyLong())).thenReturn(Flux.just(account));
-        when(movementRepository.findByAccountIdAndDateBetween(anyLong(), any(), any()))
-                .thenReturn(Flux.just(creditMovement));
+        when(clientStatementRepository.findStatementLines(anyLong(), any(), any()))
+                .thenReturn(Flux.just(firstLine(account, creditMovement)));
 
         StepVerifier.create(getClientReportQueryHandler.handle(query))
-                .expectNextMatches(report ->
-                        report.getCustomerName().equals("John Doe") &&
-                        report.getAccountNumber().equals("1234567890") &&
-                        report.getAccountType().name().equals("SAVINGS") &&
-                        report.getInitialBalance().compareTo(BigDecimal.valueOf(1000)) == 0 &&
-                        report.getAccountStatus().equals(true) &&
-                        report.getMovementType() == MovementType.CREDIT &&
-                        report.getMovementAmount().compareTo(BigDecimal.valueOf(500)) == 0 &&
-                        report.getAvailableBalance().compareTo(BigDecimal.valueOf(1500)) == 0)
+                .expectNextMatches(report -> {
+                    AccountReport accountReport = report.getAccounts().get(0);
+                    Movement reported = accountReport.getMovements().get(0);
+                    return report.getCustomer().getName().equals("John Doe") &&
+                            accountReport.getAccount().getAccountNumber().equals("1234567890") &&
+                            accountReport.getAccount().getAccountType().name().equals("SAVINGS") &&
+                            accountReport.getAccount().getInitialBalance().compareTo(BigDecimal.valueOf(1000)) == 0 &&
+                            accountReport.getAccount().getStatus().equals(true) &&
+                            reported.getMovementType() == MovementType.CREDIT &&
+                            reported.getAmount().compareTo(BigDecimal.valueOf(500)) == 0 &&
+                            reported.getBalance().compareTo(BigDecimal.valueOf(1500)) == 0;
+                })
                 .verifyComplete();
     }
 
@@ -173,15 +162,26 @@ class GetClientReportQueryHandlerImplTest {
         OffsetDateTime endDate = OffsetDateTime.parse("2025-11-15T23:59:59Z");
         GetClientReportQuery dateRangeQuery = GetClientReportQueryMother.createWithDateRange(startDate, endDate);
 
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(customer));
-        when(accountRepository.findByCustomerId(anyLong())).thenReturn(Flux.just(account));
-        when(movementRepository.findByAccountIdAndDateBetween(anyLong(), eq(startDate), eq(endDate)))
-                .thenReturn(Flux.just(movement));
+        when(clientStatementRepository.findStatementLines(anyLong(), eq(startDate), eq(endDate)))
+                .thenReturn(Flux.just(firstLine(account, movement)));
 
         StepVerifier.create(getClientReportQueryHandler.handle(dateRangeQuery))
                 .expectNextCount(1)
                 .verifyComplete();
 
-        verify(movementRepository).findByAccountIdAndDateBetween(anyLong(), eq(startDate), eq(endDate));
+        verify(clientStatementRepository).findStatementLines(anyLong(), eq(startDate), eq(endDate));
+    }
+
+    private StatementLine firstLine(Account account, Movement movement) {
+        return StatementLine.builder()
+                .customer(customer)
+                .account(account)
+                .accountId(account.getAccountId())
+                .movement(movement)
+                .build();
+    }
+
+    private StatementLine movementLine(Long accountId, Movement movement) {
+        return StatementLine.builder().accountId(accountId).movement(movement).build();
     }
 }
@@ -17,6 +17,7 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -127,4 +128,39 @@ class GetMovementsByAccountQueryHandlerImplTest {
         verify(accountRepository).existsById(99L);
         verify(movementRepository).findByAccountId(99L, 0, 10);
     }
+
+    @Test
+    void shouldSeekAfterCursorWhenCursorIsPresent() {
+        GetMovementsByAccountQuery cursorQuery = GetMovementsByAccountQueryMother.createWithCursor(
+                GetMovementsByAccountQueryMother.defaultCursor());
+
+        when(accountRepository.existsById(anyLong())).thenReturn(Mono.just(true));
+        when(movementRepository.findByAccountIdAfter(eq(1L), any(), eq(10)))
+                .thenReturn(Flux.just(MovementMother.createWithId(41L)));
+
+        StepVerifier.create(getMovementsByAccountQueryHandler.handle(cursorQuery))
+                .expectNextMatches(movement -> movement.getMovementId().equals(41L))
+                .verifyComplete();
+
+        verify(movementRepository).findByAccountIdAfter(eq(1L),
+                argThat(cursor -> cursor.getMovementId().equals(42L)
+                        && cursor.getDate().isEqual(GetMovementsByAccountQueryMother.defaultCursor().getDate())),
+                eq(10));
+        verify(movementRepository, never()).findByAccountId(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        GetMovementsByAccountQuery cursorQuery = GetMovementsByAccountQueryMother.validQuery()
+                .cursor("not-a-cursor")
+                .build();
+
+        when(accountRepository.existsById(anyLong())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(getMovementsByAccountQueryHandler.handle(cursorQuery))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(movementRepository, never()).findByAccountIdAfter(any(), any(), anyInt());
+    }
 }
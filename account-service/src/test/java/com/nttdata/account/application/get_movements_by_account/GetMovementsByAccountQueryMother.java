@@ -1,5 +1,10 @@
 package com.nttdata.account.application.get_movements_by_account;
 
+import com.nttdata.account.domain.MovementCursor;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
 public class GetMovementsByAccountQueryMother {
 
     public static GetMovementsByAccountQuery.GetMovementsByAccountQueryBuilder validQuery() {
@@ -30,4 +35,14 @@ public class GetMovementsByAccountQueryMother {
                 .size(10)
                 .build();
     }
+
+    public static GetMovementsByAccountQuery createWithCursor(MovementCursor cursor) {
+        return validQuery()
+                .cursor(cursor.encode())
+                .build();
+    }
+
+    public static MovementCursor defaultCursor() {
+        return new MovementCursor(OffsetDateTime.of(2025, 11, 24, 10, 30, 0, 0, ZoneOffset.UTC), 42L);
+    }
 }
@@ -0,0 +1,70 @@
+package com.nttdata.account.application.maintain_movement_partitions;
+
+import com.nttdata.account.domain.MovementPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.YearMonth;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MaintainMovementPartitionsCommandHandlerImplTest {
+
+    @Mock
+    private MovementPartitionRepository movementPartitionRepository;
+
+    @InjectMocks
+    private MaintainMovementPartitionsCommandHandlerImpl maintainMovementPartitionsCommandHandler;
+
+    @Test
+    void shouldCreateMissingFuturePartitions() {
+        when(movementPartitionRepository.findPartitions()).thenReturn(Flux.just(YearMonth.of(2025, 11)));
+        when(movementPartitionRepository.createPartition(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(maintainMovementPartitionsCommandHandler.handle(MaintainMovementPartitionsCommandMother.createDefault()))
+                .verifyComplete();
+
+        verify(movementPartitionRepository).createPartition(YearMonth.of(2025, 12));
+        verify(movementPartitionRepository).createPartition(YearMonth.of(2026, 1));
+        verify(movementPartitionRepository, never()).createPartition(YearMonth.of(2025, 11));
+        verify(movementPartitionRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    void shouldKeepEveryPartitionWhenRetentionIsDisabled() {
+        when(movementPartitionRepository.findPartitions()).thenReturn(Flux.just(
+                YearMonth.of(2020, 1), YearMonth.of(2025, 11), YearMonth.of(2025, 12), YearMonth.of(2026, 1)));
+
+        StepVerifier.create(maintainMovementPartitionsCommandHandler.handle(MaintainMovementPartitionsCommandMother.createDefault()))
+                .verifyComplete();
+
+        verify(movementPartitionRepository, never()).createPartition(any());
+        verify(movementPartitionRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    void shouldDropPartitionsOlderThanRetentionOldestFirst() {
+        when(movementPartitionRepository.findPartitions()).thenReturn(Flux.just(
+                YearMonth.of(2025, 8), YearMonth.of(2025, 7), YearMonth.of(2025, 9),
+                YearMonth.of(2025, 11), YearMonth.of(2025, 12), YearMonth.of(2026, 1)));
+        when(movementPartitionRepository.dropPartition(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(maintainMovementPartitionsCommandHandler.handle(
+                        MaintainMovementPartitionsCommandMother.createWithRetention(3)))
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(movementPartitionRepository);
+        inOrder.verify(movementPartitionRepository).dropPartition(YearMonth.of(2025, 7));
+        inOrder.verify(movementPartitionRepository).dropPartition(YearMonth.of(2025, 8));
+        verify(movementPartitionRepository, never()).dropPartition(YearMonth.of(2025, 9));
+    }
+}
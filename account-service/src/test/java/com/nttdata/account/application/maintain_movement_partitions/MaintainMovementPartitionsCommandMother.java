@@ -0,0 +1,23 @@
+package com.nttdata.account.application.maintain_movement_partitions;
+
+import java.time.YearMonth;
+
+public class MaintainMovementPartitionsCommandMother {
+
+    public static final YearMonth CURRENT_MONTH = YearMonth.of(2025, 11);
+
+    public static MaintainMovementPartitionsCommand.MaintainMovementPartitionsCommandBuilder validCommand() {
+        return MaintainMovementPartitionsCommand.builder()
+                .currentMonth(CURRENT_MONTH)
+                .monthsAhead(2)
+                .retentionMonths(0);
+    }
+
+    public static MaintainMovementPartitionsCommand createDefault() {
+        return validCommand().build();
+    }
+
+    public static MaintainMovementPartitionsCommand createWithRetention(int retentionMonths) {
+        return validCommand().retentionMonths(retentionMonths).build();
+    }
+}
@@ -1,19 +1,19 @@
 package com.nttdata.account.application.register_customer;
 
 import com.nttdata.account.domain.Customer;
-import com.nttdata.account.domain.CustomerMother;
 import com.nttdata.account.domain.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,18 +26,15 @@ class RegisterCustomerCommandHandlerImplTest {
     private RegisterCustomerCommandHandlerImpl registerCustomerCommandHandler;
 
     private RegisterCustomerCommand command;
-    private Customer customer;
 
     @BeforeEach
     void setUp() {
         command = RegisterCustomerCommandMother.createDefault();
-        customer = CustomerMother.createDefault();
     }
 
     @Test
-    void shouldCreateNewCustomerWhenNotExists() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.empty());
-        when(customerRepository.save(any(Customer.class))).thenReturn(Mono.just(customer));
+    void shouldUpsertCustomerInASingleWrite() {
+        when(customerRepository.upsert(any(Customer.class))).thenReturn(Mono.just(true));
 
         StepVerifier.create(registerCustomerCommandHandler.handle(command))
                 .expectNextMatches(result ->
@@ -46,37 +43,25 @@ class RegisterCustomerCommandHandlerImplTest {
                         result.getIdentification().equals("1234567890"))
                 .verifyComplete();
 
-        verify(customerRepository).findById(1L);
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).upsert(any(Customer.class));
+        verifyNoMoreInteractions(customerRepository);
     }
 
     @Test
     void shouldUpdateCustomerWhenAlreadyExists() {
-        Customer existingCustomer = CustomerMother.createDefault();
         RegisterCustomerCommand updateCommand = RegisterCustomerCommandMother.createWithName("Jane Updated");
-
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
-        when(customerRepository.save(any(Customer.class))).thenAnswer(inv -> {
-            Customer c = inv.getArgument(0);
-            return Mono.just(c);
-        });
+        when(customerRepository.upsert(any(Customer.class))).thenReturn(Mono.just(true));
 
         StepVerifier.create(registerCustomerCommandHandler.handle(updateCommand))
                 .expectNextMatches(result ->
                         result.getName().equals("Jane Updated"))
                 .verifyComplete();
-
-        verify(customerRepository).findById(1L);
-        verify(customerRepository).save(any(Customer.class));
     }
 
     @Test
     void shouldPreserveCustomerIdOnUpdate() {
-        Customer existingCustomer = CustomerMother.createWithId(99L);
         RegisterCustomerCommand updateCommand = RegisterCustomerCommandMother.createWithId(99L);
-
-        when(customerRepository.findById(99L)).thenReturn(Mono.just(existingCustomer));
-        when(customerRepository.save(any(Customer.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(customerRepository.upsert(any(Customer.class))).thenReturn(Mono.just(true));
 
         StepVerifier.create(registerCustomerCommandHandler.handle(updateCommand))
                 .expectNextMatches(result -> result.getCustomerId().equals(99L))
@@ -86,10 +71,7 @@ class RegisterCustomerCommandHandlerImplTest {
     @Test
     void shouldCreateInactiveCustomer() {
         RegisterCustomerCommand inactiveCommand = RegisterCustomerCommandMother.createInactive();
-        Customer inactiveCustomer = CustomerMother.createInactive();
-
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.empty());
-        when(customerRepository.save(any(Customer.class))).thenReturn(Mono.just(inactiveCustomer));
+        when(customerRepository.upsert(any(Customer.class))).thenReturn(Mono.just(true));
 
         StepVerifier.create(registerCustomerCommandHandler.handle(inactiveCommand))
                 .expectNextMatches(result -> Boolean.FALSE.equals(result.getStatus()))
@@ -98,11 +80,7 @@ class RegisterCustomerCommandHandlerImplTest {
 
     @Test
     void shouldSaveCustomerWithAllFields() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.empty());
-        when(customerRepository.save(any(Customer.class))).thenAnswer(inv -> {
-            Customer saved = inv.getArgument(0);
-            return Mono.just(saved);
-        });
+        when(customerRepository.upsert(any(Customer.class))).thenReturn(Mono.just(true));
 
         StepVerifier.create(registerCustomerCommandHandler.handle(command))
                 .expectNextMatches(result ->
@@ -111,13 +89,23 @@ class RegisterCustomerCommandHandlerImplTest {
                         result.getIdentification().equals("1234567890") &&
                         result.getAddress().equals("123 Main Street") &&
                         result.getPhone().equals("+573001234567") &&
-                        result.getStatus().equals(true))
+                        result.getStatus().equals(true) &&
+                        result.getVersion().equals(1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldCompleteWhenStoredVersionIsNewer() {
+        when(customerRepository.upsert(any(Customer.class))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(registerCustomerCommandHandler.handle(RegisterCustomerCommandMother.createWithVersion(3L)))
+                .expectNextMatches(result -> result.getVersion().equals(3L))
                 .verifyComplete();
     }
 
     @Test
     void shouldHandleCustomerFromKafkaEvent() {
-        // Simulating data that would come from CustomerCreatedEvent
+        // Simulating data that would come from CustomerEvent, which may carry no version
         RegisterCustomerCommand kafkaCommand = RegisterCustomerCommand.builder()
                 .customerId(123L)
                 .name("Kafka Customer")
@@ -126,14 +114,16 @@ class RegisterCustomerCommandHandlerImplTest {
                 .phone("+573009876543")
                 .status(true)
                 .build();
-
-        when(customerRepository.findById(123L)).thenReturn(Mono.empty());
-        when(customerRepository.save(any(Customer.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(customerRepository.upsert(any(Customer.class))).thenReturn(Mono.just(true));
 
         StepVerifier.create(registerCustomerCommandHandler.handle(kafkaCommand))
                 .expectNextMatches(result ->
                         result.getCustomerId().equals(123L) &&
                         result.getName().equals("Kafka Customer"))
                 .verifyComplete();
+
+        ArgumentCaptor<Customer> upserted = ArgumentCaptor.forClass(Customer.class);
+        verify(customerRepository).upsert(upserted.capture());
+        assertThat(upserted.getValue().getVersion()).isZero();
     }
 }
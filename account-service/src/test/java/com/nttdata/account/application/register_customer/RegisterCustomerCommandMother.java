@@ -9,7 +9,8 @@ public class RegisterCustomerCommandMother {
                 .identification("1234567890")
                 .address("123 Main Street")
                 .phone("+573001234567")
-                .status(true);
+                .status(true)
+                .version(1L);
     }
 
     public static RegisterCustomerCommand createDefault() {
@@ -28,6 +29,10 @@ public class RegisterCustomerCommandMother {
         return validCommand().status(false).build();
     }
 
+    public static RegisterCustomerCommand createWithVersion(Long version) {
+        return validCommand().version(version).build();
+    }
+
     public static RegisterCustomerCommand createWithIdentification(String identification) {
         return validCommand().identification(identification).build();
     }
@@ -0,0 +1,54 @@
+package com.nttdata.account.application.register_customers;
+
+import com.nttdata.account.application.register_customer.RegisterCustomerCommandMother;
+import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegisterCustomersCommandHandlerImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private RegisterCustomersCommandHandlerImpl registerCustomersCommandHandler;
+
+    @Test
+    void shouldUpsertTheWholeBatchAtOnce() {
+        RegisterCustomersCommand command = RegisterCustomersCommand.builder()
+                .customers(List.of(
+                        RegisterCustomerCommandMother.createWithId(1L),
+                        RegisterCustomerCommandMother.createWithId(2L)))
+                .build();
+        when(customerRepository.upsertAll(anyList())).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(registerCustomersCommandHandler.handle(command))
+                .expectNext(2L)
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Customer>> customers = ArgumentCaptor.forClass(List.class);
+        verify(customerRepository).upsertAll(customers.capture());
+        assertThat(customers.getValue())
+                .extracting(Customer::getCustomerId, Customer::getVersion)
+                .containsExactly(
+                        tuple(1L, 1L),
+                        tuple(2L, 1L));
+    }
+}
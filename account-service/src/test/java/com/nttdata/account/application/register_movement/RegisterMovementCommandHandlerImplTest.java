@@ -4,6 +4,7 @@ import com.nttdata.account.domain.Account;
 import com.nttdata.account.domain.AccountMother;
 import com.nttdata.account.domain.AccountNotFoundException;
 import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.ClientReportCache;
 import com.nttdata.account.domain.InsufficientBalanceException;
 import com.nttdata.account.domain.InvalidAmountException;
 import com.nttdata.account.domain.Movement;
@@ -23,6 +24,7 @@ import java.math.BigDecimal;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +36,9 @@ class RegisterMovementCommandHandlerImplTest {
     @Mock
     private MovementRepository movementRepository;
 
+    @Mock
+    private ClientReportCache clientReportCache;
+
     @InjectMocks
     private RegisterMovementCommandHandlerImpl registerMovementCommandHandler;
 
@@ -49,9 +54,7 @@ class RegisterMovementCommandHandlerImplTest {
         RegisterMovementCommand command = RegisterMovementCommandMother.createCredit(BigDecimal.valueOf(500));
         Movement savedMovement = MovementMother.createCredit(BigDecimal.valueOf(500), BigDecimal.valueOf(1500));
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(savedMovement));
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.just(savedMovement));
 
         StepVerifier.create(registerMovementCommandHandler.handle(command))
                 .expectNextMatches(result ->
@@ -60,9 +63,9 @@ class RegisterMovementCommandHandlerImplTest {
                         result.getBalance().compareTo(BigDecimal.valueOf(1500)) == 0)
                 .verifyComplete();
 
-        verify(accountRepository).findById(1L);
-        verify(accountRepository).save(any(Account.class));
-        verify(movementRepository).save(any(Movement.class));
+        verify(movementRepository).applyToAccount(any(Movement.class));
+        verify(accountRepository, never()).findById(anyLong());
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
@@ -70,9 +73,7 @@ class RegisterMovementCommandHandlerImplTest {
         RegisterMovementCommand command = RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(300));
         Movement savedMovement = MovementMother.createDebit(BigDecimal.valueOf(300), BigDecimal.valueOf(700));
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(savedMovement));
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.just(savedMovement));
 
         StepVerifier.create(registerMovementCommandHandler.handle(command))
                 .expectNextMatches(result ->
@@ -81,30 +82,34 @@ class RegisterMovementCommandHandlerImplTest {
                         result.getBalance().compareTo(BigDecimal.valueOf(700)) == 0)
                 .verifyComplete();
 
-        verify(accountRepository).findById(1L);
-        verify(accountRepository).save(any(Account.class));
-        verify(movementRepository).save(any(Movement.class));
+        verify(movementRepository).applyToAccount(any(Movement.class));
+        verify(accountRepository, never()).findById(anyLong());
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
     void shouldThrowInsufficientBalanceExceptionWhenDebitExceedsBalance() {
         RegisterMovementCommand command = RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(2000));
 
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.empty());
         when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
 
         StepVerifier.create(registerMovementCommandHandler.handle(command))
-                .expectError(InsufficientBalanceException.class)
+                .expectErrorMatches(error ->
+                        error instanceof InsufficientBalanceException insufficient &&
+                        insufficient.getCurrentBalance().compareTo(BigDecimal.valueOf(1000)) == 0 &&
+                        insufficient.getRequestedAmount().compareTo(BigDecimal.valueOf(2000)) == 0)
                 .verify();
 
         verify(accountRepository).findById(1L);
         verify(accountRepository, never()).save(any(Account.class));
-        verify(movementRepository, never()).save(any(Movement.class));
     }
 
     @Test
     void shouldThrowAccountNotFoundExceptionWhenAccountDoesNotExist() {
         RegisterMovementCommand command = RegisterMovementCommandMother.createDefault();
 
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.empty());
         when(accountRepository.findById(anyLong())).thenReturn(Mono.empty());
 
         StepVerifier.create(registerMovementCommandHandler.handle(command))
@@ -113,7 +118,34 @@ class RegisterMovementCommandHandlerImplTest {
 
         verify(accountRepository).findById(1L);
         verify(accountRepository, never()).save(any(Account.class));
-        verify(movementRepository, never()).save(any(Movement.class));
+    }
+
+    @Test
+    void shouldEvictCachedStatementsCoveringTheMovement() {
+        RegisterMovementCommand command = RegisterMovementCommandMother.createCredit(BigDecimal.valueOf(500));
+        Movement savedMovement = MovementMother.createCredit(BigDecimal.valueOf(500), BigDecimal.valueOf(1500));
+
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.just(savedMovement));
+
+        StepVerifier.create(registerMovementCommandHandler.handle(command))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(clientReportCache).evict(savedMovement.getAccountId(), savedMovement.getDate());
+    }
+
+    @Test
+    void shouldNotEvictCachedStatementsWhenMovementIsRejected() {
+        RegisterMovementCommand command = RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(2000));
+
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.empty());
+        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
+
+        StepVerifier.create(registerMovementCommandHandler.handle(command))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        verifyNoInteractions(clientReportCache);
     }
 
     @Test
@@ -125,8 +157,7 @@ class RegisterMovementCommandHandlerImplTest {
                 .verify();
 
         verify(accountRepository, never()).findById(anyLong());
-        verify(accountRepository, never()).save(any(Account.class));
-        verify(movementRepository, never()).save(any(Movement.class));
+        verify(movementRepository, never()).applyToAccount(any(Movement.class));
     }
 
     @Test
@@ -138,48 +169,41 @@ class RegisterMovementCommandHandlerImplTest {
                 .verify();
 
         verify(accountRepository, never()).findById(anyLong());
+        verify(movementRepository, never()).applyToAccount(any(Movement.class));
     }
 
     @Test
-    void shouldUpdateAccountBalanceAfterCredit() {
+    void shouldPassCreditMovementToRepository() {
         RegisterMovementCommand command = RegisterMovementCommandMother.createCredit(BigDecimal.valueOf(500));
         Movement savedMovement = MovementMother.createCredit(BigDecimal.valueOf(500), BigDecimal.valueOf(1500));
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> {
-            Account saved = inv.getArgument(0);
-            // Verify balance was updated
-            if (saved.getCurrentBalance().compareTo(BigDecimal.valueOf(1500)) != 0) {
-                return Mono.error(new AssertionError("Balance should be 1500 after credit"));
-            }
-            return Mono.just(saved);
-        });
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(savedMovement));
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.just(savedMovement));
 
         StepVerifier.create(registerMovementCommandHandler.handle(command))
                 .expectNextCount(1)
                 .verifyComplete();
+
+        verify(movementRepository).applyToAccount(argThat(movement ->
+                movement.getAccountId().equals(1L) &&
+                movement.isCredit() &&
+                movement.getAmount().compareTo(BigDecimal.valueOf(500)) == 0));
     }
 
     @Test
-    void shouldUpdateAccountBalanceAfterDebit() {
+    void shouldPassDebitMovementToRepository() {
         RegisterMovementCommand command = RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(400));
         Movement savedMovement = MovementMother.createDebit(BigDecimal.valueOf(400), BigDecimal.valueOf(600));
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> {
-            Account saved = inv.getArgument(0);
-            // Verify balance was updated
-            if (saved.getCurrentBalance().compareTo(BigDecimal.valueOf(600)) != 0) {
-                return Mono.error(new AssertionError("Balance should be 600 after debit"));
-            }
-            return Mono.just(saved);
-        });
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(savedMovement));
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.just(savedMovement));
 
         StepVerifier.create(registerMovementCommandHandler.handle(command))
                 .expectNextCount(1)
                 .verifyComplete();
+
+        verify(movementRepository).applyToAccount(argThat(movement ->
+                movement.getAccountId().equals(1L) &&
+                movement.isDebit() &&
+                movement.getAmount().compareTo(BigDecimal.valueOf(400)) == 0));
     }
 
     @Test
@@ -187,9 +211,7 @@ class RegisterMovementCommandHandlerImplTest {
         RegisterMovementCommand command = RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(1000));
         Movement savedMovement = MovementMother.createDebit(BigDecimal.valueOf(1000), BigDecimal.ZERO);
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(savedMovement));
+        when(movementRepository.applyToAccount(any(Movement.class))).thenReturn(Mono.just(savedMovement));
 
         StepVerifier.create(registerMovementCommandHandler.handle(command))
                 .expectNextMatches(result ->
@@ -200,18 +222,15 @@ class RegisterMovementCommandHandlerImplTest {
     @Test
     void shouldSaveMovementWithCorrectDescription() {
         RegisterMovementCommand command = RegisterMovementCommandMother.createWithDescription("Monthly salary");
-        Movement savedMovement = MovementMother.createWithDescription("Monthly salary");
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
-        when(movementRepository.save(any(Movement.class))).thenAnswer(inv -> {
+        when(movementRepository.applyToAccount(any(Movement.class))).thenAnswer(inv -> {
             Movement m = inv.getArgument(0);
             return Mono.just(Movement.builder()
                     .movementId(1L)
                     .accountId(m.getAccountId())
                     .movementType(m.getMovementType())
                     .amount(m.getAmount())
-                    .balance(m.getBalance())
+                    .balance(BigDecimal.valueOf(1500))
                     .date(m.getDate())
                     .description(m.getDescription())
                     .build());
@@ -0,0 +1,135 @@
+package com.nttdata.account.application.register_movement_stream;
+
+import com.nttdata.account.application.register_movement.RegisterMovementCommandMother;
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountMother;
+import com.nttdata.account.domain.AccountNotFoundException;
+import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.ClientReportCache;
+import com.nttdata.account.domain.InsufficientBalanceException;
+import com.nttdata.account.domain.InvalidAmountException;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegisterMovementStreamCommandHandlerImplTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ClientReportCache clientReportCache;
+
+    private RegisterMovementStreamCommandHandlerImpl handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RegisterMovementStreamCommandHandlerImpl(accountRepository, movementRepository, transactionalOperator, clientReportCache, 2);
+    }
+
+    private void givenAccountWithBalance(BigDecimal balance) {
+        Account account = AccountMother.createWithBalance(balance);
+        when(accountRepository.existsById(anyLong())).thenReturn(Mono.just(true));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(account));
+        lenient().when(accountRepository.save(any(Account.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        lenient().when(movementRepository.saveAll(anyList())).thenAnswer(inv -> Flux.fromIterable(inv.<List<Movement>>getArgument(0)));
+        when(transactionalOperator.transactional(any(Flux.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void shouldApplyMovementsInOrderWithRunningBalance() {
+        givenAccountWithBalance(BigDecimal.valueOf(1000));
+        RegisterMovementStreamCommand command = RegisterMovementStreamCommandMother.createWithMovements(
+                RegisterMovementCommandMother.createCredit(BigDecimal.valueOf(500)),
+                RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(300)),
+                RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(200)));
+
+        StepVerifier.create(handler.handle(command))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.isAccepted()
+                        && result.getMovement().getBalance().compareTo(BigDecimal.valueOf(1500)) == 0)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.isAccepted()
+                        && result.getMovement().getBalance().compareTo(BigDecimal.valueOf(1200)) == 0)
+                .expectNextMatches(result -> result.getIndex() == 2 && result.isAccepted()
+                        && result.getMovement().getBalance().compareTo(BigDecimal.valueOf(1000)) == 0)
+                .verifyComplete();
+
+        verify(movementRepository, times(2)).saveAll(anyList());
+        verify(accountRepository, times(2)).save(any(Account.class));
+    }
+
+    @Test
+    void shouldRejectInvalidItemsWithoutStoppingTheStream() {
+        givenAccountWithBalance(BigDecimal.valueOf(100));
+        RegisterMovementStreamCommand command = RegisterMovementStreamCommandMother.createWithMovements(
+                RegisterMovementCommandMother.createWithZeroAmount(),
+                RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(500)),
+                RegisterMovementCommandMother.createDebit(BigDecimal.valueOf(50)));
+
+        StepVerifier.create(handler.handle(command))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getError() instanceof InvalidAmountException)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getError() instanceof InsufficientBalanceException)
+                .expectNextMatches(result -> result.getIndex() == 2 && result.isAccepted()
+                        && result.getMovement().getBalance().compareTo(BigDecimal.valueOf(50)) == 0)
+                .verifyComplete();
+
+        verify(movementRepository).saveAll(argThat(movements -> movements.size() == 1));
+    }
+
+    @Test
+    void shouldSkipWritesWhenWholeChunkIsRejected() {
+        givenAccountWithBalance(BigDecimal.valueOf(100));
+        RegisterMovementStreamCommand command = RegisterMovementStreamCommandMother.createWithMovements(
+                RegisterMovementCommandMother.createWithZeroAmount(),
+                RegisterMovementCommandMother.createWithNegativeAmount());
+
+        StepVerifier.create(handler.handle(command))
+                .expectNextMatches(result -> !result.isAccepted())
+                .expectNextMatches(result -> !result.isAccepted())
+                .verifyComplete();
+
+        verify(movementRepository, never()).saveAll(anyList());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void shouldThrowAccountNotFoundExceptionWhenAccountDoesNotExist() {
+        when(accountRepository.existsById(anyLong())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(handler.handle(RegisterMovementStreamCommandMother.createWithAccountId(99L)))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+
+        verify(accountRepository, never()).findByIdForUpdate(anyLong());
+    }
+
+    @Test
+    void shouldRejectInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new RegisterMovementStreamCommandHandlerImpl(accountRepository, movementRepository, transactionalOperator, clientReportCache, 0));
+    }
+}
@@ -0,0 +1,21 @@
+package com.nttdata.account.application.register_movement_stream;
+
+import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import reactor.core.publisher.Flux;
+
+public class RegisterMovementStreamCommandMother {
+
+    public static RegisterMovementStreamCommand.RegisterMovementStreamCommandBuilder validCommand() {
+        return RegisterMovementStreamCommand.builder()
+                .accountId(1L)
+                .movements(Flux.empty());
+    }
+
+    public static RegisterMovementStreamCommand createWithMovements(RegisterMovementCommand... movements) {
+        return validCommand().movements(Flux.just(movements)).build();
+    }
+
+    public static RegisterMovementStreamCommand createWithAccountId(Long accountId) {
+        return validCommand().accountId(accountId).build();
+    }
+}
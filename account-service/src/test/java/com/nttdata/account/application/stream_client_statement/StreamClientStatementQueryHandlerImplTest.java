@@ -0,0 +1,107 @@
+package com.nttdata.account.application.stream_client_statement;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountBalance;
+import com.nttdata.account.domain.AccountMother;
+import com.nttdata.account.domain.AccountRepository;
+import com.nttdata.account.domain.CustomerMother;
+import com.nttdata.account.domain.CustomerNotFoundException;
+import com.nttdata.account.domain.CustomerRepository;
+import com.nttdata.account.domain.MovementMother;
+import com.nttdata.account.domain.MovementRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamClientStatementQueryHandlerImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    @InjectMocks
+    private StreamClientStatementQueryHandlerImpl streamClientStatementQueryHandler;
+
+    @Test
+    void shouldEmitCustomerThenEachAccountFollowedByItsMovements() {
+        Account savings = AccountMother.createDefault();
+        Account checking = AccountMother.validAccount().accountId(2L).accountNumber("9876543210").build();
+
+        when(customerRepository.findById(1L)).thenReturn(Mono.just(CustomerMother.createDefault()));
+        when(accountRepository.findByCustomerId(1L)).thenReturn(Flux.just(savings, checking));
+        when(accountRepository.findBalanceAsOf(anyLong(), any())).thenAnswer(invocation -> Mono.just(
+                balance(invocation.getArgument(0), invocation.getArgument(1), BigDecimal.valueOf(700))));
+        when(movementRepository.streamByAccountIdAndDateBetween(eq(savings.getAccountId()), any(), any()))
+                .thenReturn(Flux.just(MovementMother.createWithId(1L), MovementMother.createWithId(2L)));
+        when(movementRepository.streamByAccountIdAndDateBetween(eq(checking.getAccountId()), any(), any()))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(streamClientStatementQueryHandler.handle(StreamClientStatementQueryMother.createDefault()))
+                .expectNextMatches(event -> event.getType() == StatementEvent.Type.CUSTOMER
+                        && event.getCustomer().getCustomerId().equals(1L))
+                .expectNextMatches(event -> event.getType() == StatementEvent.Type.ACCOUNT
+                        && event.getAccount().getAccountId().equals(savings.getAccountId())
+                        && event.getOpeningBalance().compareTo(BigDecimal.valueOf(700)) == 0)
+                .expectNextMatches(event -> event.getType() == StatementEvent.Type.MOVEMENT
+                        && event.getMovement().getMovementId().equals(1L))
+                .expectNextMatches(event -> event.getType() == StatementEvent.Type.MOVEMENT
+                        && event.getMovement().getMovementId().equals(2L))
+                .expectNextMatches(event -> event.getType() == StatementEvent.Type.ACCOUNT
+                        && event.getAccount().getAccountId().equals(checking.getAccountId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldTakeOpeningBalanceJustBeforeTheStartAndClosingBalanceAtTheEnd() {
+        Account account = AccountMother.createDefault();
+
+        when(customerRepository.findById(1L)).thenReturn(Mono.just(CustomerMother.createDefault()));
+        when(accountRepository.findByCustomerId(1L)).thenReturn(Flux.just(account));
+        when(accountRepository.findBalanceAsOf(eq(account.getAccountId()),
+                argThat(asOf -> asOf.isBefore(StreamClientStatementQueryMother.DEFAULT_START))))
+                .thenReturn(Mono.just(balance(account.getAccountId(), StreamClientStatementQueryMother.DEFAULT_START, BigDecimal.valueOf(1000))));
+        when(accountRepository.findBalanceAsOf(account.getAccountId(), StreamClientStatementQueryMother.DEFAULT_END))
+                .thenReturn(Mono.just(balance(account.getAccountId(), StreamClientStatementQueryMother.DEFAULT_END, BigDecimal.valueOf(1500))));
+        when(movementRepository.streamByAccountIdAndDateBetween(any(), any(), any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(streamClientStatementQueryHandler.handle(StreamClientStatementQueryMother.createDefault()))
+                .expectNextMatches(event -> event.getType() == StatementEvent.Type.CUSTOMER)
+                .expectNextMatches(event -> event.getOpeningBalance().compareTo(BigDecimal.valueOf(1000)) == 0
+                        && event.getClosingBalance().compareTo(BigDecimal.valueOf(1500)) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCustomerNotFound() {
+        when(customerRepository.findById(anyLong())).thenReturn(Mono.empty());
+
+        StepVerifier.create(streamClientStatementQueryHandler.handle(StreamClientStatementQueryMother.createDefault()))
+                .expectError(CustomerNotFoundException.class)
+                .verify();
+
+        verify(accountRepository, never()).findByCustomerId(anyLong());
+    }
+
+    private AccountBalance balance(Long accountId, OffsetDateTime asOf, BigDecimal amount) {
+        return AccountBalance.builder().accountId(accountId).asOf(asOf).balance(amount).build();
+    }
+}
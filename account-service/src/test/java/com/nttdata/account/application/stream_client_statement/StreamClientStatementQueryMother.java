@@ -0,0 +1,20 @@
+package com.nttdata.account.application.stream_client_statement;
+
+import java.time.OffsetDateTime;
+
+public class StreamClientStatementQueryMother {
+
+    public static final OffsetDateTime DEFAULT_START = OffsetDateTime.parse("2025-11-01T00:00:00Z");
+    public static final OffsetDateTime DEFAULT_END = OffsetDateTime.parse("2025-12-01T00:00:00Z");
+
+    public static StreamClientStatementQuery.StreamClientStatementQueryBuilder validQuery() {
+        return StreamClientStatementQuery.builder()
+                .clientId(1L)
+                .startDate(DEFAULT_START)
+                .endDate(DEFAULT_END);
+    }
+
+    public static StreamClientStatementQuery createDefault() {
+        return validQuery().build();
+    }
+}
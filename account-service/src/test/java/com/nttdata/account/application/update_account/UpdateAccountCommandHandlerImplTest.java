@@ -6,12 +6,14 @@ import com.nttdata.account.domain.AccountMother;
 import com.nttdata.account.domain.AccountNotFoundException;
 import com.nttdata.account.domain.AccountRepository;
 import com.nttdata.account.domain.AccountType;
+import com.nttdata.account.domain.BalanceCheckpointRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -28,6 +30,12 @@ class UpdateAccountCommandHandlerImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private UpdateAccountCommandHandlerImpl updateAccountCommandHandler;
 
@@ -38,12 +46,13 @@ class UpdateAccountCommandHandlerImplTest {
     void setUp() {
         command = UpdateAccountCommandMother.createDefault();
         existingAccount = AccountMother.createDefault();
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
     void shouldUpdateAccountSuccessfully() {
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(existingAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingAccount));
+        when(accountRepository.updateDetails(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         StepVerifier.create(updateAccountCommandHandler.handle(command))
                 .expectNextMatches(result ->
@@ -51,42 +60,58 @@ class UpdateAccountCommandHandlerImplTest {
                         result.getAccountNumber().equals("1234567890"))
                 .verifyComplete();
 
-        verify(accountRepository).findById(1L);
-        verify(accountRepository).save(any(Account.class));
+        verify(accountRepository).findByIdForUpdate(1L);
+        verify(accountRepository).updateDetails(any(Account.class));
+        verify(balanceCheckpointRepository, never()).deleteByAccountId(anyLong());
+    }
+
+    @Test
+    void shouldKeepCurrentBalanceOfTheLockedRow() {
+        Account lockedAccount = AccountMother.validAccount().currentBalance(BigDecimal.valueOf(1750)).build();
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Mono.just(lockedAccount));
+        when(accountRepository.updateDetails(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(updateAccountCommandHandler.handle(command))
+                .expectNextMatches(result -> result.getCurrentBalance().compareTo(BigDecimal.valueOf(1750)) == 0)
+                .verifyComplete();
+
+        // Neither the cached read nor the whole-entity save can overwrite the balance left by movements
+        verify(accountRepository, never()).findById(anyLong());
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
     void shouldThrowExceptionWhenAccountNotFound() {
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.empty());
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.empty());
 
         StepVerifier.create(updateAccountCommandHandler.handle(command))
                 .expectError(AccountNotFoundException.class)
                 .verify();
 
-        verify(accountRepository).findById(1L);
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository).findByIdForUpdate(1L);
+        verify(accountRepository, never()).updateDetails(any(Account.class));
     }
 
     @Test
     void shouldThrowExceptionWhenAccountNumberAlreadyExists() {
         UpdateAccountCommand commandWithNewNumber = UpdateAccountCommandMother.createWithAccountNumber("9876543210");
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(existingAccount));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingAccount));
         when(accountRepository.existsByAccountNumber("9876543210")).thenReturn(Mono.just(true));
 
         StepVerifier.create(updateAccountCommandHandler.handle(commandWithNewNumber))
                 .expectError(AccountAlreadyExistsException.class)
                 .verify();
 
-        verify(accountRepository).findById(1L);
+        verify(accountRepository).findByIdForUpdate(1L);
         verify(accountRepository).existsByAccountNumber("9876543210");
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, never()).updateDetails(any(Account.class));
     }
 
     @Test
     void shouldAllowSameAccountNumberWhenNotChanged() {
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(existingAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingAccount));
+        when(accountRepository.updateDetails(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         StepVerifier.create(updateAccountCommandHandler.handle(command))
                 .expectNextMatches(result -> result.getAccountNumber().equals("1234567890"))
@@ -99,8 +124,8 @@ class UpdateAccountCommandHandlerImplTest {
     void shouldUpdateAccountType() {
         UpdateAccountCommand checkingCommand = UpdateAccountCommandMother.createCheckingAccount();
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(existingAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingAccount));
+        when(accountRepository.updateDetails(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         StepVerifier.create(updateAccountCommandHandler.handle(checkingCommand))
                 .expectNextMatches(result -> result.getAccountType() == AccountType.CHECKING)
@@ -111,8 +136,8 @@ class UpdateAccountCommandHandlerImplTest {
     void shouldUpdateStatus() {
         UpdateAccountCommand inactiveCommand = UpdateAccountCommandMother.createInactive();
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(existingAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingAccount));
+        when(accountRepository.updateDetails(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         StepVerifier.create(updateAccountCommandHandler.handle(inactiveCommand))
                 .expectNextMatches(result -> Boolean.FALSE.equals(result.getStatus()))
@@ -123,19 +148,23 @@ class UpdateAccountCommandHandlerImplTest {
     void shouldUpdateInitialBalance() {
         UpdateAccountCommand balanceCommand = UpdateAccountCommandMother.createWithNewBalance(BigDecimal.valueOf(5000));
 
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(existingAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingAccount));
+        when(accountRepository.updateDetails(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(balanceCheckpointRepository.deleteByAccountId(1L)).thenReturn(Mono.just(3L));
 
         StepVerifier.create(updateAccountCommandHandler.handle(balanceCommand))
                 .expectNextMatches(result -> 
                         result.getInitialBalance().compareTo(BigDecimal.valueOf(5000)) == 0)
                 .verifyComplete();
+
+        // Checkpoints were computed from the previous initial balance
+        verify(balanceCheckpointRepository).deleteByAccountId(1L);
     }
 
     @Test
     void shouldSetUpdatedAtWhenUpdating() {
-        when(accountRepository.findById(anyLong())).thenReturn(Mono.just(existingAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(accountRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingAccount));
+        when(accountRepository.updateDetails(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         StepVerifier.create(updateAccountCommandHandler.handle(command))
                 .expectNextMatches(result -> result.getUpdatedAt() != null)
@@ -0,0 +1,96 @@
+package com.nttdata.account.infrastructure.cache;
+
+import com.nttdata.account.domain.Account;
+import com.nttdata.account.domain.AccountMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountNearCacheTest {
+
+    private AccountNearCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AccountNearCache(100, Duration.ofMinutes(1));
+        cache.activate();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        Account account = AccountMother.createWithId(1L);
+
+        cache.findById(1L, () -> load(account)).block();
+        cache.findById(1L, () -> load(account)).block();
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.contains(1L)).isTrue();
+    }
+
+    @Test
+    void shouldHandOutCopies() {
+        Account account = AccountMother.createWithId(1L);
+        cache.findById(1L, () -> load(account)).block().credit(BigDecimal.TEN);
+
+        StepVerifier.create(cache.findById(1L, () -> load(account)))
+                .assertNext(cached -> assertThat(cached.getCurrentBalance()).isEqualTo(account.getCurrentBalance()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldEvictEveryKeyOfTheChangedAccount() {
+        Account account = AccountMother.createWithId(1L);
+        cache.findById(1L, () -> load(account)).block();
+        cache.findByAccountNumber(account.getAccountNumber(), () -> load(account)).block();
+        cache.findByCustomerId(account.getCustomerId(), () -> load(List.of(account))).block();
+
+        cache.evict(new AccountChange(1L, account.getCustomerId(), account.getAccountNumber()));
+        cache.findById(1L, () -> load(account)).block();
+        cache.findByAccountNumber(account.getAccountNumber(), () -> load(account)).block();
+        cache.findByCustomerId(account.getCustomerId(), () -> load(List.of(account))).block();
+
+        assertThat(loads).hasValue(6);
+    }
+
+    @Test
+    void shouldNotStoreValueReadBeforeAnEviction() {
+        Account account = AccountMother.createWithId(1L);
+        Sinks.One<Account> read = Sinks.one();
+        cache.findById(1L, read::asMono).subscribe();
+
+        cache.evict(new AccountChange(1L, null, null));
+        read.tryEmitValue(account);
+
+        assertThat(cache.contains(1L)).isFalse();
+    }
+
+    @Test
+    void shouldBypassCacheWhileNotListening() {
+        Account account = AccountMother.createWithId(1L);
+        cache.deactivate();
+
+        cache.findById(1L, () -> load(account)).block();
+        cache.findById(1L, () -> load(account)).block();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.contains(1L)).isFalse();
+    }
+
+    private <T> Mono<T> load(T value) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+}
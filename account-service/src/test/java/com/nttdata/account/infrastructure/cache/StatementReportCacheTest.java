@@ -0,0 +1,156 @@
+package com.nttdata.account.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementReportCacheTest {
+
+    private static final LocalDate START = LocalDate.now(ZoneOffset.UTC).minusMonths(2).withDayOfMonth(1);
+    private static final LocalDate END = START.plusMonths(1).minusDays(1);
+    private static final byte[] BODY = "{\"customer\":{}}".getBytes(StandardCharsets.UTF_8);
+
+    private StatementReportCache cache;
+    private StatementReportKey key;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StatementReportCache(true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(1), Duration.ofMinutes(10));
+        cache.activate();
+        key = new StatementReportKey(1L, START, END, "json");
+    }
+
+    @Test
+    void shouldOnlyCacheRangesEndingBeforeToday() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        assertThat(cache.isCacheable(today.minusDays(1))).isTrue();
+        assertThat(cache.isCacheable(today)).isFalse();
+        assertThat(cache.isCacheable(today.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        StatementReportCache disabled = new StatementReportCache(false, DataSize.ofMegabytes(1), DataSize.ofKilobytes(1),
+                Duration.ofMinutes(10));
+        disabled.activate();
+
+        assertThat(disabled.isCacheable(LocalDate.now(ZoneOffset.UTC).minusYears(1))).isFalse();
+    }
+
+    @Test
+    void shouldNotCacheWhileChangesAreNotHeard() {
+        store(key, 10L);
+
+        cache.deactivate();
+
+        assertThat(cache.isCacheable(LocalDate.now(ZoneOffset.UTC).minusYears(1))).isFalse();
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void shouldServeRecordedStatement() {
+        store(key, 10L);
+
+        assertThat(cache.get(key)).isEqualTo(BODY);
+        assertThat(cache.get(new StatementReportKey(1L, START, END, "csv"))).isNull();
+    }
+
+    @Test
+    void shouldCopyBuffersWithoutConsumingThem() {
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(BODY);
+        StatementReportCache.Recording recording = cache.record(key);
+        recording.write(buffer);
+        recording.commit();
+
+        assertThat(cache.get(key)).isEqualTo(BODY);
+        assertThat(buffer.readableByteCount()).isEqualTo(BODY.length);
+    }
+
+    @Test
+    void shouldEvictStatementsCoveringTheMovementDate() {
+        store(key, 10L);
+
+        cache.evict(10L, START.plusDays(3).atStartOfDay().atOffset(ZoneOffset.UTC));
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void shouldKeepStatementsOfOtherAccountsOrDates() {
+        store(key, 10L);
+
+        cache.evict(20L, START.plusDays(3).atStartOfDay().atOffset(ZoneOffset.UTC));
+        cache.evict(10L, END.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC));
+        cache.evict(10L, OffsetDateTime.now());
+
+        assertThat(cache.get(key)).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldEvictEveryStatementOfAChangedClient() {
+        StatementReportKey otherRange = new StatementReportKey(1L, START.minusMonths(1), END.minusMonths(1), "csv");
+        StatementReportKey otherClient = new StatementReportKey(2L, START, END, "json");
+        store(key, 10L);
+        store(otherRange, 10L);
+        store(otherClient, 20L);
+
+        cache.evictClient(1L);
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.get(otherRange)).isNull();
+        assertThat(cache.get(otherClient)).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldNotStoreStatementReadBeforeAClientEviction() {
+        StatementReportCache.Recording recording = cache.record(key);
+        recording.account(10L);
+        recording.write(BODY);
+
+        cache.evictClient(1L);
+        recording.commit();
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void shouldNotStoreStatementReadBeforeAnEviction() {
+        StatementReportCache.Recording recording = cache.record(key);
+        recording.account(10L);
+        recording.write(BODY);
+
+        cache.evict(10L, START.plusDays(3).atStartOfDay().atOffset(ZoneOffset.UTC));
+        recording.commit();
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void shouldNotStoreStatementsAboveTheEntryLimit() {
+        StatementReportCache.Recording recording = cache.record(key);
+        recording.account(10L);
+        recording.write(new byte[600]);
+        recording.write(new byte[600]);
+        recording.commit();
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    private void store(StatementReportKey key, Long accountId) {
+        StatementReportCache.Recording recording = cache.record(key);
+        recording.account(accountId);
+        recording.write(BODY);
+        recording.commit();
+    }
+}
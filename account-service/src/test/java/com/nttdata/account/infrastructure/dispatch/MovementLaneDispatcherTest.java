@@ -0,0 +1,182 @@
+package com.nttdata.account.infrastructure.dispatch;
+
+import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import com.nttdata.account.application.register_movement.RegisterMovementCommandHandlerImpl;
+import com.nttdata.account.application.register_movement.RegisterMovementCommandMother;
+import com.nttdata.account.domain.InsufficientBalanceException;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementLaneUnavailableException;
+import com.nttdata.account.domain.MovementMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MovementLaneDispatcherTest {
+
+    @Mock
+    private RegisterMovementCommandHandlerImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MovementLaneDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MovementLaneDispatcher(delegate, meterRegistry, 4, 16, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldApplyMovementsOfSameAccountOneAtATimeInOrder() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<BigDecimal> applied = new CopyOnWriteArrayList<>();
+        when(delegate.handle(any(RegisterMovementCommand.class))).thenAnswer(inv -> {
+            RegisterMovementCommand command = inv.getArgument(0);
+            return Mono.defer(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        return Mono.delay(Duration.ofMillis(5));
+                    })
+                    .doOnNext(tick -> {
+                        applied.add(command.getAmount());
+                        running.decrementAndGet();
+                    })
+                    .thenReturn(MovementMother.createWithAmount(command.getAmount()));
+        });
+
+        StepVerifier.create(Flux.range(1, 10)
+                        .flatMap(i -> dispatcher.handle(RegisterMovementCommandMother.createCredit(BigDecimal.valueOf(i))))
+                        .then())
+                .verifyComplete();
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(10, applied.size());
+        for (int i = 0; i < applied.size(); i++) {
+            assertEquals(BigDecimal.valueOf(i + 1), applied.get(i));
+        }
+    }
+
+    @Test
+    void shouldPropagateErrorAndKeepLaneRunning() {
+        Movement movement = MovementMother.createDefault();
+        when(delegate.handle(any(RegisterMovementCommand.class)))
+                .thenReturn(Mono.error(new InsufficientBalanceException(1L, BigDecimal.ZERO, BigDecimal.TEN)))
+                .thenReturn(Mono.just(movement));
+
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDebit(BigDecimal.TEN)))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDefault()))
+                .expectNext(movement)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldPropagateHandlerThrowAndKeepLaneRunning() {
+        Movement movement = MovementMother.createDefault();
+        when(delegate.handle(any(RegisterMovementCommand.class)))
+                .thenThrow(new IllegalStateException("handler failed"))
+                .thenReturn(Mono.just(movement));
+
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDefault()))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDefault()))
+                .expectNext(movement)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldLetStartedMovementFinishAfterCallerStopsWaiting() {
+        dispatcher = new MovementLaneDispatcher(delegate, meterRegistry, 1, 16, Duration.ofMillis(50));
+        Movement movement = MovementMother.createDefault();
+        Sinks.One<Movement> applied = Sinks.one();
+        AtomicBoolean finished = new AtomicBoolean();
+        when(delegate.handle(any(RegisterMovementCommand.class)))
+                .thenReturn(applied.asMono().doOnSuccess(done -> finished.set(true)))
+                .thenReturn(Mono.just(movement));
+
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDefault()))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(MovementLaneUnavailableException.class, error);
+                    assertTrue(error.getMessage().contains("still being applied"));
+                })
+                .verify(Duration.ofSeconds(1));
+
+        applied.tryEmitValue(movement);
+        assertTrue(finished.get());
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDefault()))
+                .expectNext(movement)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDropMovementWhoseCallerStoppedWaitingBeforeItStarted() {
+        dispatcher = new MovementLaneDispatcher(delegate, meterRegistry, 1, 16, Duration.ofMillis(50));
+        Sinks.One<Movement> first = Sinks.one();
+        when(delegate.handle(any(RegisterMovementCommand.class))).thenReturn(first.asMono());
+        // The first movement occupies the lane while the second waits behind it
+        dispatcher.handle(RegisterMovementCommandMother.createDefault()).subscribe(movement -> { }, error -> { });
+
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDefault()))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(MovementLaneUnavailableException.class, error);
+                    assertTrue(error.getMessage().contains("was not applied"));
+                })
+                .verify(Duration.ofSeconds(1));
+
+        first.tryEmitValue(MovementMother.createDefault());
+        verify(delegate, times(1)).handle(any(RegisterMovementCommand.class));
+    }
+
+    @Test
+    void shouldRejectMovementWhenLaneIsFull() {
+        dispatcher = new MovementLaneDispatcher(delegate, meterRegistry, 1, 1, Duration.ofSeconds(5));
+        when(delegate.handle(any(RegisterMovementCommand.class))).thenReturn(Mono.never());
+        // The first movement occupies the lane and the second fills its queue
+        dispatcher.handle(RegisterMovementCommandMother.createDefault()).subscribe(movement -> { }, error -> { });
+        dispatcher.handle(RegisterMovementCommandMother.createDefault()).subscribe(movement -> { }, error -> { });
+
+        StepVerifier.create(dispatcher.handle(RegisterMovementCommandMother.createDefault()))
+                .expectError(MovementLaneUnavailableException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldRegisterLaneMetrics() {
+        assertEquals(4, meterRegistry.find("account.movement.lane.depth").gauges().size());
+        assertNotNull(meterRegistry.find("account.movement.lane.wait").timer());
+    }
+
+    @Test
+    void shouldRejectNonPositiveLaneCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MovementLaneDispatcher(delegate, meterRegistry, 0, 16, Duration.ofSeconds(1)));
+    }
+}
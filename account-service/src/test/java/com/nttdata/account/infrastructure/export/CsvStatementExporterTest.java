@@ -0,0 +1,49 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.nttdata.account.domain.StatementLine;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvStatementExporterTest {
+
+    private final CsvStatementExporter exporter = new CsvStatementExporter(Schedulers.immediate(), 2);
+
+    @Test
+    void shouldWriteHeaderAndOneRowPerMovement() {
+        String csv = export(StatementLinesMother.createDefault());
+
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("Date,Customer,Account Number");
+        assertThat(lines[1]).contains(",1234567890,SAVINGS,1000,Active,CREDIT,500,1500,");
+        assertThat(lines[2]).contains(",DEBIT,200,1000,");
+    }
+
+    @Test
+    void shouldQuoteCellsWithSeparatorsOrQuotes() {
+        String csv = export(StatementLinesMother.createDefault());
+
+        assertThat(csv).contains(",\"Doe, \"\"John\"\" & <Co>\",");
+    }
+
+    @Test
+    void shouldEncodeRowsInChunks() {
+        StepVerifier.create(exporter.export(StatementLinesMother.createWithMovements(5), DefaultDataBufferFactory.sharedInstance))
+                .expectNextCount(4)
+                .verifyComplete();
+    }
+
+    private String export(Flux<StatementLine> lines) {
+        return DataBufferUtils.join(exporter.export(lines, DefaultDataBufferFactory.sharedInstance))
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .block();
+    }
+}
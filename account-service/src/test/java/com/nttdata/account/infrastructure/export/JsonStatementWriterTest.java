@@ -0,0 +1,60 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nttdata.account.api.model.AccountStatementReport;
+import com.nttdata.account.api.model.AccountWithMovements;
+import com.nttdata.account.application.AccountMapper;
+import com.nttdata.account.domain.CustomerNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonStatementWriterTest {
+
+    private static final LocalDate START = LocalDate.parse("2025-11-01");
+    private static final LocalDate END = LocalDate.parse("2025-11-30");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final JsonStatementWriter writer = new JsonStatementWriter(new AccountMapper(), objectMapper);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldWriteTheReportDocumentLineByLine() throws IOException {
+        Path file = directory.resolve("statement.json");
+
+        StepVerifier.create(writer.write(StatementLinesMother.createDefault(), START, END, file))
+                .verifyComplete();
+
+        AccountStatementReport report = objectMapper.readValue(file.toFile(), AccountStatementReport.class);
+        assertThat(report.getCustomer().getName()).isEqualTo("Doe, \"John\" & <Co>");
+        assertThat(report.getStartDate()).isEqualTo(START);
+        assertThat(report.getEndDate()).isEqualTo(END);
+        assertThat(report.getGeneratedAt()).isNotNull();
+        assertThat(report.getAccounts()).hasSize(2);
+        AccountWithMovements first = report.getAccounts().get(0);
+        assertThat(first.getAccountNumber()).isEqualTo("1234567890");
+        assertThat(first.getCurrentBalance()).isEqualTo(1500.0);
+        assertThat(first.getMovements()).extracting("amount").containsExactly(500.0, 200.0);
+        AccountWithMovements second = report.getAccounts().get(1);
+        assertThat(second.getCurrentBalance()).isNull();
+        assertThat(second.getMovements()).isEmpty();
+    }
+
+    @Test
+    void shouldPropagateStatementErrors() {
+        StepVerifier.create(writer.write(Flux.error(new CustomerNotFoundException(1L)), START, END,
+                        directory.resolve("statement.json")))
+                .expectError(CustomerNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,40 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.nttdata.account.domain.AccountMother;
+import com.nttdata.account.domain.CustomerMother;
+import com.nttdata.account.domain.MovementMother;
+import com.nttdata.account.domain.StatementLine;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+public class StatementLinesMother {
+
+    public static Flux<StatementLine> createDefault() {
+        return Flux.just(
+                StatementLine.builder()
+                        .customer(CustomerMother.createWithName("Doe, \"John\" & <Co>"))
+                        .account(AccountMother.createDefault())
+                        .accountId(1L)
+                        .movement(MovementMother.createCredit(BigDecimal.valueOf(500), BigDecimal.valueOf(1500)))
+                        .build(),
+                StatementLine.builder()
+                        .accountId(1L)
+                        .movement(MovementMother.createDebit(BigDecimal.valueOf(200), BigDecimal.valueOf(1000)))
+                        .build(),
+                StatementLine.builder()
+                        .account(AccountMother.createWithId(2L))
+                        .accountId(2L)
+                        .build());
+    }
+
+    public static Flux<StatementLine> createWithMovements(int count) {
+        return Flux.range(0, count)
+                .map(i -> StatementLine.builder()
+                        .customer(i == 0 ? CustomerMother.createDefault() : null)
+                        .account(i == 0 ? AccountMother.createDefault() : null)
+                        .accountId(1L)
+                        .movement(MovementMother.createWithId((long) i))
+                        .build());
+    }
+}
@@ -0,0 +1,79 @@
+package com.nttdata.account.infrastructure.export;
+
+import com.nttdata.account.domain.StatementLine;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XlsxStatementExporterTest {
+
+    private final XlsxStatementExporter exporter = new XlsxStatementExporter(Schedulers.immediate(), 2);
+
+    @Test
+    void shouldWriteAValidSpreadsheetPackage() throws IOException {
+        Map<String, String> entries = unzip(export(StatementLinesMother.createDefault()));
+
+        assertThat(entries).containsOnlyKeys(
+                "[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+        assertThat(entries.get("xl/workbook.xml")).contains("<sheet name=\"Statement\" sheetId=\"1\" r:id=\"rId1\"/>");
+    }
+
+    @Test
+    void shouldWriteHeaderAndOneRowPerMovement() throws IOException {
+        String sheet = unzip(export(StatementLinesMother.createDefault())).get("xl/worksheets/sheet1.xml");
+
+        assertThat(sheet).startsWith("<?xml").endsWith("</sheetData></worksheet>");
+        assertThat(sheet.split("<row>", -1)).hasSize(4);
+        assertThat(sheet).contains("<c t=\"inlineStr\"><is><t>Date</t></is></c>");
+        assertThat(sheet).contains("<c><v>500</v></c>");
+        assertThat(sheet).contains("<c t=\"inlineStr\"><is><t>DEBIT</t></is></c>");
+    }
+
+    @Test
+    void shouldEscapeTextCells() throws IOException {
+        String sheet = unzip(export(StatementLinesMother.createDefault())).get("xl/worksheets/sheet1.xml");
+
+        assertThat(sheet).contains("<t>Doe, &quot;John&quot; &amp; &lt;Co&gt;</t>");
+    }
+
+    @Test
+    void shouldStreamLargeStatementsInChunks() throws IOException {
+        byte[] file = export(StatementLinesMother.createWithMovements(1000));
+
+        String sheet = unzip(file).get("xl/worksheets/sheet1.xml");
+        assertThat(sheet.split("<row>", -1)).hasSize(1002);
+    }
+
+    private byte[] export(Flux<StatementLine> lines) {
+        DataBuffer joined = DataBufferUtils.join(exporter.export(lines, DefaultDataBufferFactory.sharedInstance)).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        return bytes;
+    }
+
+    private Map<String, String> unzip(byte[] file) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(file))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,217 @@
+package com.nttdata.account.infrastructure.idempotency;
+
+import com.nttdata.account.application.register_movement.RegisterMovementCommand;
+import com.nttdata.account.application.register_movement.RegisterMovementCommandMother;
+import com.nttdata.account.domain.IdempotencyKeyInProgressException;
+import com.nttdata.account.domain.IdempotencyKeyRepository;
+import com.nttdata.account.domain.IdempotencyKeyReusedException;
+import com.nttdata.account.domain.InsufficientBalanceException;
+import com.nttdata.account.domain.Movement;
+import com.nttdata.account.domain.MovementMother;
+import com.nttdata.account.domain.MovementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovementIdempotencyGuardTest {
+
+    private static final String KEY = "retry-key-1";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private MovementIdempotencyGuard guard;
+    private Movement movement;
+    private RegisterMovementCommand command;
+    private String hash;
+
+    @BeforeEach
+    void setUp() {
+        guard = new MovementIdempotencyGuard(idempotencyKeyRepository, movementRepository, transactionalOperator,
+                100, Duration.ofHours(1));
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        movement = MovementMother.createWithId(10L);
+        command = RegisterMovementCommandMother.createDefault();
+        hash = MovementIdempotencyGuard.requestHash(command);
+    }
+
+    @Test
+    void shouldRunRegistrationDirectlyWithoutKey() {
+        StepVerifier.create(guard.execute(command, null, () -> Mono.just(movement)))
+                .expectNext(movement)
+                .verifyComplete();
+
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void shouldRegisterOnceAndServeRetriesFromMemory() {
+        AtomicInteger registrations = new AtomicInteger();
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(1L, KEY, 10L)).thenReturn(Mono.empty());
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(guard.execute(command, KEY, () -> Mono.fromCallable(() -> {
+                        registrations.incrementAndGet();
+                        return movement;
+                    })))
+                    .expectNext(movement)
+                    .verifyComplete();
+        }
+
+        assertEquals(1, registrations.get());
+        verify(idempotencyKeyRepository, times(1)).claim(1L, KEY, hash);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentDuplicatesOntoOneExecution() {
+        AtomicInteger registrations = new AtomicInteger();
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(1L, KEY, 10L)).thenReturn(Mono.empty());
+
+        Mono<Movement> slowRegistration = Mono.delay(Duration.ofMillis(50))
+                .map(tick -> {
+                    registrations.incrementAndGet();
+                    return movement;
+                });
+
+        StepVerifier.create(Mono.zip(
+                        guard.execute(command, KEY, () -> slowRegistration),
+                        guard.execute(command, KEY, () -> slowRegistration)))
+                .expectNextMatches(pair -> pair.getT1() == movement && pair.getT2() == movement)
+                .verifyComplete();
+
+        assertEquals(1, registrations.get());
+    }
+
+    @Test
+    void shouldReplayMovementStoredByAnotherInstance() {
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.findRequestHash(1L, KEY)).thenReturn(Mono.just(hash));
+        when(idempotencyKeyRepository.findMovementId(1L, KEY)).thenReturn(Mono.just(10L));
+        when(movementRepository.findById(10L)).thenReturn(Mono.just(movement));
+
+        StepVerifier.create(guard.execute(command, KEY, () -> Mono.error(new AssertionError("must not register"))))
+                .expectNext(movement)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailWhenKeyIsStillInProgressElsewhere() {
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.findRequestHash(1L, KEY)).thenReturn(Mono.just(hash));
+        when(idempotencyKeyRepository.findMovementId(1L, KEY)).thenReturn(Mono.empty());
+
+        StepVerifier.create(guard.execute(command, KEY, () -> Mono.just(movement)))
+                .expectError(IdempotencyKeyInProgressException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        RegisterMovementCommand other = RegisterMovementCommandMother.createWithAmount(BigDecimal.valueOf(900));
+        String otherHash = MovementIdempotencyGuard.requestHash(other);
+        when(idempotencyKeyRepository.claim(1L, KEY, otherHash)).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.findRequestHash(1L, KEY)).thenReturn(Mono.just(hash));
+
+        StepVerifier.create(guard.execute(other, KEY, () -> Mono.error(new AssertionError("must not register"))))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+
+        verify(idempotencyKeyRepository, never()).findMovementId(any(), any());
+    }
+
+    @Test
+    void shouldNotServeDifferentRequestFromMemory() {
+        RegisterMovementCommand other = RegisterMovementCommandMother.createWithAmount(BigDecimal.valueOf(900));
+        String otherHash = MovementIdempotencyGuard.requestHash(other);
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(1L, KEY, 10L)).thenReturn(Mono.empty());
+        when(idempotencyKeyRepository.claim(1L, KEY, otherHash)).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.findRequestHash(1L, KEY)).thenReturn(Mono.just(hash));
+
+        StepVerifier.create(guard.execute(command, KEY, () -> Mono.just(movement)))
+                .expectNext(movement)
+                .verifyComplete();
+
+        StepVerifier.create(guard.execute(other, KEY, () -> Mono.error(new AssertionError("must not register"))))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldReplayKeyClaimedWithoutRequestHash() {
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(false));
+        when(idempotencyKeyRepository.findRequestHash(1L, KEY)).thenReturn(Mono.empty());
+        when(idempotencyKeyRepository.findMovementId(1L, KEY)).thenReturn(Mono.just(10L));
+        when(movementRepository.findById(10L)).thenReturn(Mono.just(movement));
+
+        StepVerifier.create(guard.execute(command, KEY, () -> Mono.error(new AssertionError("must not register"))))
+                .expectNext(movement)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldHashAmountsByValue() {
+        assertEquals(MovementIdempotencyGuard.requestHash(RegisterMovementCommandMother.createWithAmount(new BigDecimal("250"))),
+                MovementIdempotencyGuard.requestHash(RegisterMovementCommandMother.createWithAmount(new BigDecimal("250.00"))));
+        assertNotEquals(MovementIdempotencyGuard.requestHash(RegisterMovementCommandMother.createWithAccountId(1L)),
+                MovementIdempotencyGuard.requestHash(RegisterMovementCommandMother.createWithAccountId(2L)));
+    }
+
+    @Test
+    void shouldAllowRetryWhenRegistrationFails() {
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(1L, KEY, 10L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(guard.execute(command, KEY,
+                        () -> Mono.error(new InsufficientBalanceException(1L, BigDecimal.ZERO, BigDecimal.TEN))))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        StepVerifier.create(guard.execute(command, KEY, () -> Mono.just(movement)))
+                .expectNext(movement)
+                .verifyComplete();
+
+        // The failed attempt's claim is rolled back with its transaction
+        verify(transactionalOperator, times(2)).transactional(any(Mono.class));
+        verify(idempotencyKeyRepository, times(2)).claim(1L, KEY, hash);
+    }
+
+    @Test
+    void shouldFailInsideTheTransactionWhenKeyCannotBeCompleted() {
+        when(idempotencyKeyRepository.claim(1L, KEY, hash)).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(1L, KEY, 10L)).thenReturn(Mono.error(new IllegalStateException("connection lost")));
+
+        StepVerifier.create(guard.execute(command, KEY, () -> Mono.just(movement)))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // Claim, movement and completion roll back together; nothing deletes the key on its own
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(idempotencyKeyRepository).claim(1L, KEY, hash);
+        verify(idempotencyKeyRepository).complete(1L, KEY, 10L);
+        verifyNoMoreInteractions(idempotencyKeyRepository);
+    }
+}
@@ -0,0 +1,312 @@
+package com.nttdata.account.infrastructure.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nttdata.account.api.model.AccountStatementReport;
+import com.nttdata.account.application.AccountMapper;
+import com.nttdata.account.application.export_client_statement.ExportClientStatementQuery;
+import com.nttdata.account.application.export_client_statement.ExportClientStatementQueryHandler;
+import com.nttdata.account.domain.AccountMother;
+import com.nttdata.account.domain.CustomerMother;
+import com.nttdata.account.domain.CustomerNotFoundException;
+import com.nttdata.account.domain.MovementMother;
+import com.nttdata.account.domain.ReportJob;
+import com.nttdata.account.domain.ReportJobLimitExceededException;
+import com.nttdata.account.domain.ReportJobNotFoundException;
+import com.nttdata.account.domain.ReportJobNotReadyException;
+import com.nttdata.account.domain.ReportJobRepository;
+import com.nttdata.account.domain.ReportJobStatus;
+import com.nttdata.account.domain.StatementLine;
+import com.nttdata.account.infrastructure.export.CsvStatementExporter;
+import com.nttdata.account.infrastructure.export.JsonStatementWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobManagerTest {
+
+    private static final LocalDate START = LocalDate.parse("2025-11-01");
+    private static final LocalDate END = LocalDate.parse("2025-11-30");
+
+    @Mock
+    private ExportClientStatementQueryHandler exportClientStatementQueryHandler;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private final InMemoryReportJobRepository reportJobRepository = new InMemoryReportJobRepository();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ReportJobManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    void shouldSpoolCompletedJobToDisk() throws IOException {
+        manager = createManager(2, Duration.ofHours(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class))).thenReturn(statement());
+
+        ReportJob submitted = manager.submit(1L, START, END, "csv").block();
+
+        ReportJob job = awaitStatus(submitted.getJobId(), ReportJobStatus.COMPLETED);
+        Path file = manager.resolve(job);
+        assertThat(job.getProcessedMovements()).isEqualTo(2);
+        assertThat(file).isEqualTo(spoolDirectory.resolve(job.getJobId() + ".csv"));
+        assertThat(job.getSizeBytes()).isEqualTo(Files.size(file));
+        assertThat(Files.readString(file)).startsWith("Date,Customer,Account Number");
+        assertThat(job.getFileName()).isEqualTo("statement-1-2025-11-01-2025-11-30.csv");
+        assertThat(job.getMediaType()).startsWith("text/csv");
+        assertThat(job.getExpiresAt()).isNotNull();
+    }
+
+    @Test
+    void shouldStreamJsonJobToDisk() throws IOException {
+        manager = createManager(2, Duration.ofHours(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class))).thenReturn(statement());
+
+        ReportJob submitted = manager.submit(1L, START, END, "json").block();
+
+        ReportJob job = awaitStatus(submitted.getJobId(), ReportJobStatus.COMPLETED);
+        AccountStatementReport report = objectMapper.readValue(manager.resolve(job).toFile(), AccountStatementReport.class);
+        assertThat(report.getAccounts()).hasSize(1);
+        assertThat(report.getAccounts().get(0).getMovements()).hasSize(2);
+        assertThat(job.getProcessedMovements()).isEqualTo(2);
+        assertThat(job.getFileName()).isEqualTo("statement-1-2025-11-01-2025-11-30.json");
+    }
+
+    @Test
+    void shouldMarkJobAsFailedWhenCustomerNotFound() {
+        manager = createManager(2, Duration.ofHours(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class)))
+                .thenReturn(Flux.error(new CustomerNotFoundException(1L)));
+
+        ReportJob submitted = manager.submit(1L, START, END, "csv").block();
+
+        ReportJob job = awaitStatus(submitted.getJobId(), ReportJobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("Customer not found with id: 1");
+        assertThat(job.getResultFile()).isNull();
+        assertThat(spoolDirectory.resolve(job.getJobId() + ".part")).doesNotExist();
+    }
+
+    @Test
+    void shouldRejectJobsAboveTheClientCap() {
+        manager = createManager(1, Duration.ofHours(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class))).thenReturn(Flux.never());
+
+        manager.submit(1L, START, END, "csv").block();
+
+        StepVerifier.create(manager.submit(1L, START, END, "csv"))
+                .expectError(ReportJobLimitExceededException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldRejectEndDateBeforeStartDate() {
+        manager = createManager(2, Duration.ofHours(1));
+
+        StepVerifier.create(manager.submit(1L, END, START, "csv"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldOnlyFindJobsOfTheSameClient() {
+        manager = createManager(2, Duration.ofHours(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class))).thenReturn(Flux.never());
+
+        ReportJob job = manager.submit(1L, START, END, "csv").block();
+
+        StepVerifier.create(manager.find(1L, job.getJobId()))
+                .expectNextMatches(found -> found.getJobId().equals(job.getJobId()))
+                .verifyComplete();
+        StepVerifier.create(manager.find(2L, job.getJobId()))
+                .expectError(ReportJobNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldFindJobsRecordedByAnotherInstance() throws IOException {
+        manager = createManager(2, Duration.ofHours(1));
+        UUID jobId = UUID.randomUUID();
+        Files.writeString(spoolDirectory.resolve(jobId + ".csv"), "Date,Customer");
+        reportJobRepository.save(ReportJob.builder()
+                .jobId(jobId)
+                .clientId(1L)
+                .status(ReportJobStatus.COMPLETED)
+                .resultFile(jobId + ".csv")
+                .createdAt(OffsetDateTime.now())
+                .build()).block();
+
+        StepVerifier.create(manager.findCompleted(1L, jobId))
+                .expectNextMatches(job -> manager.resolve(job).equals(spoolDirectory.resolve(jobId + ".csv")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotServeResultOfRunningJob() {
+        manager = createManager(2, Duration.ofHours(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class))).thenReturn(Flux.never());
+
+        ReportJob job = manager.submit(1L, START, END, "csv").block();
+
+        StepVerifier.create(manager.findCompleted(1L, job.getJobId()))
+                .expectError(ReportJobNotReadyException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldRecordProgressOfRunningJobs() {
+        manager = createManager(2, Duration.ofHours(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class)))
+                .thenReturn(statement().concatWith(Flux.never()));
+
+        ReportJob submitted = manager.submit(1L, START, END, "csv").block();
+        awaitStatus(submitted.getJobId(), ReportJobStatus.RUNNING);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            manager.refreshProgress().block();
+            assertThat(reportJobRepository.jobs.get(submitted.getJobId()).getProcessedMovements()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void shouldPurgeExpiredJobsAndTheirFiles() {
+        manager = createManager(2, Duration.ofMillis(1));
+        when(exportClientStatementQueryHandler.handle(any(ExportClientStatementQuery.class))).thenReturn(statement());
+
+        ReportJob submitted = manager.submit(1L, START, END, "csv").block();
+        ReportJob job = awaitStatus(submitted.getJobId(), ReportJobStatus.COMPLETED);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            manager.purgeExpiredJobs().block();
+            assertThat(Files.exists(manager.resolve(job))).isFalse();
+        });
+        StepVerifier.create(manager.find(1L, job.getJobId()))
+                .expectError(ReportJobNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldPurgeJobsAbandonedByAnotherInstance() throws IOException {
+        manager = createManager(2, Duration.ofMillis(1));
+        UUID jobId = UUID.randomUUID();
+        Path part = Files.writeString(spoolDirectory.resolve(jobId + ".part"), "Date,Customer");
+        reportJobRepository.save(ReportJob.builder()
+                .jobId(jobId)
+                .clientId(1L)
+                .status(ReportJobStatus.RUNNING)
+                .createdAt(OffsetDateTime.now())
+                .build()).block();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            manager.purgeExpiredJobs().block();
+            assertThat(part).doesNotExist();
+        });
+        assertThat(reportJobRepository.jobs).doesNotContainKey(jobId);
+    }
+
+    private ReportJob awaitStatus(UUID jobId, ReportJobStatus status) {
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> reportJobRepository.jobs.get(jobId).getStatus() == status);
+        return reportJobRepository.jobs.get(jobId);
+    }
+
+    private ReportJobManager createManager(int maxJobsPerClient, Duration ttl) {
+        return new ReportJobManager(exportClientStatementQueryHandler,
+                List.of(new CsvStatementExporter(Schedulers.immediate(), 256)),
+                new JsonStatementWriter(new AccountMapper(), objectMapper),
+                reportJobRepository, spoolDirectory.toString(), 2, maxJobsPerClient, 10, ttl);
+    }
+
+    private Flux<StatementLine> statement() {
+        return Flux.just(
+                StatementLine.builder()
+                        .customer(CustomerMother.createDefault())
+                        .account(AccountMother.createDefault())
+                        .accountId(1L)
+                        .movement(MovementMother.createDefault())
+                        .build(),
+                StatementLine.builder()
+                        .accountId(1L)
+                        .movement(MovementMother.createWithId(2L))
+                        .build());
+    }
+
+    /**
+     * The report_jobs table as seen by every instance, with its refresh time per job.
+     */
+    private static class InMemoryReportJobRepository implements ReportJobRepository {
+
+        private final Map<UUID, ReportJob> jobs = new ConcurrentHashMap<>();
+        private final Map<UUID, OffsetDateTime> updatedAt = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<ReportJob> save(ReportJob job) {
+            return Mono.fromCallable(() -> {
+                jobs.put(job.getJobId(), job);
+                updatedAt.put(job.getJobId(), OffsetDateTime.now());
+                return job;
+            });
+        }
+
+        @Override
+        public Mono<ReportJob> findById(UUID jobId) {
+            return Mono.fromCallable(() -> jobs.get(jobId));
+        }
+
+        @Override
+        public Mono<Void> updateProgress(UUID jobId, long processedMovements) {
+            return Mono.fromRunnable(() -> jobs.computeIfPresent(jobId, (id, job) -> {
+                if (job.getStatus() != ReportJobStatus.QUEUED && job.getStatus() != ReportJobStatus.RUNNING) {
+                    return job;
+                }
+                updatedAt.put(jobId, OffsetDateTime.now());
+                return job.toBuilder().processedMovements(processedMovements).build();
+            }));
+        }
+
+        @Override
+        public Flux<ReportJob> findExpired(OffsetDateTime now, OffsetDateTime abandonedBefore) {
+            return Flux.fromStream(() -> jobs.values().stream()
+                    .filter(job -> job.getExpiresAt() != null
+                            ? job.getExpiresAt().isBefore(now)
+                            : updatedAt.get(job.getJobId()).isBefore(abandonedBefore)));
+        }
+
+        @Override
+        public Mono<Void> delete(UUID jobId) {
+            return Mono.fromRunnable(() -> {
+                jobs.remove(jobId);
+                updatedAt.remove(jobId);
+            });
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.nttdata.account.application.deregister_customer.DeregisterCustomerCommandHandler;
+import com.nttdata.account.application.register_customer.RegisterCustomerCommand;
+import com.nttdata.account.application.register_customer.RegisterCustomerCommandHandler;
+import com.nttdata.account.application.register_customers.RegisterCustomersCommandHandler;
+import com.nttdata.account.domain.CustomerMother;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerEventBatchConsumerTest {
+
+    @Mock
+    private RegisterCustomersCommandHandler registerCustomersCommandHandler;
+
+    @Mock
+    private RegisterCustomerCommandHandler registerCustomerCommandHandler;
+
+    @Mock
+    private DeregisterCustomerCommandHandler deregisterCustomerCommandHandler;
+
+    @Test
+    void shouldApplyTheBatchAsOneUpsert() {
+        when(registerCustomersCommandHandler.handle(any())).thenReturn(Mono.just(2L));
+
+        consumer().consumeCustomerEvents(List.of(record(0, event(1L)), record(1, event(2L))));
+
+        verify(registerCustomersCommandHandler).handle(argThat(command -> command.getCustomers().size() == 2));
+        verifyNoInteractions(registerCustomerCommandHandler);
+    }
+
+    @Test
+    void shouldReportTheIndexOfTheEventTheBatchFailsOn() {
+        when(registerCustomersCommandHandler.handle(any())).thenReturn(Mono.error(new IllegalStateException("boom")));
+        when(registerCustomerCommandHandler.handle(any())).thenAnswer(invocation -> {
+            RegisterCustomerCommand command = invocation.getArgument(0);
+            return command.getCustomerId() == 2L
+                    ? Mono.error(new IllegalStateException("boom"))
+                    : Mono.just(CustomerMother.createWithId(command.getCustomerId()));
+        });
+
+        BatchListenerFailedException error = catchThrowableOfType(() -> consumer().consumeCustomerEvents(
+                        List.of(record(0, event(1L)), record(1, event(2L)), record(2, event(3L)))),
+                BatchListenerFailedException.class);
+
+        assertThat(error.getIndex()).isEqualTo(1);
+        verify(registerCustomerCommandHandler, times(2)).handle(any());
+    }
+
+    @Test
+    void shouldApplyTheEventsBeforeAnUnreadableRecordAndStopAtIt() {
+        when(registerCustomersCommandHandler.handle(any())).thenReturn(Mono.just(1L));
+
+        BatchListenerFailedException error = catchThrowableOfType(() -> consumer().consumeCustomerEvents(
+                        List.of(record(0, event(1L)), record(1, null), record(2, event(3L)))),
+                BatchListenerFailedException.class);
+
+        assertThat(error.getIndex()).isEqualTo(1);
+        assertThat(error.getCause()).isInstanceOf(DeserializationException.class);
+        verify(registerCustomersCommandHandler).handle(argThat(command -> command.getCustomers().size() == 1
+                && command.getCustomers().get(0).getCustomerId() == 1L));
+    }
+
+    private CustomerEventBatchConsumer consumer() {
+        return new CustomerEventBatchConsumer(registerCustomersCommandHandler,
+                new CustomerEventDispatcher(registerCustomerCommandHandler, deregisterCustomerCommandHandler));
+    }
+
+    private ConsumerRecord<String, CustomerEvent> record(long offset, CustomerEvent event) {
+        return new ConsumerRecord<>("customer-events", 0, offset, "key", event);
+    }
+
+    private CustomerEvent event(Long customerId) {
+        return CustomerEvent.builder()
+                .eventType(CustomerEvent.CREATED)
+                .aggregateId(String.valueOf(customerId))
+                .name("Jose Lema")
+                .version(1L)
+                .build();
+    }
+}
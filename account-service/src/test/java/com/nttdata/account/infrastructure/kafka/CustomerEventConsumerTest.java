@@ -0,0 +1,227 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.nttdata.account.application.deregister_customer.DeregisterCustomerCommand;
+import com.nttdata.account.application.deregister_customer.DeregisterCustomerCommandHandler;
+import com.nttdata.account.application.register_customer.RegisterCustomerCommand;
+import com.nttdata.account.application.register_customer.RegisterCustomerCommandHandler;
+import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.CustomerMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerEventConsumerTest {
+
+    private static final CustomerEventConsumer.Stage MAIN =
+            new CustomerEventConsumer.Stage("customer-events", Duration.ZERO);
+
+    @Mock
+    private RegisterCustomerCommandHandler registerCustomerCommandHandler;
+
+    @Mock
+    private DeregisterCustomerCommandHandler deregisterCustomerCommandHandler;
+
+    @Mock
+    private KafkaSender<String, CustomerEvent> customerEventsSender;
+
+    @Mock
+    private CustomerEventDeadLetterQueue customerEventDeadLetterQueue;
+
+    @Mock
+    private KafkaReceiver<String, CustomerEvent> receiver;
+
+    private final CustomerEventTopics customerEventTopics = new CustomerEventTopics("customer-events",
+            List.of(Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(60)));
+
+    @Test
+    void shouldReadMainTopicAndEveryRetryTier() {
+        assertThat(consumer().stages())
+                .extracting(CustomerEventConsumer.Stage::topic)
+                .containsExactly("customer-events", "customer-events-retry-1s", "customer-events-retry-10s",
+                        "customer-events-retry-60s");
+    }
+
+    @Test
+    void shouldAcknowledgeOffsetOnlyAfterUpsertSucceeded() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        Sinks.One<Customer> upsert = Sinks.one();
+        when(registerCustomerCommandHandler.handle(any())).thenReturn(upsert.asMono());
+        when(receiver.receive()).thenReturn(Flux.just(record("customer-events", event(1L), offset)));
+
+        StepVerifier.create(consumer().consume(receiver, MAIN))
+                .then(() -> verify(offset, never()).acknowledge())
+                .then(() -> upsert.tryEmitValue(CustomerMother.createWithId(1L)))
+                .verifyComplete();
+
+        verify(offset).acknowledge();
+        verifyNoInteractions(customerEventsSender);
+    }
+
+    @Test
+    void shouldMoveFailedEventToFirstRetryTierAndAcknowledgeIt() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        List<ProducerRecord<String, CustomerEvent>> sent = captureSent();
+        when(registerCustomerCommandHandler.handle(any()))
+                .thenReturn(Mono.error(new IllegalStateException("database unavailable")));
+        when(receiver.receive()).thenReturn(Flux.just(record("customer-events", event(1L), offset)));
+
+        StepVerifier.create(consumer().consume(receiver, MAIN))
+                .verifyComplete();
+
+        assertThat(sent).hasSize(1);
+        ProducerRecord<String, CustomerEvent> retry = sent.get(0);
+        assertThat(retry.topic()).isEqualTo("customer-events-retry-1s");
+        assertThat(retry.value().getCustomerId()).isEqualTo(1L);
+        assertThat(new String(retry.headers().lastHeader(CustomerEventTopics.ORIGINAL_TOPIC_HEADER).value()))
+                .isEqualTo("customer-events");
+        assertThat(new String(retry.headers().lastHeader(CustomerEventTopics.ERROR_HEADER).value()))
+                .isEqualTo("database unavailable");
+        verify(offset).acknowledge();
+    }
+
+    @Test
+    void shouldMoveEventFailingInLastTierToDeadLetterTopic() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        List<ProducerRecord<String, CustomerEvent>> sent = captureSent();
+        when(registerCustomerCommandHandler.handle(any()))
+                .thenReturn(Mono.error(new IllegalStateException("database unavailable")));
+        when(receiver.receive()).thenReturn(Flux.just(record("customer-events-retry-60s", event(1L), offset)));
+
+        StepVerifier.create(consumer().consume(receiver,
+                        new CustomerEventConsumer.Stage("customer-events-retry-60s", Duration.ofSeconds(60))))
+                .verifyComplete();
+
+        assertThat(sent).extracting(ProducerRecord::topic).containsExactly("customer-events-dlt");
+        verify(offset).acknowledge();
+    }
+
+    @Test
+    void shouldDeadLetterUnreadableEventsBeforeAcknowledgingThem() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        Sinks.Empty<Void> stored = Sinks.empty();
+        when(customerEventDeadLetterQueue.recordUnreadable(any())).thenReturn(stored.asMono());
+        when(receiver.receive()).thenReturn(Flux.just(record("customer-events", null, offset)));
+
+        StepVerifier.create(consumer().consume(receiver, MAIN))
+                .then(() -> verify(offset, never()).acknowledge())
+                .then(stored::tryEmitEmpty)
+                .verifyComplete();
+
+        verify(offset).acknowledge();
+        verifyNoInteractions(registerCustomerCommandHandler, customerEventsSender);
+    }
+
+    @Test
+    void shouldApplyUpdatedEventAsVersionedUpsert() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        ArgumentCaptor<RegisterCustomerCommand> captor = ArgumentCaptor.forClass(RegisterCustomerCommand.class);
+        when(registerCustomerCommandHandler.handle(captor.capture()))
+                .thenReturn(Mono.just(CustomerMother.createWithId(1L)));
+        when(receiver.receive()).thenReturn(Flux.just(record("customer-events", event(CustomerEvent.UPDATED, 1L), offset)));
+
+        StepVerifier.create(consumer().consume(receiver, MAIN))
+                .verifyComplete();
+
+        assertThat(captor.getValue().getCustomerId()).isEqualTo(1L);
+        assertThat(captor.getValue().getVersion()).isEqualTo(1L);
+        verify(offset).acknowledge();
+        verifyNoInteractions(deregisterCustomerCommandHandler);
+    }
+
+    @Test
+    void shouldApplyDeletedEventAsVersionedTombstone() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        ArgumentCaptor<DeregisterCustomerCommand> captor = ArgumentCaptor.forClass(DeregisterCustomerCommand.class);
+        when(deregisterCustomerCommandHandler.handle(captor.capture())).thenReturn(Mono.empty());
+        when(receiver.receive()).thenReturn(Flux.just(record("customer-events", event(CustomerEvent.DELETED, 1L), offset)));
+
+        StepVerifier.create(consumer().consume(receiver, MAIN))
+                .verifyComplete();
+
+        assertThat(captor.getValue().getCustomerId()).isEqualTo(1L);
+        assertThat(captor.getValue().getVersion()).isEqualTo(1L);
+        verify(offset).acknowledge();
+        verifyNoInteractions(registerCustomerCommandHandler);
+    }
+
+    @Test
+    void shouldMoveEventOfUnsupportedTypeToFirstRetryTier() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        List<ProducerRecord<String, CustomerEvent>> sent = captureSent();
+        when(receiver.receive()).thenReturn(Flux.just(record("customer-events", event("CustomerMerged", 1L), offset)));
+
+        StepVerifier.create(consumer().consume(receiver, MAIN))
+                .verifyComplete();
+
+        assertThat(sent).extracting(ProducerRecord::topic).containsExactly("customer-events-retry-1s");
+        verify(offset).acknowledge();
+        verifyNoInteractions(registerCustomerCommandHandler, deregisterCustomerCommandHandler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CustomerEventConsumer consumer() {
+        return new CustomerEventConsumer(
+                new CustomerEventDispatcher(registerCustomerCommandHandler, deregisterCustomerCommandHandler),
+                customerEventsSender,
+                customerEventDeadLetterQueue, customerEventTopics, mock(ReceiverOptions.class),
+                new SimpleMeterRegistry(), 4);
+    }
+
+    private List<ProducerRecord<String, CustomerEvent>> captureSent() {
+        List<ProducerRecord<String, CustomerEvent>> sent = new ArrayList<>();
+        doAnswer(invocation -> Flux.from(invocation.<Publisher<SenderRecord<String, CustomerEvent, Object>>>getArgument(0))
+                .doOnNext(sent::add)
+                .map(record -> mock(SenderResult.class)))
+                .when(customerEventsSender).send(any());
+        return sent;
+    }
+
+    private ReceiverRecord<String, CustomerEvent> record(String topic, CustomerEvent event,
+                                                         ReceiverOffset offset) {
+        return new ReceiverRecord<>(new ConsumerRecord<>(topic, 0, 0L, "key", event), offset);
+    }
+
+    private CustomerEvent event(Long customerId) {
+        return event(CustomerEvent.CREATED, customerId);
+    }
+
+    private CustomerEvent event(String eventType, Long customerId) {
+        return CustomerEvent.builder()
+                .eventType(eventType)
+                .aggregateId(String.valueOf(customerId))
+                .name("Jose Lema")
+                .version(1L)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerEventDeadLetterConsumerTest {
+
+    @Mock
+    private CustomerEventDeadLetterQueue customerEventDeadLetterQueue;
+
+    @Mock
+    private KafkaReceiver<String, CustomerEvent> receiver;
+
+    private final CustomerEventTopics customerEventTopics =
+            new CustomerEventTopics("customer-events", List.of(Duration.ofSeconds(1)));
+
+    @Test
+    void shouldKeepEventsReadFromDeadLetterTopicBeforeAcknowledgingThem() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        ReceiverRecord<String, CustomerEvent> record = record(event(1L), offset);
+        Sinks.Empty<Void> stored = Sinks.empty();
+        when(customerEventDeadLetterQueue.record(record)).thenReturn(stored.asMono());
+        when(receiver.receive()).thenReturn(Flux.just(record));
+
+        StepVerifier.create(consumer().consume(receiver))
+                .then(() -> verify(offset, never()).acknowledge())
+                .then(stored::tryEmitEmpty)
+                .verifyComplete();
+
+        verify(offset).acknowledge();
+    }
+
+    @Test
+    void shouldKeepUnreadableRecordsOfTheDeadLetterTopicAsReceived() {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        when(customerEventDeadLetterQueue.recordUnreadable(any())).thenReturn(Mono.empty());
+        when(receiver.receive()).thenReturn(Flux.just(record(null, offset)));
+
+        StepVerifier.create(consumer().consume(receiver))
+                .verifyComplete();
+
+        verify(customerEventDeadLetterQueue, never()).record(any());
+        verify(offset).acknowledge();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CustomerEventDeadLetterConsumer consumer() {
+        return new CustomerEventDeadLetterConsumer(customerEventDeadLetterQueue, customerEventTopics,
+                mock(ReceiverOptions.class));
+    }
+
+    private ReceiverRecord<String, CustomerEvent> record(CustomerEvent event, ReceiverOffset offset) {
+        return new ReceiverRecord<>(new ConsumerRecord<>("customer-events-dlt", 0, 0L, "key", event), offset);
+    }
+
+    private CustomerEvent event(Long customerId) {
+        return CustomerEvent.builder()
+                .eventType(CustomerEvent.CREATED)
+                .aggregateId(String.valueOf(customerId))
+                .name("Jose Lema")
+                .version(1L)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.account.domain.CustomerEventDeadLetter;
+import com.nttdata.account.domain.CustomerEventDeadLetterRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerEventDeadLetterQueueTest {
+
+    @Mock
+    private CustomerEventDeadLetterRepository customerEventDeadLetterRepository;
+
+    @Mock
+    private KafkaSender<String, CustomerEvent> customerEventsSender;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CustomerEventDeadLetterQueue customerEventDeadLetterQueue;
+
+    @BeforeEach
+    void setUp() {
+        CustomerEventTopics topics = new CustomerEventTopics("customer-events", List.of(Duration.ofSeconds(1)));
+        customerEventDeadLetterQueue = new CustomerEventDeadLetterQueue(customerEventDeadLetterRepository,
+                customerEventsSender, topics, objectMapper);
+    }
+
+    @Test
+    void shouldKeepDeadLetterWithTheCoordinatesItWasFirstReadFrom() {
+        ConsumerRecord<String, CustomerEvent> record =
+                new ConsumerRecord<>("customer-events-dlt", 0, 3L, "1", event());
+        record.headers().add(CustomerEventTopics.ORIGINAL_TOPIC_HEADER, bytes("customer-events"));
+        record.headers().add(CustomerEventTopics.ORIGINAL_PARTITION_HEADER, bytes("2"));
+        record.headers().add(CustomerEventTopics.ORIGINAL_OFFSET_HEADER, bytes("41"));
+        record.headers().add(CustomerEventTopics.ERROR_HEADER, bytes("database unavailable"));
+        ArgumentCaptor<CustomerEventDeadLetter> captor = ArgumentCaptor.forClass(CustomerEventDeadLetter.class);
+        when(customerEventDeadLetterRepository.saveIfAbsent(captor.capture())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(customerEventDeadLetterQueue.record(record))
+                .verifyComplete();
+
+        CustomerEventDeadLetter deadLetter = captor.getValue();
+        assertThat(deadLetter.getCustomerId()).isEqualTo(1L);
+        assertThat(deadLetter.getSourceTopic()).isEqualTo("customer-events");
+        assertThat(deadLetter.getSourcePartition()).isEqualTo(2);
+        assertThat(deadLetter.getSourceOffset()).isEqualTo(41L);
+        assertThat(deadLetter.getError()).isEqualTo("database unavailable");
+        assertThat(deadLetter.getPayload()).contains("\"aggregateId\":\"1\"");
+    }
+
+    @Test
+    void shouldKeepUnreadableRecordAsReceived() {
+        ConsumerRecord<String, CustomerEvent> record =
+                new ConsumerRecord<>("customer-events", 1, 5L, "1", null);
+        record.headers().add(CustomerEventAvroCodec.CONTENT_TYPE_HEADER, bytes("application/json"));
+        SerializationUtils.deserializationException(record.headers(), bytes("{not json"),
+                new IllegalStateException("Unexpected character"), false);
+        ArgumentCaptor<CustomerEventDeadLetter> captor = ArgumentCaptor.forClass(CustomerEventDeadLetter.class);
+        when(customerEventDeadLetterRepository.saveIfAbsent(captor.capture())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(customerEventDeadLetterQueue.recordUnreadable(record))
+                .verifyComplete();
+
+        CustomerEventDeadLetter deadLetter = captor.getValue();
+        assertThat(deadLetter.getPayload()).isNull();
+        assertThat(deadLetter.getSourceTopic()).isEqualTo("customer-events");
+        assertThat(deadLetter.getSourcePartition()).isEqualTo(1);
+        assertThat(deadLetter.getSourceOffset()).isEqualTo(5L);
+        assertThat(deadLetter.getError()).isEqualTo("Unexpected character");
+        assertThat(deadLetter.getRawKey()).isEqualTo("1");
+        assertThat(deadLetter.getRawValue()).isEqualTo(bytes("{not json"));
+        assertThat(deadLetter.getRawHeaders())
+                .contains(Base64.getEncoder().encodeToString(bytes("application/json")))
+                .doesNotContain(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER);
+    }
+
+    @Test
+    void shouldRedriveDeadLettersToMainTopicAndRemoveThem() throws Exception {
+        CustomerEventDeadLetter deadLetter = CustomerEventDeadLetter.builder()
+                .deadLetterId(7L)
+                .customerId(1L)
+                .payload(objectMapper.writeValueAsString(event()))
+                .build();
+        List<SenderRecord<String, CustomerEvent, Long>> sent = new ArrayList<>();
+        when(customerEventDeadLetterRepository.findOldestWithPayload(100)).thenReturn(Flux.just(deadLetter));
+        doAnswer(invocation -> Flux.from(invocation.<Publisher<SenderRecord<String, CustomerEvent, Long>>>getArgument(0))
+                .doOnNext(sent::add)
+                .map(record -> accepted(record.correlationMetadata())))
+                .when(customerEventsSender).send(any());
+        when(customerEventDeadLetterRepository.deleteByIds(List.of(7L))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(customerEventDeadLetterQueue.redrive(100))
+                .expectNext(1L)
+                .verifyComplete();
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).topic()).isEqualTo("customer-events");
+        assertThat(sent.get(0).key()).isEqualTo("1");
+        assertThat(sent.get(0).value().getName()).isEqualTo("Jose Lema");
+        verify(customerEventDeadLetterRepository).deleteByIds(List.of(7L));
+    }
+
+    private CustomerEvent event() {
+        return CustomerEvent.builder()
+                .aggregateId("1")
+                .name("Jose Lema")
+                .version(1L)
+                .build();
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <T> SenderResult<T> accepted(T correlationMetadata) {
+        return new SenderResult<>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return null;
+            }
+
+            @Override
+            public Exception exception() {
+                return null;
+            }
+
+            @Override
+            public T correlationMetadata() {
+                return correlationMetadata;
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerEventDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CustomerEventAvroCodec avroCodec =
+            new CustomerEventAvroCodec(new CustomerEventSchemaRegistry(), objectMapper);
+    private final CustomerEventDeserializer deserializer = new CustomerEventDeserializer(avroCodec, objectMapper);
+
+    @Test
+    void shouldReadAvroNamedByContentTypeHeader() {
+        Headers headers = new RecordHeaders();
+        byte[] data = new CustomerEventSerializer(avroCodec, objectMapper, true)
+                .serialize("customer-events", headers, event());
+
+        CustomerEvent event = deserializer.deserialize("customer-events", headers, data);
+
+        assertThat(header(headers, CustomerEventAvroCodec.CONTENT_TYPE_HEADER)).isEqualTo(CustomerEventAvroCodec.AVRO);
+        assertThat(header(headers, CustomerEventAvroCodec.SCHEMA_VERSION_HEADER)).isEqualTo("2");
+        assertThat(event.getCustomerId()).isEqualTo(1L);
+        assertThat(event.getEventType()).isEqualTo("CustomerCreated");
+        assertThat(event.getName()).isEqualTo("Jose Lema");
+        assertThat(event.getStatus()).isTrue();
+        assertThat(event.getOccurredOn()).isEqualTo("2024-05-01T10:15:30.123456Z");
+        assertThat(data.length).isLessThan(objectMapper.valueToTree(event).toString().length());
+    }
+
+    @Test
+    void shouldReadJsonWhenRecordHasNoContentTypeHeader() throws Exception {
+        byte[] data = objectMapper.writeValueAsBytes(event());
+
+        CustomerEvent event = deserializer.deserialize("customer-events", new RecordHeaders(), data);
+
+        assertThat(event.getCustomerId()).isEqualTo(1L);
+        assertThat(event.getName()).isEqualTo("Jose Lema");
+    }
+
+    @Test
+    void shouldReplaceCopiedHeadersWithTheEncodingWritten() {
+        Headers headers = new RecordHeaders();
+        headers.add(CustomerEventAvroCodec.CONTENT_TYPE_HEADER, bytes(CustomerEventAvroCodec.AVRO));
+        headers.add(CustomerEventAvroCodec.SCHEMA_VERSION_HEADER, bytes("1"));
+
+        byte[] data = new CustomerEventSerializer(avroCodec, objectMapper, false)
+                .serialize("customer-events-retry-1s", headers, event());
+
+        assertThat(header(headers, CustomerEventAvroCodec.CONTENT_TYPE_HEADER)).isEqualTo(CustomerEventAvroCodec.JSON);
+        assertThat(headers.lastHeader(CustomerEventAvroCodec.SCHEMA_VERSION_HEADER)).isNull();
+        assertThat(deserializer.deserialize("customer-events-retry-1s", headers, data).getCustomerId()).isEqualTo(1L);
+    }
+
+    private CustomerEvent event() {
+        return CustomerEvent.builder()
+                .eventId("3f1c2d4e-0000-4000-8000-000000000001")
+                .eventType("CustomerCreated")
+                .occurredOn("2024-05-01T10:15:30.123456Z")
+                .aggregateId("1")
+                .name("Jose Lema")
+                .status(true)
+                .build();
+    }
+
+    private String header(Headers headers, String name) {
+        return new String(headers.lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
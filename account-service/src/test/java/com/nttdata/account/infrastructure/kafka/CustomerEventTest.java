@@ -0,0 +1,41 @@
+package com.nttdata.account.infrastructure.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerEventTest {
+
+    @Test
+    void shouldPreferTheVersionSentByTheProducer() {
+        CustomerEvent event = CustomerEvent.builder()
+                .version(7L)
+                .occurredOn("2025-11-24T10:30:00Z")
+                .build();
+
+        assertThat(event.resolveVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldDeriveVersionFromIsoOccurredOn() {
+        CustomerEvent event = CustomerEvent.builder()
+                .occurredOn("2025-11-24T10:30:00.000123Z")
+                .build();
+
+        assertThat(event.resolveVersion()).isEqualTo(1_763_980_200_000_123L);
+    }
+
+    @Test
+    void shouldDeriveVersionFromNumericOccurredOn() {
+        CustomerEvent event = CustomerEvent.builder()
+                .occurredOn("1763980200.000123000")
+                .build();
+
+        assertThat(event.resolveVersion()).isEqualTo(1_763_980_200_000_123L);
+    }
+
+    @Test
+    void shouldUseVersionZeroWithoutVersionOrTime() {
+        assertThat(CustomerEvent.builder().build().resolveVersion()).isZero();
+    }
+}
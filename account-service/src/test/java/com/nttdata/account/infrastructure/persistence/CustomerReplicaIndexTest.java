@@ -0,0 +1,89 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import com.nttdata.account.domain.Customer;
+import com.nttdata.account.domain.CustomerMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerReplicaIndexTest {
+
+    private final CustomerReplicaIndex index = new CustomerReplicaIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.activate();
+    }
+
+    @Test
+    void shouldFindIndexedCustomers() {
+        Customer customer = CustomerMother.createWithId(7L);
+
+        index.put(customer);
+
+        assertThat(index.get(7L)).isSameAs(customer);
+        assertThat(index.get(8L)).isNull();
+    }
+
+    @Test
+    void shouldReplaceOnPutButNotOnPutIfAbsent() {
+        Customer replicated = CustomerMother.createWithId(7L);
+        Customer read = CustomerMother.createWithId(7L);
+        Customer updated = CustomerMother.createWithId(7L);
+
+        index.put(replicated);
+        index.putIfAbsent(read, index.generation());
+        assertThat(index.get(7L)).isSameAs(replicated);
+
+        index.put(updated);
+        assertThat(index.get(7L)).isSameAs(updated);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepEveryCustomerAcrossResizes() {
+        LongStream.rangeClosed(1, 5_000).forEach(id -> index.put(CustomerMother.createWithId(id)));
+
+        assertThat(index.size()).isEqualTo(5_000);
+        assertThat(LongStream.rangeClosed(1, 5_000).allMatch(id -> index.get(id).getCustomerId() == id)).isTrue();
+    }
+
+    @Test
+    void shouldRemoveCustomersAndReuseTheirSlots() {
+        LongStream.rangeClosed(1, 100).forEach(id -> index.put(CustomerMother.createWithId(id)));
+
+        LongStream.rangeClosed(1, 50).forEach(index::remove);
+        index.put(CustomerMother.createWithId(1L));
+
+        assertThat(index.size()).isEqualTo(51);
+        assertThat(index.get(1L)).isNotNull();
+        assertThat(index.get(2L)).isNull();
+        assertThat(index.get(100L)).isNotNull();
+    }
+
+    @Test
+    void shouldNotStoreRowsReadBeforeARemoval() {
+        long generation = index.generation();
+
+        index.remove(7L);
+        index.putIfAbsent(CustomerMother.createWithId(7L), generation);
+
+        assertThat(index.get(7L)).isNull();
+    }
+
+    @Test
+    void shouldFindAndStoreNothingWhileInactive() {
+        index.put(CustomerMother.createWithId(7L));
+
+        index.deactivate();
+        index.put(CustomerMother.createWithId(8L));
+        index.activate();
+
+        assertThat(index.get(7L)).isNull();
+        assertThat(index.get(8L)).isNull();
+        assertThat(index.size()).isZero();
+    }
+}
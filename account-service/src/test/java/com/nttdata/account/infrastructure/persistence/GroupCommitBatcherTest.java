@@ -0,0 +1,87 @@
+package com.nttdata.account.infrastructure.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupCommitBatcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DistributionSummary batchSize;
+    private Timer flushTimer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batchSize = meterRegistry.summary("batch.size");
+        flushTimer = meterRegistry.timer("flush");
+    }
+
+    @Test
+    void shouldFlushConcurrentSubmissionsTogether() {
+        List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+        GroupCommitBatcher<Integer, String> batcher = new GroupCommitBatcher<>(
+                items -> {
+                    flushed.add(items);
+                    return Mono.just(items.stream().map(i -> "ok-" + i).toList());
+                },
+                item -> Mono.error(new AssertionError("single flush not expected")),
+                10, Duration.ofMillis(50), 2, batchSize, flushTimer);
+
+        StepVerifier.create(Flux.range(0, 5).flatMap(batcher::submit).collectList())
+                .expectNextMatches(results -> results.size() == 5 && results.contains("ok-4"))
+                .verifyComplete();
+
+        assertEquals(1, flushed.size());
+        assertEquals(5, flushed.get(0).size());
+        assertEquals(1, batchSize.count());
+        assertEquals(1, flushTimer.count());
+    }
+
+    @Test
+    void shouldSplitBatchesAtMaxSize() {
+        List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+        GroupCommitBatcher<Integer, Integer> batcher = new GroupCommitBatcher<>(
+                items -> {
+                    flushed.add(items);
+                    return Mono.just(items);
+                },
+                Mono::just,
+                3, Duration.ofMillis(50), 2, batchSize, flushTimer);
+
+        StepVerifier.create(Flux.range(0, 7).flatMap(batcher::submit).collectList())
+                .expectNextMatches(results -> results.size() == 7)
+                .verifyComplete();
+
+        assertTrue(flushed.stream().allMatch(batch -> batch.size() <= 3));
+        assertEquals(7, flushed.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void shouldRetryIndividuallyWhenBatchFails() {
+        GroupCommitBatcher<Integer, Integer> batcher = new GroupCommitBatcher<>(
+                items -> Mono.error(new IllegalStateException("batch failed")),
+                item -> item == 2 ? Mono.error(new IllegalArgumentException("bad item")) : Mono.just(item * 10),
+                10, Duration.ofMillis(50), 1, batchSize, flushTimer);
+
+        StepVerifier.create(Flux.range(1, 3)
+                        .flatMap(item -> batcher.submit(item)
+                                .map(String::valueOf)
+                                .onErrorResume(IllegalArgumentException.class, error -> Mono.just("rejected")))
+                        .collectList())
+                .expectNextMatches(results -> results.containsAll(List.of("10", "rejected", "30")))
+                .verifyComplete();
+    }
+}
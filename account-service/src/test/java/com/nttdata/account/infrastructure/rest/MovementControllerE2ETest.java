@@ -4,6 +4,7 @@ import com.nttdata.account.api.model.AccountRequest;
 import com.nttdata.account.api.model.AccountResponse;
 import com.nttdata.account.api.model.MovementRequest;
 import com.nttdata.account.api.model.MovementResponse;
+import com.nttdata.account.api.model.MovementStreamResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -128,6 +129,81 @@ class MovementControllerE2ETest {
                     });
         }
 
+        @Test
+        @DisplayName("should return the original movement when retried with the same Idempotency-Key")
+        void shouldReturnOriginalMovementWhenRetriedWithSameIdempotencyKey() {
+            MovementRequest request = new MovementRequest();
+            request.setMovementType(MovementRequest.MovementTypeEnum.CREDIT);
+            request.setAmount(250.0);
+            request.setDescription("Retried deposit");
+            String idempotencyKey = "retry-" + accountId;
+
+            MovementResponse first = webTestClient.post()
+                    .uri("/api/v1/accounts/{accountId}/movements", accountId)
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(MovementResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            webTestClient.post()
+                    .uri("/api/v1/accounts/{accountId}/movements", accountId)
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(MovementResponse.class)
+                    .value(response -> {
+                        assertThat(response.getMovementId()).isEqualTo(first.getMovementId());
+                        assertThat(response.getBalance()).isEqualTo(1250.0);
+                    });
+
+            webTestClient.get()
+                    .uri("/api/v1/accounts/{accountId}", accountId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(AccountResponse.class)
+                    .value(account -> assertThat(account.getCurrentBalance()).isEqualTo(1250.0));
+        }
+
+        @Test
+        @DisplayName("should return 422 when the Idempotency-Key is reused for a different request")
+        void shouldReturn422WhenIdempotencyKeyIsReusedForDifferentRequest() {
+            MovementRequest request = new MovementRequest();
+            request.setMovementType(MovementRequest.MovementTypeEnum.CREDIT);
+            request.setAmount(250.0);
+            request.setDescription("Keyed deposit");
+            String idempotencyKey = "reused-" + accountId;
+
+            webTestClient.post()
+                    .uri("/api/v1/accounts/{accountId}/movements", accountId)
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            request.setAmount(900.0);
+            webTestClient.post()
+                    .uri("/api/v1/accounts/{accountId}/movements", accountId)
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isEqualTo(422);
+
+            webTestClient.get()
+                    .uri("/api/v1/accounts/{accountId}", accountId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(AccountResponse.class)
+                    .value(account -> assertThat(account.getCurrentBalance()).isEqualTo(1250.0));
+        }
+
         @Test
         @DisplayName("should return 400 when insufficient balance")
         void shouldReturn400WhenInsufficientBalance() {
@@ -160,6 +236,46 @@ class MovementControllerE2ETest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/accounts/{accountId}/movements:stream")
+    class StreamMovementsTests {
+
+        @Test
+        @DisplayName("should apply streamed movements and report each item")
+        void shouldApplyStreamedMovementsAndReportEachItem() {
+            String body = """
+                    {"movementType":"CREDIT","amount":500.0,"description":"Settlement 1"}
+                    {"movementType":"DEBIT","amount":5000.0,"description":"Settlement 2"}
+                    {"movementType":"DEBIT","amount":200.0,"description":"Settlement 3"}
+                    """;
+
+            webTestClient.post()
+                    .uri("/api/v1/accounts/{accountId}/movements:stream", accountId)
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .bodyValue(body)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(MovementStreamResult.class)
+                    .value(results -> {
+                        assertThat(results).hasSize(3);
+                        assertThat(results.get(0).getStatus()).isEqualTo(MovementStreamResult.StatusEnum.CREATED);
+                        assertThat(results.get(0).getMovement().getBalance()).isEqualTo(1500.0);
+                        assertThat(results.get(1).getStatus()).isEqualTo(MovementStreamResult.StatusEnum.REJECTED);
+                        assertThat(results.get(1).getError()).isEqualTo("INSUFFICIENT_BALANCE");
+                        assertThat(results.get(2).getStatus()).isEqualTo(MovementStreamResult.StatusEnum.CREATED);
+                        assertThat(results.get(2).getMovement().getBalance()).isEqualTo(1300.0);
+                    });
+
+            webTestClient.get()
+                    .uri("/api/v1/accounts/{accountId}", accountId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(AccountResponse.class)
+                    .value(account -> assertThat(account.getCurrentBalance()).isEqualTo(1300.0));
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/accounts/{accountId}/movements")
     class GetMovementsByAccountTests {
@@ -197,6 +313,64 @@ class MovementControllerE2ETest {
                         assertThat(movements).allMatch(m -> m.getAccountId().equals(accountId));
                     });
         }
+
+        @Test
+        @DisplayName("should walk movements with the next cursor")
+        void shouldWalkMovementsWithNextCursor() {
+            for (int i = 1; i <= 3; i++) {
+                MovementRequest request = new MovementRequest();
+                request.setMovementType(MovementRequest.MovementTypeEnum.CREDIT);
+                request.setAmount(100.0 * i);
+                request.setDescription("Deposit " + i);
+
+                webTestClient.post()
+                        .uri("/api/v1/accounts/{accountId}/movements", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(request)
+                        .exchange()
+                        .expectStatus().isCreated();
+            }
+
+            var firstPage = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/v1/accounts/{accountId}/movements")
+                            .queryParam("size", 2)
+                            .build(accountId))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(MovementResponse.class)
+                    .returnResult();
+            String nextCursor = firstPage.getResponseHeaders().getFirst("X-Next-Cursor");
+            assertThat(firstPage.getResponseBody()).hasSize(2);
+            assertThat(nextCursor).isNotBlank();
+
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/v1/accounts/{accountId}/movements")
+                            .queryParam("size", 2)
+                            .queryParam("cursor", nextCursor)
+                            .build(accountId))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().doesNotExist("X-Next-Cursor")
+                    .expectBodyList(MovementResponse.class)
+                    .value(movements -> {
+                        assertThat(movements).hasSize(1);
+                        assertThat(movements.get(0).getDescription()).isEqualTo("Deposit 1");
+                    });
+        }
+
+        @Test
+        @DisplayName("should return 400 for a malformed cursor")
+        void shouldReturn400ForMalformedCursor() {
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/v1/accounts/{accountId}/movements")
+                            .queryParam("cursor", "not-a-cursor")
+                            .build(accountId))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
     }
 
     @Nested
@@ -1,6 +1,8 @@
 package com.nttdata.account.infrastructure.rest;
 
 import com.nttdata.account.api.model.*;
+import com.nttdata.account.domain.MonthlyStatementRepository;
+import com.nttdata.account.infrastructure.statements.MonthlyStatementGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,9 +14,14 @@ import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
@@ -27,6 +34,12 @@ class ReportControllerE2ETest {
     @Autowired
     private DatabaseClient databaseClient;
 
+    @Autowired
+    private MonthlyStatementGenerator monthlyStatementGenerator;
+
+    @Autowired
+    private MonthlyStatementRepository monthlyStatementRepository;
+
     private static final Long CUSTOMER_ID = 200L;
     private Long savingsAccountId;
     private Long checkingAccountId;
@@ -242,4 +255,301 @@ class ReportControllerE2ETest {
                     assertThat(checkingAccount.getCurrentBalance()).isEqualTo(3500.0);
                 });
     }
+
+    @Test
+    @DisplayName("should stream account statement as NDJSON")
+    void shouldStreamAccountStatementAsNdjson() {
+        LocalDate startDate = LocalDate.now().minusDays(1);
+        LocalDate endDate = LocalDate.now().plusDays(1);
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/reports/{clientId}/stream")
+                        .queryParam("startDate", startDate.toString())
+                        .queryParam("endDate", endDate.toString())
+                        .build(CUSTOMER_ID))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(AccountStatementEvent.class)
+                .value(events -> {
+                    assertThat(events.get(0).getType()).isEqualTo(AccountStatementEvent.TypeEnum.CUSTOMER);
+                    assertThat(events.get(0).getCustomer().getCustomerId()).isEqualTo(CUSTOMER_ID);
+
+                    assertThat(events).filteredOn(e -> e.getType() == AccountStatementEvent.TypeEnum.ACCOUNT)
+                            .hasSize(2)
+                            .anySatisfy(e -> {
+                                assertThat(e.getAccount().getAccountId()).isEqualTo(savingsAccountId);
+                                assertThat(e.getAccount().getInitialBalance()).isEqualTo(5000.0);
+                                assertThat(e.getAccount().getCurrentBalance()).isEqualTo(5300.0);
+                            });
+                    assertThat(events).filteredOn(e -> e.getType() == AccountStatementEvent.TypeEnum.MOVEMENT)
+                            .hasSize(5);
+                });
+    }
+
+    @Test
+    @DisplayName("should return 404 when streaming a statement for an unknown customer")
+    void shouldReturn404WhenStreamingStatementForUnknownCustomer() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/reports/{clientId}/stream")
+                        .queryParam("startDate", LocalDate.now().minusDays(1).toString())
+                        .queryParam("endDate", LocalDate.now().plusDays(1).toString())
+                        .build(99999L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("should export account statement as CSV")
+    void shouldExportAccountStatementAsCsv() {
+        String csv = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/reports/{clientId}")
+                        .queryParam("startDate", LocalDate.now().minusDays(1).toString())
+                        .queryParam("endDate", LocalDate.now().plusDays(1).toString())
+                        .queryParam("format", "csv")
+                        .build(CUSTOMER_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectHeader().value("Content-Disposition", value -> assertThat(value).startsWith("attachment"))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        String[] lines = csv.split("\r\n");
+        assertThat(lines[0]).startsWith("Date,Customer,Account Number");
+        assertThat(lines).hasSize(6); // header + 5 movements
+        assertThat(csv).contains("Maria Garcia").contains("Salary").contains("Rent");
+    }
+
+    @Test
+    @DisplayName("should export account statement as an Excel workbook")
+    void shouldExportAccountStatementAsExcel() {
+        byte[] file = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/reports/{clientId}")
+                        .queryParam("startDate", LocalDate.now().minusDays(1).toString())
+                        .queryParam("endDate", LocalDate.now().plusDays(1).toString())
+                        .queryParam("format", "excel")
+                        .build(CUSTOMER_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Zip local file header signature
+        assertThat(file).startsWith((byte) 'P', (byte) 'K', (byte) 3, (byte) 4);
+    }
+
+    @Test
+    @DisplayName("should return 404 when exporting a statement for an unknown customer")
+    void shouldReturn404WhenExportingStatementForUnknownCustomer() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/reports/{clientId}")
+                        .queryParam("startDate", LocalDate.now().minusDays(1).toString())
+                        .queryParam("endDate", LocalDate.now().plusDays(1).toString())
+                        .queryParam("format", "csv")
+                        .build(99999L))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("should treat a deleted customer as unknown in reports, exports and monthly statements")
+    void shouldTreatDeletedCustomerAsUnknownInReports() {
+        databaseClient.sql("UPDATE customer SET deleted = TRUE, version = version + 1 WHERE customer_id = :customerId")
+                .bind("customerId", CUSTOMER_ID)
+                .then()
+                .block();
+
+        for (String format : new String[]{"json", "csv", "excel"}) {
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/v1/reports/{clientId}")
+                            .queryParam("startDate", LocalDate.now().minusDays(1).toString())
+                            .queryParam("endDate", LocalDate.now().plusDays(1).toString())
+                            .queryParam("format", format)
+                            .build(CUSTOMER_ID))
+                    .exchange()
+                    .expectStatus().isNotFound();
+        }
+        assertThat(monthlyStatementRepository.findCustomersWithoutStatement(YearMonth.of(2001, 1))
+                .collectList()
+                .block())
+                .doesNotContain(CUSTOMER_ID);
+    }
+
+    @Test
+    @DisplayName("should refresh a cached closed period when one of its movements changes on any instance")
+    void shouldRefreshCachedClosedPeriodWhenMovementChanges() {
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).minusDays(3);
+        Long movementId = databaseClient.sql("INSERT INTO movements (account_id, movement_type, amount, balance, date, description) " +
+                        "VALUES (:accountId, 'CREDIT', 100, 5100, :date, 'Backdated') RETURNING movement_id")
+                .bind("accountId", savingsAccountId)
+                .bind("date", day.atTime(12, 0).atOffset(ZoneOffset.UTC))
+                .map(row -> row.get("movement_id", Long.class))
+                .one()
+                .block();
+
+        assertThat(closedPeriodMovements(day)).isEqualTo(1);
+
+        // Changed without going through this instance, as another instance would; only the
+        // statement_changes notification can evict the cached statement
+        databaseClient.sql("UPDATE movements SET description = 'Changed' WHERE movement_id = :movementId")
+                .bind("movementId", movementId)
+                .then()
+                .block();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/reports/{clientId}")
+                        .queryParam("startDate", day.toString())
+                        .queryParam("endDate", day.toString())
+                        .build(CUSTOMER_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AccountStatementReport.class)
+                .value(report -> assertThat(report.getAccounts().stream()
+                        .flatMap(a -> a.getMovements().stream())
+                        .map(MovementDetail::getDescription))
+                        .containsExactly("Changed")));
+
+        webTestClient.delete()
+                .uri("/api/v1/accounts/{accountId}/movements/{movementId}", savingsAccountId, movementId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertThat(closedPeriodMovements(day)).isZero();
+    }
+
+    private int closedPeriodMovements(LocalDate day) {
+        AccountStatementReport report = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/reports/{clientId}")
+                        .queryParam("startDate", day.toString())
+                        .queryParam("endDate", day.toString())
+                        .build(CUSTOMER_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AccountStatementReport.class)
+                .returnResult()
+                .getResponseBody();
+        return report.getAccounts().stream()
+                .mapToInt(a -> a.getMovements().size())
+                .sum();
+    }
+
+    @Test
+    @DisplayName("should run a statement job and download its result")
+    void shouldRunStatementJobAndDownloadResult() {
+        ReportJobRequest request = new ReportJobRequest();
+        request.setStartDate(LocalDate.now().minusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(1));
+        request.setFormat(ReportJobRequest.FormatEnum.CSV);
+
+        ReportJobResponse submitted = webTestClient.post()
+                .uri("/api/v1/reports/{clientId}/jobs", CUSTOMER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().exists("Location")
+                .expectBody(ReportJobResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(submitted.getClientId()).isEqualTo(CUSTOMER_ID);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/jobs/{jobId}", CUSTOMER_ID, submitted.getJobId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ReportJobResponse.class)
+                .value(job -> {
+                    assertThat(job.getStatus()).isEqualTo(ReportJobResponse.StatusEnum.COMPLETED);
+                    assertThat(job.getProcessedMovements()).isEqualTo(5L);
+                }));
+
+        String csv = webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/jobs/{jobId}/result", CUSTOMER_ID, submitted.getJobId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(csv).startsWith("Date,Customer,Account Number").contains("Salary");
+    }
+
+    @Test
+    @DisplayName("should return 404 for a statement job of another customer")
+    void shouldReturn404ForStatementJobOfAnotherCustomer() {
+        webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/jobs/{jobId}", CUSTOMER_ID, UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("should serve a generated monthly statement with ETag and range support")
+    void shouldServeMonthlyStatementWithEtagAndRanges() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).minusMonths(1);
+        databaseClient.sql("INSERT INTO movements (account_id, movement_type, amount, balance, date, description) " +
+                        "VALUES (:accountId, 'CREDIT', 100, 5100, :date, 'Last month')")
+                .bind("accountId", savingsAccountId)
+                .bind("date", month.atDay(15).atTime(12, 0).atOffset(ZoneOffset.UTC))
+                .then()
+                .block();
+        monthlyStatementGenerator.generate(CUSTOMER_ID, month).block();
+
+        byte[] statement = webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/statements/{month}", CUSTOMER_ID, month.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/gzip")
+                .expectHeader().exists("ETag")
+                .expectHeader().valueEquals("Accept-Ranges", "bytes")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(statement).startsWith((byte) 0x1f, (byte) 0x8b);
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/statements/{month}", CUSTOMER_ID, month.toString())
+                .exchange()
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+        webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/statements/{month}", CUSTOMER_ID, month.toString())
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/statements/{month}", CUSTOMER_ID, month.toString())
+                .header("Range", "bytes=0-9")
+                .exchange()
+                .expectStatus().isEqualTo(206)
+                .expectHeader().valueEquals("Content-Range", "bytes 0-9/" + statement.length)
+                .expectBody(byte[].class)
+                .value(part -> assertThat(part).hasSize(10));
+    }
+
+    @Test
+    @DisplayName("should return 404 for a monthly statement that has not been generated")
+    void shouldReturn404ForMissingMonthlyStatement() {
+        webTestClient.get()
+                .uri("/api/v1/reports/{clientId}/statements/{month}", CUSTOMER_ID, "2001-01")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorResponse.class)
+                .value(error -> assertThat(error.getError()).isEqualTo("MONTHLY_STATEMENT_NOT_FOUND"));
+    }
 }
@@ -0,0 +1,184 @@
+package com.nttdata.account.infrastructure.statements;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nttdata.account.api.model.AccountStatementReport;
+import com.nttdata.account.application.AccountMapper;
+import com.nttdata.account.application.get_client_report.AccountReport;
+import com.nttdata.account.application.get_client_report.ClientReport;
+import com.nttdata.account.application.get_client_report.GetClientReportQuery;
+import com.nttdata.account.application.get_client_report.GetClientReportQueryHandler;
+import com.nttdata.account.domain.AccountMother;
+import com.nttdata.account.domain.CustomerMother;
+import com.nttdata.account.domain.MonthlyStatement;
+import com.nttdata.account.domain.MonthlyStatementRepository;
+import com.nttdata.account.domain.MovementMother;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyStatementGeneratorTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+
+    @Mock
+    private MonthlyStatementRepository monthlyStatementRepository;
+
+    @Mock
+    private GetClientReportQueryHandler getClientReportQueryHandler;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldWriteCompressedStatementOfTheClosedMonth() throws IOException {
+        when(getClientReportQueryHandler.handle(any(GetClientReportQuery.class))).thenReturn(Mono.just(report()));
+        when(monthlyStatementRepository.saveIfAbsent(any(MonthlyStatement.class))).thenReturn(Mono.just(true));
+
+        MonthlyStatement statement = createGenerator().generate(1L, MONTH).block();
+
+        Path file = createGenerator().resolve(statement);
+        assertThat(statement.getFileName()).isEqualTo("2025-11/1-" + statement.getEtag() + ".json.gz");
+        assertThat(statement.getEtag()).hasSize(32);
+        assertThat(statement.getSizeBytes()).isEqualTo(Files.size(file));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            AccountStatementReport report = objectMapper.readValue(in, AccountStatementReport.class);
+            assertThat(report.getCustomer().getCustomerId()).isEqualTo(1L);
+            assertThat(report.getStartDate()).isEqualTo(LocalDate.parse("2025-11-01"));
+            assertThat(report.getEndDate()).isEqualTo(LocalDate.parse("2025-11-30"));
+            assertThat(report.getAccounts()).singleElement()
+                    .satisfies(account -> assertThat(account.getMovements()).hasSize(1));
+        }
+
+        ArgumentCaptor<GetClientReportQuery> query = ArgumentCaptor.forClass(GetClientReportQuery.class);
+        verify(getClientReportQueryHandler).handle(query.capture());
+        assertThat(query.getValue().getStartDate()).isEqualTo(OffsetDateTime.of(2025, 11, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(query.getValue().getEndDate()).isEqualTo(OffsetDateTime.of(2025, 12, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldDiscardFileWhenAnotherInstanceIndexedTheStatementFirst() throws IOException {
+        when(getClientReportQueryHandler.handle(any(GetClientReportQuery.class))).thenReturn(Mono.just(report()));
+        when(monthlyStatementRepository.saveIfAbsent(any(MonthlyStatement.class))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(createGenerator().generate(1L, MONTH))
+                .verifyComplete();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldSkipCustomersThatFail() {
+        when(monthlyStatementRepository.findCustomersWithoutStatement(MONTH)).thenReturn(Flux.just(1L, 2L));
+        when(getClientReportQueryHandler.handle(any(GetClientReportQuery.class)))
+                .thenReturn(Mono.error(new IllegalStateException("boom")))
+                .thenReturn(Mono.just(report()));
+        when(monthlyStatementRepository.saveIfAbsent(any(MonthlyStatement.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(createGenerator().generate(MONTH))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldServeIndexedStatementWhenItsFileIsPresent() {
+        when(getClientReportQueryHandler.handle(any(GetClientReportQuery.class))).thenReturn(Mono.just(report()));
+        when(monthlyStatementRepository.saveIfAbsent(any(MonthlyStatement.class))).thenReturn(Mono.just(true));
+        MonthlyStatement statement = createGenerator().generate(1L, MONTH).block();
+
+        StepVerifier.create(createGenerator().available(statement))
+                .expectNext(statement)
+                .verifyComplete();
+
+        verify(getClientReportQueryHandler, times(1)).handle(any(GetClientReportQuery.class));
+    }
+
+    @Test
+    void shouldRenderIndexedStatementWithTheSameEtagWhenItsFileIsMissing() throws IOException {
+        when(getClientReportQueryHandler.handle(any(GetClientReportQuery.class))).thenReturn(Mono.just(report()));
+        when(monthlyStatementRepository.saveIfAbsent(any(MonthlyStatement.class))).thenReturn(Mono.just(true));
+        MonthlyStatementGenerator generator = createGenerator();
+        MonthlyStatement statement = generator.generate(1L, MONTH).block();
+        byte[] content = Files.readAllBytes(generator.resolve(statement));
+        Files.delete(generator.resolve(statement));
+
+        StepVerifier.create(generator.available(statement))
+                .expectNext(statement)
+                .verifyComplete();
+
+        // Rendered with the indexed generation time, the file is the one the index points at
+        assertThat(Files.readAllBytes(generator.resolve(statement))).isEqualTo(content);
+        verify(getClientReportQueryHandler, times(2)).handle(any(GetClientReportQuery.class));
+    }
+
+    @Test
+    void shouldRenderStatementLocallyOnceWhenIndexedFileIsOnAnotherInstance() {
+        when(getClientReportQueryHandler.handle(any(GetClientReportQuery.class))).thenReturn(Mono.just(report()));
+        MonthlyStatement indexed = MonthlyStatement.builder()
+                .customerId(1L)
+                .month(MONTH)
+                .fileName("2025-11/1-0123456789abcdef0123456789abcdef.json.gz")
+                .sizeBytes(10L)
+                .etag("0123456789abcdef0123456789abcdef")
+                .generatedAt(OffsetDateTime.now())
+                .build();
+        MonthlyStatementGenerator generator = createGenerator();
+
+        // The month's data no longer matches the indexed ETag, so the new rendering is served instead
+        MonthlyStatement rendered = generator.available(indexed).block();
+        MonthlyStatement servedAgain = generator.available(indexed).block();
+
+        assertThat(Files.exists(generator.resolve(rendered))).isTrue();
+        assertThat(rendered.getEtag()).isNotEqualTo(indexed.getEtag());
+        assertThat(servedAgain.getFileName()).isEqualTo(rendered.getFileName());
+        assertThat(servedAgain.getEtag()).isEqualTo(rendered.getEtag());
+        // The second request finds the local file instead of rendering again; the index is left alone
+        verify(getClientReportQueryHandler, times(1)).handle(any(GetClientReportQuery.class));
+        verify(monthlyStatementRepository, never()).saveIfAbsent(any(MonthlyStatement.class));
+    }
+
+    private MonthlyStatementGenerator createGenerator() {
+        return new MonthlyStatementGenerator(monthlyStatementRepository, getClientReportQueryHandler,
+                new AccountMapper(), objectMapper, directory.toString(), 1);
+    }
+
+    private ClientReport report() {
+        return ClientReport.builder()
+                .customer(CustomerMother.createDefault())
+                .accounts(List.of(AccountReport.builder()
+                        .account(AccountMother.createDefault())
+                        .movements(List.of(MovementMother.createDefault()))
+                        .build()))
+                .build();
+    }
+}
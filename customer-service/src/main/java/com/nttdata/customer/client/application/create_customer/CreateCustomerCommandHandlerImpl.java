@@ -7,6 +7,7 @@ import com.nttdata.customer.client.domain.CustomerRepository;
 import com.nttdata.customer.client.domain.DomainEventPublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
 import java.time.OffsetDateTime;
@@ -17,7 +18,12 @@ public class CreateCustomerCommandHandlerImpl implements CreateCustomerCommandHa
 
     private final CustomerRepository customerRepository;
     private final DomainEventPublisher domainEventPublisher;
+    private final TransactionalOperator transactionalOperator;
 
+    /**
+     * Saves the customer and records its creation event in one transaction. The event goes to the
+     * outbox, so the request does not wait for the broker.
+     */
     @Override
     public Mono<Customer> handle(CreateCustomerCommand command) {
         return customerRepository.existsByIdentification(command.getIdentification())
@@ -27,7 +33,8 @@ public class CreateCustomerCommandHandlerImpl implements CreateCustomerCommandHa
                     }
                     return customerRepository.save(buildCustomer(command));
                 })
-                .flatMap(this::publishCustomerCreatedEvent);
+                .flatMap(this::publishCustomerCreatedEvent)
+                .as(transactionalOperator::transactional);
     }
 
     private Mono<Customer> publishCustomerCreatedEvent(Customer customer) {
@@ -48,6 +55,7 @@ public class CreateCustomerCommandHandlerImpl implements CreateCustomerCommandHa
                 .status(command.getStatus())
                 .createdAt(now)
                 .updatedAt(now)
+                .version(Customer.firstVersion(now.toInstant()))
                 .build();
     }
 }
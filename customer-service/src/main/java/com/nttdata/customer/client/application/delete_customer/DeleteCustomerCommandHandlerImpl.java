@@ -1,21 +1,34 @@
 package com.nttdata.customer.client.application.delete_customer;
 
+import com.nttdata.customer.client.domain.CustomerDeletedEvent;
 import com.nttdata.customer.client.domain.CustomerNotFoundException;
 import com.nttdata.customer.client.domain.CustomerRepository;
+import com.nttdata.customer.client.domain.DomainEventPublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 @Service
 @RequiredArgsConstructor
 public class DeleteCustomerCommandHandlerImpl implements DeleteCustomerCommandHandler {
 
     private final CustomerRepository customerRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TransactionalOperator transactionalOperator;
 
+    /**
+     * Deletes the customer and records its deletion event, versioned past its last change, in
+     * one transaction.
+     */
     @Override
     public Mono<Void> handle(DeleteCustomerCommand command) {
-        return customerRepository.findById(command.getCustomerId())
+        return customerRepository.findByIdForUpdate(command.getCustomerId())
                 .switchIfEmpty(Mono.error(new CustomerNotFoundException(command.getCustomerId())))
-                .flatMap(customer -> customerRepository.deleteById(customer.getCustomerId()));
+                .flatMap(customer -> customerRepository.deleteById(customer.getCustomerId())
+                        .then(domainEventPublisher.publish(CustomerDeletedEvent.fromCustomer(customer, Instant.now()))))
+                .as(transactionalOperator::transactional);
     }
 }
@@ -3,8 +3,11 @@ package com.nttdata.customer.client.application.update_customer;
 import com.nttdata.customer.client.domain.Customer;
 import com.nttdata.customer.client.domain.CustomerNotFoundException;
 import com.nttdata.customer.client.domain.CustomerRepository;
+import com.nttdata.customer.client.domain.CustomerUpdatedEvent;
+import com.nttdata.customer.client.domain.DomainEventPublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
 import java.time.OffsetDateTime;
@@ -14,12 +17,20 @@ import java.time.OffsetDateTime;
 public class UpdateCustomerCommandHandlerImpl implements UpdateCustomerCommandHandler {
 
     private final CustomerRepository customerRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TransactionalOperator transactionalOperator;
 
+    /**
+     * Saves the change under the next version of the customer and records its update event in
+     * one transaction. The customer stays locked meanwhile, so concurrent updates are versioned
+     * in the order they are applied.
+     */
     @Override
     public Mono<Customer> handle(UpdateCustomerCommand command) {
-        return customerRepository.findById(command.getCustomerId())
+        return customerRepository.findByIdForUpdate(command.getCustomerId())
                 .switchIfEmpty(Mono.error(new CustomerNotFoundException(command.getCustomerId())))
                 .flatMap(existingCustomer -> {
+                    OffsetDateTime now = OffsetDateTime.now();
                     Customer updatedCustomer = Customer.builder()
                             .customerId(existingCustomer.getCustomerId())
                             .name(command.getName())
@@ -30,9 +41,17 @@ public class UpdateCustomerCommandHandlerImpl implements UpdateCustomerCommandHa
                             .password(command.getPassword())
                             .status(command.getStatus())
                             .createdAt(existingCustomer.getCreatedAt())
-                            .updatedAt(OffsetDateTime.now())
+                            .updatedAt(now)
+                            .version(existingCustomer.nextVersion(now.toInstant()))
                             .build();
                     return customerRepository.save(updatedCustomer);
-                });
+                })
+                .flatMap(this::publishCustomerUpdatedEvent)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Customer> publishCustomerUpdatedEvent(Customer customer) {
+        return domainEventPublisher.publish(CustomerUpdatedEvent.fromCustomer(customer))
+                .thenReturn(customer);
     }
 }
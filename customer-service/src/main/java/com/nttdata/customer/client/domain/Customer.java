@@ -6,7 +6,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Getter
 @Setter
@@ -20,4 +22,21 @@ public class Customer extends Person {
     private Boolean status;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+    private Long version;
+
+    /**
+     * Version of a customer created at the given time: the time in microseconds since the epoch.
+     */
+    public static long firstVersion(Instant createdAt) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, createdAt);
+    }
+
+    /**
+     * Version of the next change of this customer: one past the current version, but never behind
+     * the time of the change, so that it also orders after events that carried only their time.
+     */
+    public long nextVersion(Instant changedAt) {
+        long next = version != null ? version + 1 : 0L;
+        return Math.max(next, firstVersion(changedAt));
+    }
 }
@@ -26,6 +26,7 @@ public class CustomerCreatedEvent implements DomainEvent {
     private final String address;
     private final String phone;
     private final Boolean status;
+    private final Long version;
 
     public static CustomerCreatedEvent fromCustomer(Customer customer) {
         return CustomerCreatedEvent.builder()
@@ -36,6 +37,7 @@ public class CustomerCreatedEvent implements DomainEvent {
                 .address(customer.getAddress())
                 .phone(customer.getPhone())
                 .status(customer.getStatus())
+                .version(customer.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,36 @@
+package com.nttdata.customer.client.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised when a customer is deleted. Its version is past the last one of the customer, so
+ * replicas can tell it from the changes that came before.
+ */
+@Getter
+@Builder
+public class CustomerDeletedEvent implements DomainEvent {
+
+    @Builder.Default
+    private final String eventId = UUID.randomUUID().toString();
+
+    @Builder.Default
+    private final String eventType = "CustomerDeleted";
+
+    @Builder.Default
+    private final Instant occurredOn = Instant.now();
+
+    private final String aggregateId;
+    private final Long version;
+
+    public static CustomerDeletedEvent fromCustomer(Customer customer, Instant deletedAt) {
+        return CustomerDeletedEvent.builder()
+                .aggregateId(String.valueOf(customer.getCustomerId()))
+                .occurredOn(deletedAt)
+                .version(customer.nextVersion(deletedAt))
+                .build();
+    }
+}
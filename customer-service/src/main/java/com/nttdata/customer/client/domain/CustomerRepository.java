@@ -9,6 +9,12 @@ public interface CustomerRepository {
 
     Mono<Customer> findById(Long id);
 
+    /**
+     * Finds the customer and locks it until the surrounding transaction ends, so that changes of
+     * one customer, and the versions they are given, follow one another.
+     */
+    Mono<Customer> findByIdForUpdate(Long id);
+
     Mono<Customer> findByIdentification(String identification);
 
     Flux<Customer> findAll();
@@ -0,0 +1,43 @@
+package com.nttdata.customer.client.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class CustomerUpdatedEvent implements DomainEvent {
+
+    @Builder.Default
+    private final String eventId = UUID.randomUUID().toString();
+
+    @Builder.Default
+    private final String eventType = "CustomerUpdated";
+
+    @Builder.Default
+    private final Instant occurredOn = Instant.now();
+
+    private final String aggregateId;
+    private final String name;
+    private final String identification;
+    private final String gender;
+    private final String address;
+    private final String phone;
+    private final Boolean status;
+    private final Long version;
+
+    public static CustomerUpdatedEvent fromCustomer(Customer customer) {
+        return CustomerUpdatedEvent.builder()
+                .aggregateId(String.valueOf(customer.getCustomerId()))
+                .name(customer.getName())
+                .identification(customer.getIdentification())
+                .gender(customer.getGender() != null ? customer.getGender().name() : null)
+                .address(customer.getAddress())
+                .phone(customer.getPhone())
+                .status(customer.getStatus())
+                .version(customer.getVersion())
+                .build();
+    }
+}
@@ -1,8 +1,14 @@
 package com.nttdata.customer.client.domain;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface DomainEventPublisher {
 
     <T extends DomainEvent> Mono<Void> publish(T event);
+
+    /**
+     * Publishes a stream of events, in order, completing once all of them are published.
+     */
+    <T extends DomainEvent> Mono<Void> publishAll(Flux<T> events);
 }
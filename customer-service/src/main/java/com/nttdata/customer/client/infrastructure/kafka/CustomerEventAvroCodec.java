@@ -0,0 +1,99 @@
+package com.nttdata.customer.client.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Avro binary encoding of customer events. Events are mapped field by field from their JSON form
+ * onto the latest schema, so the same event classes and outbox payloads serve both encodings.
+ */
+@Component
+public class CustomerEventAvroCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String SCHEMA_VERSION_HEADER = "customer-event-schema-version";
+    public static final String AVRO = "application/avro";
+    public static final String JSON = "application/json";
+
+    private final CustomerEventSchemaRegistry schemaRegistry;
+    private final ObjectMapper objectMapper;
+    private final GenericDatumWriter<GenericRecord> writer;
+
+    public CustomerEventAvroCodec(CustomerEventSchemaRegistry schemaRegistry, ObjectMapper objectMapper) {
+        this.schemaRegistry = schemaRegistry;
+        this.objectMapper = objectMapper;
+        this.writer = new GenericDatumWriter<>(schemaRegistry.latest());
+    }
+
+    public int schemaVersion() {
+        return schemaRegistry.latestVersion();
+    }
+
+    public byte[] encode(Object event) {
+        JsonNode fields = event instanceof JsonNode node ? node : objectMapper.valueToTree(event);
+        Schema schema = schemaRegistry.latest();
+        GenericRecord record = new GenericData.Record(schema);
+        for (Schema.Field field : schema.getFields()) {
+            record.put(field.pos(), toAvro(field, field.schema(), fields.get(field.name())));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        try {
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode customer event", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Object toAvro(Schema.Field field, Schema schema, JsonNode value) {
+        if (value == null || value.isNull()) {
+            if (schema.isNullable()) {
+                return null;
+            }
+            throw new IllegalArgumentException("Customer event field " + field.name() + " is required");
+        }
+        return switch (schema.getType()) {
+            case UNION -> toAvro(field, nonNull(schema), value);
+            case STRING -> value.asText();
+            case BOOLEAN -> value.asBoolean();
+            case INT -> value.asInt();
+            case LONG -> schema.getLogicalType() instanceof LogicalTypes.TimestampMicros
+                    ? toMicros(value)
+                    : value.isTextual() ? Long.parseLong(value.asText()) : value.asLong();
+            case ENUM -> new GenericData.EnumSymbol(schema, value.asText());
+            default -> throw new IllegalArgumentException("Unsupported type " + schema.getType()
+                    + " of customer event field " + field.name());
+        };
+    }
+
+    private static long toMicros(JsonNode value) {
+        // Instants are written either as ISO-8601 text or as decimal seconds
+        if (value.isNumber()) {
+            return value.decimalValue().movePointRight(6).longValue();
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse(value.asText()));
+    }
+
+    private static Schema nonNull(Schema union) {
+        return union.getTypes().stream()
+                .filter(type -> type.getType() != Schema.Type.NULL)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Union without a non-null branch: " + union));
+    }
+}
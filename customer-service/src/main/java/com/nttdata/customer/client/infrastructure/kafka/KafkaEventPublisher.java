@@ -1,47 +1,152 @@
 package com.nttdata.customer.client.infrastructure.kafka;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.nttdata.customer.client.domain.DomainEvent;
 import com.nttdata.customer.client.domain.DomainEventPublisher;
-import lombok.RequiredArgsConstructor;
+import com.nttdata.customer.client.infrastructure.outbox.OutboxMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Publishes customer events as JSON or as Avro, per {@code kafka.customer-events.encoding}. JSON,
+ * the default, is written without headers, as before, so consumers that only read JSON keep
+ * working; Avro is opted into per deployment and carries the content type and schema version in
+ * headers.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class KafkaEventPublisher implements DomainEventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    // Sends issued ahead of their acknowledgement; the producer groups them into batches meanwhile
+    private static final int MAX_PENDING_SENDS = 1024;
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
+    private final CustomerEventAvroCodec avroCodec;
+    private final boolean avro;
+    private final DistributionSummary eventsPerPublish;
 
     @Value("${kafka.topic.customer-events}")
     private String customerEventsTopic;
 
+    public KafkaEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate,
+                               ObjectMapper objectMapper,
+                               CustomerEventAvroCodec avroCodec,
+                               MeterRegistry meterRegistry,
+                               @Value("${kafka.customer-events.encoding:json}") String encoding) {
+        this.avro = switch (encoding.toLowerCase(Locale.ROOT)) {
+            case "avro" -> true;
+            case "json" -> false;
+            default -> throw new IllegalArgumentException("kafka.customer-events.encoding must be avro or json");
+        };
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.eventWriter = objectMapper.writer();
+        this.avroCodec = avroCodec;
+        this.eventsPerPublish = DistributionSummary.builder("customer.events.publish.batch.size")
+                .description("Events handed to the producer by one bulk publish")
+                .baseUnit("events")
+                .register(meterRegistry);
+    }
+
     @Override
     public <T extends DomainEvent> Mono<Void> publish(T event) {
         return Mono.fromCallable(() -> serializeEvent(event))
-                .flatMap(payload -> sendToKafka(event.getAggregateId(), payload, event.getEventType()))
-                .doOnSuccess(v -> log.info("Event published: type={}, aggregateId={}", 
+                .flatMap(payload -> sendToKafka(event.getAggregateId(), payload))
+                .doOnSuccess(v -> log.info("Event published: type={}, aggregateId={}",
                         event.getEventType(), event.getAggregateId()))
-                .doOnError(e -> log.error("Failed to publish event: type={}, aggregateId={}", 
+                .doOnError(e -> log.error("Failed to publish event: type={}, aggregateId={}",
                         event.getEventType(), event.getAggregateId(), e));
     }
 
-    private String serializeEvent(DomainEvent event) {
+    /**
+     * Publishes a stream of events at producer speed. Sends are issued in order without waiting
+     * for earlier ones to be acknowledged, so the producer packs them into few, compressed
+     * batches; the returned Mono completes once every event has been acknowledged.
+     */
+    @Override
+    public <T extends DomainEvent> Mono<Void> publishAll(Flux<T> events) {
+        return publishPayloads(events.map(event -> new Payload(event.getAggregateId(), serializeEvent(event))));
+    }
+
+    /**
+     * Publishes events already serialized in the outbox, in order.
+     */
+    public Mono<Void> publishMessages(List<OutboxMessage> messages) {
+        return publishPayloads(Flux.fromIterable(messages)
+                .map(message -> new Payload(message.getAggregateId(), serializeMessage(message))));
+    }
+
+    private Mono<Void> publishPayloads(Flux<Payload> payloads) {
+        return payloads
+                .flatMap(payload -> sendToKafka(payload.key(), payload.value()).thenReturn(1L), MAX_PENDING_SENDS)
+                // send() blocks while the producer waits for metadata or buffer space
+                .subscribeOn(Schedulers.boundedElastic())
+                .count()
+                .doOnNext(published -> {
+                    eventsPerPublish.record(published);
+                    log.info("Events published: count={}", published);
+                })
+                .doOnError(e -> log.error("Failed to publish events", e))
+                .then();
+    }
+
+    private byte[] serializeEvent(DomainEvent event) {
+        if (avro) {
+            return avroCodec.encode(event);
+        }
         try {
-            return objectMapper.writeValueAsString(event);
+            return eventWriter.writeValueAsBytes(event);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to serialize event", e);
         }
     }
 
-    private Mono<Void> sendToKafka(String key, String payload, String eventType) {
-        return Mono.fromFuture(() -> kafkaTemplate.send(customerEventsTopic, key, payload).toCompletableFuture())
+    private byte[] serializeMessage(OutboxMessage message) {
+        if (!avro) {
+            return message.getPayload().getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            JsonNode event = objectMapper.readTree(message.getPayload());
+            return avroCodec.encode(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read outbox message " + message.getOutboxId(), e);
+        }
+    }
+
+    private Mono<Void> sendToKafka(String key, byte[] payload) {
+        return Mono.fromFuture(() -> (avro
+                        ? kafkaTemplate.send(avroRecord(key, payload))
+                        : kafkaTemplate.send(customerEventsTopic, key, payload)).toCompletableFuture())
                 .then();
     }
+
+    private ProducerRecord<String, byte[]> avroRecord(String key, byte[] payload) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(customerEventsTopic, key, payload);
+        record.headers().add(new RecordHeader(CustomerEventAvroCodec.CONTENT_TYPE_HEADER,
+                CustomerEventAvroCodec.AVRO.getBytes(StandardCharsets.UTF_8)));
+        record.headers().add(new RecordHeader(CustomerEventAvroCodec.SCHEMA_VERSION_HEADER,
+                String.valueOf(avroCodec.schemaVersion()).getBytes(StandardCharsets.UTF_8)));
+        return record;
+    }
+
+    private record Payload(String key, byte[] value) {
+    }
 }
@@ -0,0 +1,66 @@
+package com.nttdata.customer.client.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.customer.client.domain.DomainEvent;
+import com.nttdata.customer.client.domain.DomainEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Publishes domain events by writing them to the outbox. Called within the transaction of the
+ * change that raised the event, the event is stored if and only if the change is; the
+ * {@link OutboxRelay} takes it to Kafka afterwards, outside of the request.
+ */
+@Slf4j
+@Primary
+@Component
+@RequiredArgsConstructor
+public class OutboxEventPublisher implements DomainEventPublisher {
+
+    // Events written by one multi-row insert
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public <T extends DomainEvent> Mono<Void> publish(T event) {
+        return Mono.fromCallable(() -> toMessage(event))
+                .flatMap(outboxRepository::save)
+                .doOnSuccess(v -> log.debug("Event written to the outbox: type={}, aggregateId={}",
+                        event.getEventType(), event.getAggregateId()));
+    }
+
+    @Override
+    public <T extends DomainEvent> Mono<Void> publishAll(Flux<T> events) {
+        return events.map(this::toMessage)
+                .buffer(INSERT_CHUNK_SIZE)
+                .concatMap(outboxRepository::saveAll)
+                .then();
+    }
+
+    private OutboxMessage toMessage(DomainEvent event) {
+        return OutboxMessage.builder()
+                .aggregateId(event.getAggregateId())
+                .eventType(event.getEventType())
+                .payload(serializeEvent(event))
+                .createdAt(OffsetDateTime.ofInstant(event.getOccurredOn(), ZoneOffset.UTC))
+                .build();
+    }
+
+    private String serializeEvent(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize event", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nttdata.customer.client.infrastructure.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A domain event waiting in the outbox, already serialized as it is published.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    private Long outboxId;
+    private String aggregateId;
+    private String eventType;
+    private String payload;
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,143 @@
+package com.nttdata.customer.client.infrastructure.outbox;
+
+import com.nttdata.customer.client.infrastructure.kafka.KafkaEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes pending outbox messages to Kafka in batches. Each batch is claimed, published and marked
+ * sent in one transaction: the claimed rows stay locked meanwhile, so other instances skip them,
+ * and a failed publish rolls the batch back to be claimed again. Events are therefore published
+ * at least once, and in outbox order within an instance.
+ * <p>
+ * With a coalescing window, an aggregate's events are held until the first of them is that old,
+ * and then only the latest of them is published, the others being marked sent with it. Every
+ * customer event carries the whole customer, or its deletion, under a higher version, so the
+ * latest event supersedes the earlier ones: a burst of edits to one customer costs one record
+ * and one replica write.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "customer.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+    private final Duration retention;
+    private final Duration coalesceWindow;
+    private final Counter coalesced;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       KafkaEventPublisher kafkaEventPublisher,
+                       TransactionalOperator transactionalOperator,
+                       MeterRegistry meterRegistry,
+                       @Value("${customer.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${customer.outbox.retention:PT24H}") Duration retention,
+                       @Value("${customer.outbox.coalesce.window:PT0S}") Duration coalesceWindow) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("customer.outbox.relay.batch-size must be greater than zero");
+        }
+        if (coalesceWindow.isNegative()) {
+            throw new IllegalArgumentException("customer.outbox.coalesce.window must not be negative");
+        }
+        this.outboxRepository = outboxRepository;
+        this.kafkaEventPublisher = kafkaEventPublisher;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.coalesceWindow = coalesceWindow;
+        this.coalesced = Counter.builder("customer.outbox.coalesced")
+                .description("Outbox messages superseded by a later message of the same aggregate and not published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox has no more pending messages, or due aggregates, than fit
+     * in one.
+     */
+    @Scheduled(fixedDelayString = "${customer.outbox.relay.interval:PT0.2S}")
+    public Mono<Void> relay() {
+        return relayBatch()
+                .expand(relayed -> relayed >= batchSize ? relayBatch() : Mono.empty())
+                .reduce(0, Integer::sum)
+                .doOnNext(relayed -> {
+                    if (relayed > 0) {
+                        log.debug("Relayed {} outbox messages", relayed);
+                    }
+                })
+                .doOnError(error -> log.error("Error relaying outbox messages: {}", error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.outbox.purge-interval:PT1H}")
+    public Mono<Void> purgeSent() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(retention);
+        return outboxRepository.deleteSentBefore(cutoff)
+                .doOnNext(deleted -> log.info("Purged {} sent outbox messages", deleted))
+                .doOnError(error -> log.error("Error purging sent outbox messages: {}", error.getMessage()))
+                .then();
+    }
+
+    Mono<Integer> relayBatch() {
+        return claim()
+                .collectList()
+                .flatMap(messages -> messages.isEmpty()
+                        ? Mono.just(0)
+                        : kafkaEventPublisher.publishMessages(coalesce(messages))
+                                .then(Mono.defer(() -> outboxRepository.markSent(ids(messages), OffsetDateTime.now())))
+                                .thenReturn(messages.size()))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Flux<OutboxMessage> claim() {
+        return coalescing()
+                ? outboxRepository.claimDueAggregates(OffsetDateTime.now().minus(coalesceWindow), batchSize)
+                : outboxRepository.claimPending(batchSize);
+    }
+
+    /**
+     * Keeps the latest message of each aggregate, in outbox order.
+     */
+    private List<OutboxMessage> coalesce(List<OutboxMessage> messages) {
+        if (!coalescing()) {
+            return messages;
+        }
+        Map<String, OutboxMessage> latest = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            latest.merge(message.getAggregateId(), message,
+                    (kept, claimed) -> claimed.getOutboxId() > kept.getOutboxId() ? claimed : kept);
+        }
+        coalesced.increment(messages.size() - latest.size());
+        return latest.values().stream()
+                .sorted(Comparator.comparing(OutboxMessage::getOutboxId))
+                .toList();
+    }
+
+    private boolean coalescing() {
+        return !coalesceWindow.isZero();
+    }
+
+    private List<Long> ids(List<OutboxMessage> messages) {
+        return messages.stream()
+                .map(OutboxMessage::getOutboxId)
+                .toList();
+    }
+}
@@ -0,0 +1,142 @@
+package com.nttdata.customer.client.infrastructure.outbox;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final String INSERT = """
+            INSERT INTO outbox (aggregate_id, event_type, payload, created_at)
+            VALUES (:aggregateId, :eventType, :payload, :createdAt)
+            """;
+
+    // Rows locked by another relay are skipped, so several instances drain the outbox side by side
+    private static final String CLAIM_PENDING = """
+            SELECT outbox_id, aggregate_id, event_type, payload, created_at
+            FROM outbox
+            WHERE sent_at IS NULL
+            ORDER BY outbox_id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    // Every pending message of the oldest aggregates whose first pending message has waited out the window
+    private static final String CLAIM_DUE_AGGREGATES = """
+            SELECT outbox_id, aggregate_id, event_type, payload, created_at
+            FROM outbox
+            WHERE sent_at IS NULL
+              AND aggregate_id IN (
+                  SELECT aggregate_id
+                  FROM outbox
+                  WHERE sent_at IS NULL
+                  GROUP BY aggregate_id
+                  HAVING min(created_at) <= :dueBefore
+                  ORDER BY min(outbox_id)
+                  LIMIT :limit)
+            ORDER BY outbox_id
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_SENT = """
+            UPDATE outbox SET sent_at = :sentAt
+            WHERE outbox_id = ANY(:ids)
+            """;
+
+    private static final String DELETE_SENT_BEFORE = """
+            DELETE FROM outbox
+            WHERE sent_at < :cutoff
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Void> save(OutboxMessage message) {
+        return databaseClient.sql(INSERT)
+                .bind("aggregateId", message.getAggregateId())
+                .bind("eventType", message.getEventType())
+                .bind("payload", message.getPayload())
+                .bind("createdAt", message.getCreatedAt())
+                .then();
+    }
+
+    /**
+     * Writes the messages with one multi-row insert.
+     */
+    public Mono<Void> saveAll(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return Mono.empty();
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO outbox (aggregate_id, event_type, payload, created_at) VALUES ");
+        for (int i = 0; i < messages.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:aggregateId").append(i)
+                    .append(", :eventType").append(i)
+                    .append(", :payload").append(i)
+                    .append(", :createdAt").append(i).append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxMessage message = messages.get(i);
+            spec = spec.bind("aggregateId" + i, message.getAggregateId())
+                    .bind("eventType" + i, message.getEventType())
+                    .bind("payload" + i, message.getPayload())
+                    .bind("createdAt" + i, message.getCreatedAt());
+        }
+        return spec.then();
+    }
+
+    /**
+     * Locks the oldest pending messages until the surrounding transaction ends.
+     */
+    public Flux<OutboxMessage> claimPending(int limit) {
+        return databaseClient.sql(CLAIM_PENDING)
+                .bind("limit", limit)
+                .map(this::toMessage)
+                .all();
+    }
+
+    /**
+     * Locks all pending messages of up to {@code limit} aggregates whose oldest pending message
+     * was written before {@code dueBefore}, until the surrounding transaction ends.
+     */
+    public Flux<OutboxMessage> claimDueAggregates(OffsetDateTime dueBefore, int limit) {
+        return databaseClient.sql(CLAIM_DUE_AGGREGATES)
+                .bind("dueBefore", dueBefore)
+                .bind("limit", limit)
+                .map(this::toMessage)
+                .all();
+    }
+
+    public Mono<Long> markSent(List<Long> outboxIds, OffsetDateTime sentAt) {
+        return databaseClient.sql(MARK_SENT)
+                .bind("ids", outboxIds.toArray(Long[]::new))
+                .bind("sentAt", sentAt)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteSentBefore(OffsetDateTime cutoff) {
+        return databaseClient.sql(DELETE_SENT_BEFORE)
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private OutboxMessage toMessage(Readable row) {
+        return OutboxMessage.builder()
+                .outboxId(row.get("outbox_id", Long.class))
+                .aggregateId(row.get("aggregate_id", String.class))
+                .eventType(row.get("event_type", String.class))
+                .payload(row.get("payload", String.class))
+                .createdAt(row.get("created_at", OffsetDateTime.class))
+                .build();
+    }
+}
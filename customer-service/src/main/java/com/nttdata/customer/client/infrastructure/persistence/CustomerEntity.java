@@ -47,4 +47,7 @@ public class CustomerEntity {
 
     @Column("updated_at")
     private OffsetDateTime updatedAt;
+
+    @Column("version")
+    private Long version;
 }
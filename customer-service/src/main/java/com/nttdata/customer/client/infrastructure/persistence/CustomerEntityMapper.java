@@ -19,6 +19,7 @@ public class CustomerEntityMapper {
                 .status(customer.getStatus())
                 .createdAt(customer.getCreatedAt())
                 .updatedAt(customer.getUpdatedAt())
+                .version(customer.getVersion() != null ? customer.getVersion() : 0L)
                 .build();
     }
 
@@ -34,6 +35,7 @@ public class CustomerEntityMapper {
                 .status(entity.getStatus())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
                 .build();
     }
 }
@@ -1,5 +1,6 @@
 package com.nttdata.customer.client.infrastructure.persistence;
 
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
@@ -10,4 +11,7 @@ public interface CustomerR2dbcRepository extends ReactiveCrudRepository<Customer
     Mono<CustomerEntity> findByIdentification(String identification);
 
     Mono<Boolean> existsByIdentification(String identification);
+
+    @Query("SELECT * FROM customer WHERE customer_id = :customerId FOR UPDATE")
+    Mono<CustomerEntity> findByIdForUpdate(Long customerId);
 }
@@ -26,6 +26,12 @@ public class CustomerRepositoryAdapter implements CustomerRepository {
                 .map(entityMapper::toDomain);
     }
 
+    @Override
+    public Mono<Customer> findByIdForUpdate(Long id) {
+        return r2dbcRepository.findByIdForUpdate(id)
+                .map(entityMapper::toDomain);
+    }
+
     @Override
     public Mono<Customer> findByIdentification(String identification) {
         return r2dbcRepository.findByIdentification(identification)
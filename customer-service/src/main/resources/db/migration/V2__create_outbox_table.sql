@@ -0,0 +1,17 @@
+-- V2__create_outbox_table.sql
+-- Domain events written in the same transaction as the change that raised them,
+-- and published to Kafka afterwards by the outbox relay
+
+-- payload: the event as JSON, published as is
+-- sent_at: when the relay published the event; NULL while it is pending
+CREATE TABLE IF NOT EXISTS outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Only pending events are ever claimed, so the relay scans a small index however large the table grows
+CREATE INDEX IF NOT EXISTS idx_outbox_pending ON outbox (outbox_id) WHERE sent_at IS NULL;
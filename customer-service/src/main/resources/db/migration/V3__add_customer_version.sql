@@ -0,0 +1,6 @@
+-- V3__add_customer_version.sql
+-- Version of the customer, carried by its events so that replicas apply them in order
+
+-- version: raised on every change and never behind the time of the change in microseconds
+-- since the epoch; 0 for customers that have not changed since
+ALTER TABLE customer ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
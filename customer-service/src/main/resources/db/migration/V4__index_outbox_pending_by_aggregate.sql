@@ -0,0 +1,4 @@
+-- V4__index_outbox_pending_by_aggregate.sql
+-- Coalescing relays claim the pending events of an aggregate together
+
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_aggregate ON outbox (aggregate_id, outbox_id) WHERE sent_at IS NULL;
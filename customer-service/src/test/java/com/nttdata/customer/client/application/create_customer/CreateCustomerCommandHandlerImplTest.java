@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -28,6 +29,9 @@ class CreateCustomerCommandHandlerImplTest {
     @Mock
     private DomainEventPublisher domainEventPublisher;
 
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private CreateCustomerCommandHandlerImpl createCustomerCommandHandler;
 
@@ -38,6 +42,7 @@ class CreateCustomerCommandHandlerImplTest {
     void setUp() {
         command = CreateCustomerCommandMother.createDefault();
         savedCustomer = CustomerMother.createDefault();
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
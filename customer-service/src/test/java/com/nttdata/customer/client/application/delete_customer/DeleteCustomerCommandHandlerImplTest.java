@@ -1,18 +1,24 @@
 package com.nttdata.customer.client.application.delete_customer;
 
 import com.nttdata.customer.client.domain.Customer;
+import com.nttdata.customer.client.domain.CustomerDeletedEvent;
 import com.nttdata.customer.client.domain.CustomerMother;
 import com.nttdata.customer.client.domain.CustomerNotFoundException;
 import com.nttdata.customer.client.domain.CustomerRepository;
+import com.nttdata.customer.client.domain.DomainEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -22,6 +28,12 @@ class DeleteCustomerCommandHandlerImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private DeleteCustomerCommandHandlerImpl deleteCustomerCommandHandler;
 
@@ -32,29 +44,31 @@ class DeleteCustomerCommandHandlerImplTest {
     void setUp() {
         command = DeleteCustomerCommandMother.createDefault();
         existingCustomer = CustomerMother.createDefault();
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
     void shouldDeleteCustomerSuccessfully() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
         when(customerRepository.deleteById(anyLong())).thenReturn(Mono.empty());
+        when(domainEventPublisher.publish(any(CustomerDeletedEvent.class))).thenReturn(Mono.empty());
 
         StepVerifier.create(deleteCustomerCommandHandler.handle(command))
                 .verifyComplete();
 
-        verify(customerRepository).findById(1L);
+        verify(customerRepository).findByIdForUpdate(1L);
         verify(customerRepository).deleteById(1L);
     }
 
     @Test
     void shouldThrowExceptionWhenCustomerNotFound() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.empty());
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.empty());
 
         StepVerifier.create(deleteCustomerCommandHandler.handle(command))
                 .expectError(CustomerNotFoundException.class)
                 .verify();
 
-        verify(customerRepository).findById(1L);
+        verify(customerRepository).findByIdForUpdate(1L);
         verify(customerRepository, never()).deleteById(anyLong());
     }
 
@@ -63,13 +77,14 @@ class DeleteCustomerCommandHandlerImplTest {
         DeleteCustomerCommand customCommand = DeleteCustomerCommandMother.createWithCustomerId(99L);
         Customer customer99 = CustomerMother.validCustomer().customerId(99L).build();
 
-        when(customerRepository.findById(99L)).thenReturn(Mono.just(customer99));
+        when(customerRepository.findByIdForUpdate(99L)).thenReturn(Mono.just(customer99));
         when(customerRepository.deleteById(99L)).thenReturn(Mono.empty());
+        when(domainEventPublisher.publish(any(CustomerDeletedEvent.class))).thenReturn(Mono.empty());
 
         StepVerifier.create(deleteCustomerCommandHandler.handle(customCommand))
                 .verifyComplete();
 
-        verify(customerRepository).findById(99L);
+        verify(customerRepository).findByIdForUpdate(99L);
         verify(customerRepository).deleteById(99L);
     }
 
@@ -77,13 +92,30 @@ class DeleteCustomerCommandHandlerImplTest {
     void shouldNotDeleteWhenCustomerDoesNotExist() {
         DeleteCustomerCommand customCommand = DeleteCustomerCommandMother.createWithCustomerId(999L);
 
-        when(customerRepository.findById(999L)).thenReturn(Mono.empty());
+        when(customerRepository.findByIdForUpdate(999L)).thenReturn(Mono.empty());
 
         StepVerifier.create(deleteCustomerCommandHandler.handle(customCommand))
                 .expectError(CustomerNotFoundException.class)
                 .verify();
 
-        verify(customerRepository).findById(999L);
+        verify(customerRepository).findByIdForUpdate(999L);
         verify(customerRepository, never()).deleteById(anyLong());
     }
+
+    @Test
+    void shouldPublishDeletedEventVersionedPastLastChange() {
+        Customer versionedCustomer = CustomerMother.validCustomer().version(41L).build();
+        ArgumentCaptor<CustomerDeletedEvent> eventCaptor = ArgumentCaptor.forClass(CustomerDeletedEvent.class);
+        when(customerRepository.findByIdForUpdate(1L)).thenReturn(Mono.just(versionedCustomer));
+        when(customerRepository.deleteById(1L)).thenReturn(Mono.empty());
+        when(domainEventPublisher.publish(eventCaptor.capture())).thenReturn(Mono.empty());
+
+        StepVerifier.create(deleteCustomerCommandHandler.handle(command))
+                .verifyComplete();
+
+        CustomerDeletedEvent event = eventCaptor.getValue();
+        assertEquals("CustomerDeleted", event.getEventType());
+        assertEquals("1", event.getAggregateId());
+        assertEquals(Customer.firstVersion(event.getOccurredOn()), event.getVersion());
+    }
 }
@@ -4,16 +4,23 @@ import com.nttdata.customer.client.domain.Customer;
 import com.nttdata.customer.client.domain.CustomerMother;
 import com.nttdata.customer.client.domain.CustomerNotFoundException;
 import com.nttdata.customer.client.domain.CustomerRepository;
+import com.nttdata.customer.client.domain.CustomerUpdatedEvent;
+import com.nttdata.customer.client.domain.DomainEventPublisher;
 import com.nttdata.customer.client.domain.Gender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -24,6 +31,12 @@ class UpdateCustomerCommandHandlerImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private UpdateCustomerCommandHandlerImpl updateCustomerCommandHandler;
 
@@ -34,6 +47,7 @@ class UpdateCustomerCommandHandlerImplTest {
     void setUp() {
         command = UpdateCustomerCommandMother.createDefault();
         existingCustomer = CustomerMother.createDefault();
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
@@ -45,8 +59,9 @@ class UpdateCustomerCommandHandlerImplTest {
                 .password("newpassword123")
                 .build();
 
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenReturn(Mono.just(updatedCustomer));
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
 
         StepVerifier.create(updateCustomerCommandHandler.handle(command))
                 .expectNextMatches(result ->
@@ -55,27 +70,29 @@ class UpdateCustomerCommandHandlerImplTest {
                         result.getPhone().equals("+573009999999"))
                 .verifyComplete();
 
-        verify(customerRepository).findById(1L);
+        verify(customerRepository).findByIdForUpdate(1L);
         verify(customerRepository).save(any(Customer.class));
     }
 
     @Test
     void shouldThrowExceptionWhenCustomerNotFound() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.empty());
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.empty());
 
         StepVerifier.create(updateCustomerCommandHandler.handle(command))
                 .expectError(CustomerNotFoundException.class)
                 .verify();
 
-        verify(customerRepository).findById(1L);
+        verify(customerRepository).findByIdForUpdate(1L);
         verify(customerRepository, never()).save(any(Customer.class));
+        verify(domainEventPublisher, never()).publish(any());
     }
 
     @Test
     void shouldPreserveIdentificationWhenUpdating() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> {
             Customer c = invocation.getArgument(0);
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
             return Mono.just(c);
         });
 
@@ -87,9 +104,10 @@ class UpdateCustomerCommandHandlerImplTest {
 
     @Test
     void shouldPreserveCreatedAtWhenUpdating() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> {
             Customer c = invocation.getArgument(0);
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
             return Mono.just(c);
         });
 
@@ -102,9 +120,10 @@ class UpdateCustomerCommandHandlerImplTest {
 
     @Test
     void shouldUpdateUpdatedAtWhenUpdating() {
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> {
             Customer c = invocation.getArgument(0);
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
             return Mono.just(c);
         });
 
@@ -120,8 +139,9 @@ class UpdateCustomerCommandHandlerImplTest {
         UpdateCustomerCommand inactiveCommand = UpdateCustomerCommandMother.createInactive();
         Customer inactiveCustomer = CustomerMother.createInactive();
 
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenReturn(Mono.just(inactiveCustomer));
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
 
         StepVerifier.create(updateCustomerCommandHandler.handle(inactiveCommand))
                 .expectNextMatches(result -> !result.getStatus())
@@ -136,8 +156,9 @@ class UpdateCustomerCommandHandlerImplTest {
                 .gender(Gender.FEMALE)
                 .build();
 
-        when(customerRepository.findById(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenReturn(Mono.just(femaleCustomer));
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
 
         StepVerifier.create(updateCustomerCommandHandler.handle(femaleCommand))
                 .expectNextMatches(result ->
@@ -151,9 +172,10 @@ class UpdateCustomerCommandHandlerImplTest {
         UpdateCustomerCommand customCommand = UpdateCustomerCommandMother.createWithCustomerId(99L);
         Customer customer99 = CustomerMother.validCustomer().customerId(99L).build();
 
-        when(customerRepository.findById(99L)).thenReturn(Mono.just(customer99));
+        when(customerRepository.findByIdForUpdate(99L)).thenReturn(Mono.just(customer99));
         when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> {
             Customer c = invocation.getArgument(0);
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
             return Mono.just(c);
         });
 
@@ -161,6 +183,39 @@ class UpdateCustomerCommandHandlerImplTest {
                 .expectNextMatches(result -> result.getCustomerId().equals(99L))
                 .verifyComplete();
 
-        verify(customerRepository).findById(99L);
+        verify(customerRepository).findByIdForUpdate(99L);
+    }
+
+    @Test
+    void shouldPublishUpdatedEventWithNextVersion() {
+        // A version ahead of the clock, as left by an instance whose clock runs fast
+        long version = Customer.firstVersion(Instant.now().plusSeconds(60));
+        Customer versionedCustomer = CustomerMother.validCustomer().version(version).build();
+        ArgumentCaptor<CustomerUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(CustomerUpdatedEvent.class);
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(versionedCustomer));
+        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(domainEventPublisher.publish(eventCaptor.capture())).thenReturn(Mono.empty());
+
+        StepVerifier.create(updateCustomerCommandHandler.handle(command))
+                .expectNextMatches(result -> result.getVersion() == version + 1)
+                .verifyComplete();
+
+        CustomerUpdatedEvent event = eventCaptor.getValue();
+        assertEquals("CustomerUpdated", event.getEventType());
+        assertEquals("1", event.getAggregateId());
+        assertEquals(version + 1, event.getVersion());
+        assertEquals("John Doe Updated", event.getName());
+    }
+
+    @Test
+    void shouldNeverVersionChangeBehindItsTime() {
+        Instant before = Instant.now();
+        when(customerRepository.findByIdForUpdate(anyLong())).thenReturn(Mono.just(existingCustomer));
+        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(domainEventPublisher.publish(any(CustomerUpdatedEvent.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(updateCustomerCommandHandler.handle(command))
+                .expectNextMatches(result -> result.getVersion() >= Customer.firstVersion(before))
+                .verifyComplete();
     }
 }
@@ -0,0 +1,64 @@
+package com.nttdata.customer.client.infrastructure.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The customer event schemas and their registry are kept in both services, which build on their
+ * own; this fails as soon as the copy in account-service differs from the one here.
+ */
+class CustomerEventSchemaSyncTest {
+
+    private static final Path SIBLING = Path.of("..", "account-service");
+    private static final String REGISTRY = "CustomerEventSchemaRegistry.java";
+
+    @Test
+    void shouldHaveTheSameSchemasAsAccountService() throws IOException {
+        assumeTrue(Files.isDirectory(SIBLING), "account-service is not checked out next to this service");
+        Path local = Path.of("src", "main", "resources", "avro");
+        Path sibling = SIBLING.resolve(local);
+
+        List<Path> schemas = schemaFiles(local);
+        assertThat(schemas).isNotEmpty();
+        assertThat(schemaFiles(sibling)).isEqualTo(schemas);
+        for (Path schema : schemas) {
+            assertThat(Files.readAllBytes(sibling.resolve(schema)))
+                    .as("avro/%s differs from the copy in account-service", schema)
+                    .isEqualTo(Files.readAllBytes(local.resolve(schema)));
+        }
+    }
+
+    @Test
+    void shouldHaveTheSameSchemaRegistryAsAccountService() throws IOException {
+        assumeTrue(Files.isDirectory(SIBLING), "account-service is not checked out next to this service");
+        Path local = Path.of("src", "main", "java", "com/nttdata/customer/client/infrastructure/kafka", REGISTRY);
+        Path sibling = SIBLING.resolve(Path.of("src", "main", "java", "com/nttdata/account/infrastructure/kafka", REGISTRY));
+
+        assertThat(withoutPackage(sibling))
+                .as("%s differs from the copy in account-service", REGISTRY)
+                .isEqualTo(withoutPackage(local));
+    }
+
+    private static List<Path> schemaFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(Path::getFileName)
+                    .filter(name -> name.toString().endsWith(".avsc"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static List<String> withoutPackage(Path source) throws IOException {
+        return Files.readAllLines(source).stream()
+                .filter(line -> !line.startsWith("package "))
+                .toList();
+    }
+}
@@ -4,6 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nttdata.customer.client.domain.CustomerCreatedEvent;
 import com.nttdata.customer.client.domain.CustomerCreatedEventMother;
+import com.nttdata.customer.client.infrastructure.outbox.OutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
@@ -11,19 +17,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,44 +47,45 @@ import static org.mockito.Mockito.when;
 class KafkaEventPublisherTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     private ObjectMapper objectMapper;
+    private CustomerEventAvroCodec avroCodec;
     private KafkaEventPublisher kafkaEventPublisher;
 
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        kafkaEventPublisher = new KafkaEventPublisher(kafkaTemplate, objectMapper);
-        ReflectionTestUtils.setField(kafkaEventPublisher, "customerEventsTopic", "customer-events");
+        avroCodec = new CustomerEventAvroCodec(new CustomerEventSchemaRegistry(), objectMapper);
+        kafkaEventPublisher = publisher("json");
     }
 
     @Test
     void shouldPublishCustomerCreatedEvent() {
         CustomerCreatedEvent event = CustomerCreatedEventMother.withCustomerId(1L);
-        SendResult<String, String> sendResult = createSendResult();
-        when(kafkaTemplate.send(eq("customer-events"), eq("1"), anyString()))
+        SendResult<String, byte[]> sendResult = createSendResult();
+        when(kafkaTemplate.send(eq("customer-events"), eq("1"), any(byte[].class)))
                 .thenReturn(CompletableFuture.completedFuture(sendResult));
 
         StepVerifier.create(kafkaEventPublisher.publish(event))
                 .verifyComplete();
 
-        verify(kafkaTemplate).send(eq("customer-events"), eq("1"), anyString());
+        verify(kafkaTemplate).send(eq("customer-events"), eq("1"), any(byte[].class));
     }
 
     @Test
     void shouldSerializeEventAsJson() {
         CustomerCreatedEvent event = CustomerCreatedEventMother.withCustomerId(1L);
-        SendResult<String, String> sendResult = createSendResult();
-        ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        SendResult<String, byte[]> sendResult = createSendResult();
+        ArgumentCaptor<byte[]> payloadCaptor = ArgumentCaptor.forClass(byte[].class);
         when(kafkaTemplate.send(eq("customer-events"), eq("1"), payloadCaptor.capture()))
                 .thenReturn(CompletableFuture.completedFuture(sendResult));
 
         StepVerifier.create(kafkaEventPublisher.publish(event))
                 .verifyComplete();
 
-        String payload = payloadCaptor.getValue();
+        String payload = new String(payloadCaptor.getValue(), StandardCharsets.UTF_8);
         assertTrue(payload.contains("\"eventType\":\"CustomerCreated\""));
         assertTrue(payload.contains("\"aggregateId\":\"1\""));
         assertTrue(payload.contains("\"name\":\"John Doe\""));
@@ -77,9 +94,9 @@ class KafkaEventPublisherTest {
     @Test
     void shouldUseAggregateIdAsKafkaKey() {
         CustomerCreatedEvent event = CustomerCreatedEventMother.withCustomerId(99L);
-        SendResult<String, String> sendResult = createSendResult();
+        SendResult<String, byte[]> sendResult = createSendResult();
         ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
-        when(kafkaTemplate.send(eq("customer-events"), keyCaptor.capture(), anyString()))
+        when(kafkaTemplate.send(eq("customer-events"), keyCaptor.capture(), any(byte[].class)))
                 .thenReturn(CompletableFuture.completedFuture(sendResult));
 
         StepVerifier.create(kafkaEventPublisher.publish(event))
@@ -91,9 +108,9 @@ class KafkaEventPublisherTest {
     @Test
     void shouldHandleKafkaError() {
         CustomerCreatedEvent event = CustomerCreatedEventMother.withCustomerId(1L);
-        CompletableFuture<SendResult<String, String>> failedFuture = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> failedFuture = new CompletableFuture<>();
         failedFuture.completeExceptionally(new RuntimeException("Kafka connection failed"));
-        when(kafkaTemplate.send(eq("customer-events"), eq("1"), anyString()))
+        when(kafkaTemplate.send(eq("customer-events"), eq("1"), any(byte[].class)))
                 .thenReturn(failedFuture);
 
         StepVerifier.create(kafkaEventPublisher.publish(event))
@@ -101,8 +118,109 @@ class KafkaEventPublisherTest {
                 .verify();
     }
 
-    private SendResult<String, String> createSendResult() {
-        ProducerRecord<String, String> producerRecord = new ProducerRecord<>("customer-events", "1", "{}");
+    @Test
+    void shouldPublishOutboxMessagesInOrder() {
+        SendResult<String, byte[]> sendResult = createSendResult();
+        when(kafkaTemplate.send(eq("customer-events"), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        StepVerifier.create(kafkaEventPublisher.publishMessages(List.of(outboxMessage("1"), outboxMessage("2"))))
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate).send("customer-events", "1", "{\"aggregateId\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+        inOrder.verify(kafkaTemplate).send("customer-events", "2", "{\"aggregateId\":\"2\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldPublishStreamOfEventsWithoutWaitingForEachAcknowledgement() {
+        CompletableFuture<SendResult<String, byte[]>> firstAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq("customer-events"), eq("1"), any(byte[].class))).thenReturn(firstAck);
+        when(kafkaTemplate.send(eq("customer-events"), eq("2"), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+
+        StepVerifier.create(kafkaEventPublisher.publishAll(Flux.just(
+                        CustomerCreatedEventMother.withCustomerId(1L),
+                        CustomerCreatedEventMother.withCustomerId(2L))))
+                .then(() -> verify(kafkaTemplate, timeout(1000)).send(eq("customer-events"), eq("2"), any(byte[].class)))
+                .then(() -> firstAck.complete(createSendResult()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldPublishAvroWithContentTypeAndSchemaVersionHeaders() throws Exception {
+        kafkaEventPublisher = publisher("avro");
+        CustomerCreatedEvent event = CustomerCreatedEventMother.withCustomerId(1L);
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        when(kafkaTemplate.send(recordCaptor.capture()))
+                .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+
+        StepVerifier.create(kafkaEventPublisher.publish(event))
+                .verifyComplete();
+
+        ProducerRecord<String, byte[]> record = recordCaptor.getValue();
+        assertEquals("1", record.key());
+        assertEquals(CustomerEventAvroCodec.AVRO, header(record, CustomerEventAvroCodec.CONTENT_TYPE_HEADER));
+        assertEquals("2", header(record, CustomerEventAvroCodec.SCHEMA_VERSION_HEADER));
+        GenericRecord decoded = decode(record.value());
+        assertEquals(1L, decoded.get("aggregateId"));
+        assertEquals("CustomerCreated", decoded.get("eventType").toString());
+        assertEquals("John Doe", decoded.get("name").toString());
+        assertEquals(event.getOccurredOn().truncatedTo(ChronoUnit.MICROS), Instant.EPOCH.plus((Long) decoded.get("occurredOn"), ChronoUnit.MICROS));
+    }
+
+    @Test
+    void shouldTranscodeOutboxJsonToAvro() throws Exception {
+        kafkaEventPublisher = publisher("avro");
+        String payload = objectMapper.writeValueAsString(CustomerCreatedEventMother.withCustomerId(2L));
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        when(kafkaTemplate.send(recordCaptor.capture()))
+                .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+
+        StepVerifier.create(kafkaEventPublisher.publishMessages(List.of(OutboxMessage.builder()
+                        .aggregateId("2")
+                        .eventType("CustomerCreated")
+                        .payload(payload)
+                        .build())))
+                .verifyComplete();
+
+        GenericRecord decoded = decode(recordCaptor.getValue().value());
+        assertEquals(2L, decoded.get("aggregateId"));
+        assertTrue(recordCaptor.getValue().value().length < payload.length());
+    }
+
+    @Test
+    void shouldRejectUnknownEncoding() {
+        assertThrows(IllegalArgumentException.class, () -> publisher("xml"));
+    }
+
+    private KafkaEventPublisher publisher(String encoding) {
+        KafkaEventPublisher publisher = new KafkaEventPublisher(kafkaTemplate, objectMapper, avroCodec,
+                new SimpleMeterRegistry(), encoding);
+        ReflectionTestUtils.setField(publisher, "customerEventsTopic", "customer-events");
+        return publisher;
+    }
+
+    private String header(ProducerRecord<String, byte[]> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+
+    private GenericRecord decode(byte[] value) throws Exception {
+        Schema schema = new CustomerEventSchemaRegistry().latest();
+        return new GenericDatumReader<GenericRecord>(schema)
+                .read(null, DecoderFactory.get().binaryDecoder(value, null));
+    }
+
+    private OutboxMessage outboxMessage(String aggregateId) {
+        return OutboxMessage.builder()
+                .aggregateId(aggregateId)
+                .eventType("CustomerCreated")
+                .payload("{\"aggregateId\":\"" + aggregateId + "\"}")
+                .build();
+    }
+
+    private SendResult<String, byte[]> createSendResult() {
+        ProducerRecord<String, byte[]> producerRecord = new ProducerRecord<>("customer-events", "1", new byte[0]);
         RecordMetadata recordMetadata = new RecordMetadata(
                 new TopicPartition("customer-events", 0), 0L, 0, 0L, 0, 0);
         return new SendResult<>(producerRecord, recordMetadata);
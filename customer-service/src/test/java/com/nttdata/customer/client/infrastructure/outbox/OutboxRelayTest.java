@@ -0,0 +1,149 @@
+package com.nttdata.customer.client.infrastructure.outbox;
+
+import com.nttdata.customer.client.infrastructure.kafka.KafkaEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = relay(Duration.ZERO);
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldPublishClaimedMessagesAndMarkThemSent() {
+        List<OutboxMessage> messages = List.of(message(1L), message(2L));
+        when(outboxRepository.claimPending(2)).thenReturn(Flux.fromIterable(messages), Flux.empty());
+        when(kafkaEventPublisher.publishMessages(messages)).thenReturn(Mono.empty());
+        when(outboxRepository.markSent(eq(List.of(1L, 2L)), any())).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(outboxRelay.relay())
+                .verifyComplete();
+
+        verify(kafkaEventPublisher).publishMessages(messages);
+        verify(outboxRepository).markSent(eq(List.of(1L, 2L)), any());
+        // A full batch means more may be pending, so the relay claims again right away
+        verify(outboxRepository, times(2)).claimPending(2);
+    }
+
+    @Test
+    void shouldLeaveMessagesPendingWhenPublishFails() {
+        List<OutboxMessage> messages = List.of(message(1L));
+        when(outboxRepository.claimPending(2)).thenReturn(Flux.fromIterable(messages));
+        when(kafkaEventPublisher.publishMessages(messages)).thenReturn(Mono.error(new RuntimeException("Kafka unavailable")));
+
+        StepVerifier.create(outboxRelay.relay())
+                .verifyComplete();
+
+        verify(outboxRepository, never()).markSent(anyList(), any());
+    }
+
+    @Test
+    void shouldDoNothingWhenOutboxIsEmpty() {
+        when(outboxRepository.claimPending(2)).thenReturn(Flux.empty());
+
+        StepVerifier.create(outboxRelay.relay())
+                .verifyComplete();
+
+        verify(kafkaEventPublisher, never()).publishMessages(anyList());
+    }
+
+    @Test
+    void shouldPublishOnlyLatestMessageOfEachAggregateWhenCoalescing() {
+        outboxRelay = relay(Duration.ofSeconds(2));
+        OutboxMessage created = message(1L, "7", "CustomerCreated");
+        OutboxMessage otherCustomer = message(2L, "8", "CustomerUpdated");
+        OutboxMessage firstUpdate = message(3L, "7", "CustomerUpdated");
+        OutboxMessage lastUpdate = message(4L, "7", "CustomerUpdated");
+        when(outboxRepository.claimDueAggregates(any(OffsetDateTime.class), eq(2)))
+                .thenReturn(Flux.just(created, otherCustomer, firstUpdate, lastUpdate), Flux.empty());
+        when(kafkaEventPublisher.publishMessages(List.of(otherCustomer, lastUpdate))).thenReturn(Mono.empty());
+        when(outboxRepository.markSent(eq(List.of(1L, 2L, 3L, 4L)), any())).thenReturn(Mono.just(4L));
+
+        StepVerifier.create(outboxRelay.relay())
+                .verifyComplete();
+
+        // Superseded messages are marked sent along with the one that replaces them
+        verify(outboxRepository).markSent(eq(List.of(1L, 2L, 3L, 4L)), any());
+        verify(outboxRepository, never()).claimPending(2);
+        assertThat(meterRegistry.counter("customer.outbox.coalesced").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldHoldAggregatesBackForTheCoalescingWindow() {
+        outboxRelay = relay(Duration.ofSeconds(2));
+        OffsetDateTime before = OffsetDateTime.now().minusSeconds(2);
+        when(outboxRepository.claimDueAggregates(any(OffsetDateTime.class), eq(2))).thenReturn(Flux.empty());
+
+        StepVerifier.create(outboxRelay.relay())
+                .verifyComplete();
+
+        verify(outboxRepository).claimDueAggregates(
+                argThat(dueBefore -> !dueBefore.isBefore(before)
+                        && dueBefore.isBefore(OffsetDateTime.now().minusSeconds(1))), eq(2));
+        verify(kafkaEventPublisher, never()).publishMessages(anyList());
+    }
+
+    @Test
+    void shouldRejectNegativeCoalescingWindow() {
+        assertThrows(IllegalArgumentException.class, () -> relay(Duration.ofSeconds(-1)));
+    }
+
+    private OutboxRelay relay(Duration coalesceWindow) {
+        return new OutboxRelay(outboxRepository, kafkaEventPublisher, transactionalOperator, meterRegistry,
+                2, Duration.ofHours(24), coalesceWindow);
+    }
+
+    private OutboxMessage message(Long outboxId) {
+        return message(outboxId, String.valueOf(outboxId), "CustomerCreated");
+    }
+
+    private OutboxMessage message(Long outboxId, String aggregateId, String eventType) {
+        return OutboxMessage.builder()
+                .outboxId(outboxId)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload("{}")
+                .build();
+    }
+}